@@ -0,0 +1,91 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import jsl.modeling.Executive;
+import jsl.utilities.random.rng.RNStreamFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the events per second of each CalendarIfc implementation when
+ *  driven by an Executive executing a HoldModel.  One operation is one step
+ *  of the Executive, i.e. removing the next event from the calendar and
+ *  executing it, which schedules a new event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarBenchmarks {
+
+    @Param({"PriorityQueue", "SkewHeap", "TreeSet", "LinkedList", "IndexedHeap",
+        "PrimitiveHeap", "CalendarQueue", "LadderQueue"})
+    public String calendar;
+
+    @Param({"1000", "100000"})
+    public int pending;
+
+    @Param({"HOLD", "MARKOV_HOLD", "BURSTY", "CANCELLATION"})
+    public String model;
+
+    private Executive myExecutive;
+
+    @Setup
+    public void setup() {
+        myExecutive = new Executive(EventCalendars.make(calendar));
+        myExecutive.setTerminationWarningMessageOption(false);
+        myExecutive.initialize();
+        HoldModel h = new HoldModel(myExecutive, new RNStreamFactory().getStream(),
+                HoldModel.Type.valueOf(model));
+        h.preload(pending);
+    }
+
+    @Benchmark
+    public double executeNextEvent() {
+        myExecutive.executeNextEvent();
+        return myExecutive.getTime();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.AbstractCollector;
+import jsl.utilities.statistic.Histogram;
+import jsl.utilities.statistic.IntegerFrequency;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.WeightedStatistic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares collecting an array of observations with the bulk collect()
+ *  of each collector against collecting the same observations one at a
+ *  time, as Monte Carlo code that generates its samples in arrays would.
+ *  The score is observations per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectBenchmarks {
+
+    public static final int SAMPLE_SIZE = 10000;
+
+    @Param({"Statistic", "WeightedStatistic", "Histogram", "IntegerFrequency"})
+    public String collector;
+
+    private AbstractCollector myCollector;
+
+    private double[] myData;
+
+    private double[] myWeights;
+
+    @Setup
+    public void setup() {
+        if ("Statistic".equals(collector)) {
+            myCollector = new Statistic();
+        } else if ("WeightedStatistic".equals(collector)) {
+            myCollector = new WeightedStatistic();
+        } else if ("Histogram".equals(collector)) {
+            myCollector = new Histogram(0.0, 50, 1.0);
+        } else if ("IntegerFrequency".equals(collector)) {
+            myCollector = new IntegerFrequency(0, 50);
+        } else {
+            throw new IllegalArgumentException("Unknown collector: " + collector);
+        }
+        Exponential e = new Exponential(10.0);
+        myData = e.getSample(SAMPLE_SIZE);
+        myWeights = new double[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            myWeights[i] = 1.0 + (i % 3);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public boolean scalar() {
+        boolean b = true;
+        for (int i = 0; i < myData.length; i++) {
+            b = myCollector.collect(myData[i], myWeights[i]);
+        }
+        return b;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public boolean bulk() {
+        return myCollector.collect(myData, myWeights);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.benchmarks;
+
+import jsl.calendar.CalendarIfc;
+import jsl.calendar.CalendarQueueEventCalendar;
+import jsl.calendar.IndexedHeapEventCalendar;
+import jsl.calendar.LadderQueueEventCalendar;
+import jsl.calendar.LinkedListEventCalendar;
+import jsl.calendar.PrimitiveHeapEventCalendar;
+import jsl.calendar.PriorityQueueEventCalendar;
+import jsl.calendar.SkewHeapEventCalendar;
+import jsl.calendar.TreeSetEventCalendar;
+
+/** Creates the event calendars by the names used in the benchmark parameters.
+ *  The name is the class name without the EventCalendar suffix.
+ */
+public class EventCalendars {
+
+    /** The names of every CalendarIfc implementation
+     */
+    public static final String[] NAMES = {"PriorityQueue", "SkewHeap", "TreeSet",
+        "LinkedList", "IndexedHeap", "PrimitiveHeap", "CalendarQueue", "LadderQueue"};
+
+    private EventCalendars() {
+    }
+
+    /** Makes a new calendar
+     *
+     * @param name the name of the calendar, e.g. "LadderQueue"
+     * @return the calendar
+     */
+    public static CalendarIfc make(String name) {
+        if ("PriorityQueue".equals(name)) {
+            return new PriorityQueueEventCalendar();
+        } else if ("SkewHeap".equals(name)) {
+            return new SkewHeapEventCalendar();
+        } else if ("TreeSet".equals(name)) {
+            return new TreeSetEventCalendar();
+        } else if ("LinkedList".equals(name)) {
+            return new LinkedListEventCalendar();
+        } else if ("IndexedHeap".equals(name)) {
+            return new IndexedHeapEventCalendar();
+        } else if ("PrimitiveHeap".equals(name)) {
+            return new PrimitiveHeapEventCalendar();
+        } else if ("CalendarQueue".equals(name)) {
+            return new CalendarQueueEventCalendar();
+        } else if ("LadderQueue".equals(name)) {
+            return new LadderQueueEventCalendar();
+        }
+        throw new IllegalArgumentException("Unknown event calendar: " + name);
+    }
+}
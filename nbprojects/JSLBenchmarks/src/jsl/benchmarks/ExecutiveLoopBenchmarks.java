@@ -0,0 +1,96 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import jsl.modeling.Executive;
+import jsl.observers.ObserverIfc;
+import jsl.utilities.random.rng.RNStreamFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the events per second of the Executive's event loop on a hold
+ *  model with no observers attached (the fast path) and with an observer that
+ *  does nothing attached (the full path).  One operation is one event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutiveLoopBenchmarks {
+
+    @Param({"false", "true"})
+    public boolean observed;
+
+    @Param({"false", "true"})
+    public boolean pooling;
+
+    private Executive myExecutive;
+
+    @Setup
+    public void setup() {
+        myExecutive = new Executive();
+        myExecutive.setTerminationWarningMessageOption(false);
+        myExecutive.setEventPoolingOption(pooling);
+        if (observed) {
+            myExecutive.addObserver(new ObserverIfc() {
+
+                @Override
+                public void update(Object theObserved, Object arg) {
+                }
+            });
+        }
+        myExecutive.initialize();
+        HoldModel h = new HoldModel(myExecutive, new RNStreamFactory().getStream(),
+                HoldModel.Type.HOLD);
+        h.preload(1000);
+    }
+
+    @Benchmark
+    public double executeNextEvent() {
+        myExecutive.executeNextEvent();
+        return myExecutive.getTime();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.benchmarks;
+
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.utilities.random.rng.RNStreamFactory.RNStream;
+
+/** A synthetic event model for measuring event calendars.  Each executed event
+ *  schedules one new event so that the number of pending events stays at the
+ *  number pre-loaded by preload().  The type determines how the new event
+ *  times are chosen:
+ *
+ *  HOLD: exponential increments with mean 1.
+ *
+ *  MARKOV_HOLD: the increments switch between a short regime (exponential
+ *  mean 1) and a long regime (exponential mean 100) according to a two state
+ *  Markov chain that changes state with probability 0.1 after each event.
+ *
+ *  BURSTY: the event times are rounded up to the next integer so that many
+ *  events occur at the same time, as with batch arrivals.
+ *
+ *  CANCELLATION: hold increments, and after each event one of the pending
+ *  events is canceled with probability 0.5 and replaced by a new event.
+ */
+public class HoldModel implements EventActionIfc {
+
+    public enum Type {
+        HOLD, MARKOV_HOLD, BURSTY, CANCELLATION
+    }
+
+    private final Executive myExecutive;
+
+    private final RNStream myStream;
+
+    private final Type myType;
+
+    private boolean myLongRegimeFlag;
+
+    /** The most recently scheduled events, used to pick events to cancel
+     */
+    private JSLEvent[] myRecent;
+
+    private int myNext;
+
+    public HoldModel(Executive executive, RNStream stream, Type type) {
+        if (executive == null) {
+            throw new IllegalArgumentException("The executive was null");
+        }
+        if (stream == null) {
+            throw new IllegalArgumentException("The stream was null");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("The type was null");
+        }
+        myExecutive = executive;
+        myStream = stream;
+        myType = type;
+    }
+
+    /** Schedules the initial events, the executive must be initialized
+     *
+     * @param numPending the number of pending events, must be &gt; 0
+     */
+    public void preload(int numPending) {
+        if (numPending <= 0) {
+            throw new IllegalArgumentException("The number of pending events must be > 0");
+        }
+        myRecent = new JSLEvent[numPending];
+        myNext = 0;
+        for (int i = 0; i < numPending; i++) {
+            scheduleNext();
+        }
+    }
+
+    @Override
+    public void action(JSLEvent evt) {
+        scheduleNext();
+        if (myType == Type.CANCELLATION) {
+            if (myStream.randU01() < 0.5) {
+                JSLEvent e = myRecent[myStream.randInt(0, myRecent.length - 1)];
+                if ((e != null) && e.isScheduled() && !e.getCanceledFlag()) {
+                    myExecutive.cancel(e);
+                    scheduleNext();
+                }
+            }
+        }
+    }
+
+    private void scheduleNext() {
+        double t = -Math.log(myStream.randU01());
+        if (myType == Type.MARKOV_HOLD) {
+            if (myStream.randU01() < 0.1) {
+                myLongRegimeFlag = !myLongRegimeFlag;
+            }
+            if (myLongRegimeFlag) {
+                t = 100.0 * t;
+            }
+        } else if (myType == Type.BURSTY) {
+            double now = myExecutive.getTime();
+            t = Math.ceil(now + t) - now;
+        }
+        JSLEvent e = myExecutive.scheduleEvent(this, t, null, JSLEvent.DEFAULT_PRIORITY, null);
+        if (myType == Type.CANCELLATION) {
+            myRecent[myNext] = e;
+            myNext = (myNext + 1) % myRecent.length;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import jsl.modeling.Executive;
+import jsl.modeling.Simulation;
+import jsl.utilities.random.distributions.Exponential;
+import models.DriveThroughPharmacy;
+import models.TandemQueue;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures complete replications of the example models.  The primary score
+ *  is replications per second, the events secondary score is the number of
+ *  events executed per second, which is the number to track for regressions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelBenchmarks {
+
+    @Param({"DriveThroughPharmacy", "TandemQueue"})
+    public String model;
+
+    @Param({"PriorityQueue", "PrimitiveHeap", "LadderQueue"})
+    public String calendar;
+
+    @Param({"10000"})
+    public double length;
+
+    private Simulation mySimulation;
+
+    /** Accumulates the number of events executed, reported as a rate by JMH
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EventCounter {
+
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Executive e = new Executive(EventCalendars.make(calendar));
+        mySimulation = new Simulation(model, null, null, e);
+        if ("DriveThroughPharmacy".equals(model)) {
+            DriveThroughPharmacy d = new DriveThroughPharmacy(mySimulation.getModel());
+            d.setArrivalRS(new Exponential(6.0));
+            d.setServiceRS(new Exponential(3.0));
+        } else if ("TandemQueue".equals(model)) {
+            new TandemQueue(mySimulation.getModel());
+        } else {
+            throw new IllegalArgumentException("Unknown model: " + model);
+        }
+        mySimulation.setNumberOfReplications(1);
+        mySimulation.setLengthOfReplication(length);
+    }
+
+    @Benchmark
+    public double runReplication(EventCounter counter) {
+        mySimulation.run();
+        Executive e = mySimulation.getExecutive();
+        counter.events = counter.events + (long) e.getTotalNumberEventsExecuted();
+        return e.getTime();
+    }
+}
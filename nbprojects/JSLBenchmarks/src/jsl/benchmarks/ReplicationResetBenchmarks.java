@@ -0,0 +1,101 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import jsl.modeling.Simulation;
+import jsl.utilities.random.distributions.Exponential;
+import models.DriveThroughPharmacy;
+import models.TandemQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures experiments of many short replications, for which the work done
+ *  between replications (advancing the streams, setting up the model
+ *  elements, scheduling the warm up and end events and collecting the across
+ *  replication statistics) dominates.  The score is replications per second.
+ *  Run with -prof gc to see the allocation per replication.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplicationResetBenchmarks {
+
+    public static final int REPLICATIONS = 1000;
+
+    @Param({"DriveThroughPharmacy", "TandemQueue"})
+    public String model;
+
+    @Param({"1", "20"})
+    public double length;
+
+    private Simulation mySimulation;
+
+    @Setup
+    public void setup() {
+        mySimulation = new Simulation(model);
+        if ("DriveThroughPharmacy".equals(model)) {
+            DriveThroughPharmacy d = new DriveThroughPharmacy(mySimulation.getModel());
+            d.setArrivalRS(new Exponential(6.0));
+            d.setServiceRS(new Exponential(3.0));
+        } else if ("TandemQueue".equals(model)) {
+            new TandemQueue(mySimulation.getModel());
+        } else {
+            throw new IllegalArgumentException("Unknown model: " + model);
+        }
+        mySimulation.setNumberOfReplications(REPLICATIONS);
+        mySimulation.setLengthOfReplication(length);
+        mySimulation.setLengthOfWarmUp(length / 10.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REPLICATIONS)
+    public int runShortReplications() {
+        mySimulation.run();
+        return mySimulation.getCurrentReplicationNumber();
+    }
+}
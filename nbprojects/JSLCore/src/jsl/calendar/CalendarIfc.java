@@ -70,13 +70,33 @@ public interface CalendarIfc {
      */
     public void clear();
 
-    /** Cancels the supplied JSLEvent in the calendar.  Canceling does not remove
+    /** Cancels the supplied JSLEvent in the calendar.  Unless
+     * getRemoveCanceledEventsOption() is true, canceling does not remove
      * the event from the data structure.  It simply indicates that the
      * scheduled event must not be executed.
      * @param event The JSLEvent to be canceled
      */
     public void cancel(JSLEvent event);
 
+    /** Indicates whether or not the calendar removes events from the
+     *  data structure when they are canceled. If true, a canceled event is no
+     *  longer held by the calendar and can be scheduled again immediately.
+     *  By default, false.
+     * @return true if canceled events are removed when canceled
+     */
+    public default boolean getRemoveCanceledEventsOption() {
+        return false;
+    }
+
+    /** Returns the number of events that were canceled via cancel() but are
+     *  still held in the calendar waiting to be removed at their event time.
+     *  By default, 0, i.e. the calendar does not count them.
+     * @return the number of canceled events held in the calendar
+     */
+    public default int getNumberOfCanceledEvents() {
+        return 0;
+    }
+
     /** Returns the number of events in the calendar
      * @return An int representing the number of events.
      */
@@ -0,0 +1,445 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.calendar;
+
+import java.io.Serializable;
+import jsl.modeling.JSLEvent;
+
+/** This class provides an event calendar by using a calendar queue to hold the underlying events.
+ *  The calendar queue follows R. Brown, "Calendar Queues: A Fast O(1) Priority Queue
+ *  Implementation for the Simulation Event Set Problem", Communications of the ACM,
+ *  31(10), 1988.
+ *
+ *  The events are hashed by their time into an array of buckets (the days of the year). Each
+ *  bucket holds a list of events ordered by JSLEvent.compareTo(), i.e. time, priority, and then
+ *  id. Since events that have the same time always fall into the same bucket the ordering of the
+ *  calendar is the same as for the other calendars.
+ *
+ *  The number of buckets doubles when the number of events exceeds twice the number of buckets
+ *  and halves when the number of events falls below half the number of buckets. When the
+ *  calendar is resized the width of the buckets is re-estimated from the separation of the
+ *  events at the front of the calendar. This keeps the average cost of adding and removing
+ *  events independent of the number of events in the calendar.
+*/
+public class CalendarQueueEventCalendar implements CalendarIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    //  ===========================================
+    //      CLASS AND OBJECT ATTRIBUTES
+    //  ===========================================
+
+    /** The default number of buckets when the calendar is created or cleared
+     */
+    public static final int DEFAULT_NUM_BUCKETS = 2;
+
+    /** The default width of a bucket when the calendar is created or cleared
+     */
+    public static final double DEFAULT_BUCKET_WIDTH = 1.0;
+
+    /** The number of events sampled from the front of the calendar
+     *  to estimate a new bucket width
+     */
+    private static final int NUM_SAMPLES = 25;
+
+    private Node[] myBuckets;
+
+    /** The last node in each bucket, so that events that go to the end
+     *  of a bucket (e.g. many events at the same time) are added without a search
+     */
+    private Node[] myTails;
+
+    private double myBucketWidth;
+    private int myNumEvents;
+    private int myNumCanceled;
+
+    /** The index of the bucket that is currently being scanned
+     */
+    private int myLastBucket;
+
+    /** The unbounded (virtual) bucket number associated with myLastBucket,
+     *  i.e. floor(time/width) for the events that can be removed from myLastBucket
+     */
+    private long myCurrentVirtualBucket;
+
+    private int myTopThreshold;
+    private int myBotThreshold;
+    private boolean myResizeFlag;
+
+    private final int myInitialNumBuckets;
+    private final double myInitialBucketWidth;
+
+    /** Creates new Calendar */
+    public CalendarQueueEventCalendar(){
+        this(DEFAULT_NUM_BUCKETS, DEFAULT_BUCKET_WIDTH);
+    }
+
+    /** Creates new Calendar
+     *
+     * @param numBuckets the initial number of buckets, must be at least 1
+     * @param bucketWidth the initial width of a bucket, must be &gt; 0
+     */
+    public CalendarQueueEventCalendar(int numBuckets, double bucketWidth){
+        if (numBuckets < 1) {
+            throw new IllegalArgumentException("The number of buckets must be >= 1");
+        }
+        if (!(bucketWidth > 0.0) || Double.isInfinite(bucketWidth)) {
+            throw new IllegalArgumentException("The bucket width must be > 0 and finite");
+        }
+        myInitialNumBuckets = numBuckets;
+        myInitialBucketWidth = bucketWidth;
+        myResizeFlag = true;
+        localInit(numBuckets, bucketWidth, 0.0);
+    }
+
+    /** The add method will place the provided JSLEvent into the
+     * underlying data structure ensuring the ordering of the events
+     * to be processed
+     * @param e The JSLEvent to be added to the calendar
+     */
+    public void add(JSLEvent e){
+        insert(new Node(e));
+        myNumEvents++;
+        if (myNumEvents > myTopThreshold){
+            resize(2*myBuckets.length);
+        }
+    }
+
+    /** Returns the next JSLEvent to be executed.
+     * @return The JSLEvent to be executed next
+     */
+    public JSLEvent nextEvent(){
+        if (isEmpty()){
+            return(null);
+        }
+        int i = locateNext();
+        Node n = myBuckets[i];
+        myBuckets[i] = n.next;
+        if (n.next == null){
+            myTails[i] = null;
+        }
+        myNumEvents--;
+        if (n.event.getCanceledFlag() && (myNumCanceled > 0)){
+            myNumCanceled--;
+        }
+        if (myNumEvents < myBotThreshold){
+            resize(myBuckets.length/2);
+        }
+        return(n.event);
+    }
+
+    /** Returns the next JSLEvent without removing it
+     *  or null if there is no next event
+     * @return The JSLEvent to be executed next
+     */
+    public JSLEvent peekNext(){
+        if (isEmpty()){
+            return(null);
+        }
+        return(myBuckets[locateNext()].event);
+    }
+
+    /** Checks to see if the calendar is empty
+     * @return true is empty, false is not empty
+     */
+    public boolean isEmpty(){
+        return (myNumEvents == 0);
+    }
+
+    /** Clears or cancels every event in the data structure.  Removes all JSLEvents
+     * from the data structure.  The calendar returns to its initial number of
+     * buckets and bucket width.
+     */
+    public void clear(){
+        localInit(myInitialNumBuckets, myInitialBucketWidth, 0.0);
+        myNumCanceled = 0;
+    }
+
+    /** Cancels the supplied JSLEvent in the calendar.  Does not remove the event
+     * from the calendar.  This method simply sets the cancel flag on the supplied event.
+     * @param e The JSLEvent to be cancelled
+     */
+    public void cancel(JSLEvent e){
+        if (!e.getCanceledFlag()){
+            myNumCanceled++;
+        }
+        e.setCanceledFlag(true);
+    }
+
+    /** Returns false, canceled events remain in the calendar until their event time
+     * @return false
+     */
+    public boolean getRemoveCanceledEventsOption(){
+        return(false);
+    }
+
+    /** Returns the number of events that were canceled via cancel() but are
+     *  still held in the calendar
+     * @return the number of canceled events held in the calendar
+     */
+    public int getNumberOfCanceledEvents(){
+        return(myNumCanceled);
+    }
+
+    /** Returns the number of events in the calendar
+     * @return An int representing the number of events.
+     */
+    public int size(){
+        return(myNumEvents);
+    }
+
+    /** Returns the current number of buckets
+     * @return the current number of buckets
+     */
+    public final int getNumberOfBuckets(){
+        return(myBuckets.length);
+    }
+
+    /** Returns the current width of the buckets
+     * @return the current width of the buckets
+     */
+    public final double getBucketWidth(){
+        return(myBucketWidth);
+    }
+
+    /** Indicates whether or not the calendar automatically changes
+     *  the number of buckets and the bucket width as the number of events changes
+     * @return true if resizing is on
+     */
+    public final boolean getResizeOption(){
+        return(myResizeFlag);
+    }
+
+    /** Turns on or off the automatic resizing of the calendar. The
+     *  default is on.  Turning off resizing is only sensible if the
+     *  number of buckets and bucket width supplied at construction
+     *  suit the model.
+     * @param flag true turns on resizing
+     */
+    public final void setResizeOption(boolean flag){
+        myResizeFlag = flag;
+    }
+
+    /** Returns the number of events in the calendar along with the
+     *  number of buckets and the bucket width.
+     * @return A String representing the calendar
+     */
+    public String toString(){
+        return("Number of events = " + myNumEvents + " Number of buckets = "
+                + myBuckets.length + " Bucket width = " + myBucketWidth);
+    }
+
+    //  ===========================================
+    //      PRIVATE METHODS
+    //  ===========================================
+
+    private void localInit(int numBuckets, double bucketWidth, double startTime){
+        myBuckets = new Node[numBuckets];
+        myTails = new Node[numBuckets];
+        myBucketWidth = bucketWidth;
+        myNumEvents = 0;
+        myCurrentVirtualBucket = virtualBucket(startTime);
+        myLastBucket = bucketIndex(myCurrentVirtualBucket);
+        myTopThreshold = 2*numBuckets;
+        myBotThreshold = numBuckets/2 - 2;
+    }
+
+    private long virtualBucket(double time){
+        return((long)Math.floor(time/myBucketWidth));
+    }
+
+    private int bucketIndex(long virtualBucket){
+        int i = (int)(virtualBucket % myBuckets.length);
+        return (i < 0 ? i + myBuckets.length : i);
+    }
+
+    /** Places the node into its bucket, in compareTo() order. If the node's event
+     *  is earlier than the current position of the scan, then the scan is moved back
+     *  to the node's bucket.
+     */
+    private void insert(Node node){
+        long vb = virtualBucket(node.event.getTime());
+        int i = bucketIndex(vb);
+        Node tail = myTails[i];
+        if (tail == null){
+            node.next = null;
+            myBuckets[i] = node;
+            myTails[i] = node;
+        } else if (node.event.compareTo(tail.event) > 0){
+            node.next = null;
+            tail.next = node;
+            myTails[i] = node;
+        } else {
+            Node prev = null;
+            Node cur = myBuckets[i];
+            while (node.event.compareTo(cur.event) > 0){
+                prev = cur;
+                cur = cur.next;
+            }
+            node.next = cur;
+            if (prev == null){
+                myBuckets[i] = node;
+            } else {
+                prev.next = node;
+            }
+        }
+        if (vb < myCurrentVirtualBucket){
+            myCurrentVirtualBucket = vb;
+            myLastBucket = i;
+        }
+    }
+
+    /** Advances the scan to the bucket holding the next event and returns its index.
+     *  The calendar must not be empty.
+     */
+    private int locateNext(){
+        int n = myBuckets.length;
+        int i = myLastBucket;
+        long vb = myCurrentVirtualBucket;
+        // scan at most one year of buckets
+        for (int k = 0; k < n; k++){
+            Node head = myBuckets[i];
+            if ((head != null) && (virtualBucket(head.event.getTime()) <= vb)){
+                myLastBucket = i;
+                myCurrentVirtualBucket = vb;
+                return(i);
+            }
+            i++;
+            vb++;
+            if (i == n){
+                i = 0;
+            }
+        }
+        // nothing in the current year, directly search for the earliest event
+        int minIndex = -1;
+        for (int j = 0; j < n; j++){
+            Node head = myBuckets[j];
+            if ((head != null) && ((minIndex == -1) || (head.event.compareTo(myBuckets[minIndex].event) < 0))){
+                minIndex = j;
+            }
+        }
+        myLastBucket = minIndex;
+        myCurrentVirtualBucket = virtualBucket(myBuckets[minIndex].event.getTime());
+        return(minIndex);
+    }
+
+    /** Copies the calendar into a new array of buckets with a newly estimated bucket width
+     */
+    private void resize(int newSize){
+        if (!myResizeFlag || (newSize < 1)){
+            return;
+        }
+        double width = estimateBucketWidth();
+        Node[] old = myBuckets;
+        int numEvents = myNumEvents;
+        double startTime = myCurrentVirtualBucket*myBucketWidth;
+        localInit(newSize, width, startTime);
+        for (Node head : old){
+            Node cur = head;
+            while (cur != null){
+                Node next = cur.next;
+                insert(cur);
+                cur = next;
+            }
+        }
+        myNumEvents = numEvents;
+    }
+
+    /** Estimates the bucket width from the average separation of the events
+     *  at the front of the calendar, ignoring unusually large separations.
+     *  The sampled events are removed and then placed back into the calendar.
+     */
+    private double estimateBucketWidth(){
+        int numSamples = Math.min(myNumEvents, NUM_SAMPLES);
+        if (numSamples < 2){
+            return(myBucketWidth);
+        }
+        boolean flag = myResizeFlag;
+        int numCanceled = myNumCanceled;
+        myResizeFlag = false;
+        JSLEvent[] sample = new JSLEvent[numSamples];
+        for (int k = 0; k < numSamples; k++){
+            sample[k] = nextEvent();
+        }
+        for (int k = 0; k < numSamples; k++){
+            add(sample[k]);
+        }
+        myResizeFlag = flag;
+        myNumCanceled = numCanceled;
+
+        double total = sample[numSamples-1].getTime() - sample[0].getTime();
+        double avg = total/(numSamples-1);
+        if (!(avg > 0.0) || Double.isInfinite(avg)){
+            return(myBucketWidth);
+        }
+        // recompute the average, ignoring large separations
+        double sum = 0.0;
+        int count = 0;
+        for (int k = 1; k < numSamples; k++){
+            double sep = sample[k].getTime() - sample[k-1].getTime();
+            if (sep < 2.0*avg){
+                sum = sum + sep;
+                count++;
+            }
+        }
+        double width = 3.0*(count > 0 ? sum/count : avg);
+        if (!(width > 0.0)){
+            return(myBucketWidth);
+        }
+        return(width);
+    }
+
+    //  ===========================================
+    //      PRIVATE INNER CLASS
+    //  ===========================================
+
+    private static class Node implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * the event held by the node
+         */
+        private final JSLEvent event;
+
+        /**
+         * the next node in the bucket
+         */
+        private Node next;
+
+        private Node(JSLEvent e){
+            event = e;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.calendar;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import jsl.modeling.JSLEvent;
+
+/** This class provides an event calendar by using an array based binary heap to hold the
+ *  underlying events.  Each event records its position within the heap (see
+ *  JSLEvent.getCalendarIndex()) so that a canceled event can be removed from the heap
+ *  in O(log n) time rather than remaining in the heap until its event time.  Because
+ *  the canceled event is removed, the Executive can reschedule it immediately.
+ *
+ *  Since canceled events are removed, a canceled event cannot be un-canceled by
+ *  calling setCanceledFlag(false) on the event.  Reschedule the event instead.  If a model
+ *  relies on un-canceling events, setRemoveCanceledEventsOption(false) causes the
+ *  calendar to treat canceled events like PriorityQueueEventCalendar does.
+*/
+public class IndexedHeapEventCalendar implements CalendarIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    //  ===========================================
+    //      CLASS AND OBJECT ATTRIBUTES
+    //  ===========================================
+
+    /** The default initial capacity of the heap
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private JSLEvent[] myHeap;
+    private int mySize;
+    private int myNumCanceled;
+    private boolean myRemoveCanceledEventsFlag;
+
+    /** Creates new Calendar */
+    public IndexedHeapEventCalendar(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Creates new Calendar
+     *
+     * @param initialCapacity the initial size of the heap array, must be &gt; 0
+     */
+    public IndexedHeapEventCalendar(int initialCapacity){
+        if (initialCapacity < 1){
+            throw new IllegalArgumentException("The initial capacity must be >= 1");
+        }
+        myHeap = new JSLEvent[initialCapacity];
+        mySize = 0;
+        myRemoveCanceledEventsFlag = true;
+    }
+
+    /** The add method will place the provided JSLEvent into the
+     * underlying data structure ensuring the ordering of the events
+     * to be processed
+     * @param e The JSLEvent to be added to the calendar
+     */
+    public void add(JSLEvent e){
+        if (mySize == myHeap.length){
+            myHeap = Arrays.copyOf(myHeap, 2*myHeap.length);
+        }
+        siftUp(mySize, e);
+        mySize++;
+    }
+
+    /** Returns the next JSLEvent to be executed.
+     * @return The JSLEvent to be executed next
+     */
+    public JSLEvent nextEvent(){
+        if (isEmpty()){
+            return(null);
+        }
+        JSLEvent e = myHeap[0];
+        removeAt(0);
+        if (e.getCanceledFlag() && (myNumCanceled > 0)){
+            myNumCanceled--;
+        }
+        return(e);
+    }
+
+    /** Returns the next JSLEvent without removing it
+     *  or null if there is no next event
+     * @return The JSLEvent to be executed next
+     */
+    public JSLEvent peekNext(){
+        if (isEmpty()){
+            return(null);
+        }
+        return(myHeap[0]);
+    }
+
+    /** Checks to see if the calendar is empty
+     * @return true is empty, false is not empty
+     */
+    public boolean isEmpty(){
+        return(mySize == 0);
+    }
+
+    /** Clears or cancels every event in the data structure.  Removes all JSLEvents
+     * from the data structure.
+     */
+    public void clear(){
+        for (int i = 0; i < mySize; i++){
+            myHeap[i].setCalendarIndex(-1);
+            myHeap[i] = null;
+        }
+        mySize = 0;
+        myNumCanceled = 0;
+    }
+
+    /** Cancels the supplied JSLEvent in the calendar.  If getRemoveCanceledEventsOption()
+     * is true, the event is removed from the calendar, otherwise the cancel flag is set
+     * and the event remains in the calendar until its event time.
+     * @param e The JSLEvent to be cancelled
+     */
+    public void cancel(JSLEvent e){
+        if (myRemoveCanceledEventsFlag && remove(e)){
+            // removed, nothing left to count
+        } else if (!e.getCanceledFlag()){
+            myNumCanceled++;
+        }
+        e.setCanceledFlag(true);
+    }
+
+    /** Removes the supplied JSLEvent from the calendar if it is held by the calendar.
+     * The event's cancel flag is not changed.
+     * @param e the JSLEvent to remove
+     * @return true if the event was removed
+     */
+    public boolean remove(JSLEvent e){
+        if (!contains(e)){
+            return(false);
+        }
+        if (e.getCanceledFlag() && (myNumCanceled > 0)){
+            myNumCanceled--;
+        }
+        removeAt(e.getCalendarIndex());
+        return(true);
+    }
+
+    /** Checks if the supplied event is held by the calendar
+     * @param e the JSLEvent to check
+     * @return true if the event is in the calendar
+     */
+    public boolean contains(JSLEvent e){
+        int i = e.getCalendarIndex();
+        return ((i >= 0) && (i < mySize) && (myHeap[i] == e));
+    }
+
+    /** Indicates whether or not canceled events are removed when canceled.
+     * The default is true.
+     * @return true if canceled events are removed
+     */
+    public final boolean getRemoveCanceledEventsOption(){
+        return(myRemoveCanceledEventsFlag);
+    }
+
+    /** Controls whether or not canceled events are removed when canceled. This
+     *  should not be changed while an Executive that uses the calendar is running.
+     * @param flag true removes canceled events
+     */
+    public final void setRemoveCanceledEventsOption(boolean flag){
+        myRemoveCanceledEventsFlag = flag;
+    }
+
+    /** Returns the number of events that were canceled via cancel() but are
+     *  still held in the calendar. This is always zero if getRemoveCanceledEventsOption()
+     *  is true.
+     * @return the number of canceled events held in the calendar
+     */
+    public int getNumberOfCanceledEvents(){
+        return(myNumCanceled);
+    }
+
+    /** Returns the number of events in the calendar
+     * @return An int representing the number of events.
+     */
+    public int size(){
+        return(mySize);
+    }
+
+    /** Returns the number of events in the calendar.
+     * @return A String representing the number of events in the calendar
+     */
+    public String toString(){
+        return("Number of events = " + mySize + " Number of canceled events = " + myNumCanceled);
+    }
+
+    //  ===========================================
+    //      PRIVATE METHODS
+    //  ===========================================
+
+    /** Removes the event at position i, moving the last event into the hole
+     */
+    private void removeAt(int i){
+        JSLEvent removed = myHeap[i];
+        removed.setCalendarIndex(-1);
+        mySize--;
+        if (i == mySize){
+            myHeap[i] = null;
+            return;
+        }
+        JSLEvent moved = myHeap[mySize];
+        myHeap[mySize] = null;
+        siftDown(i, moved);
+        if (myHeap[i] == moved){
+            siftUp(i, moved);
+        }
+    }
+
+    /** Places the event at position i or above, moving larger parents down
+     */
+    private void siftUp(int i, JSLEvent e){
+        while (i > 0){
+            int parent = (i - 1) >>> 1;
+            JSLEvent p = myHeap[parent];
+            if (e.compareTo(p) >= 0){
+                break;
+            }
+            myHeap[i] = p;
+            p.setCalendarIndex(i);
+            i = parent;
+        }
+        myHeap[i] = e;
+        e.setCalendarIndex(i);
+    }
+
+    /** Places the event at position i or below, moving smaller children up
+     */
+    private void siftDown(int i, JSLEvent e){
+        int half = mySize >>> 1;
+        while (i < half){
+            int child = 2*i + 1;
+            JSLEvent c = myHeap[child];
+            int right = child + 1;
+            if ((right < mySize) && (c.compareTo(myHeap[right]) > 0)){
+                child = right;
+                c = myHeap[child];
+            }
+            if (e.compareTo(c) <= 0){
+                break;
+            }
+            myHeap[i] = c;
+            c.setCalendarIndex(i);
+            i = child;
+        }
+        myHeap[i] = e;
+        e.setCalendarIndex(i);
+    }
+}
@@ -0,0 +1,432 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.calendar;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+
+import jsl.modeling.JSLEvent;
+
+/** This class provides an event calendar by using a ladder queue to hold the underlying events.
+ *  The ladder queue follows W. T. Tang, R. S. M. Goh, and I. L.-J. Thng, "Ladder Queue: An O(1)
+ *  Priority Queue Structure for Large-Scale Discrete Event Simulation", ACM Transactions on
+ *  Modeling and Computer Simulation, 15(3), 2005.
+ *
+ *  The calendar has three tiers.  Far future events are kept in an unsorted top list. When
+ *  the near future runs out, the top list is spread over the buckets of a rung of the ladder.
+ *  The buckets of a rung are also unsorted.  Only the events of the earliest bucket are moved into
+ *  the bottom, which is kept in JSLEvent.compareTo() order, i.e. time, priority, and then id.  If
+ *  the earliest bucket holds too many events, it is spread over a finer rung instead of being
+ *  sorted.  Thus, events that are scheduled far into the future, e.g. the end of the replication,
+ *  the end of the warm up period, or far off schedule items, are not involved in sorting until they
+ *  are about to occur.
+*/
+public class LadderQueueEventCalendar implements CalendarIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    //  ===========================================
+    //      CLASS AND OBJECT ATTRIBUTES
+    //  ===========================================
+
+    /** The maximum number of rungs in the ladder
+     */
+    public static final int MAX_RUNGS = 8;
+
+    /** A bucket with more than this number of events is spread over a new rung
+     *  rather than moved into the bottom
+     */
+    public static final int THRESHOLD = 50;
+
+    private final ArrayList<JSLEvent> myTop;
+
+    /** Events at or after this time are placed in the top
+     */
+    private double myTopStart;
+
+    /** The smallest and largest finite times of the events in the top
+     */
+    private double myTopMin;
+    private double myTopMax;
+
+    /** The rungs, myRungs[0] is the coarsest, myRungs[myNumRungs-1] the finest
+     */
+    private final Rung[] myRungs;
+    private int myNumRungs;
+
+    private final PriorityQueue<JSLEvent> myBottom;
+
+    private int myNumEvents;
+    private int myNumCanceled;
+
+    /** Creates new Calendar */
+    public LadderQueueEventCalendar(){
+        myTop = new ArrayList<JSLEvent>();
+        myRungs = new Rung[MAX_RUNGS];
+        for (int i = 0; i < MAX_RUNGS; i++){
+            myRungs[i] = new Rung();
+        }
+        myBottom = new PriorityQueue<JSLEvent>();
+        clear();
+    }
+
+    /** The add method will place the provided JSLEvent into the
+     * underlying data structure ensuring the ordering of the events
+     * to be processed
+     * @param e The JSLEvent to be added to the calendar
+     */
+    public void add(JSLEvent e){
+        myNumEvents++;
+        double t = e.getTime();
+        if (t >= myTopStart){
+            addToTop(e);
+            return;
+        }
+        for (int x = 0; x < myNumRungs; x++){
+            if (myRungs[x].add(e)){
+                return;
+            }
+        }
+        myBottom.add(e);
+    }
+
+    /** Returns the next JSLEvent to be executed.
+     * @return The JSLEvent to be executed next
+     */
+    public JSLEvent nextEvent(){
+        if (isEmpty()){
+            return(null);
+        }
+        fillBottom();
+        JSLEvent e = myBottom.poll();
+        myNumEvents--;
+        if (myNumEvents == 0){
+            // start over with an empty top
+            myTopStart = Double.NEGATIVE_INFINITY;
+        }
+        if (e.getCanceledFlag() && (myNumCanceled > 0)){
+            myNumCanceled--;
+        }
+        return(e);
+    }
+
+    /** Returns the next JSLEvent without removing it
+     *  or null if there is no next event
+     * @return The JSLEvent to be executed next
+     */
+    public JSLEvent peekNext(){
+        if (isEmpty()){
+            return(null);
+        }
+        fillBottom();
+        return(myBottom.peek());
+    }
+
+    /** Checks to see if the calendar is empty
+     * @return true is empty, false is not empty
+     */
+    public boolean isEmpty(){
+        return(myNumEvents == 0);
+    }
+
+    /** Clears or cancels every event in the data structure.  Removes all JSLEvents
+     * from the data structure.
+     */
+    public void clear(){
+        myTop.clear();
+        myTopStart = Double.NEGATIVE_INFINITY;
+        myTopMin = Double.POSITIVE_INFINITY;
+        myTopMax = Double.NEGATIVE_INFINITY;
+        for (int x = 0; x < myNumRungs; x++){
+            myRungs[x].clear();
+        }
+        myNumRungs = 0;
+        myBottom.clear();
+        myNumEvents = 0;
+        myNumCanceled = 0;
+    }
+
+    /** Cancels the supplied JSLEvent in the calendar.  Does not remove the event
+     * from the calendar.  This method simply sets the cancel flag on the supplied event.
+     * @param e The JSLEvent to be cancelled
+     */
+    public void cancel(JSLEvent e){
+        if (!e.getCanceledFlag()){
+            myNumCanceled++;
+        }
+        e.setCanceledFlag(true);
+    }
+
+    /** Returns false, canceled events remain in the calendar until their event time
+     * @return false
+     */
+    public boolean getRemoveCanceledEventsOption(){
+        return(false);
+    }
+
+    /** Returns the number of events that were canceled via cancel() but are
+     *  still held in the calendar
+     * @return the number of canceled events held in the calendar
+     */
+    public int getNumberOfCanceledEvents(){
+        return(myNumCanceled);
+    }
+
+    /** Returns the number of events in the calendar
+     * @return An int representing the number of events.
+     */
+    public int size(){
+        return(myNumEvents);
+    }
+
+    /** Returns the number of rungs currently in use
+     * @return the number of rungs
+     */
+    public final int getNumberOfRungs(){
+        return(myNumRungs);
+    }
+
+    /** Returns the number of events in the calendar along with
+     *  the number in each tier
+     * @return A String representing the calendar
+     */
+    public String toString(){
+        int n = 0;
+        for (int x = 0; x < myNumRungs; x++){
+            n = n + myRungs[x].myCount;
+        }
+        return("Number of events = " + myNumEvents + " Top = " + myTop.size()
+                + " Rungs (" + myNumRungs + ") = " + n + " Bottom = " + myBottom.size());
+    }
+
+    //  ===========================================
+    //      PRIVATE METHODS
+    //  ===========================================
+
+    private void addToTop(JSLEvent e){
+        myTop.add(e);
+        double t = e.getTime();
+        if (!Double.isInfinite(t)){
+            if (t < myTopMin){
+                myTopMin = t;
+            }
+            if (t > myTopMax){
+                myTopMax = t;
+            }
+        }
+    }
+
+    /** Moves events down the ladder until the bottom holds the earliest events.
+     *  The calendar must not be empty.
+     */
+    private void fillBottom(){
+        while (myBottom.isEmpty()){
+            if (myNumRungs == 0){
+                transferTop();
+                continue;
+            }
+            Rung r = myRungs[myNumRungs - 1];
+            if (r.myCount == 0){
+                r.clear();
+                myNumRungs--;
+                continue;
+            }
+            ArrayList<JSLEvent> bucket = r.nextBucket();
+            if ((bucket.size() > THRESHOLD) && (myNumRungs < MAX_RUNGS)){
+                Rung child = myRungs[myNumRungs];
+                if (child.spread(bucket)){
+                    myNumRungs++;
+                    r.myCount = r.myCount - bucket.size();
+                    bucket.clear();
+                    r.myCur++;
+                    continue;
+                }
+            }
+            myBottom.addAll(bucket);
+            r.myCount = r.myCount - bucket.size();
+            bucket.clear();
+            r.myCur++;
+        }
+    }
+
+    /** Spreads the events in the top over the first rung.  Events with infinite
+     *  time stay in the top unless they are the only events left, in which case
+     *  they go to the bottom.  If the finite events all have the same time they go
+     *  directly to the bottom.
+     */
+    private void transferTop(){
+        if (myTopMin > myTopMax){
+            // no finite times in the top, all remaining events have infinite time
+            // the bottom holds them all, no event goes to the top until the calendar empties
+            myBottom.addAll(myTop);
+            myTop.clear();
+            myTopStart = Double.NaN;
+            return;
+        }
+        ArrayList<JSLEvent> finite = new ArrayList<JSLEvent>(myTop.size());
+        ArrayList<JSLEvent> infinite = new ArrayList<JSLEvent>();
+        for (JSLEvent e : myTop){
+            if (Double.isInfinite(e.getTime())){
+                infinite.add(e);
+            } else {
+                finite.add(e);
+            }
+        }
+        myTopStart = Math.nextUp(myTopMax);
+        myTop.clear();
+        myTop.addAll(infinite);
+        myTopMin = Double.POSITIVE_INFINITY;
+        myTopMax = Double.NEGATIVE_INFINITY;
+        if (myRungs[0].spread(finite)){
+            myNumRungs = 1;
+        } else {
+            myBottom.addAll(finite);
+        }
+    }
+
+    //  ===========================================
+    //      PRIVATE INNER CLASS
+    //  ===========================================
+
+    /** A rung of the ladder, an array of unsorted buckets of equal width
+     */
+    private static class Rung implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private ArrayList<JSLEvent>[] myBuckets = newBuckets(0);
+
+        private int myNumBuckets;
+        private double myStart;
+        private double myWidth;
+
+        /** the index of the current (earliest unprocessed) bucket
+         */
+        private int myCur;
+
+        /** the number of events in the rung
+         */
+        private int myCount;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static ArrayList<JSLEvent>[] newBuckets(int n){
+            return new ArrayList[n];
+        }
+
+        /** Places the event into the rung if its time is not before the
+         *  current bucket
+         * @return true if placed
+         */
+        private boolean add(JSLEvent e){
+            double i = Math.floor((e.getTime() - myStart)/myWidth);
+            int k = (i >= myNumBuckets) ? myNumBuckets - 1 : (int) i;
+            if (i < myCur || k < myCur){
+                // before the current bucket, or after the last bucket
+                // when the last bucket has already been processed
+                return false;
+            }
+            bucket(k).add(e);
+            myCount++;
+            return true;
+        }
+
+        /** Sets up the rung to cover the events and places them
+         *  into its buckets.
+         * @return false if the events cannot be spread, i.e. their times are all the same
+         */
+        private boolean spread(ArrayList<JSLEvent> events){
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (JSLEvent e : events){
+                double t = e.getTime();
+                if (t < min){
+                    min = t;
+                }
+                if (t > max){
+                    max = t;
+                }
+            }
+            int n = events.size();
+            double w = (max - min)/n;
+            if (!(w > 0.0) || Double.isInfinite(w)){
+                return false;
+            }
+            myStart = min;
+            myWidth = w;
+            myNumBuckets = n + 1;
+            myCur = 0;
+            myCount = 0;
+            if (myBuckets.length < myNumBuckets){
+                ArrayList<JSLEvent>[] b = newBuckets(myNumBuckets);
+                System.arraycopy(myBuckets, 0, b, 0, myBuckets.length);
+                myBuckets = b;
+            }
+            for (JSLEvent e : events){
+                add(e);
+            }
+            return true;
+        }
+
+        /** Advances to the first non-empty bucket and returns it.
+         *  The rung must not be empty.
+         */
+        private ArrayList<JSLEvent> nextBucket(){
+            while ((myBuckets[myCur] == null) || myBuckets[myCur].isEmpty()){
+                myCur++;
+            }
+            return myBuckets[myCur];
+        }
+
+        private ArrayList<JSLEvent> bucket(int k){
+            ArrayList<JSLEvent> b = myBuckets[k];
+            if (b == null){
+                b = new ArrayList<JSLEvent>();
+                myBuckets[k] = b;
+            }
+            return b;
+        }
+
+        private void clear(){
+            for (int k = myCur; k < myNumBuckets; k++){
+                if (myBuckets[k] != null){
+                    myBuckets[k].clear();
+                }
+            }
+            myNumBuckets = 0;
+            myCur = 0;
+            myCount = 0;
+        }
+    }
+}
@@ -33,6 +33,7 @@
 */
 package jsl.calendar;
 
+import java.io.Serializable;
 import jsl.modeling.JSLEvent;
 import java.util.LinkedList;
 import java.util.List;
@@ -42,7 +43,9 @@ import java.util.ListIterator;
  *  This class provides an event calendar by using a java.util.LinkedList to hold the underlying events.
  *
 */
-public class LinkedListEventCalendar implements CalendarIfc {
+public class LinkedListEventCalendar implements CalendarIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     //  ===========================================
     //      CLASS AND OBJECT ATTRIBUTES
@@ -50,6 +53,8 @@ public class LinkedListEventCalendar implements CalendarIfc {
     
     private List<JSLEvent> myEventSet;
     
+    private int myNumCanceled;
+    
     /** Creates new Calendar */
     public LinkedListEventCalendar(){
         myEventSet = new LinkedList<JSLEvent>();
@@ -89,8 +94,13 @@ public class LinkedListEventCalendar implements CalendarIfc {
      * @return The JSLEvent to be executed next
      */    
     public JSLEvent nextEvent(){
-        if (!isEmpty())
-            return ((JSLEvent)myEventSet.remove(0));
+        if (!isEmpty()){
+            JSLEvent e = myEventSet.remove(0);
+            if (e.getCanceledFlag() && (myNumCanceled > 0)){
+                myNumCanceled--;
+            }
+            return (e);
+        }
         else
             return(null);
     }
@@ -118,6 +128,7 @@ public class LinkedListEventCalendar implements CalendarIfc {
      */    
     public void clear(){
         myEventSet.clear();
+        myNumCanceled = 0;
     }
     
     /** Cancels the supplied JSLEvent in the calendar.  Does not remove the event
@@ -125,9 +136,27 @@ public class LinkedListEventCalendar implements CalendarIfc {
      * @param e The JSLEvent to be cancelled
      */    
     public void cancel(JSLEvent e){
+        if (!e.getCanceledFlag()){
+            myNumCanceled++;
+        }
         e.setCanceledFlag(true);
     }
     
+    /** Returns false, canceled events remain in the calendar until their event time
+     * @return false
+     */    
+    public boolean getRemoveCanceledEventsOption(){
+        return(false);
+    }
+    
+    /** Returns the number of events that were canceled via cancel() but are
+     *  still held in the calendar
+     * @return the number of canceled events held in the calendar
+     */    
+    public int getNumberOfCanceledEvents(){
+        return(myNumCanceled);
+    }
+    
     /** Returns the number of events in the calendar
      * @return An int representing the number of events.
      */    
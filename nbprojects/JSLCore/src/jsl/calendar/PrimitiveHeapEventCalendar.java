@@ -0,0 +1,304 @@
+/*
+* Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+*
+* Contact:
+*	Manuel D. Rossetti, Ph.D., P.E. 
+*	Department of Industrial Engineering 
+*	University of Arkansas 
+*	4207 Bell Engineering Center 
+*	Fayetteville, AR 72701 
+*	Phone: (479) 575-6756 
+*	Email: rossetti@uark.edu 
+*	Web: www.uark.edu/~rossetti
+*
+* This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+* of Java classes that permit the easy development and execution of discrete event
+* simulation programs.
+*
+* The JSL is free software; you can redistribute it and/or modify
+* it under the terms of the GNU General Public License as published by
+* the Free Software Foundation; either version 2 of the License, or
+* (at your option) any later version.
+*
+* The JSL is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with the JSL (see file COPYING in the distribution); 
+* if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor, 
+* Boston, MA  02110-1301  USA, or see www.fsf.org
+* 
+*/
+package jsl.calendar;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import jsl.modeling.JSLEvent;
+
+/** This class provides an event calendar by using an array based binary heap in which the
+ *  ordering keys of the events (time, priority, and id) are copied into parallel primitive
+ *  arrays.  The heap compares the keys directly rather than calling JSLEvent.compareTo(),
+ *  so sifting the heap does not dereference the events.  The heap holds an index into an
+ *  array of event slots.  An event stays in its slot while it is in the calendar, only the
+ *  keys and the slot index move during sifting.
+ *
+ *  The ordering is the same as JSLEvent.compareTo(): lower time, then lower priority, then
+ *  lower id goes first.  The calendar can be used in place of PriorityQueueEventCalendar.
+*/
+public class PrimitiveHeapEventCalendar implements CalendarIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    //  ===========================================
+    //      CLASS AND OBJECT ATTRIBUTES
+    //  ===========================================
+
+    /** The default initial capacity of the heap
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private double[] myTimes;
+    private int[] myPriorities;
+    private long[] myIds;
+
+    /** myHeapSlots[i] is the slot of the event at heap position i
+     */
+    private int[] myHeapSlots;
+
+    /** The events, by slot
+     */
+    private JSLEvent[] mySlots;
+
+    /** A stack of the unused slots
+     */
+    private int[] myFreeSlots;
+    private int myNumFreeSlots;
+
+    private int mySize;
+    private int myNumCanceled;
+
+    /** Creates new Calendar */
+    public PrimitiveHeapEventCalendar(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Creates new Calendar
+     *
+     * @param initialCapacity the initial size of the heap arrays, must be &gt; 0
+     */
+    public PrimitiveHeapEventCalendar(int initialCapacity){
+        if (initialCapacity < 1){
+            throw new IllegalArgumentException("The initial capacity must be >= 1");
+        }
+        myTimes = new double[initialCapacity];
+        myPriorities = new int[initialCapacity];
+        myIds = new long[initialCapacity];
+        myHeapSlots = new int[initialCapacity];
+        mySlots = new JSLEvent[initialCapacity];
+        myFreeSlots = new int[initialCapacity];
+        resetSlots(0);
+        mySize = 0;
+    }
+
+    /** The add method will place the provided JSLEvent into the
+     * underlying data structure ensuring the ordering of the events
+     * to be processed
+     * @param e The JSLEvent to be added to the calendar
+     */
+    public void add(JSLEvent e){
+        if (mySize == myTimes.length){
+            grow();
+        }
+        int slot = myFreeSlots[--myNumFreeSlots];
+        mySlots[slot] = e;
+        siftUp(mySize, e.getTime(), e.getPriority(), e.getId(), slot);
+        mySize++;
+    }
+
+    /** Returns the next JSLEvent to be executed.
+     * @return The JSLEvent to be executed next
+     */
+    public JSLEvent nextEvent(){
+        if (mySize == 0){
+            return(null);
+        }
+        int slot = myHeapSlots[0];
+        JSLEvent e = mySlots[slot];
+        mySlots[slot] = null;
+        myFreeSlots[myNumFreeSlots++] = slot;
+        mySize--;
+        if (mySize > 0){
+            siftDown(0, myTimes[mySize], myPriorities[mySize], myIds[mySize], myHeapSlots[mySize]);
+        }
+        if (e.getCanceledFlag() && (myNumCanceled > 0)){
+            myNumCanceled--;
+        }
+        return(e);
+    }
+
+    /** Returns the next JSLEvent without removing it
+     *  or null if there is no next event
+     * @return The JSLEvent to be executed next
+     */
+    public JSLEvent peekNext(){
+        if (mySize == 0){
+            return(null);
+        }
+        return(mySlots[myHeapSlots[0]]);
+    }
+
+    /** Checks to see if the calendar is empty
+     * @return true is empty, false is not empty
+     */
+    public boolean isEmpty(){
+        return(mySize == 0);
+    }
+
+    /** Clears or cancels every event in the data structure.  Removes all JSLEvents
+     * from the data structure.
+     */
+    public void clear(){
+        Arrays.fill(mySlots, null);
+        resetSlots(0);
+        mySize = 0;
+        myNumCanceled = 0;
+    }
+
+    /** Cancels the supplied JSLEvent in the calendar.  Does not remove the event
+     * from the calendar.  This method simply sets the cancel flag on the supplied event.
+     * @param e The JSLEvent to be cancelled
+     */
+    public void cancel(JSLEvent e){
+        if (!e.getCanceledFlag()){
+            myNumCanceled++;
+        }
+        e.setCanceledFlag(true);
+    }
+
+    /** Returns false, canceled events remain in the calendar until their event time
+     * @return false
+     */
+    public boolean getRemoveCanceledEventsOption(){
+        return(false);
+    }
+
+    /** Returns the number of events that were canceled via cancel() but are
+     *  still held in the calendar
+     * @return the number of canceled events held in the calendar
+     */
+    public int getNumberOfCanceledEvents(){
+        return(myNumCanceled);
+    }
+
+    /** Returns the number of events in the calendar
+     * @return An int representing the number of events.
+     */
+    public int size(){
+        return(mySize);
+    }
+
+    /** Returns the number of events in the calendar.
+     * @return A String representing the number of events in the calendar
+     */
+    public String toString(){
+        return("Number of events = " + mySize);
+    }
+
+    //  ===========================================
+    //      PRIVATE METHODS
+    //  ===========================================
+
+    /** Places all the slots from start to the end of the slot array
+     *  onto the free slot stack, lowest slot on top
+     */
+    private void resetSlots(int start){
+        int n = mySlots.length;
+        myNumFreeSlots = 0;
+        for (int s = n - 1; s >= start; s--){
+            myFreeSlots[myNumFreeSlots++] = s;
+        }
+    }
+
+    private void grow(){
+        int n = myTimes.length;
+        int m = 2*n;
+        myTimes = Arrays.copyOf(myTimes, m);
+        myPriorities = Arrays.copyOf(myPriorities, m);
+        myIds = Arrays.copyOf(myIds, m);
+        myHeapSlots = Arrays.copyOf(myHeapSlots, m);
+        mySlots = Arrays.copyOf(mySlots, m);
+        // the heap is full so all the old slots are in use
+        myFreeSlots = new int[m];
+        resetSlots(n);
+    }
+
+    /** Checks if the key (t, p, id) goes before the key at heap position i
+     */
+    private boolean before(double t, int p, long id, int i){
+        double ti = myTimes[i];
+        if (t < ti){
+            return true;
+        }
+        if (t > ti){
+            return false;
+        }
+        int pi = myPriorities[i];
+        if (p < pi){
+            return true;
+        }
+        if (p > pi){
+            return false;
+        }
+        return (id < myIds[i]);
+    }
+
+    private void set(int i, double t, int p, long id, int slot){
+        myTimes[i] = t;
+        myPriorities[i] = p;
+        myIds[i] = id;
+        myHeapSlots[i] = slot;
+    }
+
+    private void move(int from, int to){
+        myTimes[to] = myTimes[from];
+        myPriorities[to] = myPriorities[from];
+        myIds[to] = myIds[from];
+        myHeapSlots[to] = myHeapSlots[from];
+    }
+
+    /** Places the key at position i or above, moving later parents down
+     */
+    private void siftUp(int i, double t, int p, long id, int slot){
+        while (i > 0){
+            int parent = (i - 1) >>> 1;
+            if (!before(t, p, id, parent)){
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        set(i, t, p, id, slot);
+    }
+
+    /** Places the key at position i or below, moving earlier children up
+     */
+    private void siftDown(int i, double t, int p, long id, int slot){
+        int half = mySize >>> 1;
+        while (i < half){
+            int child = 2*i + 1;
+            int right = child + 1;
+            if ((right < mySize) && before(myTimes[right], myPriorities[right], myIds[right], child)){
+                child = right;
+            }
+            if (before(t, p, id, child)){
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        set(i, t, p, id, slot);
+    }
+}
@@ -33,19 +33,24 @@
 */
 package jsl.calendar;
 
+import java.io.Serializable;
 import java.util.PriorityQueue;
 
 import jsl.modeling.JSLEvent;
 
 /** This class provides an event calendar by using a priority queue to hold the underlying events.
 */
-public class PriorityQueueEventCalendar implements CalendarIfc {
+public class PriorityQueueEventCalendar implements CalendarIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     //  ===========================================
     //      CLASS AND OBJECT ATTRIBUTES
     //  ===========================================
     
     private PriorityQueue<JSLEvent> myEventSet;
+
+    private int myNumCanceled;
     
     /** Creates new Calendar */
 	/**
@@ -67,7 +72,11 @@ public class PriorityQueueEventCalendar implements CalendarIfc {
 	 * @see jsl.calendar.CalendarIfc#nextEvent()
 	 */
 	public final JSLEvent nextEvent() {
-		return((JSLEvent)myEventSet.poll());
+		JSLEvent e = myEventSet.poll();
+		if ((e != null) && e.getCanceledFlag() && (myNumCanceled > 0)) {
+			myNumCanceled--;
+		}
+		return(e);
 	}
 
 	/* (non-Javadoc)
@@ -89,13 +98,31 @@ public class PriorityQueueEventCalendar implements CalendarIfc {
 	 */
 	public final void clear() {
 		myEventSet.clear();
+		myNumCanceled = 0;
 	}
 
 	/* (non-Javadoc)
 	 * @see jsl.calendar.CalendarIfc#cancel(jsl.modeling.JSLEvent)
 	 */
 	public final void cancel(JSLEvent event) {
-        event.setCanceledFlag(true);
+		if (!event.getCanceledFlag()) {
+			myNumCanceled++;
+		}
+		event.setCanceledFlag(true);
+	}
+
+	/* (non-Javadoc)
+	 * @see jsl.calendar.CalendarIfc#getRemoveCanceledEventsOption()
+	 */
+	public final boolean getRemoveCanceledEventsOption() {
+		return(false);
+	}
+
+	/* (non-Javadoc)
+	 * @see jsl.calendar.CalendarIfc#getNumberOfCanceledEvents()
+	 */
+	public final int getNumberOfCanceledEvents() {
+		return(myNumCanceled);
 	}
 
 	/* (non-Javadoc)
@@ -34,17 +34,21 @@
 package jsl.calendar;
 
 
+import java.io.Serializable;
 import jsl.modeling.JSLEvent;
 
 /** This class provides an event calendar by using a skew heap to hold the underlying events.
 */
-public class SkewHeapEventCalendar implements CalendarIfc {
+public class SkewHeapEventCalendar implements CalendarIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     //  ===========================================
     //      CLASS AND OBJECT ATTRIBUTES
     //  ===========================================
     private BinaryNode myRoot;
     private int myNumEvents;
+    private int myNumCanceled;
     
     /** Creates new Calendar */
     public SkewHeapEventCalendar(){
@@ -70,6 +74,9 @@ public class SkewHeapEventCalendar implements CalendarIfc {
             JSLEvent e = (JSLEvent)myRoot.value;
             myRoot = merge(myRoot.leftChild, myRoot.rightChild);
             myNumEvents--;
+            if (e.getCanceledFlag() && (myNumCanceled > 0)){
+                myNumCanceled--;
+            }
             return (e);
         }
         else
@@ -101,6 +108,7 @@ public class SkewHeapEventCalendar implements CalendarIfc {
     public void clear(){
         while (nextEvent() != null){
         }
+        myNumCanceled = 0;
     }
     
     /** Cancels the supplied JSLEvent in the calendar.  Does not remove the event
@@ -108,9 +116,27 @@ public class SkewHeapEventCalendar implements CalendarIfc {
      * @param e The JSLEvent to be cancelled
      */    
     public void cancel(JSLEvent e){
+        if (!e.getCanceledFlag()){
+            myNumCanceled++;
+        }
         e.setCanceledFlag(true);
     }
     
+    /** Returns false, canceled events remain in the calendar until their event time
+     * @return false
+     */    
+    public boolean getRemoveCanceledEventsOption(){
+        return(false);
+    }
+    
+    /** Returns the number of events that were canceled via cancel() but are
+     *  still held in the calendar
+     * @return the number of canceled events held in the calendar
+     */    
+    public int getNumberOfCanceledEvents(){
+        return(myNumCanceled);
+    }
+    
     /** Returns the number of events in the calendar
      * @return An int representing the number of events.
      */    
@@ -155,7 +181,10 @@ public class SkewHeapEventCalendar implements CalendarIfc {
     //  ===========================================
 
     
-    private class BinaryNode {
+    private class BinaryNode implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
         /**
          * value being held by node
          */
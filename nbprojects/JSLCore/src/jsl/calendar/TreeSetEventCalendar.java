@@ -34,13 +34,16 @@
 
 package jsl.calendar;
 
+import java.io.Serializable;
 import jsl.modeling.JSLEvent;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 /** This class provides an event calendar by using a tree set to hold the underlying events.
 */
-public class TreeSetEventCalendar implements CalendarIfc {
+public class TreeSetEventCalendar implements CalendarIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     //  ===========================================
     //      CLASS AND OBJECT ATTRIBUTES
@@ -48,6 +51,8 @@ public class TreeSetEventCalendar implements CalendarIfc {
     
     private SortedSet<JSLEvent> myEventSet;
     
+    private int myNumCanceled;
+    
     /** Creates new Calendar */
     public TreeSetEventCalendar(){
         myEventSet = new TreeSet<JSLEvent>();
@@ -71,6 +76,9 @@ public class TreeSetEventCalendar implements CalendarIfc {
         if (!isEmpty()){
             JSLEvent e = (JSLEvent)myEventSet.first();
             myEventSet.remove(e);
+            if (e.getCanceledFlag() && (myNumCanceled > 0)){
+                myNumCanceled--;
+            }
             return (e);
         }
         else
@@ -100,6 +108,7 @@ public class TreeSetEventCalendar implements CalendarIfc {
      */    
     public void clear(){
         myEventSet.clear();
+        myNumCanceled = 0;
     }
     
     /** Cancels the supplied JSLEvent in the calendar.  Does not remove the event
@@ -107,9 +116,27 @@ public class TreeSetEventCalendar implements CalendarIfc {
      * @param e The JSLEvent to be cancelled
      */    
     public void cancel(JSLEvent e){
+        if (!e.getCanceledFlag()){
+            myNumCanceled++;
+        }
         e.setCanceledFlag(true);
     }
     
+    /** Returns false, canceled events remain in the calendar until their event time
+     * @return false
+     */    
+    public boolean getRemoveCanceledEventsOption(){
+        return(false);
+    }
+    
+    /** Returns the number of events that were canceled via cancel() but are
+     *  still held in the calendar
+     * @return the number of canceled events held in the calendar
+     */    
+    public int getNumberOfCanceledEvents(){
+        return(myNumCanceled);
+    }
+    
     /** Returns the number of events in the calendar
      * @return An int representing the number of events.
      */    
@@ -37,6 +37,7 @@
 package jsl.modeling;
 
 import java.io.PrintWriter;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -99,6 +100,8 @@ import jsl.utilities.statistic.WeightedStatistic;
  */
 public class BatchingElement extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * A constant for the default batch interval for a replication If there is
      * no run length specified and the user turns on default batching, then the
@@ -509,6 +512,7 @@ public class BatchingElement extends SchedulingElement {
     @Override
     protected void initialize() {
         myBatchEvent = scheduleEvent(myTimeBtwBatches, 1, myBatchEventPriority);
+        myBatchEvent.setRecyclableOption(false);
     }
 
     /**
@@ -749,7 +753,9 @@ public class BatchingElement extends SchedulingElement {
         }
     }
 
-    protected class AddRemoveObserver implements ObserverIfc {
+    protected class AddRemoveObserver implements ObserverIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void update(Object theObserved, Object arg) {
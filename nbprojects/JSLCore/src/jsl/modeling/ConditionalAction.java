@@ -5,11 +5,15 @@
 
 package jsl.modeling;
 
+import java.io.Serializable;
+
 /**
  *
  * @author rossetti
  */
-abstract public class ConditionalAction implements Comparable<ConditionalAction>{
+abstract public class ConditionalAction implements Comparable<ConditionalAction>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private int myPriority;
 
@@ -4,6 +4,9 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.misc.OrderedList;
 
 /**  Processes the ConditionalActions to check if their testCondition()
@@ -15,9 +18,11 @@ import jsl.utilities.misc.OrderedList;
  *
  * @author rossetti
  */
-public class ConditionalActionProcessor {
+public class ConditionalActionProcessor implements Serializable {
 
-    private static int myActionCounter;
+    private static final long serialVersionUID = 1L;
+
+    private static final AtomicInteger myActionCounter = new AtomicInteger();
     
     public static final int DEFAULT_MAX_SCANS = 1000;
 
@@ -50,7 +55,7 @@ public class ConditionalActionProcessor {
         if (action == null){
             throw new IllegalArgumentException("The supplied action was null");
         }
-        action.setId(++myActionCounter);
+        action.setId(SimulationContext.nextId(ConditionalActionProcessor.class, myActionCounter));
         action.setPriority(priority);
         myActions.add(action);
     }
@@ -88,6 +93,14 @@ public class ConditionalActionProcessor {
         myActions.clear();
     }
 
+    /** Returns the number of registered actions
+     *
+     * @return the number of registered actions
+     */
+    public final int getNumberOfActions(){
+        return myActions.size();
+    }
+
     /** Returns true at least one ConditionalAction was executed
      *  false means all actions tested false
      * 
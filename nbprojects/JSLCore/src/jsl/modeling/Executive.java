@@ -36,7 +36,10 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import jsl.calendar.CalendarIfc;
 import jsl.calendar.PriorityQueueEventCalendar;
 import jsl.observers.ObservableComponent;
@@ -45,6 +48,7 @@ import jsl.observers.ObserverIfc;
 import jsl.observers.scheduler.ExecutiveTraceReport;
 import jsl.observers.textfile.IPLogReport;
 import jsl.utilities.IdentityIfc;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.reporting.JSL;
 
 /**
@@ -60,6 +64,10 @@ import jsl.utilities.reporting.JSL;
  * The Executive uses an instance of a ConditionalActionProcessor to manage the
  * execution of ConditionalActions.
  *
+ * When no observers (including the trace report) are attached, events are
+ * executed without notifying observers or updating the observer state, and
+ * when no conditional actions are registered the C-phase is skipped.
+ *
  * The event calendar and attached conditional actions are cleared after the
  * initialize() method is called
  *
@@ -73,9 +81,19 @@ import jsl.utilities.reporting.JSL;
  * be sent to JSL.LOGGER.warning(). This message can be turned off by calling
  * setTerminationWarningMessageOption(false)
  *
+ * If the event pooling option is turned on, events created by scheduleEvent()
+ * are recycled after they execute and reused for later events, which avoids
+ * creating a new JSLEvent for every scheduled event. An executed event is
+ * recycled when the next event executes, unless it has been rescheduled or its
+ * recyclable option is false. Clients that hold references to events after they
+ * execute must set JSLEvent.setRecyclableOption(false) or check
+ * JSLEvent.getGeneration() before using the reference.
+ *
  * @author rossetti
  */
-public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIfc {
+public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * Used when observers are notified after all events are executed
@@ -115,7 +133,7 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
     /**
      * A counter to count the number of objects created to assign "unique" ids
      */
-    private static int myIdCounter_;
+    private static final AtomicInteger myIdCounter_ = new AtomicInteger();
 
     /**
      * The name of this object
@@ -180,6 +198,19 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
      */
     private JSLEvent myEndEvent;
 
+    /**
+     * The action of the end event, which is reused for every replication
+     *
+     */
+    private final EndEventActionListener myEndEventAction = new EndEventActionListener();
+
+    /**
+     * The start of the stopping message of the event execution process when
+     * the end event occurs, which is followed by the time
+     *
+     */
+    private static final String END_EVENT_MSG = "Executive: Scheduled end event occurred at time ";
+
     /**
      * The time that the executive actually ended. This may be different than
      * getScheduledEndTime()
@@ -195,7 +226,7 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
     /**
      * A reference to a tracing report
      */
-    private ExecutiveTraceReport myTraceReport;
+    private transient ExecutiveTraceReport myTraceReport;
 
     /**
      * A flag to control whether or not a warning is issues if the user does not
@@ -204,17 +235,68 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
      */
     private boolean myTerminationWarningMsgOption = true;
 
+    /**
+     * A flag to indicate whether or not executed events are recycled
+     *
+     */
+    private boolean myEventPoolingFlag = false;
+
+    /**
+     * Holds recycled events for reuse when event pooling is on
+     *
+     */
+    private ArrayDeque<JSLEvent> myEventPool;
+
+    /**
+     * The number of events requested from the event pool
+     *
+     */
+    private long myNumEventPoolRequests;
+
+    /**
+     * The number of events requested from the event pool that were filled
+     * by a recycled event
+     *
+     */
+    private long myNumEventPoolHits;
+
+    /**
+     * A flag to indicate whether or not all events scheduled for the same
+     * time are executed as a single step
+     *
+     */
+    private boolean myBatchSimultaneousEventsFlag = false;
+
+    /**
+     * An action to perform once, after the current event has been executed,
+     * e.g. to write a checkpoint. May be set from another thread.
+     *
+     */
+    private transient volatile Runnable myAfterEventAction;
+
     public Executive() {
         this(null, null);
     }
 
+    /**
+     * Creates an Executive that uses the supplied event calendar, e.g. a
+     * CalendarQueueEventCalendar for models with many pending events
+     *
+     * @param c the event calendar, if null a PriorityQueueEventCalendar is
+     * used
+     */
     public Executive(CalendarIfc c) {
         this(null, c);
     }
 
+    /**
+     *
+     * @param name the name of the executive
+     * @param c the event calendar, if null a PriorityQueueEventCalendar is
+     * used
+     */
     public Executive(String name, CalendarIfc c) {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(Executive.class, myIdCounter_);
         setName(name);
         if (c == null) {
             c = new PriorityQueueEventCalendar();
@@ -284,6 +366,108 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         myTerminationWarningMsgOption = flag;
     }
 
+    /**
+     *
+     * @return true if executed events are recycled
+     */
+    public final boolean getEventPoolingOption() {
+        return myEventPoolingFlag;
+    }
+
+    /**
+     * Turns on or off the recycling of executed events. Turning off the option
+     * clears the pool. The default is off.
+     *
+     * @param flag true turns on event pooling
+     */
+    public final void setEventPoolingOption(boolean flag) {
+        myEventPoolingFlag = flag;
+        if (flag) {
+            if (myEventPool == null) {
+                myEventPool = new ArrayDeque<JSLEvent>();
+            }
+        } else {
+            myEventPool = null;
+        }
+    }
+
+    /**
+     *
+     * @return true if events scheduled for the same time are executed as a
+     * single step
+     */
+    public final boolean getBatchSimultaneousEventsOption() {
+        return myBatchSimultaneousEventsFlag;
+    }
+
+    /**
+     * Turns on or off the batch execution of simultaneous events. When on,
+     * each step of the Executive executes every event scheduled for the next
+     * event time, in the calendar's time, priority, and id order, including
+     * events scheduled for that time by the events in the batch. Observers are
+     * notified once before the first event of the batch (BEFORE_EVENT) and
+     * once after the last event of the batch (AFTER_EVENT), and the C-phase
+     * of the conditional actions is performed once per batch. The order of the
+     * events is the same as when the option is off. The default is off.
+     *
+     * @param flag true turns on batch execution
+     */
+    public final void setBatchSimultaneousEventsOption(boolean flag) {
+        myBatchSimultaneousEventsFlag = flag;
+    }
+
+    /**
+     * The number of recycled events that are waiting to be reused
+     *
+     * @return the number of events in the pool
+     */
+    public final int getEventPoolSize() {
+        if (myEventPool == null) {
+            return 0;
+        }
+        return myEventPool.size();
+    }
+
+    /**
+     * The number of events requested from the event pool since event pooling
+     * was turned on or the statistics were reset
+     *
+     * @return the number of requests
+     */
+    public final long getNumberOfEventPoolRequests() {
+        return myNumEventPoolRequests;
+    }
+
+    /**
+     * The number of events requested from the event pool that were filled by
+     * a recycled event
+     *
+     * @return the number of hits
+     */
+    public final long getNumberOfEventPoolHits() {
+        return myNumEventPoolHits;
+    }
+
+    /**
+     * The fraction of event requests that were filled by a recycled event
+     *
+     * @return the hit rate or Double.NaN if no requests
+     */
+    public final double getEventPoolHitRate() {
+        if (myNumEventPoolRequests == 0) {
+            return Double.NaN;
+        }
+        return ((double) myNumEventPoolHits) / myNumEventPoolRequests;
+    }
+
+    /**
+     * Resets the event pool requests and hits to zero
+     */
+    public final void resetEventPoolStatistics() {
+        myNumEventPoolRequests = 0;
+        myNumEventPoolHits = 0;
+    }
+
     /**
      * Can be used by observers to check what occurred
      *
@@ -360,13 +544,21 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
      * to reschedule a canceled event prior to the originally scheduled event
      * time, then just use scheduleEvent() to make a new event.
      *
+     * If the event calendar removes canceled events (see
+     * CalendarIfc.getRemoveCanceledEventsOption()), then a scheduled event can
+     * be rescheduled. It is removed from the calendar and placed back into the
+     * calendar at its new time.
+     *
      * @param event The event that needs rescheduling
      * @param time represents the inter-event time, i.e. the interval from the
      * current time to when the event will need to occur
      */
     public final void reschedule(JSLEvent event, double time) {
         if (event.isScheduled()) {
-            throw new IllegalArgumentException("Attempted to reschedule an already scheduled event.");
+            if (!myEventCalendar.getRemoveCanceledEventsOption()) {
+                throw new IllegalArgumentException("Attempted to reschedule an already scheduled event.");
+            }
+            cancel(event);
         }
         event.setCanceledFlag(false);
         event.setTime(getTime() + time);
@@ -390,7 +582,7 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
             double time, String name, int priority, Object message) {
 
         // create the event
-        JSLEvent event = new JSLEvent();
+        JSLEvent event = newEvent();
 
         // prepare the event
         event.setName(name);
@@ -403,17 +595,72 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         return (event);
     }
 
+    /**
+     * Returns a recycled event if event pooling is on and the pool is not
+     * empty, otherwise creates a new event
+     *
+     * @return an unprepared event
+     */
+    private JSLEvent newEvent() {
+        if (!myEventPoolingFlag) {
+            return new JSLEvent();
+        }
+        myNumEventPoolRequests++;
+        JSLEvent event = myEventPool.poll();
+        if (event == null) {
+            return new JSLEvent();
+        }
+        myNumEventPoolHits++;
+        event.unpool();
+        return event;
+    }
+
+    /**
+     * Places the event in the event pool if event pooling is on, the event
+     * is recyclable and it has not been rescheduled
+     *
+     * @param event the executed event
+     */
+    private void recycle(JSLEvent event) {
+        if (!myEventPoolingFlag || event.isScheduled() || event.isPooled()) {
+            return;
+        }
+        if (!event.getRecyclableOption()) {
+            return;
+        }
+        event.recycle();
+        myEventPool.push(event);
+    }
+
     /**
      * Tells the event calendar to cancel the provided event. The event must
-     * have been scheduled otherwise an IllegalArgumentException is thrown.
+     * have been scheduled otherwise an IllegalArgumentException is thrown. If
+     * the event calendar removes canceled events, the event is no longer
+     * scheduled after canceling.
      *
      * @param e A reference to the event to be canceled.
      */
     public final void cancel(JSLEvent e) {
+        if (e.isPooled()) {
+            throw new JSLEventException("Attempted to cancel an event that was recycled by the event pool.");
+        }
         if (!e.isScheduled()) {
             throw new IllegalArgumentException("Attempted to cancel an unscheduled event.");
         }
         myEventCalendar.cancel(e);
+        if (myEventCalendar.getRemoveCanceledEventsOption()) {
+            e.setScheduledFlag(false);
+        }
+    }
+
+    /**
+     * Returns the number of canceled events that are still held by the event
+     * calendar, waiting to be removed at their event time
+     *
+     * @return the number of canceled events in the calendar
+     */
+    public final int getNumberOfCanceledEvents() {
+        return myEventCalendar.getNumberOfCanceledEvents();
     }
 
     /**
@@ -466,6 +713,14 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         sb.append("Current time: ");
         sb.append(getTime());
         sb.append("\n");
+        if (getEventPoolingOption()) {
+            sb.append("Event pool requests: ");
+            sb.append(getNumberOfEventPoolRequests());
+            sb.append("\n");
+            sb.append("Event pool hit rate: ");
+            sb.append(getEventPoolHitRate());
+            sb.append("\n");
+        }
         sb.append(myEventExecutionProcess);
         return (sb.toString());
     }
@@ -585,6 +840,27 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         myEventExecutionProcess.run();
     }
 
+    /**
+     * The action is performed once by the thread that executes the events,
+     * after the current event (or batch of events) has been executed and
+     * before the next event is selected. This method may be called from any
+     * thread. Used by Simulation to write checkpoints.
+     *
+     * @param action the action, null cancels a pending action
+     */
+    final void setAfterEventAction(Runnable action) {
+        myAfterEventAction = action;
+    }
+
+    /**
+     * Continues executing the events of an executive that was restored from
+     * a checkpoint, which was written while executeAllEvents() was running.
+     *
+     */
+    final void resumeExecutingEvents() {
+        myEventExecutionProcess.resumeAll_();
+    }
+
     @Override
     public final void end() {
         String msg = "The executive was told to end by the user at time " + getTime();
@@ -709,7 +985,10 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
      */
     public final void turnOffDefaultEventTraceReport() {
         if (myTraceReportFlag == true) {
-            deleteObserver(myTraceReport);
+            if (myTraceReport != null) {
+                // the report is not restored with a checkpoint
+                deleteObserver(myTraceReport);
+            }
             myTraceReportFlag = false;
             myTraceReport = null;
         }
@@ -784,45 +1063,139 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
                 event.setScheduledFlag(false);
                 if (event.getCanceledFlag() == false) {
                     // event was not cancelled
-                    // update the current simulation time to the event time
-                    myCurrentTime = event.getTime();
-                    myObserverState = BEFORE_EVENT;
-                    notifyObservers(event);
+                    executeEvent(event, myObservableComponent.countObservers() > 0);
+                }
+            }
+        } catch (RuntimeException e) {
+            logRuntimeException(event);
+            throw e;
+        }
+
+    }
+
+    /**
+     * Executes the event, updates the time and the event counts, and then
+     * performs the C-phase. The observers are notified before and after the
+     * event only if observed is true, so that the loop does not update the
+     * observer state when no observers (including the trace report) are
+     * attached.
+     *
+     * @param event the event to execute, not canceled
+     * @param observed true if the observers are to be notified
+     */
+    private void executeEvent(JSLEvent event, boolean observed) {
+        // update the current simulation time to the event time
+        myCurrentTime = event.getTime();
+        if (observed) {
+            myObserverState = BEFORE_EVENT;
+            notifyObservers(event);
+        }
+        event.execute();
+        JSLEvent previous = myLastExecutedEvent;
+        myLastExecutedEvent = event;
+        myNumEventsExecuted = myNumEventsExecuted + 1;
+        if (observed) {
+            myObserverState = AFTER_EVENT;
+            notifyObservers(event);
+        }
+        performCPhase();
+        if (previous != null) {
+            // the previously executed event is no longer needed
+            recycle(previous);
+        }
+    }
+
+    /**
+     * Executes the provided event and then every event in the calendar that is
+     * scheduled for the same time, as a single batch. Observers are notified
+     * once before and once after the batch and the C-phase is performed once
+     * after the batch. Events are executed in the calendar's order, so an
+     * event scheduled by the batch for the current time executes within the
+     * batch in its proper place. If the executive is stopped or ended by an
+     * event in the batch, the remaining events stay in the calendar.
+     *
+     * @param event represents the first event of the batch or null
+     */
+    protected void executeBatch(JSLEvent event) {
+        if (event == null) {
+            return;
+        }
+        double t = event.getTime();
+        boolean executed = false;
+        try {
+            while (true) {
+                // the event is no longer scheduled
+                event.setScheduledFlag(false);
+                if (event.getCanceledFlag() == false) {
+                    if (executed == false) {
+                        // first event of the batch
+                        executed = true;
+                        myCurrentTime = t;
+                        if (myObservableComponent.countObservers() > 0) {
+                            myObserverState = BEFORE_EVENT;
+                            notifyObservers(event);
+                        }
+                    }
                     event.execute();
+                    JSLEvent previous = myLastExecutedEvent;
                     myLastExecutedEvent = event;
                     myNumEventsExecuted = myNumEventsExecuted + 1;
-                    myObserverState = AFTER_EVENT;
-                    notifyObservers(event);
-                    performCPhase();
+                    if (previous != null) {
+                        // the previously executed event is no longer needed
+                        recycle(previous);
+                    }
+                }
+                if (myEventExecutionProcess.getStoppingFlag()
+                        || myEventExecutionProcess.isEnded()) {
+                    break;
                 }
+                JSLEvent ne = myEventCalendar.peekNext();
+                if ((ne == null) || (ne.getTime() > t)) {
+                    break;
+                }
+                event = myEventCalendar.nextEvent();
             }
-        } catch (RuntimeException e) {
-            StringBuilder sb = new StringBuilder();
-            sb.append("######################################");
-            sb.append(System.lineSeparator());
-            sb.append("A RuntimeException occurred near this event:");
-            sb.append(System.lineSeparator());
-            sb.append(event);
-            sb.append(System.lineSeparator());
-            sb.append("######################################");
-            sb.append(System.lineSeparator());
-            sb.append(System.lineSeparator());
-            if (event != null) {
-                if (event.getModelElement() != null) {
-                    Simulation sim = event.getModelElement().getSimulation();
-                    sb.append(sim);
+            if (executed) {
+                if (myObservableComponent.countObservers() > 0) {
+                    myObserverState = AFTER_EVENT;
+                    notifyObservers(myLastExecutedEvent);
                 }
+                performCPhase();
             }
-            JSL.LOGGER.severe(sb.toString());
+        } catch (RuntimeException e) {
+            logRuntimeException(event);
             throw e;
         }
+    }
 
+    private void logRuntimeException(JSLEvent event) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("######################################");
+        sb.append(System.lineSeparator());
+        sb.append("A RuntimeException occurred near this event:");
+        sb.append(System.lineSeparator());
+        sb.append(event);
+        sb.append(System.lineSeparator());
+        sb.append("######################################");
+        sb.append(System.lineSeparator());
+        sb.append(System.lineSeparator());
+        if (event != null) {
+            if (event.getModelElement() != null) {
+                Simulation sim = event.getModelElement().getSimulation();
+                sb.append(sim);
+            }
+        }
+        JSL.LOGGER.severe(sb.toString());
     }
 
     protected void performCPhase() {
         if (myConditionalActionProcessor == null) {
             return;
         }
+        if (myConditionalActionProcessor.getNumberOfActions() == 0) {
+            // nothing to scan, avoid peeking at the calendar
+            return;
+        }
 
         JSLEvent ne = peekNextEvent();
         if (ne == null) {
@@ -837,6 +1210,9 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
     }
 
     protected void schedule(JSLEvent e) {
+        if (e.isPooled()) {
+            throw new JSLEventException("Attempted to schedule an event that was recycled by the event pool.");
+        }
         if (isCreated() || isEnded()) {
             StringBuilder sb = new StringBuilder();
             sb.append("An event was scheduled when the Executive is in the created or ended state.\n");
@@ -852,6 +1228,7 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
             throw new JSLEventException("Event has already been scheduled!");
         }
 
+
         if (e.getTime() < getTime()) {
             throw new JSLEventException("Event to be Scheduled before Current Time!");
         }
@@ -877,15 +1254,16 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
             throw new IllegalArgumentException("The time must be > 0.0");
         }
 
-        if (isEndEventScheduled()) {
+        if (isEndEventScheduled() && myEndEvent.isScheduled()) {
             // already scheduled end event, cancel it
             cancel(myEndEvent);
         }
         //System.out.println("Executive: scheduling end of replication at time: " + time);
         // schedule the new time
-        myEndEvent = scheduleEvent(new EndEventActionListener(),
+        myEndEvent = scheduleEvent(myEndEventAction,
                 time, "End Replication",
                 JSLEvent.DEFAULT_END_REPLICATION_EVENT_PRIORITY, null);
+        myEndEvent.setRecyclableOption(false);
         return myEndEvent;
     }
 
@@ -963,12 +1341,13 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         return myEventExecutionProcess.noStepsExecuted();
     }
 
-    private class EndEventActionListener implements EventActionIfc {
+    private class EndEventActionListener implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent event) {
-            String msg = "Executive: Scheduled end event occurred at time " + getTime();
-            myEventExecutionProcess.stop(msg);
+            myEventExecutionProcess.stop(END_EVENT_MSG + getTime());
         }
     }
 
@@ -1027,6 +1406,8 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
 
     protected class EventExecutionProcess extends IterativeProcess<JSLEvent> {
 
+        private static final long serialVersionUID = 1L;
+
         @Override
         protected final void initializeIterations() {
             super.initializeIterations();
@@ -1060,7 +1441,20 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         @Override
         protected void runStep() {
             myCurrentStep = next();
-            execute(myCurrentStep);
+            if (myBatchSimultaneousEventsFlag) {
+                executeBatch(myCurrentStep);
+            } else {
+                execute(myCurrentStep);
+            }
+        }
+
+        @Override
+        protected void checkStoppingCondition() {
+            Runnable action = myAfterEventAction;
+            if (action != null) {
+                myAfterEventAction = null;
+                action.run();
+            }
         }
     }
 }
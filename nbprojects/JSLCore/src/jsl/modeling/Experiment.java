@@ -4,6 +4,10 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+import jsl.utilities.SimulationContext;
+
 /**
  * This class provides the information for running a simulation experiment. An
  * experiment is a specification for the number of replications, the warm up
@@ -24,12 +28,14 @@ package jsl.modeling;
  * off by default
  *
  */
-public class Experiment implements ExperimentGetIfc {
+public class Experiment implements ExperimentGetIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * A counter to count the number of objects created to assign "unique" ids
      */
-    private static int myIdCounter_;
+    private static final AtomicInteger myIdCounter_ = new AtomicInteger();
 
     /**
      * The name of this object
@@ -149,8 +155,7 @@ public class Experiment implements ExperimentGetIfc {
      * @param name The name of the experiment
      */
     public Experiment(String name) {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(Experiment.class, myIdCounter_);
         setExperimentName(name);
         myNumReps = 1;
         myLengthOfReplication = Double.POSITIVE_INFINITY;
@@ -609,4 +614,17 @@ public class Experiment implements ExperimentGetIfc {
     protected final void incrementCurrentReplicationNumber() {
         myCurRepNum = myCurRepNum + 1;
     }
+
+    /**
+     * Sets the current replication number, used when replications are not
+     * executed in order, e.g. by a ParallelReplicationRunner
+     *
+     * @param n the replication number, must be &gt;= 0
+     */
+    protected final void setCurrentReplicationNumber(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("The replication number must be >= 0");
+        }
+        myCurRepNum = n;
+    }
 }
@@ -33,12 +33,15 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jsl.observers.ObservableComponent;
 import jsl.observers.ObservableIfc;
 import jsl.observers.ObserverIfc;
 import jsl.observers.textfile.IPLogReport;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.reporting.JSL;
 
 /**
@@ -89,12 +92,14 @@ import jsl.utilities.reporting.JSL;
  *
  * @param <T>
  */
-abstract public class IterativeProcess<T> implements ObservableIfc, IterativeProcessIfc {
+abstract public class IterativeProcess<T> implements ObservableIfc, IterativeProcessIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * A counter to count the number of created to assign "unique" ids
      */
-    private static long myIdCounter_;
+    private static final AtomicLong myIdCounter_ = new AtomicLong();
 
     /**
      * Indicates whether the iterative process haD no steps to run
@@ -221,7 +226,7 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
     /**
      * Used to log state changes
      */
-    protected IPLogReport myIPLogReport;
+    protected transient IPLogReport myIPLogReport;
 
     /**
      * Used to indicate whether logging is on
@@ -277,7 +282,7 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
      * A Timer used to perform timed task e.g. displaying information about the
      * IterativeProcess
      */
-    protected Timer myTimer;
+    protected transient Timer myTimer;
 
     /**
      * The time between task invocations for the Timer and its TimerTask
@@ -287,7 +292,7 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
     /**
      * The task that the timer uses
      */
-    protected TimerTask myTimerTask;
+    protected transient TimerTask myTimerTask;
 
     /**
      * A flag that indicates whether or not the iterative process has already
@@ -383,8 +388,7 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
      *
      */
     protected final void setId() {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(IterativeProcess.class, myIdCounter_);
     }
 
     /**
@@ -614,7 +618,10 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
     @Override
     public void turnOffLogReport() {
         if (myIPLogReportOption == true) {
-            deleteObserver(myIPLogReport);
+            if (myIPLogReport != null) {
+                // the report is not restored with a checkpoint
+                deleteObserver(myIPLogReport);
+            }
             myIPLogReportOption = false;
             myIPLogReport = null;
         }
@@ -864,7 +871,7 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
         myBeginExecutionTime = System.currentTimeMillis();
 
         setState(myInitializedState);
-        if (myTBConsoleUpdates > 0) {
+        if ((myTBConsoleUpdates > 0) && (myTimerTask != null)) {
             myTimer = new Timer();
             myTimer.schedule(myTimerTask, myTBConsoleUpdates, myTBConsoleUpdates);
         }
@@ -903,12 +910,36 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
 //        System.out.println("**** unNext_() Executive running flag set to: " + myRunningFlag);
         myRunningStepFlag = true;
         runStep();
+        completeStep_();
+    }
+
+    /**
+     * Records the completion of the step that was run by runStep() and checks
+     * whether the process should stop
+     *
+     */
+    protected final void completeStep_() {
         myRunningStepFlag = false;
         myStepCounter++;
         setState(myStepCompletedState);
         checkStoppingCondition_();
     }
 
+    /**
+     * Continues a process that was saved, e.g. by a checkpoint, from within
+     * checkStoppingCondition() while it was running all of its steps. The
+     * stopping condition is checked again, the remaining steps are run and
+     * then the process is ended.
+     *
+     */
+    protected final void resumeAll_() {
+        checkStoppingCondition_();
+        while (!isDone()) {
+            runNext();
+        }
+        endIterations();
+    }
+
     protected void checkStoppingCondition() {
     }
 
@@ -960,7 +991,9 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
         myInitFlag = false;
     }
 
-    protected class IterativeState {
+    protected class IterativeState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private String myName;
 
@@ -1020,6 +1053,8 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
 
     protected class Created extends IterativeState {
 
+        private static final long serialVersionUID = 1L;
+
         public Created() {
             super("CreatedState");
         }
@@ -1037,6 +1072,8 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
 
     protected class Initialized extends IterativeState {
 
+        private static final long serialVersionUID = 1L;
+
         public Initialized() {
             super("InitializedState");
         }
@@ -1059,6 +1096,8 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
 
     protected class StepCompleted extends IterativeState {
 
+        private static final long serialVersionUID = 1L;
+
         public StepCompleted() {
             super("StepCompleted");
         }
@@ -1081,6 +1120,8 @@ abstract public class IterativeProcess<T> implements ObservableIfc, IterativePro
 
     protected class Ended extends IterativeState {
 
+        private static final long serialVersionUID = 1L;
+
         public Ended() {
             super("EndedState");
         }
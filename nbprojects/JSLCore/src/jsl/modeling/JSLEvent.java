@@ -33,6 +33,7 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
 import java.text.DecimalFormat;
 import jsl.modeling.elements.resource.Entity;
 import jsl.utilities.IdentityIfc;
@@ -46,7 +47,9 @@ import jsl.utilities.IdentityIfc;
  *
  *
  */
-public class JSLEvent implements Comparable<JSLEvent>, IdentityIfc {
+public class JSLEvent implements Comparable<JSLEvent>, IdentityIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * Represents the default priority for events within the Executive
@@ -134,6 +137,29 @@ public class JSLEvent implements Comparable<JSLEvent>, IdentityIfc {
      */
     private ModelElement myModelElement;
 
+    /**
+     * The position of the event within an indexed event calendar, -1 if the
+     * event is not held by an indexed calendar
+     */
+    private int myCalendarIndex = -1;
+
+    /**
+     * Counts the number of times that the event object has been recycled by
+     * an Executive's event pool
+     */
+    private int myGeneration;
+
+    /**
+     * Whether or not the event may be recycled by an Executive's event pool
+     * after it executes
+     */
+    private boolean myRecyclableFlag = true;
+
+    /**
+     * Whether or not the event is currently held in an Executive's event pool
+     */
+    private boolean myPooledFlag;
+
     /**
      * Constructs an instance of an event. This constructor has package scope
      * because only the Scheduler class can make events. The methods
@@ -333,6 +359,98 @@ public class JSLEvent implements Comparable<JSLEvent>, IdentityIfc {
         return (myScheduledFlag);
     }
 
+    /**
+     * Gets the position of the event within an indexed event calendar, e.g.
+     * IndexedHeapEventCalendar. This permits the calendar to find the event
+     * without searching.
+     *
+     * @return the index, or -1 if not held by an indexed calendar
+     */
+    public final int getCalendarIndex() {
+        return (myCalendarIndex);
+    }
+
+    /**
+     * Sets the position of the event within an indexed event calendar. This
+     * method should only be called by event calendars that maintain the
+     * position of their events.
+     *
+     * @param index the index, -1 indicates not held by an indexed calendar
+     */
+    public final void setCalendarIndex(int index) {
+        myCalendarIndex = index;
+    }
+
+    /**
+     * Gets the generation of the event object. The generation is incremented
+     * each time the object is recycled by an Executive's event pool. A client
+     * that holds on to an event can record the generation when the event is
+     * scheduled and compare it later. If the generations differ, the object
+     * has been reused for a different event.
+     *
+     * @return the generation of the event object
+     */
+    public final int getGeneration() {
+        return (myGeneration);
+    }
+
+    /**
+     * Indicates whether or not the event may be recycled by an Executive's
+     * event pool after it executes. The default is true.
+     *
+     * @return true if the event can be recycled
+     */
+    public final boolean getRecyclableOption() {
+        return (myRecyclableFlag);
+    }
+
+    /**
+     * Setting the option to false prevents an Executive's event pool from
+     * recycling the event after it executes. Any client that holds a reference
+     * to an event after the event executes should set this option to false
+     * when event pooling is turned on.
+     *
+     * @param flag false prevents recycling
+     */
+    public final void setRecyclableOption(boolean flag) {
+        myRecyclableFlag = flag;
+    }
+
+    /**
+     * Checks if the event object is currently held in an Executive's event
+     * pool, i.e. it has been recycled and not yet reused
+     *
+     * @return true if the event is in a pool
+     */
+    public final boolean isPooled() {
+        return (myPooledFlag);
+    }
+
+    /**
+     * Clears the event so that it can be held in an event pool and reused
+     * for a different event. Increments the generation.
+     */
+    final void recycle() {
+        myMessage = null;
+        myAction = null;
+        myName = null;
+        myEntity = null;
+        myModelElement = null;
+        myType = DEFAULT_TYPE;
+        myCancelledFlag = false;
+        myScheduledFlag = false;
+        myCalendarIndex = -1;
+        myGeneration++;
+        myPooledFlag = true;
+    }
+
+    /**
+     * Indicates that the event has been taken from an event pool for reuse
+     */
+    final void unpool() {
+        myPooledFlag = false;
+    }
+
     /**
      * Provides a string representation for the event. Useful for tracing
      *
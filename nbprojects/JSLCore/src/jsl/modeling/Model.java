@@ -33,6 +33,7 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
 import java.util.*;
 import jsl.modeling.elements.RandomElementIfc;
 import jsl.modeling.elements.queue.FIFODiscipline;
@@ -56,6 +57,8 @@ import jsl.utilities.statistic.StatisticAccessorIfc;
  */
 public class Model extends ModelElement {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * An "enum" to indicate that the model element was added to the model
      * element hierarchy
@@ -149,6 +152,79 @@ public class Model extends ModelElement {
 
     private long myTimeUnit = ModelElement.TIME_UNIT_MILLISECOND;
 
+    /**
+     * Indicates that the model element tree, or an option that selects the
+     * model elements of a lifecycle phase, changed since the lifecycle lists
+     * were built
+     */
+    private boolean myLifecycleListsChangedFlag = true;
+
+    /**
+     * Indicates whether model elements with the same timed update interval
+     * and priority share one timed update event. The default is true.
+     */
+    private boolean myTimedUpdateGroupingOption = true;
+
+    /**
+     * The timed update groups of the current replication
+     */
+    private final List<TimedUpdateGroup> myTimedUpdateGroups = new ArrayList<TimedUpdateGroup>();
+
+    /**
+     * All the model elements, each after its children, in the order of
+     * beforeExperiment_() and registerConditionalActions_()
+     */
+    private ModelElement[] myPostOrderElements;
+
+    /**
+     * The model elements visited by beforeReplication_(), see
+     * myScheduleReplicationEventsFlags
+     */
+    private ModelElement[] myBeforeReplicationElements;
+
+    /**
+     * True if the model element at the same index of
+     * myBeforeReplicationElements schedules its replication events, false if
+     * it performs its before replication actions
+     */
+    private boolean[] myScheduleReplicationEventsFlags;
+
+    /**
+     * The model elements with the initialization option on, in the order of
+     * initialize_()
+     */
+    private ModelElement[] myInitializationElements;
+
+    /**
+     * The model elements with the monte carlo option on, in the order of
+     * montecarlo_()
+     */
+    private ModelElement[] myMonteCarloElements;
+
+    /**
+     * The model elements that are warmed up by the model's warm up event, in
+     * the order of warmUp_()
+     */
+    private ModelElement[] myWarmUpElements;
+
+    /**
+     * The model elements with the replication ended option on, in the order
+     * of replicationEnded_()
+     */
+    private ModelElement[] myReplicationEndedElements;
+
+    /**
+     * The model elements with the after replication option on, in the order
+     * of afterReplication_()
+     */
+    private ModelElement[] myAfterReplicationElements;
+
+    /**
+     * The model elements with the after experiment option on, in the order of
+     * afterExperiment_()
+     */
+    private ModelElement[] myAfterExperimentElements;
+
 //    /**
 //     *
 //     * @return
@@ -792,6 +868,36 @@ public class Model extends ModelElement {
         myAutoRemoveMarkedElementsOption = flag;
     }
 
+    /**
+     * Indicates whether or not model elements that have the same timed update
+     * interval and timed update priority share one timed update event. The
+     * default is true.
+     *
+     * @return the option
+     */
+    public final boolean getTimedUpdateGroupingOption() {
+        return myTimedUpdateGroupingOption;
+    }
+
+    /**
+     * Sets the option for model elements that have the same timed update
+     * interval and timed update priority to share one timed update event,
+     * rather than each scheduling its own. With the option on, a model with
+     * many elements that use timed updates, e.g. response variables with time
+     * interval collection, has one event on the calendar per distinct
+     * interval instead of one per element. At each interval, the elements
+     * are updated in the order in which their events would have been
+     * scheduled, i.e. the order of the model element tree, and the event is
+     * rescheduled after the updates. An element that cancels its timed update
+     * or changes its interval within its timed update behaves as with its own
+     * event. The option takes effect at the start of the next replication.
+     *
+     * @param flag true means that the elements share events
+     */
+    public final void setTimedUpdateGroupingOption(boolean flag) {
+        myTimedUpdateGroupingOption = flag;
+    }
+
     /**
      * If a model element is added to the model after a replication has started
      * this is likely to be a conceptual error. A warning message will be
@@ -1159,7 +1265,9 @@ public class Model extends ModelElement {
             setAllRVResetNextSubStreamOptions(getExperiment().getAdvanceNextSubStreamOption());
         }
         // do all model element beforeExperiment() actions
-        beforeExperiment_();
+        for (ModelElement m : getLifecycleLists().myPostOrderElements) {
+            m.doBeforeExperiment();
+        }
     }
 
     private void removeMarkedModelElements() {
@@ -1206,7 +1314,8 @@ public class Model extends ModelElement {
         handleAntitheticReplications();
 
         // do all model element beforeReplication() actions
-        beforeReplication_();
+        myTimedUpdateGroups.clear();
+        dispatchBeforeReplication();
 
         // schedule the end of the replication
         scheduleEndOfReplication();
@@ -1214,31 +1323,261 @@ public class Model extends ModelElement {
         // if necessary, initialize the model elements
         if (getExperiment().getReplicationInitializationOption() == true) {
             // initialize the model and all model elements with initialize option on
-            initialize_();
+            for (ModelElement m : getLifecycleLists().myInitializationElements) {
+                m.doInitialize();
+            }
         }
 
         // allow model elements to register conditional actions
-        registerConditionalActions_(getExecutive());
+        Executive e = getExecutive();
+        for (ModelElement m : getLifecycleLists().myPostOrderElements) {
+            m.doRegisterConditionalActions(e);
+        }
 
         // if monte carlo option is on, call the model element's monteCarlo() methods
         if (getMonteCarloOption()) {
             // since monte carlo option was turned on, assume everyone wants to listen
             setMonteCarloOptionForModelElements(true);
-            montecarlo_();
+            for (ModelElement m : getLifecycleLists().myMonteCarloElements) {
+                m.doMonteCarlo();
+            }
         }
     }
 
     protected void afterReplication(Experiment e) {
         // do all model element replicationEnded() actions
-        replicationEnded_();
+        for (ModelElement m : getLifecycleLists().myReplicationEndedElements) {
+            m.doReplicationEnded();
+        }
         // do all model element afterReplication() actions
-        afterReplication_();
+        for (ModelElement m : getLifecycleLists().myAfterReplicationElements) {
+            m.doAfterReplication();
+        }
 
     }
 
     protected void afterExperiment(Experiment e) {
         // do all model element afterExperiment() actions
-        afterExperiment_();
+        for (ModelElement m : getLifecycleLists().myAfterExperimentElements) {
+            m.doAfterExperiment();
+        }
+    }
+
+    /**
+     * Warms up the model and the model elements that are warmed up with it,
+     * in the same order as ModelElement.warmUp_()
+     */
+    @Override
+    protected void warmUp_() {
+        for (ModelElement m : getLifecycleLists().myWarmUpElements) {
+            m.doWarmUp();
+        }
+    }
+
+    /**
+     * Schedules the replication events of the model elements and performs
+     * their before replication actions, in the same order as
+     * ModelElement.beforeReplication_()
+     */
+    private void dispatchBeforeReplication() {
+        getLifecycleLists();
+        ModelElement[] elements = myBeforeReplicationElements;
+        boolean[] schedule = myScheduleReplicationEventsFlags;
+        for (int i = 0; i < elements.length; i++) {
+            if (schedule[i]) {
+                elements[i].scheduleReplicationEvents();
+            } else {
+                elements[i].doBeforeReplication();
+            }
+        }
+    }
+
+    /**
+     * Adds the model element to the timed update group of its interval and
+     * priority whose next update is one interval from now, scheduling the
+     * group's event if the element is the first member of the group
+     *
+     * @param m the model element
+     * @return the event of the group
+     */
+    final JSLEvent scheduleTimedUpdate(ModelElement m) {
+        double interval = m.getTimedUpdateInterval();
+        int priority = m.myTimedUpdatePriority;
+        TimedUpdateGroup group = null;
+        for (TimedUpdateGroup g : myTimedUpdateGroups) {
+            if ((g.myInterval == interval) && (g.myPriority == priority)
+                    && g.myEvent.isScheduled()
+                    && (g.myEvent.getTime() == getTime() + interval)) {
+                group = g;
+                break;
+            }
+        }
+        if (group == null) {
+            group = new TimedUpdateGroup(interval, priority);
+            myTimedUpdateGroups.add(group);
+        }
+        group.myElements.add(m);
+        return group.myEvent;
+    }
+
+    /**
+     * Checks if the timed update of the model element is scheduled. While a
+     * timed update group performs the updates of its members, the update of
+     * each member other than the one being updated is scheduled, as it is
+     * when each element has its own timed update event.
+     *
+     * @param m the model element
+     * @param event the model element's timed update event
+     * @return true if the timed update is scheduled
+     */
+    final boolean isTimedUpdateScheduled(ModelElement m, JSLEvent event) {
+        if (event.getMessage() instanceof TimedUpdateGroup) {
+            TimedUpdateGroup group = (TimedUpdateGroup) event.getMessage();
+            if (group.myCurrent != null) {
+                return group.myCurrent != m;
+            }
+        }
+        return event.isScheduled();
+    }
+
+    /**
+     * Removes the model element from the timed update group of the event. The
+     * group's event is canceled when the group has no more members. As with
+     * an event of its own, the timed update of an element cannot be canceled
+     * from within its own timed update.
+     *
+     * @param m the model element
+     * @param event the model element's timed update event
+     * @return true if the event was the event of a timed update group, false
+     * if the event belongs to the model element only
+     */
+    final boolean cancelTimedUpdate(ModelElement m, JSLEvent event) {
+        if (!(event.getMessage() instanceof TimedUpdateGroup)) {
+            return false;
+        }
+        TimedUpdateGroup group = (TimedUpdateGroup) event.getMessage();
+        if (group.myCurrent == m) {
+            return true;
+        }
+        group.myElements.remove(m);
+        m.myTimedUpdateEvent = null;
+        if (group.myElements.isEmpty()) {
+            if (event.isScheduled()) {
+                getExecutive().cancel(event);
+            }
+            myTimedUpdateGroups.remove(group);
+        }
+        return true;
+    }
+
+    /**
+     * Called by the model elements when the model element tree or an option
+     * that selects the model elements of a lifecycle phase changes
+     */
+    final void markLifecycleListsChanged() {
+        myLifecycleListsChangedFlag = true;
+    }
+
+    /**
+     * The lifecycle phases of the model are dispatched through flat lists of
+     * the model elements that take part in them, rather than by recursively
+     * visiting every model element. The lists hold the model elements in the
+     * order of the recursive methods of ModelElement and are rebuilt when
+     * the model element tree or the options change.
+     *
+     * @return this model, with current lifecycle lists
+     */
+    private Model getLifecycleLists() {
+        if (myLifecycleListsChangedFlag) {
+            buildLifecycleLists();
+        }
+        return this;
+    }
+
+    private void buildLifecycleLists() {
+        List<ModelElement> post = new ArrayList<ModelElement>();
+        List<ModelElement> before = new ArrayList<ModelElement>();
+        List<Boolean> schedule = new ArrayList<Boolean>();
+        List<ModelElement> init = new ArrayList<ModelElement>();
+        List<ModelElement> mc = new ArrayList<ModelElement>();
+        List<ModelElement> ended = new ArrayList<ModelElement>();
+        List<ModelElement> after = new ArrayList<ModelElement>();
+        List<ModelElement> afterExp = new ArrayList<ModelElement>();
+        List<ModelElement> warmUp = new ArrayList<ModelElement>();
+        addPostOrder(this, post);
+        addBeforeReplication(this, before, schedule);
+        addPreOrder(this, mc);
+        addWarmUp(this, warmUp);
+        for (ModelElement m : post) {
+            if (m.getInitializationOption()) {
+                init.add(m);
+            }
+            if (m.getReplicationEndedOption()) {
+                ended.add(m);
+            }
+            if (m.getAfterReplicationOption()) {
+                after.add(m);
+            }
+            if (m.getAfterExperimentOption()) {
+                afterExp.add(m);
+            }
+        }
+        for (Iterator<ModelElement> i = mc.iterator(); i.hasNext();) {
+            if (!i.next().getMonteCarloOption()) {
+                i.remove();
+            }
+        }
+        myPostOrderElements = post.toArray(new ModelElement[post.size()]);
+        myBeforeReplicationElements = before.toArray(new ModelElement[before.size()]);
+        myScheduleReplicationEventsFlags = new boolean[schedule.size()];
+        for (int i = 0; i < schedule.size(); i++) {
+            myScheduleReplicationEventsFlags[i] = schedule.get(i);
+        }
+        myInitializationElements = init.toArray(new ModelElement[init.size()]);
+        myMonteCarloElements = mc.toArray(new ModelElement[mc.size()]);
+        myWarmUpElements = warmUp.toArray(new ModelElement[warmUp.size()]);
+        myReplicationEndedElements = ended.toArray(new ModelElement[ended.size()]);
+        myAfterReplicationElements = after.toArray(new ModelElement[after.size()]);
+        myAfterExperimentElements = afterExp.toArray(new ModelElement[afterExp.size()]);
+        myLifecycleListsChangedFlag = false;
+    }
+
+    private static void addPostOrder(ModelElement m, List<ModelElement> list) {
+        for (ModelElement c : m.myModelElements) {
+            addPostOrder(c, list);
+        }
+        list.add(m);
+    }
+
+    private static void addPreOrder(ModelElement m, List<ModelElement> list) {
+        list.add(m);
+        for (ModelElement c : m.myModelElements) {
+            addPreOrder(c, list);
+        }
+    }
+
+    private static void addBeforeReplication(ModelElement m, List<ModelElement> list,
+            List<Boolean> schedule) {
+        if ((m.getLengthOfWarmUp() > 0) || (m.getTimedUpdateInterval() > 0)) {
+            list.add(m);
+            schedule.add(Boolean.TRUE);
+        }
+        for (ModelElement c : m.myModelElements) {
+            addBeforeReplication(c, list, schedule);
+        }
+        if (m.getBeforeReplicationOption()) {
+            list.add(m);
+            schedule.add(Boolean.FALSE);
+        }
+    }
+
+    private static void addWarmUp(ModelElement m, List<ModelElement> list) {
+        list.add(m);
+        for (ModelElement c : m.myModelElements) {
+            if (c.getWarmUpOption()) {
+                addWarmUp(c, list);
+            }
+        }
     }
 
     final void setSimulation(Simulation sim) {
@@ -1254,4 +1593,70 @@ public class Model extends ModelElement {
             event.setModelElement(Model.this);
         }
     }
+
+    /**
+     * The model elements that share a timed update event. When the event
+     * occurs it is rescheduled first, so that every member reports that its
+     * timed update event is scheduled and is not updated again by its parent,
+     * and then each member is updated in the order in which it joined.
+     */
+    private class TimedUpdateGroup implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double myInterval;
+
+        private final int myPriority;
+
+        private final List<ModelElement> myElements = new ArrayList<ModelElement>();
+
+        private final JSLEvent myEvent;
+
+        /**
+         * The member whose timed update is being performed
+         */
+        private ModelElement myCurrent;
+
+        TimedUpdateGroup(double interval, int priority) {
+            myInterval = interval;
+            myPriority = priority;
+            myEvent = getExecutive().scheduleEvent(this, interval, "Timed Update", priority, this);
+            myEvent.setRecyclableOption(false);
+            myEvent.setModelElement(Model.this);
+        }
+
+        /**
+         * Updates the members and then reschedules the event, as the event
+         * action of an element with its own timed update event does
+         *
+         * @param event the event of the group
+         */
+        @Override
+        public void action(JSLEvent event) {
+            // a member may cancel another member's timed update, which
+            // removes it from the list, so iterate over a copy
+            ModelElement[] members = myElements.toArray(new ModelElement[myElements.size()]);
+            for (ModelElement m : members) {
+                // skip a member that was canceled by an earlier member
+                if (m.myTimedUpdateEvent == event) {
+                    myCurrent = m;
+                    m.timedUpdate_();
+                    myCurrent = null;
+                }
+            }
+            // a member that changed its interval joins the group of its new
+            // interval
+            for (ModelElement m : members) {
+                if ((m.myTimedUpdateEvent == event) && (m.getTimedUpdateInterval() != myInterval)) {
+                    myElements.remove(m);
+                    m.myTimedUpdateEvent = scheduleTimedUpdate(m);
+                }
+            }
+            if (myElements.isEmpty()) {
+                myTimedUpdateGroups.remove(this);
+            } else {
+                getExecutive().reschedule(event, myInterval);
+            }
+        }
+    }
 }
@@ -33,7 +33,9 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jsl.utilities.reporting.JSL;
 import jsl.modeling.elements.spatial.SpatialModel;
@@ -52,6 +54,7 @@ import jsl.modeling.elements.resource.EntityType;
 import jsl.observers.ObservableComponent;
 import jsl.observers.ObservableIfc;
 import jsl.observers.ObserverIfc;
+import jsl.utilities.SimulationContext;
 
 /**
  * The ModelElement represents elements within the simulation model that can
@@ -60,7 +63,9 @@ import jsl.observers.ObserverIfc;
  * The ModelElement is a component in the composite pattern
  *
  */
-public abstract class ModelElement implements IdentityIfc, ObservableIfc {
+public abstract class ModelElement implements IdentityIfc, ObservableIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * A reference to a spatial model if available
@@ -71,7 +76,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * incremented to give a running total of the number of model elements
      * created
      */
-    private static int myCounter_;
+    private static final AtomicInteger myCounter_ = new AtomicInteger();
 
     /**
      * A constant for the default batch priority
@@ -412,8 +417,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param name the name of the model element
      */
     private void constructorCalls_(String name) {
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(ModelElement.class, myCounter_);
         setName(name);
         setStringLabel(getName());
         myObservableComponent = new ObservableComponent();
@@ -805,6 +809,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means it participates.
      */
     public final void setBeforeExperimentOption(boolean flag) {
+        if (myBeforeExperimentOption != flag) {
+            markLifecycleListsChanged();
+        }
         myBeforeExperimentOption = flag;
     }
 
@@ -815,6 +822,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means that they participate in setup.
      */
     public final void setBeforeExperimentOptionForModelElements(boolean flag) {
+        markLifecycleListsChanged();
         myBeforeExperimentOption = flag;
         for (ModelElement m : myModelElements) {
             m.setBeforeExperimentOptionForModelElements(flag);
@@ -838,6 +846,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means it participates.
      */
     public final void setAfterExperimentOption(boolean flag) {
+        if (myAfterExperimentOption != flag) {
+            markLifecycleListsChanged();
+        }
         myAfterExperimentOption = flag;
     }
 
@@ -848,6 +859,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param option True means that they participate.
      */
     public final void setAfterExperimentOptionForModelElements(boolean option) {
+        markLifecycleListsChanged();
         myAfterExperimentOption = option;
         for (ModelElement m : myModelElements) {
             m.setAfterExperimentOptionForModelElements(option);
@@ -871,6 +883,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means it participates in the default action
      */
     public final void setBeforeReplicationOption(boolean flag) {
+        if (myBeforeReplicationOption != flag) {
+            markLifecycleListsChanged();
+        }
         myBeforeReplicationOption = flag;
     }
 
@@ -881,6 +896,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means that they participate in the default action
      */
     public final void setBeforeReplicationOptionForModelElements(boolean flag) {
+        markLifecycleListsChanged();
         myBeforeReplicationOption = flag;
         for (ModelElement m : myModelElements) {
             m.setBeforeReplicationOptionForModelElements(flag);
@@ -904,6 +920,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means it participates in the default action
      */
     public final void setMonteCarloOption(boolean flag) {
+        if (myMonteCarloOption != flag) {
+            markLifecycleListsChanged();
+        }
         myMonteCarloOption = flag;
     }
 
@@ -942,6 +961,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means that they participate in the default action
      */
     public final void setMonteCarloOptionForModelElements(boolean flag) {
+        markLifecycleListsChanged();
         myMonteCarloOption = flag;
         for (ModelElement m : myModelElements) {
             m.setMonteCarloOptionForModelElements(flag);
@@ -965,6 +985,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means it participates in the default action
      */
     public final void setInitializationOption(boolean flag) {
+        if (myInitializationOption != flag) {
+            markLifecycleListsChanged();
+        }
         myInitializationOption = flag;
     }
 
@@ -975,6 +998,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means that they participate in the default action
      */
     public final void setInitializationOptionForModelElements(boolean flag) {
+        markLifecycleListsChanged();
         myInitializationOption = flag;
         for (ModelElement m : myModelElements) {
             m.setInitializationOptionForModelElements(flag);
@@ -1015,6 +1039,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param warmUpFlag True represents that the model element participates.
      */
     public final void setWarmUpOption(boolean warmUpFlag) {
+        if (myWarmUpOption != warmUpFlag) {
+            markLifecycleListsChanged();
+        }
         myWarmUpOption = warmUpFlag;
     }
 
@@ -1025,6 +1052,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param warmUpFlag True means that they participate in the default action
      */
     public final void setWarmUpOptionForModelElements(boolean warmUpFlag) {
+        markLifecycleListsChanged();
         myWarmUpOption = warmUpFlag;
         for (ModelElement m : myModelElements) {
             m.setWarmUpOptionForModelElements(warmUpFlag);
@@ -1122,6 +1150,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
             throw new IllegalArgumentException("Warmup time cannot be less than zero");
         }
 
+        if ((myLengthOfWarmUp > 0.0) != (lengthOfWarmUp > 0.0)) {
+            markLifecycleListsChanged();
+        }
         myLengthOfWarmUp = lengthOfWarmUp;
         if (myLengthOfWarmUp == 0.0) {
             setWarmUpOption(true);
@@ -1265,7 +1296,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * Cancels the warm up event for this model element.
      */
     public final void cancelWarmUpEvent() {
-        if (myWarmUpEvent != null) {
+        if ((myWarmUpEvent != null) && myWarmUpEvent.isScheduled()) {
             getExecutive().cancel(myWarmUpEvent);
         }
     }
@@ -1291,6 +1322,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
             throw new IllegalArgumentException("Timed Update interval cannot be less than or equal to zero");
         }
 
+        if (!(myTimedUpdateInterval > 0.0)) {
+            markLifecycleListsChanged();
+        }
         myTimedUpdateInterval = deltaT;
     }
 
@@ -1303,15 +1337,21 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
         if (myTimedUpdateEvent == null) {
             return (false);
         } else {
-            return (myTimedUpdateEvent.isScheduled());
+            return (getModel().isTimedUpdateScheduled(this, myTimedUpdateEvent));
         }
     }
 
     /**
-     * Cancels the timed update event for this model element.
+     * Cancels the timed update event for this model element. If the element
+     * shares its timed update event with other model elements, it is removed
+     * from the shared event instead.
      */
     public final void cancelTimedUpdateEvent() {
-        if (myTimedUpdateEvent != null) {
+        if (myTimedUpdateEvent == null) {
+            return;
+        }
+        if (!getModel().cancelTimedUpdate(this, myTimedUpdateEvent)
+                && myTimedUpdateEvent.isScheduled()) {
             getExecutive().cancel(myTimedUpdateEvent);
         }
     }
@@ -1333,6 +1373,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means it participates in the default action
      */
     public final void setAfterReplicationOption(boolean flag) {
+        if (myAfterReplicationOption != flag) {
+            markLifecycleListsChanged();
+        }
         myAfterReplicationOption = flag;
     }
 
@@ -1343,6 +1386,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means that they participate in the default action
      */
     public final void setAfterReplicationOptionForModelElements(boolean flag) {
+        markLifecycleListsChanged();
         myAfterReplicationOption = flag;
         for (ModelElement m : myModelElements) {
             m.setAfterReplicationOptionForModelElements(flag);
@@ -1368,6 +1412,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means it participates in the default action
      */
     public final void setReplicationEndedOption(boolean flag) {
+        if (myReplicationEndedOption != flag) {
+            markLifecycleListsChanged();
+        }
         myReplicationEndedOption = flag;
     }
 
@@ -1379,6 +1426,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      * @param flag True means that they participate in the default action
      */
     public final void setReplicationEndedOptionForModelElements(boolean flag) {
+        markLifecycleListsChanged();
         myReplicationEndedOption = flag;
         for (ModelElement m : myModelElements) {
             m.setReplicationEndedOptionForModelElements(flag);
@@ -2125,14 +2173,23 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      */
     protected final void beforeExperiment_() {
 
-        myWarmUpIndicator = false;
-
         if (!myModelElements.isEmpty()) {
             for (ModelElement m : myModelElements) {
                 m.beforeExperiment_();
             }
         }
 
+        doBeforeExperiment();
+    }
+
+    /**
+     * Performs the before experiment actions of this model element, but not
+     * those of its children
+     */
+    final void doBeforeExperiment() {
+
+        myWarmUpIndicator = false;
+
         if (myControls != null) {
             useControls();
         }
@@ -2150,35 +2207,62 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      */
     protected final void beforeReplication_() {
 
+        scheduleReplicationEvents();
+
+        if (!myModelElements.isEmpty()) {
+            for (ModelElement m : myModelElements) {
+                m.beforeReplication_();
+            }
+        }
+
+        doBeforeReplication();
+    }
+
+    /**
+     * Schedules the warm up and timed update events of this model element, if
+     * it has a warm up length or a timed update interval, but not those of its
+     * children
+     */
+    final void scheduleReplicationEvents() {
+
         if (getLengthOfWarmUp() > 0) {
             // the warm up period is > 0, ==> element wants a warm up event
-            myWarmUpActionListener = new WarmUpEventAction();
+            // the action is reused by later replications
+            if (myWarmUpActionListener == null) {
+                myWarmUpActionListener = new WarmUpEventAction();
+            }
             myWarmUpEvent = getExecutive().scheduleEvent(myWarmUpActionListener, getLengthOfWarmUp(),
                     getName() + " Warm Up", myWarmUpPriority, null);
+            myWarmUpEvent.setRecyclableOption(false);
             myWarmUpEvent.setModelElement(this);
             setWarmUpOption(false); // no longer depends on parent's warm up
         }
 
-        if (getTimedUpdateInterval() > 0) {
+        if ((getTimedUpdateInterval() > 0) && getModel().getTimedUpdateGroupingOption()) {
+            // share the event of the elements with the same interval
+            myTimedUpdateEvent = getModel().scheduleTimedUpdate(this);
+        } else if (getTimedUpdateInterval() > 0) {
             // the timed update is > 0, ==> element wants a timed update event
             // schedule the timed update event
-            myTimedUpdateActionListener = new TimedUpdateEventAction();
+            if (myTimedUpdateActionListener == null) {
+                myTimedUpdateActionListener = new TimedUpdateEventAction();
+            }
             myTimedUpdateEvent = getExecutive().scheduleEvent(myTimedUpdateActionListener, getTimedUpdateInterval(),
                     getName() + " TimedUpdate", myTimedUpdatePriority, null);
+            myTimedUpdateEvent.setRecyclableOption(false);
             myTimedUpdateEvent.setModelElement(this);
         }
+    }
 
-        if (!myModelElements.isEmpty()) {
-            for (ModelElement m : myModelElements) {
-                m.beforeReplication_();
-            }
-        }
-
+    /**
+     * Performs the before replication actions of this model element, but not
+     * those of its children
+     */
+    final void doBeforeReplication() {
         if (getBeforeReplicationOption()) {
             beforeReplication();
             notifyBeforeReplicationObservers();
         }
-
     }
 
     /**
@@ -2199,11 +2283,17 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
         }
 
         // now initialize the model element itself
+        doInitialize();
+    }
+
+    /**
+     * Initializes this model element, but not its children
+     */
+    final void doInitialize() {
         if (getInitializationOption()) {
             initialize();
             notifyInitializationObservers();
         }
-
     }
 
     /**
@@ -2228,9 +2318,18 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
             }
         }
 
+        doRegisterConditionalActions(e);
+    }
+
+    /**
+     * Registers the conditional actions of this model element, but not those
+     * of its children
+     *
+     * @param e provides access to the Executive
+     */
+    final void doRegisterConditionalActions(Executive e) {
         registerConditionalActions(e);
         notifyConditionalActionRegistrationObservers();
-
     }
 
     /**
@@ -2243,10 +2342,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      */
     protected final void montecarlo_() {
 
-        if (getMonteCarloOption()) {
-            montecarlo();
-            notifyMonteCarloObservers();
-        }
+        doMonteCarlo();
 
         if (!myModelElements.isEmpty()) {
             for (ModelElement m : myModelElements) {
@@ -2256,6 +2352,17 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
 
     }
 
+    /**
+     * Performs the monte carlo actions of this model element, but not those
+     * of its children
+     */
+    final void doMonteCarlo() {
+        if (getMonteCarloOption()) {
+            montecarlo();
+            notifyMonteCarloObservers();
+        }
+    }
+
     /**
      * The warmUp_ method is called once during each replication. This method
      * ensures that each contained model element that requires a warm up action
@@ -2264,9 +2371,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
     protected void warmUp_() {
 
         // if we get here the warm up was scheduled, so do it
-        warmUp();
-        myWarmUpIndicator = true;
-        notifyWarmUpObservers();
+        doWarmUp();
 
         // warm up the children that need it
         if (!myModelElements.isEmpty()) {
@@ -2278,6 +2383,15 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
         }
     }
 
+    /**
+     * Warms up this model element, but not its children
+     */
+    final void doWarmUp() {
+        warmUp();
+        myWarmUpIndicator = true;
+        notifyWarmUpObservers();
+    }
+
     /**
      * The timedUpdate_ method is called multiple times during each replication.
      * This method ensures that each contained model element that requires a
@@ -2312,11 +2426,17 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
             }
         }
 
+        doReplicationEnded();
+    }
+
+    /**
+     * Performs the end of replication actions of this model element, but not those of its children
+     */
+    final void doReplicationEnded() {
         if (getReplicationEndedOption()) {
             replicationEnded();
             notifyReplicationEndedObservers();
         }
-
     }
 
     /**
@@ -2332,11 +2452,17 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
             }
         }
 
+        doAfterReplication();
+    }
+
+    /**
+     * Performs the after replication actions of this model element, but not those of its children
+     */
+    final void doAfterReplication() {
         if (getAfterReplicationOption()) {
             afterReplication();
             notifyAfterReplicationObservers();
         }
-
     }
 
     /**
@@ -2353,11 +2479,17 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
             }
         }
 
+        doAfterExperiment();
+    }
+
+    /**
+     * Performs the after experiment actions of this model element, but not those of its children
+     */
+    final void doAfterExperiment() {
         if (getAfterExperimentOption()) {
             afterExperiment();
             notifyAfterExperimentObservers();
         }
-
     }
 
     /**
@@ -2502,6 +2634,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
 
         // add the model element to the list of children
         myModelElements.add(modelElement);
+        markLifecycleListsChanged();
 
         // set it's parent to this element
         modelElement.setParentModelElement(this);
@@ -2588,16 +2721,14 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
         // if the model element has a warm up event, cancel it
         if (myWarmUpEvent != null) {
             if (myWarmUpEvent.isScheduled()) {
-                myWarmUpEvent.setCanceledFlag(true);
+                getExecutive().cancel(myWarmUpEvent);
             }
             myWarmUpEvent = null;
             myWarmUpActionListener = null;
         }
         // if the model element has a timed update event, cancel it
         if (myTimedUpdateEvent != null) {
-            if (myTimedUpdateEvent.isScheduled()) {
-                myTimedUpdateEvent.setCanceledFlag(true);
-            }
+            cancelTimedUpdateEvent();
             myTimedUpdateEvent = null;
             myTimedUpdateActionListener = null;
         }
@@ -2643,10 +2774,24 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
             throw new IllegalArgumentException("Tried to remove a null model element");
         }
 
+        markLifecycleListsChanged();
         return (myModelElements.remove(modelElement));
     }
 
-    protected class WarmUpEventAction implements EventActionIfc {
+    /**
+     * Tells the model that the lists of model elements that it uses to
+     * dispatch the lifecycle methods must be rebuilt, because the model
+     * element tree or an option that selects the model elements changed
+     */
+    private void markLifecycleListsChanged() {
+        if (myModel != null) {
+            myModel.markLifecycleListsChanged();
+        }
+    }
+
+    protected class WarmUpEventAction implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent event) {
@@ -2654,7 +2799,9 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
         }
     }
 
-    protected class TimedUpdateEventAction implements EventActionIfc {
+    protected class TimedUpdateEventAction implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent event) {
@@ -44,6 +44,8 @@ import jsl.utilities.statistic.Statistic;
  */
 public class ModelElementState extends ModelElement implements StateAccessorIfc {
 
+    private static final long serialVersionUID = 1L;
+
     protected State myState;
 
     protected SortedSet<StateEnteredListenerIfc> myStateEnteredListeners;
@@ -0,0 +1,585 @@
+/*
+ *  Copyright (C) 2010 rossetti
+ *
+ *  Contact:
+ * 	Manuel D. Rossetti, Ph.D., P.E.
+ * 	Department of Industrial Engineering
+ * 	University of Arkansas
+ * 	4207 Bell Engineering Center
+ * 	Fayetteville, AR 72701
+ * 	Phone: (479) 575-6756
+ * 	Email: rossetti@uark.edu
+ * 	Web: www.uark.edu/~rossetti
+ *
+ *  This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ *  of Java classes that permit the development and execution of discrete event
+ *  simulation programs.
+ *
+ *  The JSL is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  The JSL is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jsl.modeling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.statistic.Statistic;
+
+/**
+ * Executes the replications of a simulation on several threads.
+ *
+ * The runner creates a Simulation whose model is built by the supplied
+ * ModelBuilderIfc. Use getSimulation() to set the experiment (number of
+ * replications, replication length, warm up, etc.) and the executive's
+ * options, and then call run() instead of Simulation.run().
+ *
+ * Each worker thread runs a copy of the simulation whose model is built by the
+ * same ModelBuilderIfc. Each copy is built and run within its own
+ * SimulationContext, whose RNStreamFactory starts at the seed that the default
+ * factory had when the model of the simulation was built, so every copy has
+ * the same random number streams as the simulation and the copies do not
+ * share any id counters or streams.
+ * Replications are handed to the workers in replication order and a worker
+ * advances its streams to the sub-stream of the replication before running
+ * it. Thus, replication r uses the same sub-streams that it uses when the
+ * replications are executed sequentially.
+ *
+ * The across replication statistics of the response variables and counters of
+ * the simulation's model are filled by collecting each replication's
+ * observations in replication order, so they are the same as after a
+ * sequential run of a fresh simulation. The within replication statistics of
+ * the simulation's model are not changed.
+ *
+ * Half-width and relative precision targets may be added for any response
+ * variable or counter of the model. With targets, the replications are
+ * launched in waves of getWaveSize() replications. After each wave, the
+ * targets are checked against the across replication statistics of the
+ * completed replications, and no more waves are launched once every target is
+ * met. The number of replications of the experiment is then the maximum
+ * number of replications. Since the replications are collected in
+ * replication order, stopping after k replications gives the same results as
+ * a sequential run of k replications.
+ *
+ * The experiment must advance to the next sub-stream for each replication and
+ * initialize each replication. The antithetic option is not supported. Random
+ * numbers that are not produced by the model's random elements, e.g. streams
+ * that are created during a replication, are not controlled by the runner.
+ *
+ * @author rossetti
+ */
+public class ParallelReplicationRunner {
+
+    /**
+     * Builds the model for the simulation and each worker
+     */
+    private final ModelBuilderIfc myBuilder;
+
+    /**
+     * The simulation that holds the experiment and the merged results
+     */
+    private final Simulation mySimulation;
+
+    /**
+     * The factory seed used to build the simulation's model
+     */
+    private final long[] myFactorySeed;
+
+    /**
+     * The number of worker threads
+     */
+    private int myNumThreads;
+
+    /**
+     * The number of replications launched in each wave when there are
+     * targets, 0 means the number of threads
+     */
+    private int myWaveSize;
+
+    /**
+     * The confidence level used to check the targets
+     */
+    private double myConfidenceLevel = Statistic.DEFAULT_CONFIDENCE_LEVEL;
+
+    /**
+     * The desired half-width of each target, keyed by the name of the
+     * response variable or counter
+     */
+    private final Map<String, Double> myHalfWidthTargets;
+
+    /**
+     * The desired relative precision of each target, keyed by the name of the
+     * response variable or counter
+     */
+    private final Map<String, Double> myRelativePrecisionTargets;
+
+    /**
+     * The next replication to be executed, less 1
+     */
+    private AtomicInteger myLastClaimedRep;
+
+    /**
+     * The last replication of the current wave
+     */
+    private int myLastRepOfWave;
+
+    /**
+     * Signals the workers to stop because a worker failed
+     */
+    private AtomicBoolean myStopFlag;
+
+    /**
+     * myValues[r-1][i] holds the observation of the ith across replication
+     * statistic for replication r
+     */
+    private double[][] myValues;
+
+    /**
+     * myCollected[r-1][i] is true if the ith across replication statistic
+     * collected an observation in replication r
+     */
+    private boolean[][] myCollected;
+
+    /**
+     * Creates a runner that uses one thread per available processor
+     *
+     * @param name the name of the simulation
+     * @param builder builds the model, must not be null
+     */
+    public ParallelReplicationRunner(String name, ModelBuilderIfc builder) {
+        this(name, builder, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     *
+     * @param name the name of the simulation
+     * @param builder builds the model, must not be null
+     * @param numThreads the number of worker threads, must be &gt; 0
+     */
+    public ParallelReplicationRunner(String name, ModelBuilderIfc builder, int numThreads) {
+        if (builder == null) {
+            throw new IllegalArgumentException("The model builder was null");
+        }
+        setNumberOfThreads(numThreads);
+        myBuilder = builder;
+        RNStreamFactory f = RNStreamFactory.getDefault();
+        myFactorySeed = f.getFactorySeed();
+        mySimulation = new Simulation(name);
+        myBuilder.build(mySimulation.getModel());
+        myHalfWidthTargets = new LinkedHashMap<String, Double>();
+        myRelativePrecisionTargets = new LinkedHashMap<String, Double>();
+    }
+
+    /**
+     * The simulation whose experiment is executed. Its across replication
+     * statistics hold the results after run()
+     *
+     * @return the simulation
+     */
+    public final Simulation getSimulation() {
+        return mySimulation;
+    }
+
+    /**
+     *
+     * @return the number of worker threads
+     */
+    public final int getNumberOfThreads() {
+        return myNumThreads;
+    }
+
+    /**
+     *
+     * @param numThreads the number of worker threads, must be &gt; 0
+     */
+    public final void setNumberOfThreads(int numThreads) {
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be > 0");
+        }
+        myNumThreads = numThreads;
+    }
+
+    /**
+     *
+     * @return the number of replications launched in each wave when there are
+     * targets
+     */
+    public final int getWaveSize() {
+        if (myWaveSize == 0) {
+            return myNumThreads;
+        }
+        return myWaveSize;
+    }
+
+    /**
+     *
+     * @param waveSize the number of replications launched in each wave when
+     * there are targets, must be &gt; 0
+     */
+    public final void setWaveSize(int waveSize) {
+        if (waveSize <= 0) {
+            throw new IllegalArgumentException("The wave size must be > 0");
+        }
+        myWaveSize = waveSize;
+    }
+
+    /**
+     *
+     * @return the confidence level used to check the targets
+     */
+    public final double getConfidenceLevel() {
+        return myConfidenceLevel;
+    }
+
+    /**
+     *
+     * @param level the confidence level used to check the targets, must be in
+     * (0,1)
+     */
+    public final void setConfidenceLevel(double level) {
+        if ((level <= 0.0) || (level >= 1.0)) {
+            throw new IllegalArgumentException("Confidence Level must be (0,1)");
+        }
+        myConfidenceLevel = level;
+    }
+
+    /**
+     * The target is met when the half-width of the across replication
+     * statistic is less than or equal to the desired half-width
+     *
+     * @param name the name of a response variable or counter of the
+     * simulation's model
+     * @param desiredHalfWidth the desired half-width, must be &gt; 0
+     */
+    public final void addHalfWidthTarget(String name, double desiredHalfWidth) {
+        checkTargetName(name);
+        if (desiredHalfWidth <= 0) {
+            throw new IllegalArgumentException("Desired half-width must be > 0.");
+        }
+        myHalfWidthTargets.put(name, desiredHalfWidth);
+    }
+
+    /**
+     * The target is met when the half-width of the across replication
+     * statistic is less than or equal to the desired relative precision times
+     * the magnitude of its average
+     *
+     * @param name the name of a response variable or counter of the
+     * simulation's model
+     * @param desiredPrecision the desired relative precision, must be &gt; 0
+     */
+    public final void addRelativePrecisionTarget(String name, double desiredPrecision) {
+        checkTargetName(name);
+        if (desiredPrecision <= 0) {
+            throw new IllegalArgumentException("Desired relative precision must be > 0.");
+        }
+        myRelativePrecisionTargets.put(name, desiredPrecision);
+    }
+
+    /**
+     * Removes all half-width and relative precision targets
+     */
+    public final void clearTargets() {
+        myHalfWidthTargets.clear();
+        myRelativePrecisionTargets.clear();
+    }
+
+    /**
+     *
+     * @return true if there are half-width or relative precision targets
+     */
+    public final boolean hasTargets() {
+        return !myHalfWidthTargets.isEmpty() || !myRelativePrecisionTargets.isEmpty();
+    }
+
+    private void checkTargetName(String name) {
+        Model m = mySimulation.getModel();
+        if ((m.getResponseVariable(name) == null) && (m.getCounter(name) == null)) {
+            throw new IllegalArgumentException("There is no response variable or counter named " + name);
+        }
+    }
+
+    /**
+     * Executes the replications of the simulation's experiment and then
+     * collects the results into the simulation's across replication
+     * statistics. Without targets all the replications are executed, with
+     * targets waves of replications are executed until every target is met or
+     * all the replications have been executed. The calling thread waits for
+     * the replications to complete. If a replication throws an exception, the
+     * remaining replications are not started and the exception is re-thrown.
+     */
+    public void run() {
+        checkExperiment();
+        int n = mySimulation.getNumberOfReplications();
+        List<Statistic> stats = getAcrossReplicationStatistics(mySimulation.getModel());
+        myValues = new double[n][stats.size()];
+        myCollected = new boolean[n][stats.size()];
+        myLastClaimedRep = new AtomicInteger(0);
+        myStopFlag = new AtomicBoolean(false);
+        int waveSize = hasTargets() ? getWaveSize() : n;
+        int numWorkers = Math.min(myNumThreads, Math.min(waveSize, n));
+        List<Worker> workers = new ArrayList<Worker>();
+        for (int i = 1; i <= numWorkers; i++) {
+            workers.add(new Worker(i));
+        }
+        int numCompleted = 0;
+        String msg = "Completed the replications on " + myNumThreads + " threads";
+        ExecutorService pool = Executors.newFixedThreadPool(numWorkers);
+        try {
+            while (numCompleted < n) {
+                myLastRepOfWave = Math.min(n, numCompleted + waveSize);
+                List<Future<?>> futures = new ArrayList<Future<?>>();
+                for (Worker w : workers) {
+                    futures.add(pool.submit(w));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                numCompleted = myLastRepOfWave;
+                if (hasTargets() && (numCompleted < n) && targetsMet(stats, numCompleted)) {
+                    msg = "Targets met after " + numCompleted + " replications on "
+                            + myNumThreads + " threads";
+                    break;
+                }
+            }
+            for (Worker w : workers) {
+                w.mySim.end();
+            }
+        } catch (InterruptedException e) {
+            myStopFlag.set(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running the replications", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        mergeResults(stats, numCompleted, msg);
+    }
+
+    /**
+     * Checks the targets against the observations of the first k replications
+     *
+     * @param stats the across replication statistics of the simulation
+     * @param k the number of completed replications
+     * @return true if every target is met
+     */
+    private boolean targetsMet(List<Statistic> stats, int k) {
+        for (Map.Entry<String, Double> e : myHalfWidthTargets.entrySet()) {
+            Statistic s = collect(stats, e.getKey(), k);
+            if ((s.getCount() < 2) || !(s.getHalfWidth(myConfidenceLevel) <= e.getValue())) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, Double> e : myRelativePrecisionTargets.entrySet()) {
+            Statistic s = collect(stats, e.getKey(), k);
+            double limit = e.getValue() * Math.abs(s.getAverage());
+            if ((s.getCount() < 2) || !(s.getHalfWidth(myConfidenceLevel) <= limit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The observations of the named statistic for the first k replications
+     */
+    private Statistic collect(List<Statistic> stats, String name, int k) {
+        // the statistics are in the order of the model's lists
+        Model m = mySimulation.getModel();
+        int i = m.getResponseVariables().indexOf(m.getResponseVariable(name));
+        if (i < 0) {
+            i = m.getResponseVariables().size() + m.getCounters().indexOf(m.getCounter(name));
+        }
+        Statistic s = new Statistic(name);
+        for (int r = 0; r < k; r++) {
+            if (myCollected[r][i]) {
+                s.collect(myValues[r][i]);
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Collects the observations of each replication, in replication order
+     *
+     * @param stats the across replication statistics of the simulation
+     * @param k the number of completed replications
+     * @param msg the stopping message of the simulation
+     */
+    private void mergeResults(List<Statistic> stats, int k, String msg) {
+        // initializing the simulation resets its across replication statistics
+        mySimulation.initialize();
+        for (int r = 0; r < k; r++) {
+            for (int i = 0; i < stats.size(); i++) {
+                if (myCollected[r][i]) {
+                    stats.get(i).collect(myValues[r][i]);
+                }
+            }
+        }
+        mySimulation.myExperiment.setCurrentReplicationNumber(k);
+        mySimulation.end(msg);
+    }
+
+    private void checkExperiment() {
+        if (mySimulation.getAntitheticOption()) {
+            throw new IllegalStateException("The antithetic option is not supported by ParallelReplicationRunner");
+        }
+        if (!mySimulation.getAdvanceNextSubStreamOption()) {
+            throw new IllegalStateException("The replications must advance to the next sub-stream");
+        }
+        if (!mySimulation.getReplicationInitializationOption()) {
+            throw new IllegalStateException("The replications must be initialized");
+        }
+    }
+
+    /**
+     * The across replication statistics of every response variable and
+     * counter of the model, in the order of the model's lists
+     *
+     * @param m the model
+     * @return the statistics
+     */
+    static List<Statistic> getAcrossReplicationStatistics(Model m) {
+        List<Statistic> stats = new ArrayList<Statistic>();
+        for (ResponseVariable r : m.getResponseVariables()) {
+            stats.add((Statistic) r.getAcrossReplicationStatistic());
+        }
+        for (Counter c : m.getCounters()) {
+            stats.add((Statistic) c.getAcrossReplicationStatistic());
+        }
+        return stats;
+    }
+
+    /**
+     * Runs the replications claimed by one thread on its own copy of the
+     * simulation
+     */
+    private class Worker implements Runnable {
+
+        private final Simulation mySim;
+
+        /**
+         * The replication that the streams are positioned for, 0 until the
+         * simulation is initialized
+         */
+        private int myNextRep;
+
+        Worker(int i) {
+            String name = mySimulation.getName() + "_Worker_" + i;
+            RNStreamFactory f = new RNStreamFactory(name);
+            f.setFactorySeed(myFactorySeed);
+            SimulationContext context = new SimulationContext(name, f, null);
+            // the simulation binds its context whenever it runs
+            SimulationContext previous = SimulationContext.setCurrent(context);
+            try {
+                mySim = new Simulation(name);
+                myBuilder.build(mySim.getModel());
+            } finally {
+                SimulationContext.setCurrent(previous);
+            }
+            mySim.setExperiment(mySimulation.myExperiment);
+            mySim.setRepLengthWarningMessageOption(mySimulation.getRepLengthWarningMessageOption());
+            Executive e = mySimulation.getExecutive();
+            mySim.getExecutive().setEventPoolingOption(e.getEventPoolingOption());
+            mySim.getExecutive().setBatchSimultaneousEventsOption(e.getBatchSimultaneousEventsOption());
+        }
+
+        @Override
+        public void run() {
+            try {
+                runReplications();
+            } catch (RuntimeException e) {
+                myStopFlag.set(true);
+                throw e;
+            } catch (Error e) {
+                myStopFlag.set(true);
+                throw e;
+            }
+        }
+
+        private void runReplications() {
+            Model model = mySim.getModel();
+            int n = myLastRepOfWave;
+            if (myNextRep == 0) {
+                mySim.initialize();
+                myNextRep = 1;
+            }
+            List<Statistic> stats = getAcrossReplicationStatistics(model);
+            if (stats.size() != myValues[0].length) {
+                throw new IllegalStateException("The model builder did not build the same model for the worker");
+            }
+            double[] counts = new double[stats.size()];
+            double[] missing = new double[stats.size()];
+            int r = claim(n);
+            while ((r <= n) && !myStopFlag.get()) {
+                model.advanceSubstreams(r - myNextRep);
+                mySim.myExperiment.setCurrentReplicationNumber(r - 1);
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = stats.get(i).getCount();
+                    missing[i] = stats.get(i).getNumberMissing();
+                }
+                mySim.runNext();
+                for (int i = 0; i < counts.length; i++) {
+                    Statistic s = stats.get(i);
+                    if (s.getCount() > counts[i]) {
+                        myCollected[r - 1][i] = true;
+                        myValues[r - 1][i] = s.getLastValue();
+                    } else if (s.getNumberMissing() > missing[i]) {
+                        // a NaN or infinite observation
+                        myCollected[r - 1][i] = true;
+                        myValues[r - 1][i] = Double.NaN;
+                    }
+                }
+                // the random elements advanced to the next sub-stream
+                myNextRep = r + 1;
+                r = claim(n);
+            }
+        }
+
+        /**
+         * Claims the next replication, unless it is past the last replication
+         *
+         * @param last the last replication that may be claimed
+         * @return the replication, &gt; last if there is none
+         */
+        private int claim(int last) {
+            while (true) {
+                int r = myLastClaimedRep.get();
+                if (r >= last) {
+                    return last + 1;
+                }
+                if (myLastClaimedRep.compareAndSet(r, r + 1)) {
+                    return r + 1;
+                }
+            }
+        }
+    }
+}
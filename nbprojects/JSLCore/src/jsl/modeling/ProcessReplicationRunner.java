@@ -0,0 +1,725 @@
+/*
+ *  Copyright (C) 2010 rossetti
+ *
+ *  Contact:
+ * 	Manuel D. Rossetti, Ph.D., P.E.
+ * 	Department of Industrial Engineering
+ * 	University of Arkansas
+ * 	4207 Bell Engineering Center
+ * 	Fayetteville, AR 72701
+ * 	Phone: (479) 575-6756
+ * 	Email: rossetti@uark.edu
+ * 	Web: www.uark.edu/~rossetti
+ *
+ *  This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ *  of Java classes that permit the development and execution of discrete event
+ *  simulation programs.
+ *
+ *  The JSL is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  The JSL is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jsl.modeling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.statistic.Statistic;
+
+/**
+ * Executes the replications of a simulation in several worker processes on
+ * the same machine. Each worker is a separate JVM, so the workers do not share
+ * memory or static state with each other or with the calling JVM.
+ *
+ * The runner creates a Simulation whose model is built by an instance of the
+ * supplied ModelBuilderIfc class. Use getSimulation() to set the experiment
+ * (number of replications, replication length, warm up, etc.) and the
+ * executive's options, and then call run() instead of Simulation.run().
+ *
+ * The replications are split into contiguous ranges, one per worker. Each
+ * worker JVM is started with the class path of the calling JVM (see
+ * setClassPath()) and connects back to the runner over a local socket. The
+ * runner sends the worker the ModelBuilderIfc class, the seed that the default
+ * RNStreamFactory had when the simulation's model was built, the experiment,
+ * the executive's options and the range of replications. The worker builds
+ * its own copy of the model with an instance of the class, advances the
+ * model's streams to the sub-stream of the first replication of its range and
+ * runs the range. Thus, replication r uses the same sub-streams that it uses
+ * when the replications are executed sequentially. The worker returns the
+ * observations of the across replication statistics of the response variables
+ * and counters for each replication.
+ *
+ * As with ParallelReplicationRunner, the across replication statistics of the
+ * simulation's model are filled by collecting the observations in replication
+ * order, so they are the same as after a sequential run of a fresh simulation.
+ * The within replication statistics of the simulation's model are not
+ * changed.
+ *
+ * The ModelBuilderIfc class must have a public no argument constructor, and it
+ * must build the same model in every JVM. The experiment must advance to the
+ * next sub-stream for each replication and initialize each replication. The
+ * antithetic option is not supported. The output of the workers (e.g. the
+ * models' reports and traces) is written to the worker's working directory,
+ * which is the working directory of the calling JVM, and the workers' standard
+ * output and error streams are those of the calling JVM.
+ *
+ * The runner only accepts connections from the loopback address that present
+ * a random token that is generated for each run and passed to the workers on
+ * their command line. A connection with a wrong token, an unknown worker index
+ * or the index of a worker that already connected is closed. The results of a
+ * worker are only read if they consist of the result class, primitive arrays
+ * and Throwables, so a connection cannot make the runner read arbitrary
+ * objects.
+ *
+ * @author rossetti
+ */
+public class ProcessReplicationRunner {
+
+    /**
+     * The default number of milliseconds to wait for a worker to connect
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT = 60000;
+
+    /**
+     * The classes, other than Throwables, that may be read from a worker
+     */
+    private static final Set<String> RESULT_CLASSES = new HashSet<String>(Arrays.asList(
+            WorkerResult.class.getName(), "[D", "[[D", "[Z", "[[Z",
+            StackTraceElement.class.getName(), StackTraceElement[].class.getName(),
+            // the suppressed exceptions of a Throwable
+            "java.util.ArrayList", "java.util.Collections$EmptyList",
+            "java.util.Collections$UnmodifiableCollection",
+            "java.util.Collections$UnmodifiableList",
+            "java.util.Collections$UnmodifiableRandomAccessList"));
+
+    /**
+     * The class of the model builder, instantiated in every JVM
+     */
+    private final Class<? extends ModelBuilderIfc> myBuilderClass;
+
+    /**
+     * The simulation that holds the experiment and the merged results
+     */
+    private final Simulation mySimulation;
+
+    /**
+     * The factory seed used to build the simulation's model
+     */
+    private final long[] myFactorySeed;
+
+    /**
+     * The number of worker processes
+     */
+    private int myNumProcesses;
+
+    /**
+     * The class path of the worker JVMs
+     */
+    private String myClassPath;
+
+    /**
+     * Additional options for the worker JVMs, e.g. -Xmx2g
+     */
+    private final List<String> myJVMOptions;
+
+    /**
+     * The number of milliseconds to wait for a worker to connect
+     */
+    private int myConnectTimeout = DEFAULT_CONNECT_TIMEOUT;
+
+    /**
+     * The number of milliseconds to wait for the results of a worker, 0 waits
+     * without limit
+     */
+    private int myResultTimeout = 0;
+
+    /**
+     * Creates a runner that uses one process per available processor
+     *
+     * @param name the name of the simulation
+     * @param builderClass the class of the model builder, must not be null
+     */
+    public ProcessReplicationRunner(String name, Class<? extends ModelBuilderIfc> builderClass) {
+        this(name, builderClass, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     *
+     * @param name the name of the simulation
+     * @param builderClass the class of the model builder, must not be null
+     * @param numProcesses the number of worker processes, must be &gt; 0
+     */
+    public ProcessReplicationRunner(String name, Class<? extends ModelBuilderIfc> builderClass,
+            int numProcesses) {
+        if (builderClass == null) {
+            throw new IllegalArgumentException("The model builder class was null");
+        }
+        setNumberOfProcesses(numProcesses);
+        myBuilderClass = builderClass;
+        myClassPath = System.getProperty("java.class.path");
+        myJVMOptions = new ArrayList<String>();
+        RNStreamFactory f = RNStreamFactory.getDefault();
+        myFactorySeed = f.getFactorySeed();
+        mySimulation = new Simulation(name);
+        newBuilder(builderClass).build(mySimulation.getModel());
+    }
+
+    /**
+     * The simulation whose experiment is executed. Its across replication
+     * statistics hold the results after run()
+     *
+     * @return the simulation
+     */
+    public final Simulation getSimulation() {
+        return mySimulation;
+    }
+
+    /**
+     *
+     * @return the number of worker processes
+     */
+    public final int getNumberOfProcesses() {
+        return myNumProcesses;
+    }
+
+    /**
+     *
+     * @param numProcesses the number of worker processes, must be &gt; 0
+     */
+    public final void setNumberOfProcesses(int numProcesses) {
+        if (numProcesses <= 0) {
+            throw new IllegalArgumentException("The number of processes must be > 0");
+        }
+        myNumProcesses = numProcesses;
+    }
+
+    /**
+     *
+     * @return the class path of the worker JVMs
+     */
+    public final String getClassPath() {
+        return myClassPath;
+    }
+
+    /**
+     * Sets the class path of the worker JVMs, by default the class path of
+     * the calling JVM. It must contain the JSL and the model builder class.
+     *
+     * @param classPath the class path, must not be null
+     */
+    public final void setClassPath(String classPath) {
+        if (classPath == null) {
+            throw new IllegalArgumentException("The class path was null");
+        }
+        myClassPath = classPath;
+    }
+
+    /**
+     * Adds an option for the worker JVMs, e.g. -Xmx2g
+     *
+     * @param option the option, must not be null
+     */
+    public final void addJVMOption(String option) {
+        if (option == null) {
+            throw new IllegalArgumentException("The option was null");
+        }
+        myJVMOptions.add(option);
+    }
+
+    /**
+     *
+     * @return the number of milliseconds to wait for a worker to connect
+     */
+    public final int getConnectTimeout() {
+        return myConnectTimeout;
+    }
+
+    /**
+     *
+     * @param timeout the number of milliseconds to wait for a worker to
+     * connect, must be &gt; 0
+     */
+    public final void setConnectTimeout(int timeout) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("The timeout must be > 0");
+        }
+        myConnectTimeout = timeout;
+    }
+
+    /**
+     *
+     * @return the number of milliseconds to wait for the results of a worker
+     * after the replications were requested, 0 means without limit
+     */
+    public final int getResultTimeout() {
+        return myResultTimeout;
+    }
+
+    /**
+     * Sets how long to wait for the results of a worker after its
+     * replications were requested. By default there is no limit, since the
+     * replications may take any amount of time. A worker that exits without
+     * returning results always fails the run.
+     *
+     * @param timeout the number of milliseconds, 0 means without limit, must
+     * be &gt;= 0
+     */
+    public final void setResultTimeout(int timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("The timeout must be >= 0");
+        }
+        myResultTimeout = timeout;
+    }
+
+    /**
+     * Executes the replications of the simulation's experiment in the worker
+     * processes and collects the results into the simulation's across
+     * replication statistics. The calling thread waits for the workers to
+     * complete. If a worker fails, the remaining workers are destroyed and the
+     * failure is re-thrown.
+     */
+    public void run() {
+        checkExperiment();
+        int n = mySimulation.getNumberOfReplications();
+        List<Statistic> stats = ParallelReplicationRunner.getAcrossReplicationStatistics(mySimulation.getModel());
+        int numWorkers = Math.min(myNumProcesses, n);
+        List<Process> processes = new ArrayList<Process>();
+        List<Socket> sockets = new ArrayList<Socket>();
+        double[][] values = new double[n][];
+        boolean[][] collected = new boolean[n][];
+        ServerSocket server = null;
+        try {
+            server = new ServerSocket(0, numWorkers, InetAddress.getLoopbackAddress());
+            server.setSoTimeout(1000);
+            String token = newToken();
+            for (int i = 0; i < numWorkers; i++) {
+                processes.add(launch(server.getLocalPort(), i, token));
+            }
+            // the workers may connect in any order, they identify themselves
+            ObjectOutputStream[] outs = new ObjectOutputStream[numWorkers];
+            ObjectInputStream[] ins = new ObjectInputStream[numWorkers];
+            long deadline = System.currentTimeMillis() + myConnectTimeout;
+            int numConnected = 0;
+            while (numConnected < numWorkers) {
+                Socket s = accept(server, processes, deadline);
+                sockets.add(s);
+                // a connection that stalls must not outlast the deadline
+                s.setSoTimeout((int) Math.max(1, deadline - System.currentTimeMillis()));
+                ObjectOutputStream out;
+                ObjectInputStream in;
+                int i;
+                try {
+                    out = new ObjectOutputStream(s.getOutputStream());
+                    out.flush();
+                    in = new ResultInputStream(s.getInputStream());
+                    byte[] presented = in.readUTF().getBytes(StandardCharsets.UTF_8);
+                    i = in.readInt();
+                    if (!MessageDigest.isEqual(presented, token.getBytes(StandardCharsets.UTF_8))
+                            || (i < 0) || (i >= numWorkers) || (outs[i] != null)) {
+                        // not one of the workers, or a worker that already connected
+                        close(s);
+                        continue;
+                    }
+                } catch (IOException e) {
+                    // e.g. a connection that did not identify itself in time
+                    close(s);
+                    continue;
+                }
+                s.setSoTimeout(myResultTimeout);
+                outs[i] = out;
+                ins[i] = in;
+                numConnected++;
+            }
+            for (int i = 0; i < numWorkers; i++) {
+                outs[i].writeObject(makeRequest(i * n / numWorkers + 1, (i + 1) * n / numWorkers));
+                outs[i].flush();
+            }
+            for (int i = 0; i < numWorkers; i++) {
+                WorkerResult result;
+                try {
+                    result = (WorkerResult) ins[i].readObject();
+                } catch (SocketTimeoutException e) {
+                    throw new IllegalStateException("Worker process " + (i + 1) + " did not return its results within "
+                            + myResultTimeout + " milliseconds");
+                }
+                if (result.myFailure != null) {
+                    rethrow(result.myFailure);
+                }
+                if (result.myNumStatistics != stats.size()) {
+                    throw new IllegalStateException("The model builder did not build the same model for worker " + (i + 1));
+                }
+                int first = i * n / numWorkers;
+                for (int r = 0; r < result.myValues.length; r++) {
+                    values[first + r] = result.myValues[r];
+                    collected[first + r] = result.myCollected[r];
+                }
+            }
+            for (Process p : processes) {
+                p.waitFor();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not communicate with the worker processes", e);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("Could not read the results of a worker process", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running the replications", e);
+        } finally {
+            for (Socket s : sockets) {
+                close(s);
+            }
+            if (server != null) {
+                try {
+                    server.close();
+                } catch (IOException e) {
+                    // nothing more to do
+                }
+            }
+            for (Process p : processes) {
+                p.destroy();
+            }
+        }
+        mergeResults(stats, values, collected, "Completed the replications in " + numWorkers + " processes");
+    }
+
+    /**
+     * Collects the observations of each replication, in replication order
+     */
+    private void mergeResults(List<Statistic> stats, double[][] values, boolean[][] collected, String msg) {
+        // initializing the simulation resets its across replication statistics
+        mySimulation.initialize();
+        for (int r = 0; r < values.length; r++) {
+            for (int i = 0; i < stats.size(); i++) {
+                if (collected[r][i]) {
+                    stats.get(i).collect(values[r][i]);
+                }
+            }
+        }
+        mySimulation.myExperiment.setCurrentReplicationNumber(values.length);
+        mySimulation.end(msg);
+    }
+
+    private WorkerRequest makeRequest(int first, int last) {
+        WorkerRequest request = new WorkerRequest();
+        request.myName = mySimulation.getName();
+        request.myBuilderClassName = myBuilderClass.getName();
+        request.myFactorySeed = myFactorySeed;
+        request.myExperiment = mySimulation.myExperiment;
+        request.myRepLengthWarningMessageOption = mySimulation.getRepLengthWarningMessageOption();
+        Executive e = mySimulation.getExecutive();
+        request.myEventPoolingOption = e.getEventPoolingOption();
+        request.myBatchSimultaneousEventsOption = e.getBatchSimultaneousEventsOption();
+        request.myFirstRep = first;
+        request.myLastRep = last;
+        return request;
+    }
+
+    /**
+     * Makes the token that the workers present when they connect
+     */
+    private static String newToken() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private Process launch(int port, int i, String token) throws IOException {
+        List<String> command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(myJVMOptions);
+        command.add("-cp");
+        command.add(myClassPath);
+        command.add(ProcessReplicationRunner.class.getName());
+        command.add(Integer.toString(port));
+        command.add(Integer.toString(i));
+        command.add(token);
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return pb.start();
+    }
+
+    /**
+     * Waits for the next worker to connect, failing if a worker exited or
+     * the deadline passed
+     */
+    private Socket accept(ServerSocket server, List<Process> processes, long deadline) throws IOException {
+        while (true) {
+            try {
+                return server.accept();
+            } catch (SocketTimeoutException e) {
+                for (Process p : processes) {
+                    if (hasExited(p)) {
+                        throw new IllegalStateException("A worker process exited with value "
+                                + p.exitValue() + " before connecting");
+                    }
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("A worker process did not connect within "
+                            + myConnectTimeout + " milliseconds");
+                }
+            }
+        }
+    }
+
+    private static boolean hasExited(Process p) {
+        try {
+            p.exitValue();
+            return true;
+        } catch (IllegalThreadStateException e) {
+            return false;
+        }
+    }
+
+    private static void close(Socket s) {
+        try {
+            s.close();
+        } catch (IOException e) {
+            // nothing more to do
+        }
+    }
+
+    private static void rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new RuntimeException(t);
+    }
+
+    private static ModelBuilderIfc newBuilder(Class<? extends ModelBuilderIfc> builderClass) {
+        try {
+            return builderClass.newInstance();
+        } catch (InstantiationException e) {
+            throw new IllegalArgumentException("The model builder class must have a public no argument constructor", e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("The model builder class must have a public no argument constructor", e);
+        }
+    }
+
+    private void checkExperiment() {
+        if (mySimulation.getAntitheticOption()) {
+            throw new IllegalStateException("The antithetic option is not supported by ProcessReplicationRunner");
+        }
+        if (!mySimulation.getAdvanceNextSubStreamOption()) {
+            throw new IllegalStateException("The replications must advance to the next sub-stream");
+        }
+        if (!mySimulation.getReplicationInitializationOption()) {
+            throw new IllegalStateException("The replications must be initialized");
+        }
+    }
+
+    /**
+     * The entry point of a worker process. Connects to the runner, runs the
+     * requested replications and returns their observations.
+     *
+     * @param args the port of the runner, the index of the worker and the
+     * token of the run
+     */
+    public static void main(String[] args) {
+        int port = Integer.parseInt(args[0]);
+        int index = Integer.parseInt(args[1]);
+        String token = args[2];
+        int status = 0;
+        Socket s = null;
+        try {
+            s = new Socket(InetAddress.getLoopbackAddress(), port);
+            ObjectOutputStream out = new ObjectOutputStream(s.getOutputStream());
+            out.writeUTF(token);
+            out.writeInt(index);
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(s.getInputStream());
+            WorkerRequest request = (WorkerRequest) in.readObject();
+            WorkerResult result;
+            try {
+                result = runReplications(request, index);
+            } catch (RuntimeException e) {
+                result = new WorkerResult();
+                result.myFailure = e;
+            } catch (Error e) {
+                result = new WorkerResult();
+                result.myFailure = e;
+            }
+            out.writeObject(result);
+            out.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+            status = 1;
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            status = 1;
+        } finally {
+            if (s != null) {
+                close(s);
+            }
+        }
+        // the model may have started non-daemon threads
+        System.exit(status);
+    }
+
+    /**
+     * Builds the model and runs the requested replications in the worker
+     * process
+     */
+    private static WorkerResult runReplications(WorkerRequest request, int index) {
+        String name = request.myName + "_Process_" + (index + 1);
+        RNStreamFactory f = new RNStreamFactory(name);
+        f.setFactorySeed(request.myFactorySeed);
+        SimulationContext context = new SimulationContext(name, f, null);
+        Simulation sim;
+        // the simulation binds its context whenever it runs
+        SimulationContext previous = SimulationContext.setCurrent(context);
+        try {
+            Class<? extends ModelBuilderIfc> c = Class.forName(request.myBuilderClassName).asSubclass(ModelBuilderIfc.class);
+            sim = new Simulation(name);
+            newBuilder(c).build(sim.getModel());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("The model builder class was not found", e);
+        } finally {
+            SimulationContext.setCurrent(previous);
+        }
+        sim.setExperiment(request.myExperiment);
+        sim.setRepLengthWarningMessageOption(request.myRepLengthWarningMessageOption);
+        sim.getExecutive().setEventPoolingOption(request.myEventPoolingOption);
+        sim.getExecutive().setBatchSimultaneousEventsOption(request.myBatchSimultaneousEventsOption);
+        Model model = sim.getModel();
+        List<Statistic> stats = ParallelReplicationRunner.getAcrossReplicationStatistics(model);
+        int k = request.myLastRep - request.myFirstRep + 1;
+        WorkerResult result = new WorkerResult();
+        result.myNumStatistics = stats.size();
+        result.myValues = new double[k][stats.size()];
+        result.myCollected = new boolean[k][stats.size()];
+        double[] counts = new double[stats.size()];
+        double[] missing = new double[stats.size()];
+        sim.initialize();
+        model.advanceSubstreams(request.myFirstRep - 1);
+        sim.myExperiment.setCurrentReplicationNumber(request.myFirstRep - 1);
+        for (int j = 0; j < k; j++) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = stats.get(i).getCount();
+                missing[i] = stats.get(i).getNumberMissing();
+            }
+            sim.runNext();
+            for (int i = 0; i < counts.length; i++) {
+                Statistic s = stats.get(i);
+                if (s.getCount() > counts[i]) {
+                    result.myCollected[j][i] = true;
+                    result.myValues[j][i] = s.getLastValue();
+                } else if (s.getNumberMissing() > missing[i]) {
+                    // a NaN or infinite observation
+                    result.myCollected[j][i] = true;
+                    result.myValues[j][i] = Double.NaN;
+                }
+            }
+        }
+        sim.end();
+        return result;
+    }
+
+    /**
+     * Reads the results of a worker. Only resolves the classes of a
+     * WorkerResult: the result class, primitive arrays and Throwables.
+     */
+    private static class ResultInputStream extends ObjectInputStream {
+
+        ResultInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            if (!RESULT_CLASSES.contains(name)) {
+                // load without initializing, to check that it is a Throwable
+                Class<?> c = Class.forName(name, false, ProcessReplicationRunner.class.getClassLoader());
+                if (!Throwable.class.isAssignableFrom(c)) {
+                    throw new InvalidClassException(name, "Not allowed in the results of a worker process");
+                }
+                return c;
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            throw new InvalidClassException("Proxy classes are not allowed in the results of a worker process");
+        }
+    }
+
+    /**
+     * What a worker process is asked to run
+     */
+    private static class WorkerRequest implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String myName;
+
+        private String myBuilderClassName;
+
+        private long[] myFactorySeed;
+
+        private Experiment myExperiment;
+
+        private boolean myRepLengthWarningMessageOption;
+
+        private boolean myEventPoolingOption;
+
+        private boolean myBatchSimultaneousEventsOption;
+
+        private int myFirstRep;
+
+        private int myLastRep;
+    }
+
+    /**
+     * The observations of the replications of a worker process, or its
+     * failure
+     */
+    private static class WorkerResult implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int myNumStatistics;
+
+        private double[][] myValues;
+
+        private boolean[][] myCollected;
+
+        private Throwable myFailure;
+    }
+}
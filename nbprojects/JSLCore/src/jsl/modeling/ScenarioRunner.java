@@ -0,0 +1,568 @@
+/*
+ *  Copyright (C) 2010 rossetti
+ *
+ *  Contact:
+ * 	Manuel D. Rossetti, Ph.D., P.E.
+ * 	Department of Industrial Engineering
+ * 	University of Arkansas
+ * 	4207 Bell Engineering Center
+ * 	Fayetteville, AR 72701
+ * 	Phone: (479) 575-6756
+ * 	Email: rossetti@uark.edu
+ * 	Web: www.uark.edu/~rossetti
+ *
+ *  This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ *  of Java classes that permit the development and execution of discrete event
+ *  simulation programs.
+ *
+ *  The JSL is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  The JSL is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jsl.modeling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.observers.variable.MultipleComparisonDataCollector;
+import jsl.observers.variable.SimulationResponseDataCollector;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.WeightedStatistic;
+
+/**
+ * Executes the replications of several experiments (design points) on the
+ * same model using a ForkJoinPool.
+ *
+ * The runner creates a Simulation whose model is built by the supplied
+ * ModelBuilderIfc. Each design point is an Experiment, with a unique name,
+ * and an optional ModelBuilderIfc that configures a built model for the
+ * design point, e.g. by supplying Controls to its model elements. Every
+ * (design point, replication) pair is a task of the pool, so idle threads
+ * steal replications from any design point that still has work.
+ *
+ * The tasks run on copies of the simulation. A copy is built, within its own
+ * SimulationContext, for a design point when a thread needs one and no idle
+ * copy of the design point exists, and is reused by later tasks of the design
+ * point. Thus, the builder and the configurers may be called by several
+ * threads at the same time and must only create new objects. The stream
+ * factory of each copy starts at the seed that the default factory had when
+ * the model of the simulation was built, and the streams are positioned at
+ * the sub-stream of the replication before it is run. Every design point
+ * therefore uses the same random numbers as a fresh simulation running its
+ * experiment sequentially, which gives common random numbers across the
+ * design points.
+ *
+ * After run(), the across replication statistics of the response variables
+ * and counters are available by experiment name, and the results are fed to
+ * any MultipleComparisonDataCollector or SimulationResponseDataCollector
+ * added to the runner, in the order that the design points were added. The
+ * collectors must observe the model of getSimulation().
+ *
+ * The experiments must advance to the next sub-stream for each replication
+ * and initialize each replication. The antithetic option is not supported.
+ *
+ * @author rossetti
+ */
+public class ScenarioRunner {
+
+    /**
+     * Builds the model for the simulation and each copy
+     */
+    private final ModelBuilderIfc myBuilder;
+
+    /**
+     * The simulation whose model the collectors observe
+     */
+    private final Simulation mySimulation;
+
+    /**
+     * The factory seed used to build the simulation's model
+     */
+    private final long[] myFactorySeed;
+
+    /**
+     * The design points in the order that they were added
+     */
+    private final Map<String, DesignPoint> myDesignPoints;
+
+    private final List<MultipleComparisonDataCollector> myMCDataCollectors;
+
+    private final List<SimulationResponseDataCollector> myResponseDataCollectors;
+
+    /**
+     * The number of threads of the pool
+     */
+    private int myParallelism;
+
+    /**
+     * Signals the tasks to stop because a task failed
+     */
+    private AtomicBoolean myStopFlag;
+
+    /**
+     * Creates a runner that uses one thread per available processor
+     *
+     * @param name the name of the simulation
+     * @param builder builds the model, must not be null
+     */
+    public ScenarioRunner(String name, ModelBuilderIfc builder) {
+        this(name, builder, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     *
+     * @param name the name of the simulation
+     * @param builder builds the model, must not be null
+     * @param parallelism the number of threads, must be &gt; 0
+     */
+    public ScenarioRunner(String name, ModelBuilderIfc builder, int parallelism) {
+        if (builder == null) {
+            throw new IllegalArgumentException("The model builder was null");
+        }
+        setParallelism(parallelism);
+        myBuilder = builder;
+        myFactorySeed = RNStreamFactory.getDefault().getFactorySeed();
+        mySimulation = new Simulation(name);
+        myBuilder.build(mySimulation.getModel());
+        myDesignPoints = new LinkedHashMap<String, DesignPoint>();
+        myMCDataCollectors = new ArrayList<MultipleComparisonDataCollector>();
+        myResponseDataCollectors = new ArrayList<SimulationResponseDataCollector>();
+    }
+
+    /**
+     * The simulation whose model is observed by the collectors. Its
+     * experiment is not used by the runner.
+     *
+     * @return the simulation
+     */
+    public final Simulation getSimulation() {
+        return mySimulation;
+    }
+
+    /**
+     *
+     * @return the number of threads of the pool
+     */
+    public final int getParallelism() {
+        return myParallelism;
+    }
+
+    /**
+     *
+     * @param parallelism the number of threads, must be &gt; 0
+     */
+    public final void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be > 0");
+        }
+        myParallelism = parallelism;
+    }
+
+    /**
+     * Adds a design point that runs the experiment on the model as built
+     *
+     * @param experiment the experiment, its name must be unique
+     */
+    public final void addDesignPoint(Experiment experiment) {
+        addDesignPoint(experiment, null);
+    }
+
+    /**
+     * Adds a design point. A copy of the experiment is made, so later changes
+     * to the supplied experiment are not seen by the runner.
+     *
+     * @param experiment the experiment, its name must be unique
+     * @param configurer configures each built model for the design point, may
+     * be null
+     */
+    public final void addDesignPoint(Experiment experiment, ModelBuilderIfc configurer) {
+        if (experiment == null) {
+            throw new IllegalArgumentException("The experiment was null");
+        }
+        String name = experiment.getExperimentName();
+        if (myDesignPoints.containsKey(name)) {
+            throw new IllegalArgumentException("A design point with the experiment name " + name + " already exists");
+        }
+        if (experiment.getAntitheticOption()) {
+            throw new IllegalArgumentException("The antithetic option is not supported by ScenarioRunner");
+        }
+        if (!experiment.getAdvanceNextSubStreamOption()) {
+            throw new IllegalArgumentException("The replications must advance to the next sub-stream");
+        }
+        if (!experiment.getReplicationInitializationOption()) {
+            throw new IllegalArgumentException("The replications must be initialized");
+        }
+        myDesignPoints.put(name, new DesignPoint(experiment.newInstance(), configurer));
+    }
+
+    /**
+     *
+     * @return the experiment names of the design points, in the order added
+     */
+    public final List<String> getExperimentNames() {
+        return new ArrayList<String>(myDesignPoints.keySet());
+    }
+
+    /**
+     * The collector receives the replication averages of its response for
+     * each design point after run()
+     *
+     * @param collector must observe a response of the simulation's model
+     */
+    public final void addDataCollector(MultipleComparisonDataCollector collector) {
+        if (collector == null) {
+            throw new IllegalArgumentException("The collector was null");
+        }
+        myMCDataCollectors.add(collector);
+    }
+
+    /**
+     * The collector receives the within and across replication statistics of
+     * each design point after run()
+     *
+     * @param collector must observe the simulation's model
+     */
+    public final void addDataCollector(SimulationResponseDataCollector collector) {
+        if (collector == null) {
+            throw new IllegalArgumentException("The collector was null");
+        }
+        myResponseDataCollectors.add(collector);
+    }
+
+    /**
+     * The across replication statistics of the response variables and
+     * counters for the experiment, keyed by the name of the response variable
+     * or counter
+     *
+     * @param expName the name of the experiment
+     * @return the statistics or null if the design point has not been run
+     */
+    public final Map<String, Statistic> getAcrossReplicationStatistics(String expName) {
+        DesignPoint dp = myDesignPoints.get(expName);
+        if (dp == null) {
+            return null;
+        }
+        return dp.myAcrossRepStats;
+    }
+
+    /**
+     * Executes the replications of every design point and then collects the
+     * results. The calling thread waits for the replications to complete. If
+     * a replication throws an exception, the remaining replications are not
+     * started and the exception is re-thrown.
+     */
+    public void run() {
+        Model model = mySimulation.getModel();
+        List<Statistic> stats = getAcrossReplicationStatistics(model);
+        int numResponses = model.getResponseVariables().size();
+        final List<ReplicationTask> tasks = new ArrayList<ReplicationTask>();
+        for (DesignPoint dp : myDesignPoints.values()) {
+            dp.prepare(stats.size(), numResponses);
+            for (int r = 1; r <= dp.myExperiment.getNumberOfReplications(); r++) {
+                tasks.add(new ReplicationTask(dp, r));
+            }
+        }
+        myStopFlag = new AtomicBoolean(false);
+        ForkJoinPool pool = new ForkJoinPool(myParallelism);
+        try {
+            pool.invoke(new RecursiveAction() {
+
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdownNow();
+        }
+        for (DesignPoint dp : myDesignPoints.values()) {
+            dp.mergeResults(model, stats);
+        }
+    }
+
+    /**
+     * The across replication statistics of every response variable and
+     * counter of the model, in the order of the model's lists
+     *
+     * @param m the model
+     * @return the statistics
+     */
+    private static List<Statistic> getAcrossReplicationStatistics(Model m) {
+        List<Statistic> stats = new ArrayList<Statistic>();
+        for (ResponseVariable r : m.getResponseVariables()) {
+            stats.add((Statistic) r.getAcrossReplicationStatistic());
+        }
+        for (Counter c : m.getCounters()) {
+            stats.add((Statistic) c.getAcrossReplicationStatistic());
+        }
+        return stats;
+    }
+
+    /**
+     * An experiment, its configurer and its results
+     */
+    private class DesignPoint {
+
+        private final Experiment myExperiment;
+
+        private final ModelBuilderIfc myConfigurer;
+
+        /**
+         * The copies of the simulation that are not running a replication
+         */
+        private final ConcurrentLinkedQueue<Replicator> myIdleCopies;
+
+        /**
+         * myValues[r-1][i] holds the observation of the ith across
+         * replication statistic for replication r
+         */
+        private double[][] myValues;
+
+        /**
+         * myCollected[r-1][i] is true if the ith across replication statistic
+         * collected an observation in replication r
+         */
+        private boolean[][] myCollected;
+
+        /**
+         * myWithinRepStats[r-1][i] holds the within replication statistic of
+         * the ith response variable for replication r
+         */
+        private WeightedStatistic[][] myWithinRepStats;
+
+        private Map<String, Statistic> myAcrossRepStats;
+
+        DesignPoint(Experiment experiment, ModelBuilderIfc configurer) {
+            myExperiment = experiment;
+            myConfigurer = configurer;
+            myIdleCopies = new ConcurrentLinkedQueue<Replicator>();
+        }
+
+        void prepare(int numStats, int numResponses) {
+            int n = myExperiment.getNumberOfReplications();
+            myValues = new double[n][numStats];
+            myCollected = new boolean[n][numStats];
+            myWithinRepStats = new WeightedStatistic[n][numResponses];
+            myAcrossRepStats = null;
+            myIdleCopies.clear();
+        }
+
+        Replicator acquire() {
+            Replicator copy = myIdleCopies.poll();
+            if (copy == null) {
+                copy = new Replicator(this);
+            }
+            return copy;
+        }
+
+        void release(Replicator copy) {
+            myIdleCopies.add(copy);
+        }
+
+        /**
+         * Collects the observations of each replication, in replication
+         * order, and feeds the collectors
+         */
+        void mergeResults(Model model, List<Statistic> stats) {
+            String name = myExperiment.getExperimentName();
+            myAcrossRepStats = new LinkedHashMap<String, Statistic>();
+            List<Statistic> list = new ArrayList<Statistic>();
+            for (Statistic s : stats) {
+                Statistic a = new Statistic(s.getName());
+                list.add(a);
+            }
+            for (int r = 0; r < myValues.length; r++) {
+                for (int i = 0; i < list.size(); i++) {
+                    if (myCollected[r][i]) {
+                        list.get(i).collect(myValues[r][i]);
+                    }
+                }
+            }
+            int k = 0;
+            for (ResponseVariable rv : model.getResponseVariables()) {
+                myAcrossRepStats.put(rv.getName(), list.get(k));
+                k++;
+            }
+            for (Counter c : model.getCounters()) {
+                myAcrossRepStats.put(c.getName(), list.get(k));
+                k++;
+            }
+            List<ResponseVariable> responses = model.getResponseVariables();
+            for (MultipleComparisonDataCollector c : myMCDataCollectors) {
+                int i = responses.indexOf(c.getResponseVariable());
+                if (i < 0) {
+                    throw new IllegalStateException("The collector does not observe a response of the simulation's model");
+                }
+                double[] data = new double[myWithinRepStats.length];
+                for (int r = 0; r < data.length; r++) {
+                    data[r] = myWithinRepStats[r][i].getAverage();
+                }
+                c.addAcrossReplicationData(name, data);
+            }
+            for (SimulationResponseDataCollector c : myResponseDataCollectors) {
+                List<Map<String, WeightedStatistic>> within = new ArrayList<Map<String, WeightedStatistic>>();
+                for (int r = 0; r < myWithinRepStats.length; r++) {
+                    Map<String, WeightedStatistic> m = new LinkedHashMap<String, WeightedStatistic>();
+                    for (int i = 0; i < responses.size(); i++) {
+                        m.put(responses.get(i).getName(), myWithinRepStats[r][i].newInstance());
+                    }
+                    within.add(m);
+                }
+                Map<String, Statistic> across = new LinkedHashMap<String, Statistic>();
+                for (Map.Entry<String, Statistic> e : myAcrossRepStats.entrySet()) {
+                    across.put(e.getKey(), e.getValue().newInstance());
+                }
+                c.addExperimentData(name, within, across);
+            }
+            myIdleCopies.clear();
+        }
+    }
+
+    /**
+     * A copy of the simulation that runs replications of one design point
+     */
+    private class Replicator {
+
+        private final DesignPoint myDesignPoint;
+
+        private final Simulation mySim;
+
+        private final List<Statistic> myStats;
+
+        private final List<ResponseVariable> myResponses;
+
+        private final double[] myCounts;
+
+        private final double[] myMissing;
+
+        /**
+         * The replication that the streams are positioned for
+         */
+        private int myNextRep;
+
+        Replicator(DesignPoint dp) {
+            myDesignPoint = dp;
+            String name = mySimulation.getName() + "_" + dp.myExperiment.getExperimentName();
+            RNStreamFactory f = new RNStreamFactory(name);
+            f.setFactorySeed(myFactorySeed);
+            SimulationContext context = new SimulationContext(name, f, null);
+            // the simulation binds its context whenever it runs
+            SimulationContext previous = SimulationContext.setCurrent(context);
+            try {
+                mySim = new Simulation(name);
+                myBuilder.build(mySim.getModel());
+                if (dp.myConfigurer != null) {
+                    dp.myConfigurer.build(mySim.getModel());
+                }
+            } finally {
+                SimulationContext.setCurrent(previous);
+            }
+            mySim.setExperiment(dp.myExperiment);
+            mySim.setRepLengthWarningMessageOption(mySimulation.getRepLengthWarningMessageOption());
+            Executive e = mySimulation.getExecutive();
+            mySim.getExecutive().setEventPoolingOption(e.getEventPoolingOption());
+            mySim.getExecutive().setBatchSimultaneousEventsOption(e.getBatchSimultaneousEventsOption());
+            Model model = mySim.getModel();
+            myStats = getAcrossReplicationStatistics(model);
+            myResponses = model.getResponseVariables();
+            if ((myStats.size() != dp.myValues[0].length)
+                    || (myResponses.size() != dp.myWithinRepStats[0].length)) {
+                throw new IllegalStateException("The model builder did not build the same model for the copy");
+            }
+            myCounts = new double[myStats.size()];
+            myMissing = new double[myStats.size()];
+            mySim.initialize();
+            myNextRep = 1;
+        }
+
+        void runReplication(int r) {
+            Model model = mySim.getModel();
+            if (r < myNextRep) {
+                // go back to where initialize() left the streams
+                model.resetStartStream();
+                Experiment e = myDesignPoint.myExperiment;
+                if (!e.getResetStartStreamOption()) {
+                    model.advanceSubstreams(e.getNumberOfStreamAdvancesPriorToRunning());
+                }
+                myNextRep = 1;
+            }
+            model.advanceSubstreams(r - myNextRep);
+            mySim.myExperiment.setCurrentReplicationNumber(r - 1);
+            for (int i = 0; i < myCounts.length; i++) {
+                myCounts[i] = myStats.get(i).getCount();
+                myMissing[i] = myStats.get(i).getNumberMissing();
+            }
+            mySim.runNext();
+            for (int i = 0; i < myCounts.length; i++) {
+                Statistic s = myStats.get(i);
+                if (s.getCount() > myCounts[i]) {
+                    myDesignPoint.myCollected[r - 1][i] = true;
+                    myDesignPoint.myValues[r - 1][i] = s.getLastValue();
+                } else if (s.getNumberMissing() > myMissing[i]) {
+                    // a NaN or infinite observation
+                    myDesignPoint.myCollected[r - 1][i] = true;
+                    myDesignPoint.myValues[r - 1][i] = Double.NaN;
+                }
+            }
+            for (int i = 0; i < myResponses.size(); i++) {
+                WeightedStatistic w = (WeightedStatistic) myResponses.get(i).getWithinReplicationStatistic();
+                myDesignPoint.myWithinRepStats[r - 1][i] = w.newInstance();
+            }
+            // the random elements advanced to the next sub-stream
+            myNextRep = r + 1;
+        }
+    }
+
+    /**
+     * Runs one replication of one design point
+     */
+    private class ReplicationTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DesignPoint myDesignPoint;
+
+        private final int myRep;
+
+        ReplicationTask(DesignPoint dp, int rep) {
+            myDesignPoint = dp;
+            myRep = rep;
+        }
+
+        @Override
+        protected void compute() {
+            if (myStopFlag.get()) {
+                return;
+            }
+            try {
+                Replicator copy = myDesignPoint.acquire();
+                copy.runReplication(myRep);
+                myDesignPoint.release(copy);
+            } catch (RuntimeException e) {
+                myStopFlag.set(true);
+                throw e;
+            } catch (Error e) {
+                myStopFlag.set(true);
+                throw e;
+            }
+        }
+    }
+}
@@ -33,6 +33,7 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
 import jsl.utilities.GetValueIfc;
 
 /** A SchedulingElement is a ModelElement that facilitates the scheduling of
@@ -49,6 +50,8 @@ import jsl.utilities.GetValueIfc;
  */
 public class SchedulingElement extends ModelElement {
 
+    private static final long serialVersionUID = 1L;
+
     /** A reference to an instance of an inner class that implements
      *  the EventActionIfc for handling the default calling of handleEvent()
      *  if used by subclasses.
@@ -506,7 +509,9 @@ public class SchedulingElement extends ModelElement {
         return (myHandleEventAction);
     }
 
-    private class EventAction implements EventActionIfc {
+    private class EventAction implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent evt) {
@@ -30,12 +30,18 @@
  */
 package jsl.modeling;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 import jsl.observers.ObservableIfc;
 import jsl.observers.ObserverIfc;
 import jsl.observers.scheduler.ExecutiveTraceReport;
 import jsl.observers.textfile.IPLogReport;
 import jsl.utilities.IdentityIfc;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.reporting.JSL;
 
 /**
@@ -47,12 +53,14 @@ import jsl.utilities.reporting.JSL;
  * @author Manuel Rossetti (rossetti@uark.edu)
  */
 public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessIfc,
-        ExperimentGetIfc {
+        ExperimentGetIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * A counter to count the number of objects created to assign "unique" ids
      */
-    private static int myIdCounter_;
+    private static final AtomicInteger myIdCounter_ = new AtomicInteger();
 
     /**
      * The name of this object
@@ -100,6 +108,26 @@ public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessI
      */
     private StatisticalBatchingElement myBatchingElement;
 
+    /**
+     * The context that was bound to the thread that created the simulation,
+     * may be null
+     *
+     */
+    private final SimulationContext myContext;
+
+    /**
+     * True while run() is executing the replications
+     *
+     */
+    private boolean myRunAllFlag;
+
+    /**
+     * True if the simulation was restored from a checkpoint and has not been
+     * resumed
+     *
+     */
+    private transient boolean myRestoredFlag;
+
     /**
      * Creates a simulation with name, "Simulation" to run an empty model with
      * default experimental parameters using the default scheduling executive
@@ -153,8 +181,8 @@ public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessI
      */
     public Simulation(String simName, String modelName, String expName,
             Executive executive) {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myContext = SimulationContext.getCurrent();
+        myId = SimulationContext.nextId(Simulation.class, myIdCounter_);
         setName(simName);
         myReplicationExecutionProcess = new ReplicationExecutionProcess();
         myExperiment = new Experiment(expName);
@@ -309,7 +337,12 @@ public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessI
      */
     @Override
     public final void initialize() {
-        myReplicationExecutionProcess.initialize();
+        SimulationContext previous = bindContext();
+        try {
+            myReplicationExecutionProcess.initialize();
+        } finally {
+            unbindContext(previous);
+        }
     }
 
     /**
@@ -318,7 +351,12 @@ public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessI
      */
     @Override
     public final void runNext() {
-        myReplicationExecutionProcess.runNext();
+        SimulationContext previous = bindContext();
+        try {
+            myReplicationExecutionProcess.runNext();
+        } finally {
+            unbindContext(previous);
+        }
     }
 
     /**
@@ -327,7 +365,130 @@ public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessI
      */
     @Override
     public final void run() {
-        myReplicationExecutionProcess.run();
+        SimulationContext previous = bindContext();
+        myRunAllFlag = true;
+        try {
+            myReplicationExecutionProcess.run();
+        } finally {
+            myRunAllFlag = false;
+            unbindContext(previous);
+        }
+    }
+
+    /**
+     * Requests that a checkpoint of the running replication be written to
+     * the file. The checkpoint is written by the thread that runs the
+     * simulation after the current event has been executed, and the
+     * replication then continues. This method may be called from any thread,
+     * e.g. a TimerTask or a shutdown hook, or from within an event. If no
+     * replication is running, the checkpoint is written after the first event
+     * of the next replication. A later request replaces a pending request.
+     * Problems writing the file are logged and do not stop the simulation.
+     *
+     * @see SimulationCheckpoint
+     * @param file the file, must not be null
+     */
+    public final void requestCheckpoint(final File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("The checkpoint file was null");
+        }
+        myExecutive.setAfterEventAction(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    SimulationCheckpoint.write(Simulation.this, file);
+                } catch (IOException e) {
+                    JSL.LOGGER.log(Level.SEVERE,
+                            "Could not write the checkpoint " + file.getAbsolutePath(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads a simulation that was written by requestCheckpoint(). Call
+     * resume() to continue the replication.
+     *
+     * @param file the checkpoint file
+     * @return the simulation
+     * @throws IOException if the file cannot be read or is not a checkpoint
+     */
+    public static Simulation restore(File file) throws IOException {
+        Simulation sim = SimulationCheckpoint.read(file);
+        sim.myRestoredFlag = true;
+        return sim;
+    }
+
+    /**
+     * Makes a copy of a simulation from a snapshot made by
+     * SimulationCheckpoint.toBytes(). Call resume() to continue the copy.
+     *
+     * @param snapshot the snapshot
+     * @return the copy
+     * @throws IOException if the snapshot cannot be read
+     */
+    static Simulation restore(byte[] snapshot) throws IOException {
+        Simulation sim = SimulationCheckpoint.fromBytes(snapshot);
+        sim.myRestoredFlag = true;
+        return sim;
+    }
+
+    /**
+     * Continues a simulation that was restored from a checkpoint. The
+     * replication that was running when the checkpoint was written is
+     * completed, and if the checkpoint was written during run() the remaining
+     * replications are run as well. Observers that were not Serializable are
+     * not restored and must be added again before calling resume().
+     *
+     */
+    public final void resume() {
+        if (!myRestoredFlag) {
+            throw new IllegalStateException("The simulation was not restored from a checkpoint or was already resumed");
+        }
+        myRestoredFlag = false;
+        SimulationContext previous = bindContext();
+        try {
+            myReplicationExecutionProcess.resumeReplication(myRunAllFlag);
+        } finally {
+            myRunAllFlag = false;
+            unbindContext(previous);
+        }
+    }
+
+    /**
+     * The context that was bound to the thread that created the simulation.
+     * The context is bound to the running thread during initialize(),
+     * runNext() and run().
+     *
+     * @return the context or null if the simulation was created without one
+     */
+    public final SimulationContext getContext() {
+        return myContext;
+    }
+
+    /**
+     * Binds the simulation's context to the calling thread
+     *
+     * @return the context that was bound before
+     */
+    private SimulationContext bindContext() {
+        if (myContext == null) {
+            return null;
+        }
+        return SimulationContext.setCurrent(myContext);
+    }
+
+    /**
+     * Restores the context that was bound before bindContext()
+     *
+     * @param previous the context returned by bindContext()
+     */
+    private void unbindContext(SimulationContext previous) {
+        if (myContext == null) {
+            return;
+        }
+        SimulationContext.setCurrent(previous);
     }
 
     /**
@@ -970,6 +1131,8 @@ public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessI
      */
     protected class ReplicationExecutionProcess extends IterativeProcess<Executive> {
 
+        private static final long serialVersionUID = 1L;
+
         @Override
         protected final void initializeIterations() {
             super.initializeIterations();
@@ -1017,6 +1180,30 @@ public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessI
 
         @Override
         protected final void runStep() {
+            beginReplication();
+            myExecutive.executeAllEvents();
+            endReplication();
+        }
+
+        /**
+         * Completes the replication of a simulation that was restored from a
+         * checkpoint
+         *
+         * @param runAll true if the remaining replications should be run
+         */
+        final void resumeReplication(boolean runAll) {
+            myExecutive.resumeExecutingEvents();
+            endReplication();
+            completeStep_();
+            if (runAll) {
+                while (!isDone()) {
+                    runNext();
+                }
+                endIterations();
+            }
+        }
+
+        private void beginReplication() {
             myCurrentStep = next();
             myExperiment.incrementCurrentReplicationNumber();
             long tpr = getMaximumAllowedExecutionTimePerReplication();
@@ -1026,7 +1213,9 @@ public class Simulation implements IdentityIfc, ObservableIfc, IterativeProcessI
             beforeReplication();
             myExecutive.initialize();
             myModel.setUpReplication();
-            myExecutive.executeAllEvents();
+        }
+
+        private void endReplication() {
             myModel.afterReplication(myExperiment);
             afterReplication();
             if (getGarbageCollectAfterRepilicationFlag()) {
@@ -0,0 +1,202 @@
+/*
+ *  Copyright (C) 2010 rossetti
+ *
+ *  Contact:
+ * 	Manuel D. Rossetti, Ph.D., P.E.
+ * 	Department of Industrial Engineering
+ * 	University of Arkansas
+ * 	4207 Bell Engineering Center
+ * 	Fayetteville, AR 72701
+ * 	Phone: (479) 575-6756
+ * 	Email: rossetti@uark.edu
+ * 	Web: www.uark.edu/~rossetti
+ *
+ *  This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ *  of Java classes that permit the development and execution of discrete event
+ *  simulation programs.
+ *
+ *  The JSL is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  The JSL is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jsl.modeling;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes and reads checkpoints of a running simulation. A checkpoint is a
+ * compressed serialization of the Simulation, which includes its Executive
+ * (the event calendar, the current time and the event counts), its Model (the
+ * state of every model element, e.g. variable values, queue contents and
+ * resource allocations), the random number streams of the model and the
+ * SimulationContext of the simulation, if it has one.
+ *
+ * A checkpoint is only written between events, so a simulation that is
+ * restored and resumed executes the same events with the same random numbers
+ * as the simulation that was checkpointed, giving identical results. For the
+ * ids of objects created after a restore to be the same, create the
+ * simulation within a SimulationContext, whose id counters are saved with the
+ * checkpoint.
+ *
+ * Every model element, event action, message attached to a scheduled event
+ * and object held by them must be Serializable. Model elements are
+ * Serializable, but the interfaces for event actions, listeners, selection
+ * rules, etc. are not, so a class that implements one of them and is held by
+ * a model that is checkpointed must also implement Serializable, otherwise
+ * writing the checkpoint fails with a NotSerializableException. Observers
+ * that are not Serializable, e.g. reports that write to files, are not saved.
+ * Static fields, e.g. the JVM wide id counters and JSL.out, are not saved.
+ *
+ * The file is first written to a temporary file, which then replaces the
+ * file, so a failure while writing does not destroy the previous checkpoint.
+ *
+ * @author rossetti
+ */
+public final class SimulationCheckpoint {
+
+    /**
+     * Identifies a checkpoint file
+     */
+    private static final int MAGIC = 0x4A534C43;
+
+    /**
+     * The version of the checkpoint format
+     */
+    private static final int VERSION = 1;
+
+    private SimulationCheckpoint() {
+    }
+
+    /**
+     * Writes the simulation to the file. Must only be called between events,
+     * by the thread that runs the simulation. Use
+     * Simulation.requestCheckpoint() while a simulation is running.
+     *
+     * @param sim the simulation, must not be null
+     * @param file the file, must not be null
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Simulation sim, File file) throws IOException {
+        if (sim == null) {
+            throw new IllegalArgumentException("The simulation was null");
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("The checkpoint file was null");
+        }
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null) {
+            dir.mkdirs();
+        }
+        File tmp = new File(dir, file.getName() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            ObjectOutputStream oos = new ObjectOutputStream(new GZIPOutputStream(out));
+            oos.writeObject(sim);
+            oos.close();
+        } finally {
+            out.close();
+        }
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Could not replace the checkpoint " + file.getAbsolutePath());
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Could not rename " + tmp.getAbsolutePath() + " to " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Reads a simulation from a checkpoint file. Use Simulation.restore()
+     * to read a simulation that is to be resumed.
+     *
+     * @param file the file, must not be null
+     * @return the simulation
+     * @throws IOException if the file cannot be read or is not a checkpoint
+     */
+    public static Simulation read(File file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The checkpoint file was null");
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file.getAbsolutePath() + " is not a simulation checkpoint");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            ObjectInputStream ois = new ObjectInputStream(new GZIPInputStream(in));
+            try {
+                return (Simulation) ois.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException("The checkpoint refers to a missing class", e);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes the simulation to an uncompressed in memory snapshot, e.g. to
+     * make copies of a simulation. Must only be called between events.
+     *
+     * @param sim the simulation, must not be null
+     * @return the snapshot
+     * @throws IOException if an object of the simulation is not Serializable
+     */
+    static byte[] toBytes(Simulation sim) throws IOException {
+        if (sim == null) {
+            throw new IllegalArgumentException("The simulation was null");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bytes);
+        oos.writeObject(sim);
+        oos.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a copy of the simulation from a snapshot made by toBytes()
+     *
+     * @param snapshot the snapshot, must not be null
+     * @return the copy
+     * @throws IOException if the snapshot cannot be read
+     */
+    static Simulation fromBytes(byte[] snapshot) throws IOException {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("The snapshot was null");
+        }
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(snapshot));
+        try {
+            return (Simulation) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("The snapshot refers to a missing class", e);
+        } finally {
+            ois.close();
+        }
+    }
+}
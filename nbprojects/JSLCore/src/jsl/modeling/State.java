@@ -33,17 +33,22 @@
  */
 package jsl.modeling;
 
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
 import jsl.utilities.statistic.*;
 import jsl.utilities.*;
+import jsl.utilities.SimulationContext;
 
 /**
  */
-public class State implements IdentityIfc, StateAccessorIfc {
+public class State implements IdentityIfc, StateAccessorIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** incremented to give a running total of the
      *  number of states created
      */
-    private static int myCounter_;
+    private static final AtomicInteger myCounter_ = new AtomicInteger();
 
     /** The id of the state, currently if
      *  the state is the ith state created
@@ -120,8 +125,7 @@ public class State implements IdentityIfc, StateAccessorIfc {
      * @param useStatistic True means collect sojourn time statistics
      */
     public State(String name, boolean useStatistic) {
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(State.class, myCounter_);
         setName(name);
 
         if (useStatistic) {
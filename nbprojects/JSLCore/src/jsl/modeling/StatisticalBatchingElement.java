@@ -7,6 +7,7 @@ package jsl.modeling;
 
 import java.util.ArrayList;
 import java.util.List;
+import jsl.modeling.elements.variable.ColumnarBatchingElement;
 import jsl.modeling.elements.variable.ResponseVariable;
 import jsl.modeling.elements.variable.ResponseVariableBatchingElement;
 import jsl.modeling.elements.variable.TWBatchingElement;
@@ -22,15 +23,38 @@ import jsl.utilities.statistic.StatisticAccessorIfc;
  * TWBatchingElement and the ResponseVariableBatchingElement to perform this
  * functionality.
  *
+ * For models with many batched variables, setColumnarBatchingOption(true)
+ * batches the variables with a ColumnarBatchingElement instead, which buffers
+ * the observations of each variable rather than observing every change of its
+ * value, and batches the buffered observations at the end of each replication,
+ * in parallel across the variables if it has more than one thread. The batch
+ * statistics are the same, but the variables do not have BatchStatisticObservers.
  *
  * @author rossetti
  */
 public class StatisticalBatchingElement extends ModelElement {
 
+    private static final long serialVersionUID = 1L;
+
     private final TWBatchingElement myTWBatcher;
 
     private final ResponseVariableBatchingElement myRVBatcher;
 
+    /**
+     * The discretizing interval for TimeWeighted variables
+     */
+    private final double myBatchInterval;
+
+    /**
+     * Created when the columnar batching option is first turned on
+     */
+    private ColumnarBatchingElement myColumnarBatcher;
+
+    /**
+     * Indicates whether the variables are batched by the columnar batcher
+     */
+    private boolean myColumnarBatchingOption = false;
+
     /**
      * Creates a StatisticalBatchingElement using the default discretizing
      * interval defined in TWBatchingElement
@@ -60,17 +84,54 @@ public class StatisticalBatchingElement extends ModelElement {
      */
     public StatisticalBatchingElement(Model model, double batchInterval, String name) {
         super(model, name);
+        myBatchInterval = batchInterval;
         myTWBatcher = new TWBatchingElement(this, batchInterval);
         myRVBatcher = new ResponseVariableBatchingElement(this);
     }
 
+    /**
+     * Sets whether the variables are batched by a ColumnarBatchingElement
+     * rather than by BatchStatisticObservers. Takes effect at the start of the
+     * next experiment and must not be changed during an experiment.
+     *
+     * @param flag true means columnar batching
+     */
+    public final void setColumnarBatchingOption(boolean flag) {
+        if (flag && (myColumnarBatcher == null)) {
+            myColumnarBatcher = new ColumnarBatchingElement(this, myBatchInterval);
+        }
+        myColumnarBatchingOption = flag;
+    }
+
+    /**
+     *
+     * @return true if the variables are batched by a ColumnarBatchingElement
+     */
+    public final boolean getColumnarBatchingOption() {
+        return myColumnarBatchingOption;
+    }
+
+    /**
+     * The columnar batcher, for example to set its number of threads
+     *
+     * @return the ColumnarBatchingElement or null if the columnar batching
+     * option has never been turned on
+     */
+    public final ColumnarBatchingElement getColumnarBatchingElement() {
+        return myColumnarBatcher;
+    }
+
     /**
      * Look up the BatchStatisticObserver for the ResponseVariable
      *
      * @param key the ResponseVariable to look up
-     * @return the BatchStatisticObserver
+     * @return the BatchStatisticObserver or null if the variables are batched
+     * by columns
      */
     public final BatchStatisticObserver getBatchStatisticObserver(ResponseVariable key) {
+        if (myColumnarBatchingOption) {
+            return null;
+        }
         if (key instanceof TimeWeighted) {
             return myTWBatcher.getTWBatchStatisticObserver((TimeWeighted) key);
         } else {
@@ -84,6 +145,9 @@ public class StatisticalBatchingElement extends ModelElement {
      * @param r the ResponseVariable to be removed
      */
     public final void remove(ResponseVariable r) {
+        if (myColumnarBatcher != null) {
+            myColumnarBatcher.remove(r);
+        }
         if (r instanceof TimeWeighted) {
             myTWBatcher.remove((TimeWeighted) r);
         } else {
@@ -98,6 +162,9 @@ public class StatisticalBatchingElement extends ModelElement {
     public final void removeAll() {
         myTWBatcher.removeAll();
         myRVBatcher.removeAll();
+        if (myColumnarBatcher != null) {
+            myColumnarBatcher.removeAll();
+        }
     }
 
     /**
@@ -109,6 +176,9 @@ public class StatisticalBatchingElement extends ModelElement {
      * @return the returned BatchStatistic
      */
     public final BatchStatistic getBatchStatistic(ResponseVariable r) {
+        if (myColumnarBatchingOption) {
+            return myColumnarBatcher.getBatchStatistic(r);
+        }
         if (r instanceof TimeWeighted) {
             return myTWBatcher.getBatchStatistic((TimeWeighted) r);
         } else {
@@ -123,6 +193,9 @@ public class StatisticalBatchingElement extends ModelElement {
      * @return the filled up list
      */
     public final List<BatchStatistic> getAllBatchStatisitcs() {
+        if (myColumnarBatchingOption) {
+            return myColumnarBatcher.getAllBatchStatisitcs();
+        }
         List<BatchStatistic> list = myTWBatcher.getAllBatchStatisitcs();
         list.addAll(myRVBatcher.getAllBatchStatisitcs());
         return list;
@@ -160,7 +233,9 @@ public class StatisticalBatchingElement extends ModelElement {
         Model m = getModel();
         List<ResponseVariable> list = m.getResponseVariables();
         for (ResponseVariable r : list) {
-            if (r instanceof TimeWeighted) {
+            if (myColumnarBatchingOption) {
+                myColumnarBatcher.add(r);
+            } else if (r instanceof TimeWeighted) {
                 myTWBatcher.add((TimeWeighted) r);
             } else {
                 myRVBatcher.add(r);
@@ -170,6 +245,9 @@ public class StatisticalBatchingElement extends ModelElement {
 
     @Override
     public String toString() {
+        if (myColumnarBatchingOption) {
+            return myColumnarBatcher.toString();
+        }
         StringBuilder sb = new StringBuilder();
         sb.append(myTWBatcher.toString());
         sb.append(myRVBatcher.toString());
@@ -0,0 +1,274 @@
+/*
+ *  Copyright (C) 2010 rossetti
+ *
+ *  Contact:
+ * 	Manuel D. Rossetti, Ph.D., P.E.
+ * 	Department of Industrial Engineering
+ * 	University of Arkansas
+ * 	4207 Bell Engineering Center
+ * 	Fayetteville, AR 72701
+ * 	Phone: (479) 575-6756
+ * 	Email: rossetti@uark.edu
+ * 	Web: www.uark.edu/~rossetti
+ *
+ *  This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ *  of Java classes that permit the development and execution of discrete event
+ *  simulation programs.
+ *
+ *  The JSL is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  The JSL is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jsl.modeling;
+
+import java.io.IOException;
+import java.util.List;
+import jsl.observers.ObserverIfc;
+import jsl.utilities.statistic.Statistic;
+
+/**
+ * Executes the replications of a steady state experiment from copies of a
+ * warmed up model, so that the warm up period is simulated once (or a few
+ * times) rather than once per replication.
+ *
+ * The runner first executes getNumberOfWarmUps() warm up replications of the
+ * simulation. Each warm up replication is stopped immediately after the
+ * model's warm up event, when the simulation (its model, executive and
+ * pending events) is copied in memory. Each replication of the experiment
+ * then continues a copy of one of the warmed up states, assigned round robin,
+ * from the end of the warm up to the end of the replication. Before a copy is
+ * continued, the random elements of its model are moved to a sub-stream that
+ * is not used by any warm up or any other replication, so the post warm up
+ * trajectories are driven by independent random numbers.
+ *
+ * The streams are positioned as in a run of the experiment: the warm ups
+ * start where the replications of the experiment would start, i.e. after the
+ * experiment's stream advances and, if its reset start stream option is on,
+ * from the start of the streams. If there are w warm ups, replication r uses
+ * the sub-stream that replication w + r would use. The experiment's advance
+ * to the next sub-stream option must be on.
+ *
+ * The replications that start from the same warmed up state share their
+ * initial conditions, so they are not independent in the usual sense. The
+ * replications are independent conditional on the warmed up state, which is
+ * appropriate when the warm up is long enough that the state is a sample from
+ * the steady state distribution. Use more warm ups to reduce the dependence on
+ * a single initial state.
+ *
+ * The across replication statistics of the response variables and counters of
+ * the simulation's model hold the observations of the replications after
+ * run(). The model's warm up length (Simulation.setLengthOfWarmUp()) must be
+ * greater than zero and the model must be Serializable (see
+ * SimulationCheckpoint). The antithetic option is not supported. Random
+ * numbers that are not produced by the model's random elements are not
+ * controlled by the runner.
+ *
+ * @author rossetti
+ */
+public class WarmStartRunner {
+
+    /**
+     * The simulation that holds the experiment and the results
+     */
+    private final Simulation mySimulation;
+
+    /**
+     * The number of warmed up states that are copied
+     */
+    private int myNumWarmUps = 1;
+
+    /**
+     * The snapshot of the simulation after the warm up of the current warm up
+     * replication
+     */
+    private byte[] mySnapshot;
+
+    /**
+     *
+     * @param sim the simulation whose experiment is executed, must not be
+     * null
+     */
+    public WarmStartRunner(Simulation sim) {
+        if (sim == null) {
+            throw new IllegalArgumentException("The simulation was null");
+        }
+        mySimulation = sim;
+    }
+
+    /**
+     * The simulation whose experiment is executed. Its across replication
+     * statistics hold the results after run()
+     *
+     * @return the simulation
+     */
+    public final Simulation getSimulation() {
+        return mySimulation;
+    }
+
+    /**
+     *
+     * @return the number of warm up replications
+     */
+    public final int getNumberOfWarmUps() {
+        return myNumWarmUps;
+    }
+
+    /**
+     * Sets the number of warm up replications whose warmed up states are
+     * copied. If there are fewer replications, only one warm up per
+     * replication is executed.
+     *
+     * @param numWarmUps the number of warm ups, must be &gt; 0
+     */
+    public final void setNumberOfWarmUps(int numWarmUps) {
+        if (numWarmUps <= 0) {
+            throw new IllegalArgumentException("The number of warm ups must be > 0");
+        }
+        myNumWarmUps = numWarmUps;
+    }
+
+    /**
+     * Executes the warm ups and then the replications of the simulation's
+     * experiment, and collects the results into the simulation's across
+     * replication statistics.
+     */
+    public void run() {
+        checkExperiment();
+        int n = mySimulation.getNumberOfReplications();
+        int w = Math.min(myNumWarmUps, n);
+        byte[][] snapshots = warmUp(w);
+        List<Statistic> stats = ParallelReplicationRunner.getAcrossReplicationStatistics(mySimulation.getModel());
+        double[][] values = new double[n][stats.size()];
+        boolean[][] collected = new boolean[n][stats.size()];
+        double[] counts = new double[stats.size()];
+        double[] missing = new double[stats.size()];
+        for (int r = 1; r <= n; r++) {
+            int b = (r - 1) % w + 1;
+            Simulation copy = copy(snapshots[b - 1]);
+            Model model = copy.getModel();
+            // warm up b used the sub-stream of replication b of the experiment,
+            // replication r uses the sub-stream of replication w + r
+            model.resetStartSubStream();
+            model.advanceSubstreams(w + r - b);
+            copy.myExperiment.setCurrentReplicationNumber(r);
+            List<Statistic> cs = ParallelReplicationRunner.getAcrossReplicationStatistics(model);
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = cs.get(i).getCount();
+                missing[i] = cs.get(i).getNumberMissing();
+            }
+            copy.resume();
+            for (int i = 0; i < counts.length; i++) {
+                Statistic s = cs.get(i);
+                if (s.getCount() > counts[i]) {
+                    collected[r - 1][i] = true;
+                    values[r - 1][i] = s.getLastValue();
+                } else if (s.getNumberMissing() > missing[i]) {
+                    // a NaN or infinite observation
+                    collected[r - 1][i] = true;
+                    values[r - 1][i] = Double.NaN;
+                }
+            }
+        }
+        // initializing the simulation resets its across replication statistics
+        mySimulation.initialize();
+        for (int r = 0; r < n; r++) {
+            for (int i = 0; i < stats.size(); i++) {
+                if (collected[r][i]) {
+                    stats.get(i).collect(values[r][i]);
+                }
+            }
+        }
+        mySimulation.myExperiment.setCurrentReplicationNumber(n);
+        mySimulation.end("Completed " + n + " replications from " + w + " warm ups");
+    }
+
+    /**
+     * Runs the warm up replications, each of which is stopped and copied
+     * after the model's warm up event
+     *
+     * @param w the number of warm ups
+     * @return the snapshots of the warmed up simulation
+     */
+    private byte[][] warmUp(int w) {
+        byte[][] snapshots = new byte[w][];
+        Model model = mySimulation.getModel();
+        // the observer is not Serializable, so it is not copied
+        WarmUpObserver observer = new WarmUpObserver();
+        model.addObserver(observer);
+        try {
+            mySimulation.initialize();
+            for (int b = 0; b < w; b++) {
+                mySnapshot = null;
+                mySimulation.runNext();
+                if (mySnapshot == null) {
+                    throw new IllegalStateException("The model did not warm up during replication " + (b + 1));
+                }
+                snapshots[b] = mySnapshot;
+            }
+            mySimulation.end();
+        } finally {
+            model.deleteObserver(observer);
+            mySnapshot = null;
+        }
+        return snapshots;
+    }
+
+    private Simulation copy(byte[] snapshot) {
+        try {
+            return Simulation.restore(snapshot);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not copy the warmed up simulation", e);
+        }
+    }
+
+    private void checkExperiment() {
+        if (mySimulation.getAntitheticOption()) {
+            throw new IllegalStateException("The antithetic option is not supported by WarmStartRunner");
+        }
+        if (!mySimulation.getAdvanceNextSubStreamOption()) {
+            throw new IllegalStateException("The replications must advance to the next sub-stream");
+        }
+        if (!(mySimulation.getLengthOfWarmUp() > 0.0)) {
+            throw new IllegalStateException("The length of the warm up must be > 0");
+        }
+        if (!(mySimulation.getLengthOfWarmUp() < mySimulation.getLengthOfReplication())) {
+            throw new IllegalStateException("The length of the warm up must be less than the length of the replication");
+        }
+    }
+
+    /**
+     * Copies the simulation after the model's warm up event and stops the
+     * warm up replication
+     */
+    private class WarmUpObserver implements ObserverIfc {
+
+        @Override
+        public void update(Object theObserved, Object arg) {
+            Model model = mySimulation.getModel();
+            if ((theObserved != model) || !model.checkObserverState(ModelElement.WARMUP)) {
+                return;
+            }
+            mySimulation.getExecutive().setAfterEventAction(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        mySnapshot = SimulationCheckpoint.toBytes(mySimulation);
+                    } catch (IOException e) {
+                        throw new RuntimeException("Could not copy the warmed up simulation", e);
+                    }
+                    mySimulation.getExecutive().stop("Stopped after the warm up to copy the simulation");
+                }
+            });
+        }
+    }
+}
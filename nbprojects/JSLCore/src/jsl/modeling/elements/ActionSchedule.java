@@ -34,6 +34,9 @@
  */
 package jsl.modeling.elements;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -69,6 +72,8 @@ import jsl.modeling.SchedulingElement;
  */
 public class ActionSchedule extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     public static final int START_EVENT = 1;
 
     public static final int ACTION_EVENT = 2;
@@ -134,9 +139,10 @@ public class ActionSchedule extends SchedulingElement {
      */
     protected JSLEvent myEndEvent;
 
-    /** An iterator over the actions
+    /** An iterator over the actions, not serializable, its position is
+     *  saved instead
      */
-    protected Iterator<ScheduledAction> myActionIterator;
+    protected transient Iterator<ScheduledAction> myActionIterator;
 
     /** The action that is currently scheduled, next to occur
      */
@@ -390,6 +396,7 @@ public class ActionSchedule extends SchedulingElement {
     public final void scheduleStart() {
         if (myStartEvent == null) {
             myStartEvent = scheduleEvent(getInitialStartTime(), START_EVENT);
+            myStartEvent.setRecyclableOption(false);
         }
     }
 
@@ -426,10 +433,12 @@ public class ActionSchedule extends SchedulingElement {
                 // schedule first action
                 myNextScheduledAction = myActionIterator.next();
                 myActionEvent = scheduleEvent(myNextScheduledAction.getDuration(), ACTION_EVENT);
+                myActionEvent.setRecyclableOption(false);
             }
 
             if (myScheduleLength < Double.POSITIVE_INFINITY) {
                 myEndEvent = scheduleEvent(myScheduleLength, END_EVENT);
+                myEndEvent.setRecyclableOption(false);
             }
             return;
         }
@@ -467,14 +476,37 @@ public class ActionSchedule extends SchedulingElement {
                     // schedule first action
                     myNextScheduledAction = myActionIterator.next();
                     myActionEvent = scheduleEvent(myNextScheduledAction.getDuration(), ACTION_EVENT);
+                    myActionEvent.setRecyclableOption(false);
                 }
 
                 if (myScheduleLength < Double.POSITIVE_INFINITY) {
                     myEndEvent = scheduleEvent(myScheduleLength, END_EVENT);
+                    myEndEvent.setRecyclableOption(false);
                 }
                 return;
             }
         }
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        // the number of actions returned by the iterator, -1 if none
+        int n = -1;
+        if (myActionIterator != null) {
+            n = myActions.indexOf(myNextScheduledAction) + 1;
+        }
+        out.writeInt(n);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int n = in.readInt();
+        if (n >= 0) {
+            myActionIterator = myActions.iterator();
+            for (int i = 0; i < n; i++) {
+                myActionIterator.next();
+            }
+        }
+    }
+
 }
@@ -61,6 +61,8 @@ import jsl.utilities.random.distributions.Constant;
  */
 public class EventGenerator extends SchedulingElement implements EventGeneratorIfc {
 
+    private static final long serialVersionUID = 1L;
+
     public final static int EVENT_PRIORITY = JSLEvent.DEFAULT_PRIORITY - 1;
 
     /**
@@ -614,6 +616,7 @@ public class EventGenerator extends SchedulingElement implements EventGeneratorI
             if (myDoneFlag == false) // I'm not done generating, schedule the event
             {
                 myNextEvent = scheduleEvent(t, JSLEvent.DEFAULT_TYPE, myEventPriority);
+                myNextEvent.setRecyclableOption(false);
             }
         }
     }
@@ -955,6 +958,7 @@ public class EventGenerator extends SchedulingElement implements EventGeneratorI
         if (myDoneFlag == false) // I'm not done generating, schedule the first event
         {
             myNextEvent = scheduleEvent(t, JSLEvent.DEFAULT_TYPE, myEventPriority);
+            myNextEvent.setRecyclableOption(false);
         }
     }
 
@@ -47,6 +47,8 @@ import jsl.utilities.random.robj.DEmpiricalList;
  */
 public class RandomElement<T> extends ModelElement implements RandomElementIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** indicates whether or not the random variable's
      *  distribution has it stream reset to the default
      *  stream, or not prior to each experiment.  Resetting
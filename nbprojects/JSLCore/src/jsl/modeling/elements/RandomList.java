@@ -80,6 +80,8 @@ import jsl.utilities.random.robj.RListIfc;
  */
 public class RandomList<T> extends ModelElement implements RListIfc<T>, RandomElementIfc {
 
+    private static final long serialVersionUID = 1L;
+
     protected RList<T> myRList;
 
     protected List<T> myInitialList;
@@ -34,6 +34,7 @@
  */
 package jsl.modeling.elements;
 
+import java.io.Serializable;
 import jsl.modeling.EventActionIfc;
 import jsl.modeling.JSLEvent;
 
@@ -43,7 +44,9 @@ import jsl.modeling.JSLEvent;
  * 
  *
  */
-public abstract class ScheduledAction {
+public abstract class ScheduledAction implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private ActionSchedule myActionSchedule;
 
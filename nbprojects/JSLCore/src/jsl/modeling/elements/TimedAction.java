@@ -34,9 +34,11 @@
 package jsl.modeling.elements;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jsl.modeling.*;
 import jsl.modeling.elements.variable.RandomVariable;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.random.RandomIfc;
 import jsl.utilities.random.distributions.Constant;
 
@@ -55,10 +57,12 @@ import jsl.utilities.random.distributions.Constant;
  */
 public class TimedAction extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     /** incremented to give a running total of the
      *  number of listeners attached
      */
-    private static int myCounter_;
+    private static final AtomicInteger myCounter_ = new AtomicInteger();
 
     private boolean myScheduleOnInitFlag;
 
@@ -217,7 +221,7 @@ public class TimedAction extends SchedulingElement {
      *
      */
     public final void cancelAction() {
-        if (myTimedActionEvent != null) {
+        if ((myTimedActionEvent != null) && myTimedActionEvent.isScheduled()) {
             cancelEvent(myTimedActionEvent);
         }
     }
@@ -254,8 +258,7 @@ public class TimedAction extends SchedulingElement {
      */
     protected void attachTimedActionListener(TimedActionListener listener) {
 
-        myCounter_ = myCounter_ + 1;
-        listener.setId(myCounter_);
+        listener.setId(SimulationContext.nextId(TimedAction.class, myCounter_));
 
         // nothing in list, just add it, and return
         if (myTimedActionListeners.isEmpty()) {
@@ -309,6 +312,7 @@ public class TimedAction extends SchedulingElement {
                 return;
             }
             myTimedActionEvent = scheduleEvent(t);
+            myTimedActionEvent.setRecyclableOption(false);
         } else {
             if (myTimedActionEvent.getCanceledFlag()) {
                 // make a new event
@@ -317,6 +321,7 @@ public class TimedAction extends SchedulingElement {
                     return;
                 }
                 myTimedActionEvent = scheduleEvent(t);
+                myTimedActionEvent.setRecyclableOption(false);
             }
         }
     }
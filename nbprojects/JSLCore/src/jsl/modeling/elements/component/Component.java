@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.component;
 
+import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -50,6 +51,8 @@ import jsl.utilities.reporting.JSL;
 
 public class Component extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     // ===========================================
     // CLASS CONSTANTS
     // ===========================================
@@ -928,6 +931,8 @@ public class Component extends SchedulingElement {
     //  ===========================================
     protected class ComponentState extends ModelElementState {
 
+        private static final long serialVersionUID = 1L;
+
         public ComponentState() {
             this(null, false);
         }
@@ -991,6 +996,8 @@ public class Component extends SchedulingElement {
 
     protected class Created extends ComponentState {
 
+        private static final long serialVersionUID = 1L;
+
         public Created() {
             this(null, false);
         }
@@ -1010,6 +1017,8 @@ public class Component extends SchedulingElement {
 
     protected class Unavailable extends ComponentState {
 
+        private static final long serialVersionUID = 1L;
+
         public Unavailable() {
             this(null, false);
         }
@@ -1029,6 +1038,8 @@ public class Component extends SchedulingElement {
 
     protected class Available extends ComponentState {
 
+        private static final long serialVersionUID = 1L;
+
         public Available() {
             this(null, false);
         }
@@ -1058,6 +1069,7 @@ public class Component extends SchedulingElement {
             if (ttf <= operationTime) { // failure will occur first, schedule it
                 myOperationTime = ttf;
                 myFailureEvent = scheduleEvent(myFailureListener, ttf);
+                myFailureEvent.setRecyclableOption(false);
                 myEndOperationEvent = null;
             } else { // client controls end of operation
                 myOperationTime = operationTime;
@@ -1073,10 +1085,12 @@ public class Component extends SchedulingElement {
             if (ttf <= operationTime) { // failure will occur first, schedule it
                 myOperationTime = ttf;
                 myFailureEvent = scheduleEvent(myFailureListener, ttf);
+                myFailureEvent.setRecyclableOption(false);
                 myEndOperationEvent = null;
             } else { // failure will occur after current operation
                 myOperationTime = operationTime;
                 myEndOperationEvent = scheduleEvent(myEndOperationListener, operationTime);
+                myEndOperationEvent.setRecyclableOption(false);
                 myFailureEvent = null;
             }
             setState(myOperatingState);
@@ -1085,6 +1099,8 @@ public class Component extends SchedulingElement {
 
     protected class Operating extends ComponentState {
 
+        private static final long serialVersionUID = 1L;
+
         public Operating() {
             this(null, false);
         }
@@ -1160,6 +1176,8 @@ public class Component extends SchedulingElement {
 
     protected class Repairing extends ComponentState {
 
+        private static final long serialVersionUID = 1L;
+
         public Repairing() {
             this(null, false);
         }
@@ -1193,6 +1211,8 @@ public class Component extends SchedulingElement {
 
     protected class Failed extends ComponentState {
 
+        private static final long serialVersionUID = 1L;
+
         public Failed() {
             this(null, false);
         }
@@ -1212,25 +1232,32 @@ public class Component extends SchedulingElement {
         protected void scheduleRepair(double time) {
             myRepairTime = time;
             myEndRepairEvent = scheduleEvent(myEndRepairListener, time);
+            myEndRepairEvent.setRecyclableOption(false);
             setState(myRepairingState);
         }
     }
 
-    private class EndOperationListener implements EventActionIfc {
+    private class EndOperationListener implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void action(JSLEvent evt) {
             myState.endOperation();
         }
     }
 
-    private class FailureListener implements EventActionIfc {
+    private class FailureListener implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void action(JSLEvent evt) {
             myState.fail();
         }
     }
 
-    private class EndRepairListener implements EventActionIfc {
+    private class EndRepairListener implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void action(JSLEvent evt) {
             myState.endRepair();
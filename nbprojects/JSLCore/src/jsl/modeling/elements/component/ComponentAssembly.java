@@ -40,6 +40,8 @@ import jsl.modeling.ModelElement;
 
 public class ComponentAssembly extends ComponentStateChangeListener {
 
+    private static final long serialVersionUID = 1L;
+
     protected List<Component> myComponents;
 
     public ComponentAssembly(ModelElement parent) {
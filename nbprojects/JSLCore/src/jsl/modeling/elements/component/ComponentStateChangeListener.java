@@ -44,6 +44,8 @@ import jsl.modeling.SchedulingElement;
  */
 abstract public class ComponentStateChangeListener extends SchedulingElement implements ComponentStateChangeListenerIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Creates a component state change listener
      *
@@ -47,6 +47,8 @@ import jsl.utilities.random.RandomIfc;
  */
 public class EntityProcessGenerator extends EntityGenerator {
 
+    private static final long serialVersionUID = 1L;
+
     /** A reference to the process description for this generator
      *
      */
@@ -38,6 +38,8 @@ import jsl.modeling.ModelElement;
 
 public class MacroCommand extends ProcessCommand {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 *  A reference to the subcommands within this macro
 	 */
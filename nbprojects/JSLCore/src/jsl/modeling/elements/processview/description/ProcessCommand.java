@@ -33,6 +33,7 @@
 */
 package jsl.modeling.elements.processview.description;
 
+import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -42,6 +43,8 @@ import jsl.modeling.*;
  *
  */
 public abstract class ProcessCommand extends SchedulingElement {
+
+	private static final long serialVersionUID = 1L;
 	
 	/** A reference to the process description using this command
 	 * 
@@ -215,7 +218,10 @@ public abstract class ProcessCommand extends SchedulingElement {
 	/** This class listens for the resumption event
 	 *  and then resumes the process executor 
 	 */
-	protected class ResumeListener implements EventActionIfc {
+	protected class ResumeListener implements EventActionIfc, Serializable {
+
+	    private static final long serialVersionUID = 1L;
+
 		public void action(JSLEvent event) {
 			ProcessExecutor e = (ProcessExecutor)event.getMessage();
 			e.resume();			
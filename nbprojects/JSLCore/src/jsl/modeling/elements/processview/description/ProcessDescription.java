@@ -43,6 +43,8 @@ import java.util.*;
  *
  */
 public class ProcessDescription extends ModelElement {
+
+	private static final long serialVersionUID = 1L;
 	
 	/** Indicates whether or not the ProcessDescription
 	 *  will automatically create a process executor and start
@@ -33,13 +33,16 @@
  */
 package jsl.modeling.elements.processview.description;
 
+import java.io.Serializable;
 import jsl.modeling.IllegalStateException;
 import java.util.*;
 
 import jsl.modeling.elements.resource.Entity;
 import jsl.utilities.reporting.JSL;
 
-public class ProcessExecutor {
+public class ProcessExecutor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * A reference to the process description that is being executed
@@ -456,7 +459,9 @@ public class ProcessExecutor {
         }
     }
 
-    private class ProcessExecutorState {
+    private class ProcessExecutorState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private String myName;
 
@@ -501,6 +506,8 @@ public class ProcessExecutor {
 
     private final class Created extends ProcessExecutorState {
 
+        private static final long serialVersionUID = 1L;
+
         public Created() {
             super("CreatedState");
         }
@@ -514,6 +521,8 @@ public class ProcessExecutor {
 
     private final class Initialized extends ProcessExecutorState {
 
+        private static final long serialVersionUID = 1L;
+
         public Initialized() {
             super("InitializedState");
         }
@@ -539,6 +548,8 @@ public class ProcessExecutor {
 
     private final class Executing extends ProcessExecutorState {
 
+        private static final long serialVersionUID = 1L;
+
         public Executing() {
             super("ExecutingState");
         }
@@ -568,6 +579,8 @@ public class ProcessExecutor {
 
     private final class Suspended extends ProcessExecutorState {
 
+        private static final long serialVersionUID = 1L;
+
         public Suspended() {
             super("SuspendedState");
         }
@@ -593,6 +606,8 @@ public class ProcessExecutor {
 
     private final class Terminated extends ProcessExecutorState {
 
+        private static final long serialVersionUID = 1L;
+
         public Terminated() {
             super("TerminatedState");
         }
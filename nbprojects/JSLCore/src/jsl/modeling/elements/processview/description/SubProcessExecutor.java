@@ -39,6 +39,8 @@ import jsl.modeling.elements.resource.Entity;
  */
 public class SubProcessExecutor extends ProcessExecutor {
 
+	private static final long serialVersionUID = 1L;
+
 	private ProcessExecutor myMainExecutor;
 	
 	/**
@@ -45,6 +45,8 @@ import java.util.*;
  */
 public class Assign extends ProcessCommand {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The list of items in the queue.
 	 */
 	private List<Assignment> myAssignments;
@@ -43,6 +43,8 @@ import jsl.modeling.elements.variable.*;
  */
 public class Delay extends ProcessCommand {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 *  A reference to the delay variable
 	 */
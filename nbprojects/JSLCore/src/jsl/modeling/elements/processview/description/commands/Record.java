@@ -44,6 +44,8 @@ import jsl.utilities.GetValueIfc;
  */
 public class Record extends ProcessCommand {
 
+	private static final long serialVersionUID = 1L;
+
 	protected GetValueIfc myExpression;
 	protected ResponseVariable myResponse;
 	
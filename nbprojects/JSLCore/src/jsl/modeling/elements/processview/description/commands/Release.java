@@ -44,6 +44,8 @@ import jsl.modeling.ModelElement;
  */
 public class Release extends ProcessCommand {
 
+    private static final long serialVersionUID = 1L;
+
     private Resource myResource;
 
     private Queue myQueue;
@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.processview.description.commands;
 
+import java.io.Serializable;
 import jsl.modeling.ModelElement;
 import jsl.modeling.elements.processview.description.ProcessCommand;
 
@@ -46,6 +47,8 @@ import jsl.modeling.elements.variable.*;
  */
 public class Seize extends ProcessCommand {
 
+    private static final long serialVersionUID = 1L;
+
     private Variable myAmtRequested;
 
     private Resource myResource;
@@ -110,7 +113,9 @@ public class Seize extends ProcessCommand {
         }
     }
 
-    class AllocationListener implements AllocationListenerIfc {
+    class AllocationListener implements AllocationListenerIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void allocated(Request request) {
             if (request.isSatisfied()) {
@@ -42,6 +42,8 @@ import jsl.modeling.elements.variable.ResponseVariable;
  */
 public class Terminate extends ProcessCommand {
 
+	private static final long serialVersionUID = 1L;
+
 	protected ResponseVariable myProcessTime;
 	
 	/**
@@ -42,6 +42,8 @@ import jsl.modeling.ModelElement;
  */
 public class FIFODiscipline extends QueueDiscipline {
 
+    private static final long serialVersionUID = 1L;
+
     public FIFODiscipline(ModelElement parent) {
         this(parent, null);
     }
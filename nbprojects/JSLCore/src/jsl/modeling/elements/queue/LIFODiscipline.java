@@ -42,6 +42,8 @@ import jsl.modeling.ModelElement;
  */
 public class LIFODiscipline extends QueueDiscipline {
 
+    private static final long serialVersionUID = 1L;
+
     public LIFODiscipline(ModelElement parent) {
         this(parent, null);
     }
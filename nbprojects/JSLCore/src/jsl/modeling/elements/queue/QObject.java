@@ -33,11 +33,14 @@
  */
 package jsl.modeling.elements.queue;
 
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
 import jsl.utilities.*;
 import jsl.modeling.IllegalStateException;
 import jsl.modeling.State;
 import jsl.modeling.StateAccessorIfc;
 import jsl.utilities.GetValueIfc;
+import jsl.utilities.SimulationContext;
 
 /** QObject can be used as a base class for objects that need
  *  to be placed in queues on a regular basis.  In addition, a QObject
@@ -51,12 +54,14 @@ import jsl.utilities.GetValueIfc;
  *  the restriction that it can be in only one Queue at a time).
  *
  */
-public class QObject implements IdentityIfc, Comparable<QObject> {
+public class QObject implements IdentityIfc, Comparable<QObject>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** incremented to give a running total of the
      *  number of model QObject created
      */
-    private static long myCounter_;
+    private static final AtomicLong myCounter_ = new AtomicLong();
 
     /** The id of the QObject, currently if
      *  the QObject is the ith QObject created
@@ -253,8 +258,7 @@ public class QObject implements IdentityIfc, Comparable<QObject> {
      * @param name the name
      */
     protected final void initialize(double time, String name) {
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(QObject.class, myCounter_);
         setName(name);
         myPriority = 1;
         myQueue = null;
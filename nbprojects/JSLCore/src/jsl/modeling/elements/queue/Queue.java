@@ -55,6 +55,8 @@ import jsl.utilities.statistic.WeightedStatisticIfc;
  */
 public class Queue extends ModelElement implements Iterable<QObject> {
 
+    private static final long serialVersionUID = 1L;
+
     /** ENQUEUED indicates that something was just enqueued
      *  DEQUEUED indicates that something was just dequeued
      *
@@ -1104,10 +1106,12 @@ public class Queue extends ModelElement implements Iterable<QObject> {
      * This method simply clears the underlying data structure that holds the objects
      */
     public final void clear() {
-        for (QObject qObj : myList) {
-            qObj.exitQueue(getTime());
+        if (!myList.isEmpty()) {
+            for (QObject qObj : myList) {
+                qObj.exitQueue(getTime());
+            }
+            myList.clear();
         }
-        myList.clear();
         myNumInQ.setValue(myList.size());
         if (myMapTrackingFlag == true) {
             myQObjectMap.clear();
@@ -44,6 +44,8 @@ import jsl.modeling.ModelElement;
  */
 abstract public class QueueDiscipline extends ModelElement {
 
+    private static final long serialVersionUID = 1L;
+
 
     public QueueDiscipline(ModelElement parent) {
         this(parent, null);
@@ -45,6 +45,8 @@ import jsl.utilities.random.distributions.DUniform;
  */
 public class RandomDiscipline extends QueueDiscipline implements RandomElementIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** indicates whether or not the random picking
      *  distribution has it stream reset to the default
      *  stream, or not prior to each experiment.  Resetting
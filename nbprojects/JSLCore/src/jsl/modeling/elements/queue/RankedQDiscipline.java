@@ -44,6 +44,8 @@ import jsl.modeling.ModelElement;
  */
 public class RankedQDiscipline extends QueueDiscipline {
 
+    private static final long serialVersionUID = 1L;
+
     public RankedQDiscipline(ModelElement parent) {
         this(parent, null);
     }
@@ -36,11 +36,15 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
+
 /**
  *
  * @author rossetti
  */
-public class Allocation {
+public class Allocation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * The entity holding the allocation
@@ -48,6 +48,8 @@ import jsl.utilities.GetValueIfc;
  */
 public class AssignAttributes extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     /** The list of items in the queue.
      */
     private List<Assignment> myAssignments;
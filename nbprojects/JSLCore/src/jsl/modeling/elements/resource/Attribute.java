@@ -33,10 +33,14 @@
 */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
+
 /**
  *
  */
-public class Attribute implements AttributeIfc {
+public class Attribute implements AttributeIfc, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private double myValue;
 	
@@ -33,7 +33,9 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import jsl.utilities.IdentityIfc;
+import jsl.utilities.SimulationContext;
 
 /**
  *
@@ -43,7 +45,7 @@ public class AttributeType implements IdentityIfc {
     /** incremented to give a running total of the
      *  number of attribute types created
      */
-    private static int myCounter_;
+    private static final AtomicInteger myCounter_ = new AtomicInteger();
 
     /** The id of the attribute type, currently if
      *  the attribute type is the ith attribute type created
@@ -63,8 +65,7 @@ public class AttributeType implements IdentityIfc {
      * @param name
      */
     protected AttributeType(String name) {
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(AttributeType.class, myCounter_);
         setName(name);
     }
 
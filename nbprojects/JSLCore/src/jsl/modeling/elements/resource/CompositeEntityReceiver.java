@@ -44,6 +44,8 @@ import jsl.modeling.ModelElement;
  */
 public class CompositeEntityReceiver extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     protected EntityReceiver myFirstReceiver;
 
     protected EntityReceiver myPrevReceiver;
@@ -80,6 +82,8 @@ public class CompositeEntityReceiver extends EntityReceiver {
 
     protected class Exit extends EntityReceiver {
 
+        private static final long serialVersionUID = 1L;
+
         public Exit(ModelElement parent) {
             super(parent);
         }
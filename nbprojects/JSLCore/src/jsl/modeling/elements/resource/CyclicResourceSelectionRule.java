@@ -36,6 +36,7 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
 
@@ -43,7 +44,9 @@ import java.util.List;
  *
  * @author rossetti
  */
-public class CyclicResourceSelectionRule implements ResourceSelectionRuleIfc {
+public class CyclicResourceSelectionRule implements ResourceSelectionRuleIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** Returns the next available resource to be used for allocating
      *  to requests, null if none are found that can satisfy the request.
@@ -15,6 +15,8 @@ import jsl.utilities.random.RandomIfc;
  */
 public class Delay extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     /** NONE = no duration specified, will result in an exception
      *  DIRECT = uses the activity time specified directly for the activity
      *  BY_TYPE = asks the EntityType to provide the time for this activity
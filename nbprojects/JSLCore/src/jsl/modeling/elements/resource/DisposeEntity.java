@@ -43,6 +43,8 @@ package jsl.modeling.elements.resource;
  */
 public class DisposeEntity extends EntityReceiverAbstract {
 
+    private static final long serialVersionUID = 1L;
+
     protected void receive(Entity entity) {
         entity.dispose();
     }
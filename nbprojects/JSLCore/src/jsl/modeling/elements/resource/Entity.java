@@ -52,6 +52,8 @@ import jsl.utilities.GetValueIfc;
  */
 public class Entity extends QObject implements EntityReceiverIteratorIfc, List<Entity> {
 
+    private static final long serialVersionUID = 1L;
+
     /** used to identify the type of entity
      */
     private EntityType myEntityType;
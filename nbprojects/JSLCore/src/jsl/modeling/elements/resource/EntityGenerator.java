@@ -68,6 +68,8 @@ import jsl.utilities.random.*;
  */
 public class EntityGenerator extends EventGenerator implements GetEntityReceiverIfc {
 
+    private static final long serialVersionUID = 1L;
+
     protected GetEntityTypeIfc myEntityTypeGetter;
 
     protected EntityReceiverAbstract myDirectEntityReceiver;
@@ -339,6 +341,8 @@ public class EntityGenerator extends EventGenerator implements GetEntityReceiver
 
     private class Receiver extends EntityReceiverAbstract {
 
+        private static final long serialVersionUID = 1L;
+
         @Override
         protected void receive(Entity entity) {
             throw new UnsupportedOperationException("EntityGenerator's cannot receive entities");
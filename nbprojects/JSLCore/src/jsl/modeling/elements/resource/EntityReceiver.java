@@ -48,6 +48,8 @@ import jsl.modeling.elements.variable.TimeWeighted;
 public abstract class EntityReceiver extends SchedulingElement
         implements GetEntityReceiverIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private Receiver myReceiver = new Receiver();
 
     /** The option used by the receiver for
@@ -133,6 +135,8 @@ public abstract class EntityReceiver extends SchedulingElement
 
     private class Receiver extends EntityReceiverAbstract {
 
+        private static final long serialVersionUID = 1L;
+
         @Override
         protected void receive(Entity entity) {
             if (entity == null) {
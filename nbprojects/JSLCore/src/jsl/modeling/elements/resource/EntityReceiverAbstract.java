@@ -33,11 +33,15 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
+
 
 /** Represents something that can receive entities
  *
  */
-public abstract class EntityReceiverAbstract {
+public abstract class EntityReceiverAbstract implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** Used to receive the entity.
      *
@@ -33,13 +33,16 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import java.util.ListIterator;
 import java.util.List;
 
 /**
  *
  */
-public class EntityReceiverListIterator implements EntityReceiverIteratorIfc {
+public class EntityReceiverListIterator implements EntityReceiverIteratorIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     protected ListIterator<EntityReceiverAbstract> myListIterator;
 
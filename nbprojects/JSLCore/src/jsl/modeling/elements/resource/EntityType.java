@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import java.util.*;
 import jsl.modeling.*;
 import jsl.modeling.elements.variable.RandomVariable;
@@ -50,6 +51,8 @@ import jsl.utilities.random.distributions.Constant;
  */
 public class EntityType extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      *  SendOption {DIRECT, SEQ, BY_TYPE}
      *  DIRECT, client must use setDirectEntityReceiver() to set the receiver
@@ -637,7 +640,9 @@ public class EntityType extends SchedulingElement {
         return myODNetwork.containsKey(origin);
     }
 
-    protected class Destination implements DestinationIfc {
+    protected class Destination implements DestinationIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private GetValueIfc v;
 
@@ -659,7 +664,9 @@ public class EntityType extends SchedulingElement {
         }
     }
 
-    protected class CDestination implements DestinationIfc {
+    protected class CDestination implements DestinationIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private double v;
 
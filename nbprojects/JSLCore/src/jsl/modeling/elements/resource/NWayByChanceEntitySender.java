@@ -4,6 +4,7 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import jsl.modeling.ModelElement;
 import jsl.modeling.elements.RandomElement;
 import jsl.modeling.elements.variable.RandomVariable;
@@ -16,6 +17,8 @@ import jsl.utilities.random.distributions.Constant;
  */
 public class NWayByChanceEntitySender extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     private RandomElement<GetEntityReceiverIfc> mySelector;
 
      private RandomVariable myTime;
@@ -111,7 +114,10 @@ public class NWayByChanceEntitySender extends EntityReceiver {
         sendEntity(entity);
     }
 
-    private class Sender implements EntitySenderIfc {
+    private class Sender implements EntitySenderIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
         @Override
         public void sendEntity(Entity e) {
             e.sendViaReceiver(mySelector.getRandomElement().getEntityReceiver(), myTime);
@@ -4,6 +4,9 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import jsl.utilities.SimulationContext;
+
 /**
  *
  * @author rossetti
@@ -16,7 +19,7 @@ abstract public class ReleaseRequirement implements Comparable<ReleaseRequiremen
 
     }
     
-    protected static int myCounter_ = 0;
+    protected static final AtomicInteger myCounter_ = new AtomicInteger();
 
     protected int myId;
 
@@ -26,8 +29,7 @@ abstract public class ReleaseRequirement implements Comparable<ReleaseRequiremen
         if (amt <= 0) {
             throw new IllegalArgumentException("The release amount must be > 0");
         }
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(ReleaseRequirement.class, myCounter_);
         myReleaseAmount = amt;
     }
 
@@ -14,6 +14,8 @@ import jsl.modeling.ModelElement;
  */
 public class ReleaseResources extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     /** NONE = no requirement specified, will result in an exception
      *  DIRECT = uses the requirements specified directly for the activity
      *  BY_TYPE = asks the EntityType to provide the requirements for this release
@@ -84,6 +84,8 @@ import jsl.utilities.misc.OrderedList;
  */
 public class Resource extends SchedulingElement implements SeizeIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** The busy state, keeps track of when all units are busy
      *
      */
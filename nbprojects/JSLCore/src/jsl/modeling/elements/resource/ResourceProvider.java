@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import jsl.modeling.EventActionIfc;
 import jsl.modeling.JSLEvent;
 import jsl.modeling.ModelElement;
@@ -47,6 +48,8 @@ import jsl.utilities.random.distributions.Constant;
 
 public class ResourceProvider extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     /** The resource set used by this provider to ask for
      *  and and return idle resources
      */
@@ -388,7 +391,9 @@ public class ResourceProvider extends SchedulingElement {
         resource.release(a);
     }
 
-    class EndServiceListener implements EventActionIfc {
+    class EndServiceListener implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void action(JSLEvent event) {
             Allocation a = (Allocation) event.getMessage();
@@ -396,7 +401,9 @@ public class ResourceProvider extends SchedulingElement {
         }
     }
 
-    class AllocationListener implements AllocationListenerIfc {
+    class AllocationListener implements AllocationListenerIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void allocated(Request request) {
             ResourceProvider.this.allocated(request);
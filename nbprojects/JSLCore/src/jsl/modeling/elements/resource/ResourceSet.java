@@ -53,6 +53,8 @@ import jsl.utilities.misc.OrderedList;
  */
 public class ResourceSet extends ModelElement implements SeizeIfc {
 
+    private static final long serialVersionUID = 1L;
+
     public static final ResourceSelectionRuleIfc CYCLICAL = new CyclicResourceSelectionRule();
 
     protected List<Resource> myResources;
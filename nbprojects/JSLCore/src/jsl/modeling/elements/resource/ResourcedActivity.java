@@ -16,6 +16,8 @@ import jsl.utilities.random.RandomIfc;
  */
 public class ResourcedActivity extends CompositeEntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     protected SQSeize mySeize;
     
     protected Delay myDelay;
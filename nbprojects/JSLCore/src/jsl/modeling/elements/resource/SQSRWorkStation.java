@@ -4,6 +4,7 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import jsl.modeling.ModelElement;
 import jsl.modeling.elements.queue.Queue;
 import jsl.modeling.elements.resource.Delay.DelayOption;
@@ -15,6 +16,8 @@ import jsl.utilities.random.RandomIfc;
  */
 public class SQSRWorkStation extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     protected Queue myQueue;
 
     protected Resource myResource;
@@ -61,7 +64,9 @@ public class SQSRWorkStation extends EntityReceiver {
         sendEntity(entity);
     }
 
-    protected class AllocationListener implements AllocationListenerIfc {
+    protected class AllocationListener implements AllocationListenerIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void allocated(Request request) {
             if (request.isSatisfied()) {
@@ -75,6 +80,8 @@ public class SQSRWorkStation extends EntityReceiver {
 
     protected class Release extends EntityReceiverAbstract {
 
+        private static final long serialVersionUID = 1L;
+
         protected void receive(Entity entity) {
             endUsingResource(entity);
         }
@@ -45,6 +45,8 @@ import jsl.modeling.elements.queue.Queue;
  */
 public class SQSeize extends SeizeResources {
 
+    private static final long serialVersionUID = 1L;
+
     protected Queue myQueue;
 
     public SQSeize(ModelElement parent) {
@@ -36,13 +36,16 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import jsl.utilities.SimulationContext;
+
 /**
  *
  * @author rossetti
  */
 abstract public class SeizeRequirement implements Comparable<SeizeRequirement> {
 
-    protected static int myCounter_ = 0;
+    protected static final AtomicInteger myCounter_ = new AtomicInteger();
 
     protected int myId;
 
@@ -56,8 +59,7 @@ abstract public class SeizeRequirement implements Comparable<SeizeRequirement> {
         if (amt <= 0) {
             throw new IllegalArgumentException("The amount required must be > 0");
         }
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(SeizeRequirement.class, myCounter_);
         myAmtNeeded = amt;
         myPriority = priority;
         myPartialFillFlag = partialFillFlag;
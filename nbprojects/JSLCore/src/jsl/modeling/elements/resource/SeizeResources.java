@@ -36,6 +36,7 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -50,6 +51,8 @@ import jsl.modeling.ModelElement;
  */
 abstract public class SeizeResources extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     /** NONE = no requirement specified, will result in an exception
      *  DIRECT = uses the requirements specified directly for the activity
      *  BY_TYPE = asks the EntityType to provide the requirements for this activity
@@ -258,7 +261,9 @@ abstract public class SeizeResources extends EntityReceiver {
         myReqOption = option;
     }
 
-    protected class AllocationListener implements AllocationListenerIfc {
+    protected class AllocationListener implements AllocationListenerIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void allocated(Request request) {
             if (request.isSatisfied()) {
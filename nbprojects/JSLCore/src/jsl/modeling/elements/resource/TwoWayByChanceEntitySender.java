@@ -4,6 +4,7 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import jsl.modeling.ModelElement;
 import jsl.modeling.elements.variable.RandomVariable;
 import jsl.utilities.random.RandomIfc;
@@ -18,6 +19,8 @@ import jsl.utilities.random.distributions.Constant;
  */
 public class TwoWayByChanceEntitySender extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     private RandomVariable myRV;
 
     private GetEntityReceiverIfc myR1;
@@ -83,7 +86,9 @@ public class TwoWayByChanceEntitySender extends EntityReceiver {
         sendEntity(entity);
     }
 
-    private class Sender implements EntitySenderIfc {
+    private class Sender implements EntitySenderIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void sendEntity(Entity e) {
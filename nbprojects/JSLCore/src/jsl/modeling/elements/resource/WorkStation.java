@@ -36,6 +36,7 @@
  */
 package jsl.modeling.elements.resource;
 
+import java.io.Serializable;
 import jsl.modeling.EventActionIfc;
 import jsl.modeling.JSLEvent;
 import jsl.modeling.ModelElement;
@@ -51,6 +52,8 @@ import jsl.utilities.random.distributions.Constant;
  */
 public class WorkStation extends EntityReceiver {
 
+    private static final long serialVersionUID = 1L;
+
     protected Queue myQueue;
 
     protected Resource myResource;
@@ -113,7 +116,9 @@ public class WorkStation extends EntityReceiver {
         }
     }
 
-    class EndServiceListener implements EventActionIfc {
+    class EndServiceListener implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public void action(JSLEvent event) {
 
@@ -47,6 +47,8 @@ import jsl.utilities.random.distributions.Constant;
  */
 public abstract class AbstractMovementController extends SchedulingElement implements MovementControllerIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * The velocity factor, default is 1. If this is changed, it is changed for
      * all replications
@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.spatial;
 
+import java.io.Serializable;
 import jsl.modeling.EventActionIfc;
 import jsl.modeling.JSLEvent;
 import jsl.modeling.ModelElement;
@@ -66,6 +67,8 @@ import jsl.utilities.statistic.WeightedStatisticIfc;
  */
 abstract public class AbstractMover extends SpatialModelElement implements MoverIfc, VelocityIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Indicates that a AbstractMover started a trip
      */
@@ -467,7 +470,9 @@ abstract public class AbstractMover extends SpatialModelElement implements Mover
             return;
         }
         // moving or on a trip
-        myCurrentMovementEvent.setCanceledFlag(true);
+        if (myCurrentMovementEvent.isScheduled()) {
+            cancelEvent(myCurrentMovementEvent);
+        }
         myMovingFlag = false;
         myTripFlag = false;
         tripCanceled();
@@ -959,6 +964,7 @@ abstract public class AbstractMover extends SpatialModelElement implements Mover
             // if no collision, then just schedule the movement
             myCurrentMovementEvent = scheduleEvent(myEndMovementListener,
                     myMovementTime, "EndMovement");
+            myCurrentMovementEvent.setRecyclableOption(false);
             myMovingFlag = true;
             beforeMovementStarts();
             notifyObservers(MOVE_STARTED);
@@ -1025,7 +1031,9 @@ abstract public class AbstractMover extends SpatialModelElement implements Mover
         return (isPositionEqualTo(myDestination));
     }
 
-    private class EndMovementListener implements EventActionIfc {
+    private class EndMovementListener implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent event) {
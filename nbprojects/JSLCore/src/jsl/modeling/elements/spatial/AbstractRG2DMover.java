@@ -38,6 +38,8 @@ import java.util.List;
  */
 public abstract class AbstractRG2DMover extends AbstractMover {
 
+    private static final long serialVersionUID = 1L;
+
     protected RectangularGridSpatialModel2D myGrid;
 
     protected RectangularGridModel myGridModel;
@@ -33,10 +33,14 @@
 */
 package jsl.modeling.elements.spatial;
 
+import java.io.Serializable;
+
 /**
  *
  */
-public class Collision {
+public class Collision implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	//  ===========================================
 	//      CLASS CONSTANTS
@@ -13,6 +13,8 @@ import jsl.utilities.math.JSLMath;
  */
 public class Euclidean2DPlane extends SpatialModel {
 
+    private static final long serialVersionUID = 1L;
+
     public Euclidean2DPlane() {
         this(null);
     }
@@ -44,6 +44,8 @@ import jsl.utilities.random.distributions.Triangular;
  */
 public class EuclideanStepBasedMovementController extends AbstractMovementController {
 
+    private static final long serialVersionUID = 1L;
+
     private Vector3D myPosition;
 
     private Vector3D myDestination;
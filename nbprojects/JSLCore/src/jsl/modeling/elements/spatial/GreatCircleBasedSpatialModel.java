@@ -50,6 +50,8 @@ import jsl.utilities.math.JSLMath;
  */
 public class GreatCircleBasedSpatialModel extends SpatialModel {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Defines the directions on a compass
      *
@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.spatial;
 
+import java.io.Serializable;
 import java.util.Observer;
 
 import jsl.modeling.ModelElement;
@@ -48,6 +49,8 @@ import jsl.utilities.random.RandomIfc;
  */
 abstract public class MobileResource extends Resource implements MoverIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Used to model the movements
      */
@@ -553,7 +556,9 @@ abstract public class MobileResource extends Resource implements MoverIfc {
      */
     abstract protected void transportCompleted();
 
-    private class EmptyMoveCompletedListener implements EmptyMoveCompletionIfc {
+    private class EmptyMoveCompletedListener implements EmptyMoveCompletionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void emptyMoveComplete(Transporter transporter) {
@@ -561,7 +566,9 @@ abstract public class MobileResource extends Resource implements MoverIfc {
         }
     }
 
-    private class TransportCompletedListener implements TransportCompletionIfc {
+    private class TransportCompletedListener implements TransportCompletionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void transportComplete(Transporter transporter) {
@@ -40,6 +40,8 @@ import jsl.modeling.ModelElement;
  */
 public class Mover extends AbstractMover {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Creates a Mover with the default position within its spatial model. The
      * spatial model of the parent is used as the spatial model of this object.
@@ -33,12 +33,15 @@
  */
 package jsl.modeling.elements.spatial;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
  *
  */
-public class Path implements Iterable<CoordinateIfc> {
+public class Path implements Iterable<CoordinateIfc>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private List<CoordinateIfc> myPoints;
 
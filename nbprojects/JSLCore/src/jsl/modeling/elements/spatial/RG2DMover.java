@@ -36,6 +36,8 @@ package jsl.modeling.elements.spatial;
  */
 public class RG2DMover extends AbstractRG2DMover {
 
+    private static final long serialVersionUID = 1L;
+
     public RG2DMover(RectangularGridModel parent) {
         this(parent, new Vector3D(), null);
     }
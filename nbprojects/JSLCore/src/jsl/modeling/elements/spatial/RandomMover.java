@@ -43,6 +43,8 @@ import jsl.utilities.random.distributions.Uniform;
  */
 public class RandomMover extends AbstractMover {
 
+    private static final long serialVersionUID = 1L;
+
     private RandomVariable myTripDestinationX;
     private RandomVariable myTripDestinationY;
     private Vector3D myDestination;
@@ -32,6 +32,7 @@ package jsl.modeling.elements.spatial;
 
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -44,7 +45,9 @@ import jsl.utilities.math.JSLMath;
  *
  * @author rossetti
  */
-public class RectangularCell2D {
+public class RectangularCell2D implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final int myRow;
 
@@ -48,6 +48,8 @@ import jsl.utilities.random.distributions.Uniform;
  */
 public class RectangularGridModel extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     protected RectangularGridSpatialModel2D myGrid;
 
     protected RandomVariable myUniformRV;
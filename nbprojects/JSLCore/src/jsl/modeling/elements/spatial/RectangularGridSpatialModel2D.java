@@ -50,6 +50,8 @@ import jsl.utilities.reporting.JSL;
  */
 public class RectangularGridSpatialModel2D extends SpatialModel {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * An "enum" to indicate that a element has been added when notifying
      * observers
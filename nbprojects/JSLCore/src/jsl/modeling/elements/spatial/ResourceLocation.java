@@ -56,6 +56,8 @@ import jsl.modeling.ModelElement;
  */
 public class ResourceLocation extends SpatialModelElement {
 
+	private static final long serialVersionUID = 1L;
+
 	/** Holds the resoures assigned to this location
 	 * 
 	 */
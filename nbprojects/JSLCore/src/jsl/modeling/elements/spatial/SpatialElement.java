@@ -33,10 +33,13 @@
  */
 package jsl.modeling.elements.spatial;
 
+import java.io.Serializable;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jsl.modeling.ModelElement;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.reporting.JSL;
 
 /**
@@ -57,12 +60,14 @@ import jsl.utilities.reporting.JSL;
  *
  *
  */
-public class SpatialElement extends Observable implements SpatialElementIfc {
+public class SpatialElement extends Observable implements SpatialElementIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * incremented to give a running total of the number of elements created
      */
-    private static int myCounter_;
+    private static final AtomicInteger myCounter_ = new AtomicInteger();
 
     /**
      * An enum to indicate that an element changed its position within a spatial
@@ -222,8 +227,7 @@ public class SpatialElement extends Observable implements SpatialElementIfc {
         }
 
         // if we get here we know that the coordinate is valid for the spatial model
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(SpatialElement.class, myCounter_);
         setName(name);
 
         // set initial spatial model 
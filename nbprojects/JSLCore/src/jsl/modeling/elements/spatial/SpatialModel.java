@@ -33,19 +33,24 @@
  */
 package jsl.modeling.elements.spatial;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Observable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jsl.modeling.Model;
 import jsl.utilities.IdentityIfc;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.math.JSLMath;
 import jsl.utilities.reporting.JSL;
 
 /**
  *
  */
-public abstract class SpatialModel extends Observable implements IdentityIfc {
+public abstract class SpatialModel extends Observable implements IdentityIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * An "enum" to indicate that a element has been added when notifying
@@ -68,7 +73,7 @@ public abstract class SpatialModel extends Observable implements IdentityIfc {
     /**
      * incremented to give a running total of the number of objects created
      */
-    private static int myCounter_;
+    private static final AtomicInteger myCounter_ = new AtomicInteger();
 
     /**
      * Represents the state of the spatial model Can be checked by observers
@@ -120,8 +125,7 @@ public abstract class SpatialModel extends Observable implements IdentityIfc {
      * @param name
      */
     public SpatialModel(String name) {
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(SpatialModel.class, myCounter_);
         setName(name);
         myElements = new ArrayList<>();
     }
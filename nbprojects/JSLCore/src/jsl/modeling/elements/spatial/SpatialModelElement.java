@@ -47,6 +47,8 @@ import jsl.modeling.SchedulingElement;
  */
 public class SpatialModelElement extends SchedulingElement implements SpatialElementIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private SpatialElement mySpatialElement;
 
     /**
@@ -52,6 +52,8 @@ import jsl.utilities.reporting.JSL;
  */
 public class SpatialResource extends Resource implements SpatialElementIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Indicates that the transporter has changed state to its observers
      */
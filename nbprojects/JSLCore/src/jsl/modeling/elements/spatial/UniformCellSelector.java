@@ -41,6 +41,8 @@ import jsl.utilities.random.distributions.Uniform;
  */
 public class UniformCellSelector extends ModelElement implements RectangularCell2DSelectorIfc {
 
+    private static final long serialVersionUID = 1L;
+
     protected RandomVariable myRV;
 
     public UniformCellSelector(ModelElement parent) {
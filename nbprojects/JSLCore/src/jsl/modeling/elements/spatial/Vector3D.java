@@ -33,12 +33,16 @@
  */
 package jsl.modeling.elements.spatial;
 
+import java.io.Serializable;
+
 /** The Vector3D class implements a 3D vector with the double
  *  values x1, x2, x3.  Vectors can be thought of as either a (x1, x2, x3) point
  *  or at a vector from (0.0, 0.0, 0.0) to (x1, x2, x3)
  *
  */
-public class Vector3D implements CoordinateIfc {
+public class Vector3D implements CoordinateIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private double x1;
 
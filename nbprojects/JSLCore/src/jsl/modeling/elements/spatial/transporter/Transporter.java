@@ -53,6 +53,8 @@ import jsl.utilities.reporting.JSL;
  */
 public class Transporter extends AbstractMover {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Indicates that the transporter has changed state to its observers
      */
@@ -461,6 +463,8 @@ public class Transporter extends AbstractMover {
 
     protected class TransporterState extends State {
 
+        private static final long serialVersionUID = 1L;
+
         protected TransporterState(String name) {
             super(name);
         }
@@ -513,6 +517,8 @@ public class Transporter extends AbstractMover {
 
     protected class Created extends TransporterState {
 
+        private static final long serialVersionUID = 1L;
+
         protected Created() {
             super("Created");
         }
@@ -532,6 +538,8 @@ public class Transporter extends AbstractMover {
 
     protected class Inactive extends TransporterState {
 
+        private static final long serialVersionUID = 1L;
+
         protected Inactive() {
             super("Inactive");
         }
@@ -545,6 +553,8 @@ public class Transporter extends AbstractMover {
 
     protected class Idle extends TransporterState {
 
+        private static final long serialVersionUID = 1L;
+
         protected Idle() {
             super("Idle");
         }
@@ -572,6 +582,8 @@ public class Transporter extends AbstractMover {
 
     protected class MovingIdle extends TransporterState {
 
+        private static final long serialVersionUID = 1L;
+
         protected MovingIdle() {
             super("MovingIdle");
         }
@@ -588,6 +600,8 @@ public class Transporter extends AbstractMover {
 
     protected class Allocated extends TransporterState {
 
+        private static final long serialVersionUID = 1L;
+
         public Allocated() {
             super("Allocated");
         }
@@ -615,6 +629,8 @@ public class Transporter extends AbstractMover {
 
     protected class AllocatedMovingEmpty extends TransporterState {
 
+        private static final long serialVersionUID = 1L;
+
         protected AllocatedMovingEmpty() {
             super("AllocatedMovingEmpty");
         }
@@ -630,6 +646,8 @@ public class Transporter extends AbstractMover {
 
     protected class AllocatedMovingLoaded extends TransporterState {
 
+        private static final long serialVersionUID = 1L;
+
         public AllocatedMovingLoaded() {
             super("AllocatedMovingLoaded");
         }
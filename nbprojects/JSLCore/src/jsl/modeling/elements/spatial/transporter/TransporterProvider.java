@@ -42,6 +42,8 @@ import jsl.modeling.elements.queue.QueueDiscipline;
 
 public class TransporterProvider extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     public final static int DEFAULT_PRIORITY = 1;
 
     protected TransporterSet myTransporterSet;
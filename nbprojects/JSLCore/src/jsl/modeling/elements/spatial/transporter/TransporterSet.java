@@ -43,6 +43,8 @@ import jsl.modeling.elements.variable.TimeWeighted;
 
 public class TransporterSet extends ModelElement {
 
+    private static final long serialVersionUID = 1L;
+
     protected List<Transporter> myTransporters;
 
     protected List<Transporter> myIdleTransporters;
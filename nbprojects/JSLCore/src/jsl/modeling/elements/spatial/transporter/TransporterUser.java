@@ -38,6 +38,8 @@ import jsl.modeling.elements.queue.QObject;
 
 public class TransporterUser extends TransporterUserAbstract {
 
+    private static final long serialVersionUID = 1L;
+
     public TransporterUser(ModelElement parent) {
         this(parent, null);
     }
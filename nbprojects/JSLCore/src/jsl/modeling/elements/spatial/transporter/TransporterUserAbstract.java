@@ -39,6 +39,8 @@ import jsl.modeling.SchedulingElement;
 public abstract class TransporterUserAbstract extends SchedulingElement
         implements TransporterRequesterIfc, TransporterStateCompletionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     public TransporterUserAbstract(ModelElement parent) {
         this(parent, null);
     }
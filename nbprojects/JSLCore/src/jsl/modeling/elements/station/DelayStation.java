@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.station;
 
+import java.io.Serializable;
 import jsl.modeling.EventActionIfc;
 import jsl.modeling.JSLEvent;
 import jsl.modeling.ModelElement;
@@ -45,6 +46,8 @@ import jsl.utilities.statistic.WeightedStatisticIfc;
 
 public class DelayStation extends Station {
 
+    private static final long serialVersionUID = 1L;
+
     private boolean myUseQObjectSTFlag;
 
     private GetValueIfc myDelayTime;
@@ -132,7 +135,9 @@ public class DelayStation extends Station {
         scheduleEvent(myEndDelayAction, getDelayTime(customer), customer);
     }
 
-    class EndDelayAction implements EventActionIfc {
+    class EndDelayAction implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent event) {
@@ -16,6 +16,8 @@ import jsl.modeling.elements.queue.QObject;
 public class NWayByChanceQObjectSender extends RandomElement<ReceiveQObjectIfc> 
         implements SendQObjectIfc {
 
+    private static final long serialVersionUID = 1L;
+
     public NWayByChanceQObjectSender(ModelElement parent) {
         this(parent, null);
     }
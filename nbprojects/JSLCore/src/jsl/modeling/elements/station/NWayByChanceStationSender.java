@@ -14,6 +14,8 @@ import jsl.modeling.elements.queue.QObject;
  */
 public class NWayByChanceStationSender extends Station {
 
+    private static final long serialVersionUID = 1L;
+
     protected NWayByChanceQObjectSender myNWaySender;
     
     public NWayByChanceStationSender(ModelElement parent) {
@@ -28,6 +28,8 @@ import jsl.utilities.statistic.StatisticAccessorIfc;
  */
 public class SResource extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Indicates that the resource was seized for state change purposes That is,
      * units of the resource became busy.
@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.station;
 
+import java.io.Serializable;
 import jsl.modeling.EventActionIfc;
 import jsl.modeling.JSLEvent;
 import jsl.modeling.ModelElement;
@@ -57,6 +58,8 @@ import jsl.utilities.statistic.WeightedStatisticIfc;
  */
 public class SingleQueueStation extends Station {
 
+    private static final long serialVersionUID = 1L;
+
     private Queue myWaitingQ;
 
     private GetValueIfc myServiceTime;
@@ -218,7 +221,9 @@ public class SingleQueueStation extends Station {
         }
     }
 
-    class EndServiceAction implements EventActionIfc {
+    class EndServiceAction implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent event) {
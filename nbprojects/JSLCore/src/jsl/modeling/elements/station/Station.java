@@ -61,6 +61,8 @@ import jsl.modeling.elements.queue.QObject;
  */
 public abstract class Station extends SchedulingElement implements ReceiveQObjectIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Can be supplied in order to provide logic
      *  to send the QObject to its next receiver
@@ -19,6 +19,8 @@ import jsl.utilities.random.distributions.Bernoulli;
  */
 public class TwoWayByChanceQObjectSender extends ModelElement implements SendQObjectIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private RandomVariable myRV;
 
     private ReceiveQObjectIfc myR1;
@@ -14,6 +14,8 @@ import jsl.modeling.elements.queue.QObject;
  */
 public class TwoWayByChanceStationSender extends Station {
 
+    private static final long serialVersionUID = 1L;
+
     protected TwoWayByChanceQObjectSender myTwoWaySender;
     
     public TwoWayByChanceStationSender(ModelElement parent, double p,
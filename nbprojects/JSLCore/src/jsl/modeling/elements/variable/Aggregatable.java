@@ -48,6 +48,8 @@ import jsl.utilities.GetValueIfc;
 public abstract class Aggregatable extends ModelElement implements GetValueIfc,
         PreviousValueIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** The aggregatable's list of aggregates. An aggregate
      *  can be formed from aggregatables and react to
      *  changes in the aggregatables.  Lazy initialization
@@ -48,6 +48,8 @@ import jsl.modeling.ModelElement;
  */
 public abstract class Aggregate extends Aggregatable implements DefaultReportingOptionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * counts the number of observed variables that have been initialized
      */
@@ -12,6 +12,8 @@ import jsl.utilities.statistic.StatisticAccessorIfc;
  */
 public class AggregateCounter extends Aggregate implements CounterActionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** This is used to remember the aggregate value
      *  when any of its aggregatable's change
      *
@@ -43,6 +43,8 @@ import jsl.utilities.statistic.WeightedStatisticIfc;
  */
 public class AggregateTimeWeightedVariable extends Aggregate {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * This is used to remember the aggregate value when any of its
      * aggregatable's change
@@ -11,6 +11,8 @@ import jsl.modeling.ModelElement;
  */
 public class AveragePerTimeWeightedVariable extends AggregateTimeWeightedVariable {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * @param parent
      */
@@ -0,0 +1,718 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package jsl.modeling.elements.variable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import jsl.modeling.ExperimentGetIfc;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.ModelElement;
+import jsl.modeling.SchedulingElement;
+import jsl.utilities.statistic.BatchStatistic;
+
+/**
+ * Controls the batching of ResponseVariables and TimeWeighted variables within
+ * the Model without observing the variables.
+ *
+ * Each added variable records its observations into a column of primitive
+ * buffers. The observations are batched into the variable's BatchStatistic
+ * only when the column is flushed: when its buffer is full, at the end of each
+ * replication, and when the batch statistics are requested. At the end of a
+ * replication the columns are flushed in parallel if the number of threads is
+ * greater than 1.
+ *
+ * ResponseVariables are batched by observation, as in
+ * ResponseVariableBatchingElement. TimeWeighted variables are first
+ * discretized by a batching event, as in TWBatchingElement, and the time
+ * weighted averages over the batch intervals are batched. The batch
+ * statistics are the same as those of the observer based batching elements.
+ * Since the batch statistics are only current after a flush, collection rules
+ * that stop the replication are not supported. Use BatchStatisticObserver for
+ * those.
+ *
+ * @author rossetti
+ */
+public class ColumnarBatchingElement extends SchedulingElement {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default number of observations buffered per variable before the
+     * observations are batched
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 512;
+
+    /**
+     * The size of a column's buffer when the variable is first observed. The
+     * buffer doubles as needed up to the buffer size, so that variables that
+     * are rarely observed hold small buffers.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 16;
+
+    /**
+     * The columns in the order that the variables were added
+     */
+    private final List<Column> myColumns;
+
+    /**
+     * The columns of the TimeWeighted variables
+     */
+    private final List<Column> myTWColumns;
+
+    /**
+     * Looks up the column of a variable
+     */
+    private final Map<ResponseVariable, Column> myColumnMap;
+
+    /**
+     * A reference to the Batching event.
+     */
+    private JSLEvent myBatchEvent;
+
+    /**
+     * The priority for the batching events.
+     */
+    private int myBatchEventPriority = JSLEvent.DEFAULT_BATCH_PRIORITY;
+
+    /**
+     * The time interval between batching events.
+     */
+    private double myTimeBtwBatches = 0.0;
+
+    /**
+     * A time interval (in simulated time) that represents the default time
+     * between batches, zero means that it is approximated
+     */
+    private double myBatchInterval = 0;
+
+    /**
+     * The starting number of batches for time weighted batching. Used in
+     * approximating a batch interval size
+     */
+    private double myNumTWBatches = TWBatchingElement.DEFAULT_NUM_TW_BATCHES;
+
+    /**
+     * The number of observations buffered per variable
+     */
+    private int myBufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * The number of threads used to flush the columns
+     */
+    private int myNumThreads = 1;
+
+    /**
+     * Flushes the columns when there is more than one thread, created as
+     * needed during an experiment. Its threads are daemon threads, so an
+     * experiment that is not ended does not keep the JVM running.
+     */
+    private transient ExecutorService myPool;
+
+    /**
+     * Creates a columnar batching element
+     *
+     * @param modelElement the model element
+     */
+    public ColumnarBatchingElement(ModelElement modelElement) {
+        this(modelElement, 0.0, null);
+    }
+
+    /**
+     * Creates a columnar batching element
+     *
+     * @param modelElement the model element
+     * @param interval the batching interval for TimeWeighted variables, must
+     * be &gt;= 0
+     */
+    public ColumnarBatchingElement(ModelElement modelElement, double interval) {
+        this(modelElement, interval, null);
+    }
+
+    /**
+     * Creates a columnar batching element
+     *
+     * @param modelElement the model element
+     * @param interval the batching interval for TimeWeighted variables, must
+     * be &gt;= 0
+     * @param name a name for the element
+     */
+    public ColumnarBatchingElement(ModelElement modelElement, double interval, String name) {
+        super(modelElement, name);
+        setBatchInterval(interval);
+        myColumns = new ArrayList<>();
+        myTWColumns = new ArrayList<>();
+        myColumnMap = new HashMap<>();
+    }
+
+    /**
+     * Adds the supplied variable to the batching. TimeWeighted variables are
+     * batched over time.
+     *
+     * @param r the variable to add
+     */
+    public final void add(ResponseVariable r) {
+        add(r, BatchStatistic.MIN_NUM_BATCHES, BatchStatistic.MIN_NUM_OBS_PER_BATCH,
+                BatchStatistic.MAX_BATCH_MULTIPLE, r.getName());
+    }
+
+    /**
+     * Adds the supplied variable to the batching. TimeWeighted variables are
+     * batched over time.
+     *
+     * @param r the variable to add
+     * @param name name for BatchStatistic
+     */
+    public final void add(ResponseVariable r, String name) {
+        add(r, BatchStatistic.MIN_NUM_BATCHES, BatchStatistic.MIN_NUM_OBS_PER_BATCH,
+                BatchStatistic.MAX_BATCH_MULTIPLE, name);
+    }
+
+    /**
+     * Adds the supplied variable to the batching. TimeWeighted variables are
+     * batched over time.
+     *
+     * @param r the variable to add
+     * @param minNumBatches minimum number of batches
+     * @param minBatchSize minimum batch size
+     * @param maxNBMultiple batch size multiple
+     * @param name name for BatchStatistic
+     */
+    public final void add(ResponseVariable r, int minNumBatches, int minBatchSize,
+            int maxNBMultiple, String name) {
+        if (r == null) {
+            throw new IllegalArgumentException("The variable was null");
+        }
+        if (r.myBatchColumn != null) {
+            throw new IllegalArgumentException("The variable " + r.getName() + " is already batched by columns");
+        }
+        Column c = new Column(r, new BatchStatistic(minNumBatches, minBatchSize,
+                maxNBMultiple, name), myBufferSize);
+        myColumns.add(c);
+        if (c.myTimeWeighted) {
+            myTWColumns.add(c);
+        }
+        myColumnMap.put(r, c);
+        r.myBatchColumn = c;
+    }
+
+    /**
+     * Checks if the variable is batched by this element
+     *
+     * @param r the variable
+     * @return true if it was added
+     */
+    public final boolean contains(ResponseVariable r) {
+        return myColumnMap.containsKey(r);
+    }
+
+    /**
+     * Removes the supplied variable from the batching
+     *
+     * @param r the variable to be removed
+     */
+    public final void remove(ResponseVariable r) {
+        Column c = myColumnMap.remove(r);
+        if (c == null) {
+            return;
+        }
+        myColumns.remove(c);
+        myTWColumns.remove(c);
+        r.myBatchColumn = null;
+    }
+
+    /**
+     * Removes all previously added variables from the batching
+     *
+     */
+    public final void removeAll() {
+        for (Column c : myColumns) {
+            c.myVariable.myBatchColumn = null;
+        }
+        myColumns.clear();
+        myTWColumns.clear();
+        myColumnMap.clear();
+    }
+
+    /**
+     * Returns a statistical summary BatchStatistic on the variable across the
+     * observed batches. This returns a copy of the summary statistics.
+     *
+     * @param r the variable to look up
+     * @return the returned BatchStatistic
+     */
+    public final BatchStatistic getBatchStatistic(ResponseVariable r) {
+        Column c = myColumnMap.get(r);
+        if (c == null) {
+            return new BatchStatistic(r.getName() + " Across Batch Statistics");
+        }
+        c.flush();
+        return c.myBatchStats.newInstance();
+    }
+
+    /**
+     * Returns a list of summary statistics on all the variables, in the order
+     * that they were added. The list is a copy of originals.
+     *
+     * @return the filled up list
+     */
+    public final List<BatchStatistic> getAllBatchStatisitcs() {
+        flushAll();
+        List<BatchStatistic> list = new ArrayList<>();
+        for (Column c : myColumns) {
+            list.add(c.myBatchStats.newInstance());
+        }
+        return list;
+    }
+
+    /**
+     *
+     * @return the number of observations buffered per variable
+     */
+    public final int getBufferSize() {
+        return myBufferSize;
+    }
+
+    /**
+     * Sets the number of observations buffered per variable before they are
+     * batched. Applies to variables that are added afterwards.
+     *
+     * @param bufferSize must be &gt; 0
+     */
+    public final void setBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be > 0");
+        }
+        myBufferSize = bufferSize;
+    }
+
+    /**
+     *
+     * @return the number of threads used to flush the columns
+     */
+    public final int getNumberOfThreads() {
+        return myNumThreads;
+    }
+
+    /**
+     * Sets the number of threads used to flush the columns at the end of a
+     * replication. Changing this during an experiment has no effect until the
+     * next experiment.
+     *
+     * @param numThreads must be &gt; 0, 1 flushes on the simulation thread
+     */
+    public final void setNumberOfThreads(int numThreads) {
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be > 0");
+        }
+        myNumThreads = numThreads;
+    }
+
+    /**
+     * Sets the batch event priority.
+     *
+     * @param priority The batch event priority, lower means earlier
+     */
+    protected final void setBatchEventPriority(int priority) {
+        myBatchEventPriority = priority;
+    }
+
+    /**
+     * Gets the batch event priority
+     *
+     * @return The batch event priority
+     */
+    public final int getBatchEventPriority() {
+        return (myBatchEventPriority);
+    }
+
+    /**
+     * Gets the current batch interval length for time weighted variables
+     *
+     * @return The batch interval as time
+     */
+    public final double getBatchInterval() {
+        return (myBatchInterval);
+    }
+
+    /**
+     * Sets the batch interval length. Changing this during a replication has no
+     * effect. If the supplied interval is 0.0, then the interval is
+     * approximated as in TWBatchingElement
+     *
+     * @param batchInterval The batch interval size in time units must be
+     * &gt;=0
+     */
+    public final void setBatchInterval(double batchInterval) {
+        if (batchInterval < 0.0) {
+            throw new IllegalArgumentException("The batch interval cannot be less than zero");
+        }
+        myBatchInterval = batchInterval;
+    }
+
+    /**
+     * The starting number of batches, used to determine the batch interval when
+     * it is not explicitly set.
+     *
+     * @return number of batches
+     */
+    public final double getTimeWeightedStartingNumberOfBatches() {
+        return myNumTWBatches;
+    }
+
+    /**
+     * Sets the initial number of batches for time-weighted variables
+     *
+     * @param numBatches must be bigger than 0
+     */
+    public final void setTimeWeightedStartingNumberOfBatches(int numBatches) {
+        if (numBatches <= 0) {
+            throw new IllegalArgumentException("The number of batches must be >0");
+        }
+        myNumTWBatches = numBatches;
+    }
+
+    /**
+     * This method returns a suggested batching interval based on the length of
+     * the run, the warm up period, and starting number of batches.
+     *
+     * @return a double representing an approximate batch interval
+     */
+    protected final double getApproximateBatchInterval() {
+        ExperimentGetIfc e = getModel().getExperiment();
+        if (e == null) {
+            return TWBatchingElement.DEFAULT_BATCH_INTERVAL;
+        }
+        double repLength = e.getLengthOfReplication();
+        if (Double.isInfinite(repLength)) {
+            return TWBatchingElement.DEFAULT_BATCH_INTERVAL;
+        }
+        return (repLength - e.getLengthOfWarmUp()) / getTimeWeightedStartingNumberOfBatches();
+    }
+
+    @Override
+    protected void beforeExperiment() {
+        for (Column c : myColumns) {
+            c.reset();
+        }
+    }
+
+    @Override
+    protected void beforeReplication() {
+        if (getBatchInterval() == 0.0) {
+            setBatchInterval(getApproximateBatchInterval());
+        }
+        myTimeBtwBatches = getBatchInterval();
+    }
+
+    @Override
+    protected void initialize() {
+        if (!myTWColumns.isEmpty()) {
+            myBatchEvent = scheduleEvent(myTimeBtwBatches, 1, myBatchEventPriority);
+            myBatchEvent.setRecyclableOption(false);
+        }
+    }
+
+    @Override
+    protected void handleEvent(JSLEvent event) {
+        myBatchEvent = event;
+        for (Column c : myTWColumns) {
+            TimeWeighted tw = (TimeWeighted) c.myVariable;
+            tw.setValue(tw.getValue());
+            c.markBatch();
+        }
+        rescheduleEvent(event, myTimeBtwBatches);
+    }
+
+    @Override
+    protected void afterReplication() {
+        flushAll();
+    }
+
+    @Override
+    protected void afterExperiment() {
+        if (myPool != null) {
+            myPool.shutdown();
+            myPool = null;
+        }
+    }
+
+    @Override
+    protected void removedFromModel() {
+        super.removedFromModel();
+        removeAll();
+        afterExperiment();
+    }
+
+    /**
+     * Batches the buffered observations of all the columns, in parallel if
+     * there is more than one thread
+     */
+    protected final void flushAll() {
+        int n = myColumns.size();
+        int numTasks = Math.min(myNumThreads, n);
+        if (numTasks <= 1) {
+            for (Column c : myColumns) {
+                c.flush();
+            }
+            return;
+        }
+        if (myPool == null) {
+            myPool = Executors.newFixedThreadPool(myNumThreads, new DaemonThreadFactory());
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < numTasks; t++) {
+            futures.add(myPool.submit(new FlushTask(t * n / numTasks, (t + 1) * n / numTasks)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while batching the observations", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        flushAll();
+        StringBuilder sb = new StringBuilder();
+        sb.append("------------------------------------------------------------");
+        sb.append("\n");
+        sb.append("Batch Statistics");
+        sb.append("\n");
+        sb.append("------------------------------------------------------------");
+        sb.append("\n");
+        sb.append("Columnar batching of ");
+        sb.append(myColumns.size());
+        sb.append(" variables \n");
+        sb.append("TimeWeighted batch interval = ");
+        sb.append(getBatchInterval());
+        sb.append(" time units \n");
+        for (Column c : myColumns) {
+            sb.append(c.myBatchStats);
+            sb.append("\n");
+        }
+        sb.append("------------------------------------------------------------");
+        sb.append("\n");
+        return sb.toString();
+    }
+
+    /**
+     * Makes the daemon threads of the pool
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final ThreadFactory myFactory = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = myFactory.newThread(r);
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
+    /**
+     * Flushes a range of the columns
+     */
+    private class FlushTask implements Runnable {
+
+        private final int myFrom;
+
+        private final int myTo;
+
+        FlushTask(int from, int to) {
+            myFrom = from;
+            myTo = to;
+        }
+
+        @Override
+        public void run() {
+            for (int i = myFrom; i < myTo; i++) {
+                myColumns.get(i).flush();
+            }
+        }
+    }
+
+    /**
+     * Buffers the observations of a variable until they are batched. The
+     * variable records into its column and resets it before each experiment,
+     * before each replication and when it is warmed up.
+     */
+    static final class Column implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ResponseVariable myVariable;
+
+        private final boolean myTimeWeighted;
+
+        private final BatchStatistic myBatchStats;
+
+        /**
+         * The largest number of observations buffered
+         */
+        private final int myBufferSize;
+
+        /**
+         * Allocated when the variable is first observed
+         */
+        private double[] myValues = new double[0];
+
+        /**
+         * The weights of the observations of a TimeWeighted variable
+         */
+        private double[] myWeights = new double[0];
+
+        private int mySize;
+
+        /**
+         * The buffer positions at which the time batches ended
+         */
+        private int[] myBatchEnds = new int[16];
+
+        private int myNumBatchEnds;
+
+        /**
+         * The weighted sum and sum of weights of the flushed observations of
+         * the current time batch
+         */
+        private double myWSum;
+
+        private double mySumW;
+
+        Column(ResponseVariable variable, BatchStatistic stats, int bufferSize) {
+            myVariable = variable;
+            myTimeWeighted = variable instanceof TimeWeighted;
+            myBatchStats = stats;
+            myBufferSize = bufferSize;
+        }
+
+        /**
+         * Records an observation, the weight is only used for TimeWeighted
+         * variables
+         *
+         * @param x the value
+         * @param w the weight
+         */
+        void record(double x, double w) {
+            if (mySize == myValues.length) {
+                if (mySize == myBufferSize) {
+                    flush();
+                } else {
+                    grow();
+                }
+            }
+            myValues[mySize] = x;
+            if (myTimeWeighted) {
+                myWeights[mySize] = w;
+            }
+            mySize++;
+        }
+
+        /**
+         * Doubles the buffer, up to the buffer size
+         */
+        private void grow() {
+            int n = Math.min(Math.max(2 * myValues.length, INITIAL_BUFFER_SIZE), myBufferSize);
+            myValues = Arrays.copyOf(myValues, n);
+            if (myTimeWeighted) {
+                myWeights = Arrays.copyOf(myWeights, n);
+            }
+        }
+
+        /**
+         * Ends the current time batch at the current buffer position
+         */
+        void markBatch() {
+            if (myNumBatchEnds == myBatchEnds.length) {
+                myBatchEnds = Arrays.copyOf(myBatchEnds, 2 * myBatchEnds.length);
+            }
+            myBatchEnds[myNumBatchEnds] = mySize;
+            myNumBatchEnds++;
+        }
+
+        /**
+         * Discards the buffered observations and the batches
+         */
+        void reset() {
+            mySize = 0;
+            myNumBatchEnds = 0;
+            myWSum = 0.0;
+            mySumW = 0.0;
+            myBatchStats.reset();
+        }
+
+        /**
+         * Batches the buffered observations
+         */
+        void flush() {
+            if (myTimeWeighted) {
+                flushTimeWeighted();
+            } else {
+                for (int i = 0; i < mySize; i++) {
+                    myBatchStats.collect(myValues[i]);
+                }
+            }
+            mySize = 0;
+            myNumBatchEnds = 0;
+        }
+
+        private void flushTimeWeighted() {
+            int b = 0;
+            for (int i = 0; i < mySize; i++) {
+                while ((b < myNumBatchEnds) && (myBatchEnds[b] == i)) {
+                    endBatch();
+                    b++;
+                }
+                double x = myValues[i];
+                if (Double.isNaN(x) || Double.isInfinite(x)) {
+                    continue;
+                }
+                double w = myWeights[i];
+                mySumW = mySumW + w;
+                myWSum = myWSum + x * w;
+            }
+            while (b < myNumBatchEnds) {
+                endBatch();
+                b++;
+            }
+        }
+
+        /**
+         * Collects the time weighted average of the current time batch, as
+         * the WeightedStatistic of TWBatchStatisticObserver would
+         */
+        private void endBatch() {
+            double avg = Double.NaN;
+            if (mySumW > 0.0) {
+                avg = myWSum / mySumW;
+            }
+            myBatchStats.collect(avg);
+            myWSum = 0.0;
+            mySumW = 0.0;
+        }
+    }
+}
@@ -33,6 +33,7 @@
  */
 package jsl.modeling.elements.variable;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import jsl.modeling.Experiment;
@@ -48,6 +49,8 @@ import jsl.utilities.statistic.StatisticAccessorIfc;
  */
 public class Counter extends Aggregatable implements CounterActionIfc, DefaultReportingOptionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Can be used the reports to indicate whether or not the response should
      * appear The default is true
@@ -669,7 +672,9 @@ public class Counter extends Aggregatable implements CounterActionIfc, DefaultRe
         myAcrossIntervalResponse = null;
     }
 
-    private class StoppingAction implements CounterActionListenerIfc {
+    private class StoppingAction implements CounterActionListenerIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(Counter counter) {
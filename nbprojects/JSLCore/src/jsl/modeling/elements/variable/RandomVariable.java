@@ -88,6 +88,8 @@ import jsl.utilities.reporting.*;
  */
 public class RandomVariable extends Variable implements RandomIfc, SampleIfc, RandomElementIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** indicates whether or not the random variable's
      *  distribution has it stream reset to the default
      *  stream, or not prior to each experiment.  Resetting
@@ -36,6 +36,7 @@ package jsl.modeling.elements.variable;
 import jsl.modeling.Experiment;
 import jsl.modeling.ExperimentGetIfc;
 import jsl.modeling.ModelElement;
+import jsl.utilities.statistic.QuantileSketch;
 import jsl.utilities.statistic.Statistic;
 import jsl.utilities.statistic.StatisticAccessorIfc;
 import jsl.utilities.statistic.WeightedStatistic;
@@ -47,6 +48,8 @@ import jsl.utilities.statistic.WeightedStatisticIfc;
 public class ResponseVariable extends Variable implements
         DefaultReportingOptionIfc, ResponseStatisticsIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * indicates the count when the simulation should stop *
      */
@@ -100,6 +103,18 @@ public class ResponseVariable extends Variable implements
      */
     protected double myTimeOfWarmUp;
 
+    /**
+     * The column that buffers the observations for a ColumnarBatchingElement,
+     * null if the variable is not batched by columns
+     */
+    ColumnarBatchingElement.Column myBatchColumn;
+
+    /**
+     * Estimates the quantiles of the response within the replication, null
+     * unless the quantile sketch option is turned on
+     */
+    protected QuantileSketch myQuantileSketch;
+
     /**
      * Creates a ResponseVariable with the given parent with initial value 0.0
      * over the range [Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY]
@@ -349,6 +364,55 @@ public class ResponseVariable extends Variable implements
 
     public void resetWithinReplicationStatistics() {
         myWithinRepStats.reset();
+        if (myQuantileSketch != null) {
+            myQuantileSketch.reset();
+        }
+    }
+
+    /**
+     * Turns on or off the estimation of the quantiles of the response within
+     * the replication by a QuantileSketch, using the default compression.
+     * The quantiles are estimated in bounded memory, without saving the
+     * observations. The default is off.
+     *
+     * @param flag true turns on the estimation
+     */
+    public final void setQuantileSketchOption(boolean flag) {
+        setQuantileSketchOption(flag, QuantileSketch.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Turns on or off the estimation of the quantiles of the response within
+     * the replication by a QuantileSketch. The quantiles are estimated in
+     * bounded memory, without saving the observations. The default is off.
+     *
+     * @param flag true turns on the estimation
+     * @param compression the compression of the sketch, controls the
+     * accuracy, must be &gt;= 10
+     */
+    public final void setQuantileSketchOption(boolean flag, double compression) {
+        if (flag) {
+            myQuantileSketch = new QuantileSketch(compression, getName() + " Quantiles");
+        } else {
+            myQuantileSketch = null;
+        }
+    }
+
+    /**
+     *
+     * @return true if the quantiles are estimated within the replication
+     */
+    public final boolean getQuantileSketchOption() {
+        return myQuantileSketch != null;
+    }
+
+    /**
+     * Gets the sketch of the quantiles within the replication
+     *
+     * @return the sketch or null if the quantile sketch option is off
+     */
+    public final QuantileSketch getWithinReplicationQuantileSketch() {
+        return myQuantileSketch;
     }
 
     @Override
@@ -358,6 +422,7 @@ public class ResponseVariable extends Variable implements
         myAcrossRepStats = null;
         myWithinIntervalStats = null;
         myAcrossIntervalResponse = null;
+        myQuantileSketch = null;
     }
 
     @Override
@@ -376,6 +441,12 @@ public class ResponseVariable extends Variable implements
         if (myWithinIntervalStats != null) {
             myWithinIntervalStats.collect(getValue(), getWeight());
         }
+        if (myBatchColumn != null) {
+            myBatchColumn.record(getValue(), getWeight());
+        }
+        if (myQuantileSketch != null) {
+            myQuantileSketch.collect(getValue(), getWeight());
+        }
     }
 
     @Override
@@ -426,6 +497,12 @@ public class ResponseVariable extends Variable implements
         }
         myLastUpdateTime = 0.0;
         myTimeOfWarmUp = 0.0;
+        if (myBatchColumn != null) {
+            myBatchColumn.reset();
+        }
+        if (myQuantileSketch != null) {
+            myQuantileSketch.reset();
+        }
     }
 
     @Override
@@ -437,6 +514,12 @@ public class ResponseVariable extends Variable implements
         }
         myLastUpdateTime = 0.0;
         myTimeOfWarmUp = 0.0;
+        if (myBatchColumn != null) {
+            myBatchColumn.reset();
+        }
+        if (myQuantileSketch != null) {
+            myQuantileSketch.reset();
+        }
     }
 
     @Override
@@ -444,6 +527,12 @@ public class ResponseVariable extends Variable implements
         super.warmUp();
         myTimeOfWarmUp = getTime();
         myWithinRepStats.reset();
+        if (myBatchColumn != null) {
+            myBatchColumn.reset();
+        }
+        if (myQuantileSketch != null) {
+            myQuantileSketch.reset();
+        }
     }
 
     @Override
@@ -496,6 +585,9 @@ public class ResponseVariable extends Variable implements
         StringBuilder sb = new StringBuilder();
         sb.append(super.toString());
         sb.append(myWithinRepStats.toString());
+        if (myQuantileSketch != null) {
+            sb.append(myQuantileSketch.toString());
+        }
         return sb.toString();
     }
 
@@ -20,6 +20,8 @@ import jsl.utilities.statistic.BatchStatistic;
  */
 public class ResponseVariableBatchingElement extends ModelElement {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Holds the statistics across the time scheduled batches for the time
      * weighted variables
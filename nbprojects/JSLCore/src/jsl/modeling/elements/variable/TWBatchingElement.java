@@ -40,6 +40,8 @@ import jsl.utilities.statistic.WeightedStatistic;
  */
 public class TWBatchingElement extends SchedulingElement {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * A constant for the default batch interval for a replication If there is
      * no run length specified and the user turns on default batching, then the
@@ -393,6 +395,7 @@ public class TWBatchingElement extends SchedulingElement {
     @Override
     protected void initialize() {
         myBatchEvent = scheduleEvent(myTimeBtwBatches, 1, myBatchEventPriority);
+        myBatchEvent.setRecyclableOption(false);
     }
 
     /**
@@ -40,6 +40,8 @@ import jsl.modeling.ModelElement;
  */
 public class TimeWeighted extends ResponseVariable {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Creates a TimeWeighted with the given parent with initial value 0.0 over
      * the range [Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY]
@@ -201,6 +203,12 @@ public class TimeWeighted extends ResponseVariable {
         if (myWithinIntervalStats != null) {
             myWithinIntervalStats.collect(getPreviousValue(), getWeight());
         }
+        if (myBatchColumn != null) {
+            myBatchColumn.record(getPreviousValue(), getWeight());
+        }
+        if (myQuantileSketch != null) {
+            myQuantileSketch.collect(getPreviousValue(), getWeight());
+        }
     }
 
     /**
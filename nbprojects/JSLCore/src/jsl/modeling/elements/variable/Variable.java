@@ -43,6 +43,8 @@ import jsl.utilities.reporting.JSL;
  */
 public class Variable extends Aggregatable implements VariableIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Represents the lowest possible value allowed for this variable Attempts
      * to set the value of the variable to &lt; myLowerLimit will throw an
@@ -95,7 +97,7 @@ public class Variable extends Aggregatable implements VariableIfc {
     /**
      * Holds a reference to an observer that will trace the variable's changes
      */
-    protected VariableTraceTextReport myVariableTraceTextReport;
+    protected transient VariableTraceTextReport myVariableTraceTextReport;
 
     /**
      * Indicates whether or not text file tracing is on/off
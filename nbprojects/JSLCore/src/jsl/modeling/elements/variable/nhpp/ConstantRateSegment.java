@@ -34,11 +34,15 @@
  */
 package jsl.modeling.elements.variable.nhpp;
 
+import java.io.Serializable;
+
 /**
  * @author rossetti
  *
  */
-public class ConstantRateSegment implements RateSegmentIfc {
+public class ConstantRateSegment implements RateSegmentIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**the rate for the interval
      * 
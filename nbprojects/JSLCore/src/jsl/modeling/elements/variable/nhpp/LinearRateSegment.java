@@ -34,13 +34,16 @@
  */
 package jsl.modeling.elements.variable.nhpp;
 
+import java.io.Serializable;
 import jsl.utilities.math.JSLMath;
 
 /**
  * @author rossetti
  *
  */
-public class LinearRateSegment implements RateSegmentIfc {
+public class LinearRateSegment implements RateSegmentIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * the slope for the interval
@@ -46,6 +46,8 @@ import jsl.utilities.random.RandomIfc;
  */
 public class NHPPEventGenerator extends ModelElement implements EventGeneratorIfc {
 
+    private static final long serialVersionUID = 1L;
+
     protected EventGenerator myEventGenerator;
 
     protected NHPPTimeBtwEventRV myTBARV;
@@ -44,6 +44,8 @@ import jsl.utilities.random.distributions.Exponential;
  */
 public class NHPPTimeBtwEventRV extends RandomVariable {
 
+    private static final long serialVersionUID = 1L;
+
     /** Holds the time that the cycle started, where a cycle
      *  is the time period over which the rate function is defined.
      *
@@ -247,6 +249,8 @@ public class NHPPTimeBtwEventRV extends RandomVariable {
 
     protected class EndOfCycle extends SchedulingElement {
 
+        private static final long serialVersionUID = 1L;
+
         public EndOfCycle(ModelElement parent) {
             super(parent);
         }
@@ -40,6 +40,8 @@ package jsl.modeling.elements.variable.nhpp;
  */
 public class PiecewiseConstantRateFunction extends PiecewiseRateFunction {
 
+    private static final long serialVersionUID = 1L;
+
     /** Creates a PiecewiseConstantRateFunction given the first
      *  duration and rate pair, other pairs are added via 
      *  addRateSegment()
@@ -43,6 +43,8 @@ package jsl.modeling.elements.variable.nhpp;
  */
 public class PiecewiseLinearRateFunction extends PiecewiseRateFunction {
 
+    private static final long serialVersionUID = 1L;
+
     /** Constructs a PiecewiseLinearRateFunction with the first rate
      *  specified for time zero as zero
      * 
@@ -34,6 +34,7 @@
  */
 package jsl.modeling.elements.variable.nhpp;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -41,7 +42,9 @@ import java.util.List;
  * @author rossetti
  *
  */
-public abstract class PiecewiseRateFunction implements InvertibleCumulativeRateFunctionIfc {
+public abstract class PiecewiseRateFunction implements InvertibleCumulativeRateFunctionIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     protected List<RateSegmentIfc> myRateSegments;
 
@@ -33,8 +33,10 @@
  */
 package jsl.observers;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import jsl.modeling.ModelElement;
 import jsl.utilities.IdentityIfc;
+import jsl.utilities.SimulationContext;
 
 /**
  *
@@ -43,7 +45,7 @@ public class ModelElementObserver implements ObserverIfc, IdentityIfc {
 
     protected String myName;
 
-    private static int myCounter_;
+    private static final AtomicInteger myCounter_ = new AtomicInteger();
 
     private int myId;
 
@@ -54,8 +56,7 @@ public class ModelElementObserver implements ObserverIfc, IdentityIfc {
     }
 
     public ModelElementObserver(String name) {
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = SimulationContext.nextId(ModelElementObserver.class, myCounter_);
         setName(name);
     }
 
@@ -36,6 +36,10 @@
  */
 package jsl.observers;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -47,14 +51,19 @@ import java.util.List;
  *  the ObservableIfc.  The notifyObservers() method can be used to notify
  *  attached observers whenever necessary.
  *
+ *  When the component is serialized, e.g. in a simulation checkpoint, only
+ *  the observers that are Serializable are written.
+ *
  * @author rossetti
  */
-public class ObservableComponent implements ObservableIfc {
+public class ObservableComponent implements ObservableIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** The list of observers
      *
      */
-    private final List<ObserverIfc> myObservers = new ArrayList<ObserverIfc>();
+    private transient List<ObserverIfc> myObservers = new ArrayList<ObserverIfc>();
 
     @Override
     public void addObserver(ObserverIfc observer) {
@@ -91,6 +100,23 @@ public class ObservableComponent implements ObservableIfc {
         return myObservers.size();
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        List<ObserverIfc> list = new ArrayList<ObserverIfc>();
+        for (ObserverIfc o : myObservers) {
+            if (o instanceof Serializable) {
+                list.add(o);
+            }
+        }
+        out.writeObject(list);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        myObservers = (List<ObserverIfc>) in.readObject();
+    }
+
     /** Notify the observers
      * 
      * @param theObserved
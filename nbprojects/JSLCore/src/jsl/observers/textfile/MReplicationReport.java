@@ -98,6 +98,9 @@ public class MReplicationReport extends TextReport implements ObserverIfc {
                 for (ResponseVariable rv : rvs) {
                     if (rv.getDefaultReportingOption()) {
                         println(rv.getWithinReplicationStatistic());
+                        if (rv.getQuantileSketchOption()) {
+                            println(rv.getWithinReplicationQuantileSketch());
+                        }
                     }
                 }
             }
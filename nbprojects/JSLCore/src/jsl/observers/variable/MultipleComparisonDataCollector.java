@@ -91,6 +91,36 @@ public class MultipleComparisonDataCollector extends ModelElementObserver {
 
     }
 
+    /**
+     *
+     * @return the response variable that is observed
+     */
+    public final ResponseVariable getResponseVariable() {
+        return myResponse;
+    }
+
+    /** Adds the across replication data for an experiment that was
+     *  run elsewhere, e.g. by a ScenarioRunner. Any data for an experiment
+     *  with the same name is replaced.
+     *
+     * @param expName the name of the experiment, must not be null
+     * @param data the replication averages of the response, in replication order
+     */
+    public final void addAcrossReplicationData(String expName, double[] data) {
+        if (expName == null) {
+            throw new IllegalArgumentException("The experiment name must not be null");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("The data must not be null");
+        }
+        if (data.length < myMinNumRepsAcrossExperiments) {
+            myMinNumRepsAcrossExperiments = data.length;
+        }
+        double[] x = new double[data.length];
+        System.arraycopy(data, 0, x, 0, data.length);
+        myDataMap.put(expName, x);
+    }
+
     /**
      * Sets all the data to zero
      *
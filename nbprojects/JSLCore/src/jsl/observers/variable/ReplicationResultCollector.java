@@ -0,0 +1,109 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package jsl.observers.variable;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsl.modeling.Model;
+import jsl.modeling.ModelElement;
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.observers.ModelElementObserver;
+import jsl.utilities.statistic.WeightedStatistic;
+
+/**
+ * Streams the within replication statistics of every response variable and
+ * counter of a model to a ReplicationResultSinkIfc at the end of each
+ * replication. Unlike SimulationResponseDataCollector, nothing is kept in
+ * memory, so the number of replications is not limited by the heap.
+ *
+ * A counter is written as a statistic with one observation, its value at the
+ * end of the replication. The averages of the written statistics are the
+ * observations of the across replication statistics.
+ *
+ * This class should be attached to the simulation Model prior to running the
+ * simulation. The sink is not closed by the collector.
+ *
+ * @author rossetti
+ */
+public class ReplicationResultCollector extends ModelElementObserver {
+
+    private final Model myModel;
+
+    private final ReplicationResultSinkIfc mySink;
+
+    /**
+     * The statistics written for the current experiment
+     */
+    private final List<WeightedStatistic> myStats;
+
+    /**
+     * Holds the values of the counters, reused for each replication
+     */
+    private final List<WeightedStatistic> myCounterStats;
+
+    public ReplicationResultCollector(Model m, ReplicationResultSinkIfc sink) {
+        this(m, sink, null);
+    }
+
+    public ReplicationResultCollector(Model m, ReplicationResultSinkIfc sink, String name) {
+        super(name);
+        if (m == null) {
+            throw new IllegalArgumentException("The model must not be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("The sink must not be null");
+        }
+        myModel = m;
+        mySink = sink;
+        myStats = new ArrayList<>();
+        myCounterStats = new ArrayList<>();
+        myModel.addObserver(this);
+    }
+
+    /**
+     *
+     * @return the sink that receives the statistics
+     */
+    public final ReplicationResultSinkIfc getSink() {
+        return mySink;
+    }
+
+    @Override
+    protected void beforeExperiment(ModelElement m, Object arg) {
+        List<String> names = new ArrayList<>();
+        for (ResponseVariable r : myModel.getResponseVariables()) {
+            names.add(r.getName());
+        }
+        myCounterStats.clear();
+        for (Counter c : myModel.getCounters()) {
+            names.add(c.getName());
+            myCounterStats.add(new WeightedStatistic(c.getName()));
+        }
+        mySink.beginExperiment(m.getExperiment().getExperimentName(), names);
+    }
+
+    @Override
+    protected void afterReplication(ModelElement m, Object arg) {
+        myStats.clear();
+        for (ResponseVariable r : myModel.getResponseVariables()) {
+            myStats.add((WeightedStatistic) r.getWithinReplicationStatistic());
+        }
+        List<Counter> counters = myModel.getCounters();
+        for (int i = 0; i < counters.size(); i++) {
+            WeightedStatistic s = myCounterStats.get(i);
+            s.reset();
+            s.collect(counters.get(i).getValue());
+            myStats.add(s);
+        }
+        mySink.writeReplication(m.getExperiment().getCurrentReplicationNumber(), myStats);
+    }
+
+    @Override
+    protected void afterExperiment(ModelElement m, Object arg) {
+        mySink.endExperiment();
+    }
+}
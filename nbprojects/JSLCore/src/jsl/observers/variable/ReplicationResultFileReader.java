@@ -0,0 +1,392 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package jsl.observers.variable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jsl.utilities.statistic.MultipleComparisonAnalyzer;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.WeightedStatistic;
+
+/**
+ * Reads a file written by a ReplicationResultFileSink. The reader only holds
+ * the names of the experiments and responses in memory. The replication
+ * records are read from the file when they are needed, and the across
+ * replication statistics and replication averages are computed in a single
+ * pass over an experiment's records.
+ *
+ * If the file has no index because the sink was not closed, the file is
+ * scanned up to its last complete record. If the file has more than one
+ * experiment with the same name, the last one is read.
+ *
+ * @author rossetti
+ */
+public class ReplicationResultFileReader {
+
+    private final File myFile;
+
+    /**
+     * The experiments, keyed by name, in the order written
+     */
+    private final Map<String, ExperimentData> myExperiments;
+
+    /**
+     * Opens the file and reads its index
+     *
+     * @param file the file, must not be null
+     */
+    public ReplicationResultFileReader(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("The file must not be null");
+        }
+        myFile = file;
+        myExperiments = new LinkedHashMap<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if ((raf.length() < 8) || (raf.readInt() != ReplicationResultFileSink.MAGIC)) {
+                throw new IllegalArgumentException("The file " + file + " is not a result file");
+            }
+            if (raf.readInt() != ReplicationResultFileSink.VERSION) {
+                throw new IllegalArgumentException("The file " + file + " has an unknown version");
+            }
+            if (!readIndex(raf)) {
+                scan(raf);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the result file " + file, e);
+        }
+    }
+
+    /**
+     *
+     * @return the file that is read
+     */
+    public final File getFile() {
+        return myFile;
+    }
+
+    /**
+     *
+     * @return the names of the experiments in the file
+     */
+    public final List<String> getExperimentNames() {
+        return new ArrayList<>(myExperiments.keySet());
+    }
+
+    /**
+     *
+     * @param expName the name of the experiment
+     * @return the names of the responses of the experiment
+     */
+    public final List<String> getResponseNames(String expName) {
+        return Collections.unmodifiableList(getExperiment(expName).myNames);
+    }
+
+    /**
+     *
+     * @param expName the name of the experiment
+     * @return the number of replications of the experiment in the file
+     */
+    public final int getNumberOfReplications(String expName) {
+        return getExperiment(expName).myNumReps;
+    }
+
+    /**
+     * Reads the within replication statistics of one replication. The
+     * replications are numbered in the order that they were written, starting
+     * at 1.
+     *
+     * @param expName the name of the experiment
+     * @param k the replication, 1 to getNumberOfReplications()
+     * @return the within replication statistics of the responses, keyed by
+     * response name
+     */
+    public final Map<String, WeightedStatistic> getWithinReplicationStatistics(String expName, int k) {
+        ExperimentData e = getExperiment(expName);
+        if ((k < 1) || (k > e.myNumReps)) {
+            throw new IllegalArgumentException("The replication must be between 1 and " + e.myNumReps);
+        }
+        Map<String, WeightedStatistic> map = new LinkedHashMap<>();
+        try (DataInputStream in = open(e.myFirstRepOffset + (k - 1) * e.myRecordSize)) {
+            in.readByte();
+            in.readInt();
+            for (String name : e.myNames) {
+                map.put(name, new StoredStatistic(name, in));
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read the result file " + myFile, ex);
+        }
+        return map;
+    }
+
+    /**
+     * Computes the across replication statistics of every response of the
+     * experiment, which collect the within replication average of each
+     * replication in replication order
+     *
+     * @param expName the name of the experiment
+     * @return the statistics, keyed by response name
+     */
+    public final Map<String, Statistic> getAcrossReplicationStatistics(String expName) {
+        ExperimentData e = getExperiment(expName);
+        Statistic[] stats = new Statistic[e.myNames.size()];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new Statistic(e.myNames.get(i));
+        }
+        try (DataInputStream in = open(e.myFirstRepOffset)) {
+            for (int k = 0; k < e.myNumReps; k++) {
+                in.readByte();
+                in.readInt();
+                for (Statistic s : stats) {
+                    s.collect(readAverage(in));
+                }
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read the result file " + myFile, ex);
+        }
+        Map<String, Statistic> map = new LinkedHashMap<>();
+        for (Statistic s : stats) {
+            map.put(s.getName(), s);
+        }
+        return map;
+    }
+
+    /**
+     * The within replication averages of a response, in replication order
+     *
+     * @param expName the name of the experiment
+     * @param responseName the name of the response
+     * @return the averages
+     */
+    public final double[] getReplicationAverages(String expName, String responseName) {
+        ExperimentData e = getExperiment(expName);
+        int i = e.myNames.indexOf(responseName);
+        if (i < 0) {
+            throw new IllegalArgumentException("The experiment " + expName + " has no response " + responseName);
+        }
+        double[] x = new double[e.myNumReps];
+        long skip = e.myRecordSize - 8L * ReplicationResultFileSink.NUM_FIELDS;
+        try (DataInputStream in = open(e.myFirstRepOffset + 5 + 8L * ReplicationResultFileSink.NUM_FIELDS * i)) {
+            for (int k = 0; k < x.length; k++) {
+                if (k > 0) {
+                    skipFully(in, skip);
+                }
+                x[k] = readAverage(in);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read the result file " + myFile, ex);
+        }
+        return x;
+    }
+
+    /**
+     * The replication averages of the response for each experiment that has
+     * the response, as supplied by MultipleComparisonDataCollector.getDataAsMap():
+     * every experiment has the averages of the first replications, up to the
+     * smallest number of replications of the experiments
+     *
+     * @param responseName the name of the response
+     * @return the averages keyed by experiment name
+     */
+    public final LinkedHashMap<String, double[]> getMultipleComparisonData(String responseName) {
+        LinkedHashMap<String, double[]> map = new LinkedHashMap<>();
+        int r = Integer.MAX_VALUE;
+        for (ExperimentData e : myExperiments.values()) {
+            if (e.myNames.contains(responseName)) {
+                map.put(e.myName, getReplicationAverages(e.myName, responseName));
+                r = Math.min(r, e.myNumReps);
+            }
+        }
+        for (Map.Entry<String, double[]> entry : map.entrySet()) {
+            entry.setValue(Arrays.copyOf(entry.getValue(), r));
+        }
+        return map;
+    }
+
+    /**
+     *
+     * @param responseName the name of the response
+     * @return a MultipleComparisonAnalyzer for the response across the
+     * experiments that have the response
+     */
+    public final MultipleComparisonAnalyzer getMultipleComparisonAnalyzer(String responseName) {
+        return new MultipleComparisonAnalyzer(getMultipleComparisonData(responseName));
+    }
+
+    private ExperimentData getExperiment(String expName) {
+        ExperimentData e = myExperiments.get(expName);
+        if (e == null) {
+            throw new IllegalArgumentException("The file has no experiment named " + expName);
+        }
+        return e;
+    }
+
+    /**
+     * Reads the average of a response's record and skips the rest of it
+     */
+    private static double readAverage(DataInputStream in) throws IOException {
+        in.readDouble();
+        double sumw = in.readDouble();
+        double wsum = in.readDouble();
+        skipFully(in, 8L * (ReplicationResultFileSink.NUM_FIELDS - 3));
+        if (sumw <= 0.0) {
+            return Double.NaN;
+        }
+        return wsum / sumw;
+    }
+
+    private static void skipFully(DataInputStream in, long n) throws IOException {
+        while (n > 0) {
+            long k = in.skip(n);
+            if (k <= 0) {
+                in.readByte();
+                k = 1;
+            }
+            n = n - k;
+        }
+    }
+
+    private DataInputStream open(long offset) throws IOException {
+        FileInputStream fis = new FileInputStream(myFile);
+        fis.getChannel().position(offset);
+        return new DataInputStream(new BufferedInputStream(fis, 65536));
+    }
+
+    /**
+     * Reads the index at the end of the file
+     *
+     * @return false if the file has no valid index
+     */
+    private boolean readIndex(RandomAccessFile raf) throws IOException {
+        long length = raf.length();
+        if (length < 8 + 1 + 4 + 12) {
+            return false;
+        }
+        raf.seek(length - 12);
+        long indexOffset = raf.readLong();
+        if ((raf.readInt() != ReplicationResultFileSink.MAGIC) || (indexOffset < 8)
+                || (indexOffset >= length - 12)) {
+            return false;
+        }
+        raf.seek(indexOffset);
+        if (raf.readByte() != ReplicationResultFileSink.INDEX) {
+            return false;
+        }
+        int n = raf.readInt();
+        String[] names = new String[n];
+        long[] offsets = new long[n];
+        int[] numReps = new int[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = raf.readUTF();
+            offsets[i] = raf.readLong();
+            numReps[i] = raf.readInt();
+        }
+        for (int i = 0; i < n; i++) {
+            raf.seek(offsets[i]);
+            raf.readByte();
+            ExperimentData e = readExperiment(raf);
+            e.myNumReps = numReps[i];
+            addExperiment(e);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the experiment records and counts the complete replication
+     * records of a file without an index
+     */
+    private void scan(RandomAccessFile raf) throws IOException {
+        long length = raf.length();
+        long pos = 8;
+        ExperimentData e = null;
+        while (pos < length) {
+            raf.seek(pos);
+            byte tag = raf.readByte();
+            if (tag == ReplicationResultFileSink.EXPERIMENT) {
+                try {
+                    e = readExperiment(raf);
+                } catch (IOException ex) {
+                    // an incomplete experiment record at the end of the file
+                    return;
+                }
+                addExperiment(e);
+                pos = e.myFirstRepOffset;
+            } else if ((tag == ReplicationResultFileSink.REPLICATION) && (e != null)
+                    && (pos + e.myRecordSize <= length)) {
+                e.myNumReps++;
+                pos = pos + e.myRecordSize;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads an experiment record after its tag
+     */
+    private static ExperimentData readExperiment(RandomAccessFile raf) throws IOException {
+        ExperimentData e = new ExperimentData();
+        e.myName = raf.readUTF();
+        int n = raf.readInt();
+        e.myNames = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            e.myNames.add(raf.readUTF());
+        }
+        e.myFirstRepOffset = raf.getFilePointer();
+        e.myRecordSize = ReplicationResultFileSink.getRecordSize(n);
+        return e;
+    }
+
+    private void addExperiment(ExperimentData e) {
+        // a later experiment with the same name replaces an earlier one
+        myExperiments.remove(e.myName);
+        myExperiments.put(e.myName, e);
+    }
+
+    /**
+     * Where an experiment's records are in the file
+     */
+    private static class ExperimentData {
+
+        private String myName;
+
+        private List<String> myNames;
+
+        private long myFirstRepOffset;
+
+        private long myRecordSize;
+
+        private int myNumReps;
+    }
+
+    /**
+     * A WeightedStatistic whose state is read from a replication record
+     */
+    private static class StoredStatistic extends WeightedStatistic {
+
+        private static final long serialVersionUID = 1L;
+
+        StoredStatistic(String name, DataInputStream in) throws IOException {
+            super(name);
+            num = in.readDouble();
+            sumw = in.readDouble();
+            wsum = in.readDouble();
+            wsumsq = in.readDouble();
+            min = in.readDouble();
+            max = in.readDouble();
+            myNumMissing = in.readDouble();
+        }
+    }
+}
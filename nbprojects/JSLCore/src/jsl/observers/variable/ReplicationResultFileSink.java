@@ -0,0 +1,214 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package jsl.observers.variable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import jsl.utilities.statistic.WeightedStatistic;
+
+/**
+ * Appends the within replication statistics of each replication to a binary
+ * file, which is read by a ReplicationResultFileReader. Only the current
+ * record is held in memory.
+ *
+ * The file starts with a header, followed by an experiment record for each
+ * experiment, each followed by one fixed size record per replication that
+ * holds the count, sum of weights, weighted sum, weighted sum of squares,
+ * minimum, maximum and number missing of each response. Closing the sink
+ * appends an index of the experiments, so that the reader does not have to
+ * scan the file. A file that was not closed, e.g. because the simulation
+ * failed, can still be read up to its last complete record.
+ *
+ * @author rossetti
+ */
+public class ReplicationResultFileSink implements ReplicationResultSinkIfc {
+
+    /**
+     * Starts the file and ends the index, "JSLR"
+     */
+    static final int MAGIC = 0x4A534C52;
+
+    static final int VERSION = 1;
+
+    static final byte EXPERIMENT = 1;
+
+    static final byte REPLICATION = 2;
+
+    static final byte INDEX = 3;
+
+    /**
+     * The number of doubles written per response and replication
+     */
+    static final int NUM_FIELDS = 7;
+
+    private final File myFile;
+
+    private final FileOutputStream myFileOut;
+
+    private final DataOutputStream myOut;
+
+    /**
+     * The file positions of the experiment records
+     */
+    private final List<Long> myExpOffsets;
+
+    /**
+     * The names of the experiments, in the order written
+     */
+    private final List<String> myExpNames;
+
+    /**
+     * The number of replications written for each experiment
+     */
+    private final List<Integer> myNumReps;
+
+    /**
+     * The number of responses of the current experiment, -1 if no experiment
+     * has begun
+     */
+    private int myNumResponses = -1;
+
+    private boolean myClosedFlag = false;
+
+    /**
+     * Creates the file, replacing any existing file
+     *
+     * @param file the file, must not be null
+     */
+    public ReplicationResultFileSink(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("The file must not be null");
+        }
+        myFile = file;
+        myExpOffsets = new ArrayList<>();
+        myExpNames = new ArrayList<>();
+        myNumReps = new ArrayList<>();
+        try {
+            myFileOut = new FileOutputStream(file);
+            myOut = new DataOutputStream(new BufferedOutputStream(myFileOut, 65536));
+            myOut.writeInt(MAGIC);
+            myOut.writeInt(VERSION);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create the result file " + file, e);
+        }
+    }
+
+    /**
+     *
+     * @return the file that is written
+     */
+    public final File getFile() {
+        return myFile;
+    }
+
+    @Override
+    public void beginExperiment(String expName, List<String> responseNames) {
+        checkOpen();
+        try {
+            myOut.flush();
+            myExpOffsets.add(myFileOut.getChannel().position());
+            myExpNames.add(expName);
+            myNumReps.add(0);
+            myOut.writeByte(EXPERIMENT);
+            myOut.writeUTF(expName);
+            myOut.writeInt(responseNames.size());
+            for (String name : responseNames) {
+                myOut.writeUTF(name);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write to the result file " + myFile, e);
+        }
+        myNumResponses = responseNames.size();
+    }
+
+    @Override
+    public void writeReplication(int replication, List<WeightedStatistic> stats) {
+        checkOpen();
+        if (myNumResponses < 0) {
+            throw new IllegalStateException("No experiment has begun");
+        }
+        if (stats.size() != myNumResponses) {
+            throw new IllegalArgumentException("The number of statistics does not match the number of responses");
+        }
+        try {
+            myOut.writeByte(REPLICATION);
+            myOut.writeInt(replication);
+            for (WeightedStatistic s : stats) {
+                myOut.writeDouble(s.getCount());
+                myOut.writeDouble(s.getSumOfWeights());
+                myOut.writeDouble(s.getWeightedSum());
+                myOut.writeDouble(s.getWeightedSumOfSquares());
+                myOut.writeDouble(s.getMin());
+                myOut.writeDouble(s.getMax());
+                myOut.writeDouble(s.getNumberMissing());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write to the result file " + myFile, e);
+        }
+        int last = myNumReps.size() - 1;
+        myNumReps.set(last, myNumReps.get(last) + 1);
+    }
+
+    @Override
+    public void endExperiment() {
+        checkOpen();
+        try {
+            myOut.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write to the result file " + myFile, e);
+        }
+        myNumResponses = -1;
+    }
+
+    /**
+     * Writes the index and closes the file. Closing a closed sink has no
+     * effect.
+     */
+    @Override
+    public void close() {
+        if (myClosedFlag) {
+            return;
+        }
+        myClosedFlag = true;
+        try {
+            myOut.flush();
+            long indexOffset = myFileOut.getChannel().position();
+            myOut.writeByte(INDEX);
+            myOut.writeInt(myExpNames.size());
+            for (int i = 0; i < myExpNames.size(); i++) {
+                myOut.writeUTF(myExpNames.get(i));
+                myOut.writeLong(myExpOffsets.get(i));
+                myOut.writeInt(myNumReps.get(i));
+            }
+            myOut.writeLong(indexOffset);
+            myOut.writeInt(MAGIC);
+            myOut.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write to the result file " + myFile, e);
+        }
+    }
+
+    private void checkOpen() {
+        if (myClosedFlag) {
+            throw new IllegalStateException("The result file " + myFile + " was closed");
+        }
+    }
+
+    /**
+     * The size of a replication record
+     *
+     * @param numResponses the number of responses
+     * @return the size in bytes
+     */
+    static long getRecordSize(int numResponses) {
+        return 1 + 4 + 8L * NUM_FIELDS * numResponses;
+    }
+}
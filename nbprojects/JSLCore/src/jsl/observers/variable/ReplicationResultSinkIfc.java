@@ -0,0 +1,47 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package jsl.observers.variable;
+
+import java.util.List;
+import jsl.utilities.statistic.WeightedStatistic;
+
+/**
+ * Receives the within replication statistics of the responses of a model as
+ * each replication ends, e.g. from a ReplicationResultCollector, so that they
+ * can be stored outside of memory.
+ *
+ * @author rossetti
+ */
+public interface ReplicationResultSinkIfc {
+
+    /**
+     * Called before the first replication of an experiment
+     *
+     * @param expName the name of the experiment
+     * @param responseNames the names of the responses, in the order of the
+     * statistics supplied to writeReplication()
+     */
+    void beginExperiment(String expName, List<String> responseNames);
+
+    /**
+     * Called at the end of each replication. The statistics may be changed
+     * after the call, so they must not be retained.
+     *
+     * @param replication the number of the replication
+     * @param stats the within replication statistics of the responses
+     */
+    void writeReplication(int replication, List<WeightedStatistic> stats);
+
+    /**
+     * Called after the last replication of an experiment
+     */
+    void endExperiment();
+
+    /**
+     * Releases the sink's resources, no more experiments are written
+     */
+    void close();
+}
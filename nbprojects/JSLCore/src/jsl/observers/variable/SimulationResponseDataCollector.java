@@ -161,6 +161,31 @@ public class SimulationResponseDataCollector extends ModelElementObserver {
     
     
     
+    /** Adds the data for an experiment that was run elsewhere, e.g. by a
+     *  ScenarioRunner. Any data for an experiment with the same name is
+     *  replaced.
+     *
+     * @param expName the name of the experiment, must not be null
+     * @param withinRepStats the within replication statistics of each response
+     * variable, one map for each replication in replication order
+     * @param acrossRepStats the across replication statistics of each response
+     * variable and counter
+     */
+    public void addExperimentData(String expName, List<Map<String, WeightedStatistic>> withinRepStats,
+            Map<String, Statistic> acrossRepStats) {
+        if (expName == null) {
+            throw new IllegalArgumentException("The experiment name must not be null");
+        }
+        if (withinRepStats == null) {
+            throw new IllegalArgumentException("The within replication statistics must not be null");
+        }
+        if (acrossRepStats == null) {
+            throw new IllegalArgumentException("The across replication statistics must not be null");
+        }
+        myWithinRepStats.put(expName, withinRepStats);
+        myAcrossRepStats.put(expName, acrossRepStats);
+    }
+
     /** Clears all saved data
      * 
      */
@@ -33,6 +33,7 @@
  */
 package jsl.utilities;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 import java.util.Collections;
@@ -55,7 +56,9 @@ import jsl.utilities.random.RandomIfc;
  *  control datatype has been defined
  *
  */
-abstract public class Controls {
+abstract public class Controls implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** The controllableIfc that uses the Controls
      * 
@@ -34,6 +34,7 @@
 package jsl.utilities;
 
 import java.util.Observable;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jsl.modeling.elements.variable.PreviousValueIfc;
 import jsl.utilities.reporting.JSL;
@@ -50,7 +51,7 @@ public abstract class DataSource extends Observable implements GetValueIfc, Prev
     //  ===========================================
     /** A counter to count the number of created to assign "unique" ids
      */
-    protected static long myIdCounter_;
+    protected static final AtomicLong myIdCounter_ = new AtomicLong();
 
     /** An "enum" to indicate that a new value has just been made available to observers
      */
@@ -180,8 +181,7 @@ public abstract class DataSource extends Observable implements GetValueIfc, Prev
     }
 
     protected void setId() {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(DataSource.class, myIdCounter_);
     }
 
     /** Properly assigns the value and remembers previous value
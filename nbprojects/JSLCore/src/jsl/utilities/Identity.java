@@ -36,15 +36,20 @@
  */
 package jsl.utilities;
 
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  *
  * @author rossetti
  */
-public class Identity implements IdentityIfc {
+public class Identity implements IdentityIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** A counter to count the number of objects created to assign "unique" ids
      */
-    private static int myIdCounter_;
+    private static final AtomicInteger myIdCounter_ = new AtomicInteger();
 
     /** The name of this object
      */
@@ -59,8 +64,7 @@ public class Identity implements IdentityIfc {
     }
 
     public Identity(String name) {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(Identity.class, myIdCounter_);
         setName(name);
     }
 
@@ -0,0 +1,227 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ *
+ * Copyright (c) Manuel D. Rossetti (rossetti@uark.edu)
+ *
+ * Contact:
+ *	Manuel D. Rossetti, Ph.D., P.E.
+ *	Department of Industrial Engineering
+ *	University of Arkansas
+ *	4207 Bell Engineering Center
+ *	Fayetteville, AR 72701
+ *	Phone: (479) 575-6756
+ *	Email: rossetti@uark.edu
+ *	Web: www.uark.edu/~rossetti
+ *
+ * This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ * of Java classes that permit the easy development and execution of discrete event
+ * simulation programs.
+ *
+ * The JSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * The JSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the JSL (see file COPYING in the distribution);
+ * if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor,
+ * Boston, MA  02110-1301  USA, or see www.fsf.org
+ *
+ */
+package jsl.utilities;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.random.rng.RNStreamFactory.RNStream;
+
+/** A SimulationContext holds the state that is otherwise global to the JVM:
+ *  the counters that assign ids to objects, the default random number stream
+ *  factory, and the directory for output files.
+ *
+ *  A context is bound to a thread via setCurrent(). While a context is bound,
+ *  objects created on the thread get their ids from the context,
+ *  RNStreamFactory.getDefault() returns the context's factory and JSL makes
+ *  its default output files in the context's output directory. A Simulation
+ *  remembers the context that was bound when it was created and binds it
+ *  while it runs, so a simulation that is created within a context may be
+ *  run on any thread.
+ *
+ *  Simulations that use different contexts can run concurrently in one JVM
+ *  without interference. A context is not thread safe, it must not be used by
+ *  two threads at the same time. When no context is bound, the JVM wide
+ *  counters, factory and jslOutput directory are used as before.
+ *
+ * @author rossetti
+ */
+public class SimulationContext implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The context bound to each thread
+     */
+    private static final ThreadLocal<SimulationContext> myCurrent = new ThreadLocal<SimulationContext>();
+
+    private final String myName;
+
+    private final RNStreamFactory myStreamFactory;
+
+    private final File myOutputDirectory;
+
+    /** The id counter of each class that asks for ids
+     */
+    private final Map<Class<?>, long[]> myIdCounters = new HashMap<Class<?>, long[]>();
+
+    private RNStream myDefaultStream;
+
+    /** Creates a context with its own stream factory and the output
+     *  directory jslOutput/name
+     *
+     * @param name the name of the context, must not be null
+     */
+    public SimulationContext(String name) {
+        this(name, null, null);
+    }
+
+    /**
+     *
+     * @param name the name of the context, must not be null
+     * @param factory the default stream factory, if null a new factory is
+     * made, which produces the same streams as a new JVM
+     * @param outputDirectory the directory for output files, if null
+     * jslOutput/name is used
+     */
+    public SimulationContext(String name, RNStreamFactory factory, File outputDirectory) {
+        if (name == null) {
+            throw new IllegalArgumentException("The name of the context was null");
+        }
+        myName = name;
+        if (factory == null) {
+            factory = new RNStreamFactory(name);
+        }
+        myStreamFactory = factory;
+        if (outputDirectory == null) {
+            outputDirectory = new File("jslOutput", name);
+        }
+        myOutputDirectory = outputDirectory;
+    }
+
+    /**
+     *
+     * @return the name of the context
+     */
+    public final String getName() {
+        return myName;
+    }
+
+    /**
+     *
+     * @return the default stream factory of the context
+     */
+    public final RNStreamFactory getStreamFactory() {
+        return myStreamFactory;
+    }
+
+    /**
+     *
+     * @return the default stream of the context, made by the context's factory
+     */
+    public final RNStream getDefaultStream() {
+        if (myDefaultStream == null) {
+            myDefaultStream = myStreamFactory.getStream();
+        }
+        return myDefaultStream;
+    }
+
+    /** The directory is created if it does not exist
+     *
+     * @return the directory for output files
+     */
+    public final File getOutputDirectory() {
+        myOutputDirectory.mkdirs();
+        return myOutputDirectory;
+    }
+
+    /** Returns the next id for objects of the supplied class, starting at 1
+     *
+     * @param c the class that owns the ids
+     * @return the id
+     */
+    public final long getNextId(Class<?> c) {
+        long[] counter = myIdCounters.get(c);
+        if (counter == null) {
+            counter = new long[1];
+            myIdCounters.put(c, counter);
+        }
+        counter[0] = counter[0] + 1;
+        return counter[0];
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationContext: " + myName;
+    }
+
+    /**
+     *
+     * @return the context bound to the calling thread or null
+     */
+    public static SimulationContext getCurrent() {
+        return myCurrent.get();
+    }
+
+    /** Binds the context to the calling thread
+     *
+     * @param context the context, null unbinds the current context
+     * @return the context that was bound before or null
+     */
+    public static SimulationContext setCurrent(SimulationContext context) {
+        SimulationContext previous = myCurrent.get();
+        if (context == null) {
+            myCurrent.remove();
+        } else {
+            myCurrent.set(context);
+        }
+        return previous;
+    }
+
+    /** Returns the next id for objects of the supplied class from the bound
+     *  context, or from the supplied JVM wide counter if no context is bound
+     *
+     * @param c the class that owns the ids
+     * @param counter the JVM wide counter of the class
+     * @return the id
+     */
+    public static int nextId(Class<?> c, AtomicInteger counter) {
+        SimulationContext context = myCurrent.get();
+        if (context == null) {
+            return counter.incrementAndGet();
+        }
+        return (int) context.getNextId(c);
+    }
+
+    /** Returns the next id for objects of the supplied class from the bound
+     *  context, or from the supplied JVM wide counter if no context is bound
+     *
+     * @param c the class that owns the ids
+     * @param counter the JVM wide counter of the class
+     * @return the id
+     */
+    public static long nextId(Class<?> c, AtomicLong counter) {
+        SimulationContext context = myCurrent.get();
+        if (context == null) {
+            return counter.incrementAndGet();
+        }
+        return context.getNextId(c);
+    }
+}
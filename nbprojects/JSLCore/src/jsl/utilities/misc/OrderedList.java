@@ -4,6 +4,7 @@
  */
 package jsl.utilities.misc;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -15,7 +16,9 @@ import java.util.ListIterator;
  *
  * @author rossetti
  */
-public class OrderedList<T extends Comparable<T>> implements Collection<T> {
+public class OrderedList<T extends Comparable<T>> implements Collection<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** Holds requests that are waiting for some
      *  units of the resource
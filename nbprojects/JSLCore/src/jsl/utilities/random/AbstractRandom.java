@@ -33,20 +33,25 @@
  */
 package jsl.utilities.random;
 
+import java.io.Serializable;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jsl.utilities.ControllableIfc;
 import jsl.utilities.Controls;
+import jsl.utilities.SimulationContext;
 
 /**
  * @author rossetti
  *
  */
-public abstract class AbstractRandom implements RandomIfc, ControllableIfc {
+public abstract class AbstractRandom implements RandomIfc, ControllableIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** A counter to count the number of created to assign "unique" ids
      */
-    private static long myIdCounter_;
+    private static final AtomicLong myIdCounter_ = new AtomicLong();
 
     /** The id of this object
      */
@@ -127,12 +132,13 @@ public abstract class AbstractRandom implements RandomIfc, ControllableIfc {
     }
 
     protected final void setId() {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(AbstractRandom.class, myIdCounter_);
     }
 
     protected class RandomControls extends Controls {
 
+        private static final long serialVersionUID = 1L;
+
         protected RandomControls(ControllableIfc controllable) {
             super(controllable);
             myDoubleArrayControls = new HashMap<String, double[]>();
@@ -33,10 +33,13 @@
  */
 package jsl.utilities.random.ar;
 
+import java.io.Serializable;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jsl.utilities.ControllableIfc;
 import jsl.utilities.Controls;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.random.RandomIfc;
 import jsl.utilities.random.SampleIfc;
 import jsl.utilities.random.distributions.Normal;
@@ -46,11 +49,13 @@ import jsl.utilities.random.rng.RngIfc;
 /**
  *
  */
-public class AR1Normal implements RandomIfc, SampleIfc, ControllableIfc {
+public class AR1Normal implements RandomIfc, SampleIfc, ControllableIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** A counter to count the number of created to assign "unique" ids
      */
-    private static long myIdCounter_;
+    private static final AtomicLong myIdCounter_ = new AtomicLong();
 
     /** The id of this object
      */
@@ -287,6 +292,8 @@ public class AR1Normal implements RandomIfc, SampleIfc, ControllableIfc {
 
     protected class AR1Controls extends Controls {
 
+        private static final long serialVersionUID = 1L;
+
         protected AR1Controls(ControllableIfc controllable) {
             super(controllable);
             myDoubleArrayControls = new HashMap<String, double[]>();
@@ -362,7 +369,6 @@ public class AR1Normal implements RandomIfc, SampleIfc, ControllableIfc {
     }
     
     protected final void setId() {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(AR1Normal.class, myIdCounter_);
     }
 }
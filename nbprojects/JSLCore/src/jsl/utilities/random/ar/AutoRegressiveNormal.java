@@ -33,10 +33,13 @@
  */
 package jsl.utilities.random.ar;
 
+import java.io.Serializable;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jsl.utilities.ControllableIfc;
 import jsl.utilities.Controls;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.random.RandomIfc;
 import jsl.utilities.random.SampleIfc;
 import jsl.utilities.random.distributions.Normal;
@@ -46,11 +49,13 @@ import jsl.utilities.random.rng.RngIfc;
 /**
  *
  */
-public class AutoRegressiveNormal implements RandomIfc, SampleIfc, ControllableIfc {
+public class AutoRegressiveNormal implements RandomIfc, SampleIfc, ControllableIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** A counter to count the number of created to assign "unique" ids
      */
-    private static long myIdCounter_;
+    private static final AtomicLong myIdCounter_ = new AtomicLong();
 
     /** The id of this object
      */
@@ -277,6 +282,8 @@ public class AutoRegressiveNormal implements RandomIfc, SampleIfc, ControllableI
 
     protected class ARControls extends Controls {
 
+        private static final long serialVersionUID = 1L;
+
         protected ARControls(ControllableIfc controllable) {
             super(controllable);
             myDoubleArrayControls = new HashMap<String, double[]>();
@@ -368,7 +375,6 @@ public class AutoRegressiveNormal implements RandomIfc, SampleIfc, ControllableI
     }
 
     protected final void setId() {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(AutoRegressiveNormal.class, myIdCounter_);
     }
 }
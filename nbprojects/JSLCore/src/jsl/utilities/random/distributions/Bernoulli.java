@@ -43,6 +43,9 @@ import jsl.utilities.random.rng.RngIfc;
  *  P(X=0) = 1-p
  */
 public class Bernoulli extends Distribution implements DiscreteDistributionIfc {
+
+    private static final long serialVersionUID = 1L;
+
     // private data members
 
     private double myProbSuccess;
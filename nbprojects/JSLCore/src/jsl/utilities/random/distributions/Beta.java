@@ -33,6 +33,7 @@
  */
 package jsl.utilities.random.distributions;
 
+import java.io.Serializable;
 import jsl.modeling.JSLTooManyIterationsException;
 import jsl.utilities.math.JSLMath;
 import jsl.utilities.math.FunctionIfc;
@@ -47,6 +48,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class Beta extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private static IncompleteBetaFunctionFraction myContinuedFraction = new IncompleteBetaFunctionFraction();
 
     private static Interval myInterval = new Interval(0.0, 1.0);
@@ -586,7 +589,9 @@ public class Beta extends Distribution implements ContinuousDistributionIfc, Inv
         myRootFinder.setMaximumIterations(maxIter);
     }
 
-    private class BetaRootFunction implements FunctionIfc {
+    private class BetaRootFunction implements FunctionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public double fx(double x) {
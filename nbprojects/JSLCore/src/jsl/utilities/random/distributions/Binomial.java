@@ -54,6 +54,8 @@ import jsl.utilities.random.rng.RngIfc;
 public class Binomial extends Distribution implements DiscreteDistributionIfc,
         LossFunctionDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** The probability of success
      *
      */
@@ -47,6 +47,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class Constant extends Distribution implements DiscreteDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * A constant to represent zero for sharing
      */
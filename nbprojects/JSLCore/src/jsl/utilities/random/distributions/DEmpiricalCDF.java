@@ -33,6 +33,7 @@
  */
 package jsl.utilities.random.distributions;
 
+import java.io.Serializable;
 import java.util.*;
 import jsl.utilities.math.*;
 import jsl.utilities.random.rng.RNStreamFactory;
@@ -52,6 +53,8 @@ import jsl.utilities.reporting.JSL;
  */
 public class DEmpiricalCDF extends Distribution implements DiscreteDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** Holds the list of probability points
      */
     private LinkedList<ProbPoint> myProbabilityPoints;
@@ -308,7 +311,10 @@ public class DEmpiricalCDF extends Distribution implements DiscreteDistributionI
         return new DEmpiricalPMF(getPMFParameters());
     }
     
-    private final class ProbPoint {
+    private final class ProbPoint implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
         private double value;
         private double probability;
         private double cumProb;       
@@ -33,6 +33,7 @@
  */
 package jsl.utilities.random.distributions;
 
+import java.io.Serializable;
 import java.util.*;
 import jsl.utilities.math.*;
 import jsl.utilities.random.rng.RNStreamFactory;
@@ -45,6 +46,8 @@ import jsl.utilities.reporting.JSL;
  */
 public class DEmpiricalPMF extends Distribution implements DiscreteDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** Holds the list of probability points
      */
     private LinkedList<ProbPoint> myProbabilityPoints;
@@ -469,7 +472,9 @@ public class DEmpiricalPMF extends Distribution implements DiscreteDistributionI
      *  Inner Class
      *
      */
-    private final class ProbPoint {
+    private final class ProbPoint implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         public ProbPoint(double v, double p) {
             if ((p < 0.0) || (p > 1.0)) {
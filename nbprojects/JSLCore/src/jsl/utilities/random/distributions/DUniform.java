@@ -42,6 +42,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class DUniform extends Distribution implements DiscreteDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     // private data members
     private int myMinimum;
 
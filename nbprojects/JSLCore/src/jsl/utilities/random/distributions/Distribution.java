@@ -57,6 +57,8 @@ import jsl.utilities.rootfinding.Interval;
  */
 public abstract class Distribution extends AbstractRandom implements DistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private static BisectionRootFinder myRootFinder;
 
     private static Interval myInterval;
@@ -42,6 +42,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class Exponential extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private double myMean;
 
     /** Constructs a exponential random variable with mean 1.0
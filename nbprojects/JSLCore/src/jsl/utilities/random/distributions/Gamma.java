@@ -45,6 +45,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class Gamma extends Distribution implements ContinuousDistributionIfc, LossFunctionDistributionIfc, InverseCDFIfc{
 
+    private static final long serialVersionUID = 1L;
+
     public final static int DEFAULT_MAX_ITERATIONS = 5000;
 
     private double myShape; // alpha
@@ -46,6 +46,8 @@ import jsl.utilities.random.rng.RngIfc;
 public class Geometric extends Distribution implements DiscreteDistributionIfc,
         LossFunctionDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      *  The probability of success on a trial
      */
@@ -46,6 +46,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class JohnsonB extends AbstractRandom {
 
+    private static final long serialVersionUID = 1L;
+
     private double myAlpha1;
 
     private double myAlpha2;
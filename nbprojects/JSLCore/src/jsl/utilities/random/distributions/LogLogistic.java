@@ -44,6 +44,8 @@ import jsl.utilities.statistic.Statistic;
  */
 public class LogLogistic extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private double myShape; // alpha
 
     private double myScale;  // beta
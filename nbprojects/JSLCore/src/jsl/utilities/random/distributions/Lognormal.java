@@ -43,6 +43,8 @@ import jsl.utilities.random.rng.RngIfc;
 public class Lognormal extends Distribution implements ContinuousDistributionIfc,
         LossFunctionDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private double myMean;
 
     private double myVar;
@@ -43,6 +43,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class MTP extends Distribution implements LossFunctionDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     protected double myMixProb1;
 
     protected double myMixProb2;
@@ -45,6 +45,8 @@ import jsl.utilities.random.rng.RngIfc;
 public class NegativeBinomial extends Distribution implements DiscreteDistributionIfc,
         LossFunctionDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** the probability of success, p
      */
     private double myProbSuccess;
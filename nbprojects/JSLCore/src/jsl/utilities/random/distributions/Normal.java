@@ -41,6 +41,9 @@ import jsl.utilities.random.rng.RngIfc;
  *
  */
 public class Normal extends Distribution implements ContinuousDistributionIfc, LossFunctionDistributionIfc, InverseCDFIfc {
+
+    private static final long serialVersionUID = 1L;
+
     // private attributes
 
     private double myMean;
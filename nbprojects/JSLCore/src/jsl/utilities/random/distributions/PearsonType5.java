@@ -44,6 +44,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class PearsonType5 extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private double myShape;
 
     private double myScale;
@@ -44,6 +44,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class PearsonType6 extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private double myAlpha1;
 
     private double myAlpha2;
@@ -44,6 +44,8 @@ import jsl.utilities.random.rng.RngIfc;
 public class Poisson extends Distribution implements DiscreteDistributionIfc,
         LossFunctionDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** Used in the calculation of the incomplete gamma function
      *
      */
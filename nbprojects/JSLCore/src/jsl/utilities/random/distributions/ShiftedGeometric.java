@@ -44,6 +44,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class ShiftedGeometric extends Distribution implements DiscreteDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      *  The probability of success on a trial
      */
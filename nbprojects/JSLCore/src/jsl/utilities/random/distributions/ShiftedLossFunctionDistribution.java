@@ -43,6 +43,8 @@ import jsl.utilities.random.rng.RngIfc;
 public class ShiftedLossFunctionDistribution extends ShiftedDistribution
         implements LossFunctionDistributionIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * @param distribution
      * @param shift
@@ -22,6 +22,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class StudentT extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /** A default instance for easily computing Student-T values
      * 
      */
@@ -41,6 +41,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class Triangular extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * myMin the minimum value of the distribution
      */
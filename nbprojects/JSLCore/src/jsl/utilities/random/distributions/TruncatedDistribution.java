@@ -40,6 +40,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class TruncatedDistribution extends Distribution {
 
+    private static final long serialVersionUID = 1L;
+
     protected DistributionIfc myDistribution;
 
     protected double myLowerLimit;
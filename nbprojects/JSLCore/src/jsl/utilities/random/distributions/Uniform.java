@@ -41,6 +41,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class Uniform extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private double myMin;
 
     private double myMax;
@@ -13,6 +13,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class VConstant extends Constant {
 
+    private static final long serialVersionUID = 1L;
+
     public VConstant(double value, RngIfc rng) {
         super(value, rng);
     }
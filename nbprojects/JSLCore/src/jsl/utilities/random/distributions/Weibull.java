@@ -41,6 +41,8 @@ import jsl.utilities.random.rng.RngIfc;
  */
 public class Weibull extends Distribution implements ContinuousDistributionIfc, InverseCDFIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private double myShape; // alpha
 
     private double myScale;  // beta
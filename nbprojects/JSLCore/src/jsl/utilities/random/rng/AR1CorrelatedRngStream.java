@@ -33,6 +33,7 @@
  */
 package jsl.utilities.random.rng;
 
+import java.io.Serializable;
 import jsl.utilities.random.ar.AR1Normal;
 import jsl.utilities.random.distributions.Normal;
 
@@ -44,7 +45,9 @@ import jsl.utilities.random.distributions.Normal;
  *   the correlation matching problem.
  *
  */
-public class AR1CorrelatedRngStream implements RngIfc {
+public class AR1CorrelatedRngStream implements RngIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private AR1Normal myAR1;
 
@@ -36,6 +36,7 @@
  */
 package jsl.utilities.random.rng;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -50,7 +51,9 @@ import jsl.utilities.random.rng.RNStreamFactory.RNStream;
  *
  * @author rossetti
  */
-public class RNGStreamManager implements RandomStreamManagerIfc {
+public class RNGStreamManager implements RandomStreamManagerIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** Holds the streams
      */
@@ -30,10 +30,13 @@
  */
 package jsl.utilities.random.rng;
 
+import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import jsl.utilities.Identity;
 import jsl.utilities.IdentityIfc;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.math.JSLMath;
 import jsl.utilities.reporting.JSL;
 
@@ -70,6 +73,8 @@ import jsl.utilities.reporting.JSL;
  */
 public class RNStreamFactory extends Identity {
 
+    private static final long serialVersionUID = 1L;
+
     private static RNStream DEFAULT_RNG;
 
     private static RNStreamFactory DefaultFactory = new RNStreamFactory("Default");
@@ -79,7 +84,7 @@ public class RNStreamFactory extends Identity {
     /**
      * A counter to count the number of created streams
      */
-    private static int myStreamCounter_ = 0;
+    private static final AtomicInteger myStreamCounter_ = new AtomicInteger();
 
     private final double a12 = 1403580.0;
 
@@ -196,11 +201,17 @@ public class RNStreamFactory extends Identity {
     }
 
     /**
-     * Returns a reference to a "global" stream factory
+     * Returns a reference to a "global" stream factory. If a
+     * SimulationContext is bound to the calling thread, the context's factory
+     * is returned.
      *
      * @return
      */
     public static final RNStreamFactory getDefault() {
+        SimulationContext context = SimulationContext.getCurrent();
+        if (context != null) {
+            return context.getStreamFactory();
+        }
         return DefaultFactory;
     }
 
@@ -217,11 +228,16 @@ public class RNStreamFactory extends Identity {
     }
 
     /**
-     * Returns a global default stream
+     * Returns a global default stream. If a SimulationContext is bound to the
+     * calling thread, the context's default stream is returned.
      *
      * @return
      */
     public final static RNStream getDefaultStream() {
+        SimulationContext context = SimulationContext.getCurrent();
+        if (context != null) {
+            return context.getDefaultStream();
+        }
         if (DEFAULT_RNG == null) {
             DEFAULT_RNG = getDefault().getStream();
         }
@@ -266,15 +282,8 @@ public class RNStreamFactory extends Identity {
      */
     public final void advanceSeeds(int n) {
         for (int k = 1; k <= n; k++) {
-            matVecModM(A1p127, nextSeed, nextSeed, m1);
-            double temp[] = new double[3];
-            for (int i = 0; i < 3; ++i) {
-                temp[i] = nextSeed[i + 3];
-            }
-            matVecModM(A2p127, temp, temp, m2);
-            for (int i = 0; i < 3; ++i) {
-                nextSeed[i + 3] = temp[i];
-            }
+            matVecModM(A1p127, nextSeed, 0, m1);
+            matVecModM(A2p127, nextSeed, 3, m2);
         }
     }
 
@@ -329,6 +338,23 @@ public class RNStreamFactory extends Identity {
         }
     }
 
+    /* Sets v[k..k+2] = A*v[k..k+2] MOD m, without creating any arrays. */
+ /* Assumes that -m < v[i] < m.                                        */
+    private void matVecModM(double A[][], double v[], int k, double m) {
+        double x0 = multModM(A[0][0], v[k], 0.0, m);
+        x0 = multModM(A[0][1], v[k + 1], x0, m);
+        x0 = multModM(A[0][2], v[k + 2], x0, m);
+        double x1 = multModM(A[1][0], v[k], 0.0, m);
+        x1 = multModM(A[1][1], v[k + 1], x1, m);
+        x1 = multModM(A[1][2], v[k + 2], x1, m);
+        double x2 = multModM(A[2][0], v[k], 0.0, m);
+        x2 = multModM(A[2][1], v[k + 1], x2, m);
+        x2 = multModM(A[2][2], v[k + 2], x2, m);
+        v[k] = x0;
+        v[k + 1] = x1;
+        v[k + 2] = x2;
+    }
+
     /* Returns C = A*B MOD m */
  /* Note: work even if A = C or B = C or A = B = C.         */
     private void matMatModM(double A[][], double B[][], double C[][], double m) {
@@ -560,7 +586,9 @@ public class RNStreamFactory extends Identity {
      *
      */
     public class RNStream implements RngIfc, IdentityIfc,
-            GetStreamCloneIfc, GetAntitheticStreamIfc {
+            GetStreamCloneIfc, GetAntitheticStreamIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         /**
          * Describes the stream (for writing the state, error messages, etc.).
@@ -620,8 +648,7 @@ public class RNStreamFactory extends Identity {
          * @param name
          */
         private RNStream(String name) {
-            myStreamCounter_ = myStreamCounter_ + 1;
-            myId = myStreamCounter_;
+            myId = SimulationContext.nextId(RNStream.class, myStreamCounter_);
             setName(name);
             anti = false;
             prec53 = false;
@@ -780,17 +807,10 @@ public class RNStreamFactory extends Identity {
          */
         @Override
         public final void advanceToNextSubstream() {
-            int i;
-            matVecModM(A1p76, Bg, Bg, m1);
-            double temp[] = new double[3];
-            for (i = 0; i < 3; ++i) {
-                temp[i] = Bg[i + 3];
-            }
-            matVecModM(A2p76, temp, temp, m2);
-            for (i = 0; i < 3; ++i) {
-                Bg[i + 3] = temp[i];
-            }
-            for (i = 0; i < 6; ++i) {
+            // in place, so that advancing every replication creates no garbage
+            matVecModM(A1p76, Bg, 0, m1);
+            matVecModM(A2p76, Bg, 3, m2);
+            for (int i = 0; i < 6; ++i) {
                 Cg[i] = Bg[i];
             }
         }
@@ -864,15 +884,8 @@ public class RNStreamFactory extends Identity {
                 matMatModM(B2, C2, C2, m2);
             }
 
-            matVecModM(C1, Cg, Cg, m1);
-            double[] cg3 = new double[3];
-            for (int i = 0; i < 3; i++) {
-                cg3[i] = Cg[i + 3];
-            }
-            matVecModM(C2, cg3, cg3, m2);
-            for (int i = 0; i < 3; i++) {
-                Cg[i + 3] = cg3[i];
-            }
+            matVecModM(C1, Cg, 0, m1);
+            matVecModM(C2, Cg, 3, m2);
         }
 
         /**
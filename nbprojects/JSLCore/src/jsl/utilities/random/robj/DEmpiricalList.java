@@ -33,6 +33,7 @@
  */
 package jsl.utilities.random.robj;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -44,7 +45,9 @@ import jsl.utilities.random.distributions.DEmpiricalPMF;
 import jsl.utilities.random.rng.RNStreamFactory;
 import jsl.utilities.random.rng.RngIfc;
 
-public class DEmpiricalList<T> implements RElementIfc<T> {
+public class DEmpiricalList<T> implements RElementIfc<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     protected List<T> myElements;
 
@@ -34,10 +34,13 @@
  */
 package jsl.utilities.random.robj;
 
+import java.io.Serializable;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jsl.utilities.ControllableIfc;
 import jsl.utilities.Controls;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.random.RandomIfc;
 import jsl.utilities.random.SampleIfc;
 import jsl.utilities.random.rng.RNStreamFactory;
@@ -47,11 +50,13 @@ import jsl.utilities.random.rng.RngIfc;
  * @author rossetti
  *
  */
-public class DPopulation implements RandomIfc, SampleIfc, ControllableIfc {
+public class DPopulation implements RandomIfc, SampleIfc, ControllableIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** A counter to count the number of created to assign "unique" ids
      */
-    private static long myIdCounter_;
+    private static final AtomicLong myIdCounter_ = new AtomicLong();
 
     /** The id of this object
      */
@@ -254,6 +259,8 @@ public class DPopulation implements RandomIfc, SampleIfc, ControllableIfc {
 
     protected class DPopControls extends Controls {
 
+        private static final long serialVersionUID = 1L;
+
         protected DPopControls(ControllableIfc controllable) {
             super(controllable);
             myDoubleArrayControls = new HashMap<String, double[]>();
@@ -380,7 +387,6 @@ public class DPopulation implements RandomIfc, SampleIfc, ControllableIfc {
     }
 
     protected final void setId() {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(DPopulation.class, myIdCounter_);
     }
 }
@@ -38,6 +38,8 @@ import java.util.Map;
 
 public class DUniformList<T> extends RList<T> {
 
+    private static final long serialVersionUID = 1L;
+
     public DUniformList() {
         super();
     }
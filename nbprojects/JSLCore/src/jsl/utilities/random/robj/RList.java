@@ -33,6 +33,7 @@
  */
 package jsl.utilities.random.robj;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -43,7 +44,9 @@ import jsl.utilities.random.rng.RNStreamFactory;
 
 import jsl.utilities.random.rng.RngIfc;
 
-abstract public class RList<T> implements RListIfc<T> {
+abstract public class RList<T> implements RListIfc<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     protected List<T> myElements;
 
@@ -48,6 +48,8 @@ import jsl.utilities.statistic.Statistic;
  */
 public class BatchOnOffProcess extends AbstractRandom {
 
+    private static final long serialVersionUID = 1L;
+
     /** BUSY means that the process can be non-zero for a slot
      *  IDLE means that the process is zero for a slot
      *
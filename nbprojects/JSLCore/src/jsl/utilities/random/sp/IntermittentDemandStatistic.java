@@ -7,8 +7,10 @@ package jsl.utilities.random.sp;
 import jsl.utilities.DataSource;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jsl.utilities.IdentityIfc;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.statistic.Interval;
 import jsl.utilities.statistic.Statistic;
 import jsl.utilities.statistic.StatisticAccessorIfc;
@@ -24,7 +26,7 @@ public class IntermittentDemandStatistic implements StatisticAccessorIfc, Identi
 
     protected String myName;
 
-    private static long myIdCounter_;
+    private static final AtomicLong myIdCounter_ = new AtomicLong();
 
     private double myDemand;
 
@@ -134,8 +136,7 @@ public class IntermittentDemandStatistic implements StatisticAccessorIfc, Identi
     }
 
     protected void setId() {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(IntermittentDemandStatistic.class, myIdCounter_);
     }
 
     public final void setName(String str) {
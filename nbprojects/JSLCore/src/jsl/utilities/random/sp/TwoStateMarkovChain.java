@@ -16,6 +16,8 @@ import jsl.utilities.statistic.Statistic;
  */
 public class TwoStateMarkovChain extends AbstractRandom implements TwoStateMarkovChainIfc {
 
+    private static final long serialVersionUID = 1L;
+
     private double myP1;
 
     private double myP0;
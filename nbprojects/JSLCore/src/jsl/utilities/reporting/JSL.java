@@ -35,8 +35,10 @@ package jsl.utilities.reporting;
 
 import java.awt.Desktop;
 import java.io.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.*;
 import javax.swing.JOptionPane;
+import jsl.utilities.SimulationContext;
 
 /** This class provides basic ability to create and write out to text files.
  *  It also provides a basic Logger.
@@ -52,11 +54,11 @@ import javax.swing.JOptionPane;
  */
 public class JSL {
 
-    /** Used to assign unique enum constants
+    /** Used to assign unique enum constants, these are JVM wide
      */
-    private static int myEnumCounter_;
+    private static final AtomicInteger myEnumCounter_ = new AtomicInteger();
 
-    private static int myFileCounter_;
+    private static final AtomicInteger myFileCounter_ = new AtomicInteger();
 
     /** for logging
      */
@@ -124,7 +126,7 @@ public class JSL {
      * @return the constant
      */
     public static int getNextEnumConstant() {
-        return (++myEnumCounter_);
+        return myEnumCounter_.incrementAndGet();
     }
 
     /** Converts an integer to a string with a
@@ -195,6 +197,22 @@ public class JSL {
         return format(s, w);
     }
 
+    /** Returns the directory used for output files when no directory is
+     *  supplied. This is the output directory of the SimulationContext bound
+     *  to the calling thread, or jslOutput if no context is bound.
+     *
+     * @return the directory, which is created if it does not exist
+     */
+    public static File getDefaultOutputDirectory() {
+        SimulationContext context = SimulationContext.getCurrent();
+        if (context != null) {
+            return context.getOutputDirectory();
+        }
+        File d = new File("jslOutput");
+        d.mkdir();
+        return d;
+    }
+
     /** Creates a PrintWriter in the jslOutput directory for use with a particular extension
      *
      * @param fileName
@@ -202,7 +220,7 @@ public class JSL {
      * @return
      */
     public static PrintWriter makePrintWriter(String fileName, String ext) {
-        return makePrintWriter("jslOutput", fileName, ext);
+        return makePrintWriter(getDefaultOutputDirectory(), fileName, ext);
     }
 
     /** Creates a PrintWriter for use with a particular extension
@@ -253,7 +271,7 @@ public class JSL {
      * @return a File reference to the file
      */
     public static File makeFile(String fileName, String ext) {
-        return makeFile("jslOutput", fileName, ext);
+        return makeFile(getDefaultOutputDirectory(), fileName, ext);
     }
 
     /** Makes a directory with the given name and a file with the extension
@@ -266,7 +284,7 @@ public class JSL {
      */
     public static File makeFile(String directory, String fileName, String ext) {
         if (directory == null) {
-            directory = "jslOutput";
+            return makeFile(getDefaultOutputDirectory(), fileName, ext);
         }
         File d = new File(directory);
         d.mkdir();
@@ -284,8 +302,7 @@ public class JSL {
      */
     public static File makeFile(File directory, String fileName, String ext) {
         if (directory == null) {
-            directory = new File("jslOutput");
-            directory.mkdir();
+            directory = getDefaultOutputDirectory();
         }
         File f = new File(directory, makeFileName(fileName, ext));
         return f;
@@ -297,7 +314,7 @@ public class JSL {
      * @return
      */
     public static File makeOutputSubDirectory(String directory) {
-        File d = new File("jslOutput" + File.separator + directory);
+        File d = new File(getDefaultOutputDirectory(), directory);
         d.mkdir();
         return d;
     }
@@ -329,8 +346,7 @@ public class JSL {
      */
     public static String makeFileName(String name, String ext) {
         if (name == null) {
-            myFileCounter_ = myFileCounter_ + 1;
-            name = "Temp" + myFileCounter_;
+            name = "Temp" + SimulationContext.nextId(JSL.class, myFileCounter_);
         }
 
         if (ext == null) {
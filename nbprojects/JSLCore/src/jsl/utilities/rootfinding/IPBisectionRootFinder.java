@@ -43,6 +43,8 @@ import jsl.utilities.math.JSLMath;
  */
 public class IPBisectionRootFinder extends IPRootFinder {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Value at which the function's value is negative.
      */
@@ -9,6 +9,8 @@ import jsl.utilities.math.JSLMath;
 
 public abstract class IPRootFinder extends IterativeProcess<RootFinderStep> {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Function for which the zero should be found.
      */
@@ -62,6 +62,8 @@ import jsl.utilities.math.JSLMath;
  */
 public class StochasticApproximationRootFinder extends IPRootFinder {
 
+	private static final long serialVersionUID = 1L;
+
 	public static final double DEFAULT_PREC = 0.0001;
 	
 	public static final double DEFAULT_ALPHA = 0.7;
@@ -33,7 +33,11 @@
  */
 package jsl.utilities.statistic;
 
+import java.io.Serializable;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicLong;
 import jsl.utilities.GetValueIfc;
+import jsl.utilities.SimulationContext;
 
 /**
  * An abstract base class for building sub-classes that implement the
@@ -42,12 +46,14 @@ import jsl.utilities.GetValueIfc;
  * @author rossetti
  *
  */
-public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
+public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * A counter to count the number of created to assign "unique" ids
      */
-    private static long myIdCounter_;
+    private static final AtomicLong myIdCounter_ = new AtomicLong();
 
     /**
      * The id of this object
@@ -60,27 +66,28 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
     protected String myName;
 
     /**
-     * The array to collect the data if the saved flag is true If the statistic
-     * is reset and data was saved, this array should be cleared (as if no data
+     * Holds the data and weights if the saved flag is true. If the statistic
+     * is reset and data was saved, the store should be cleared (as if no data
      * had been collected). Sub-classes should use the protected method
      * clearSavedData() within their implementations of the abstract reset()
      * method
      *
      */
-    protected double[] myData;
+    protected SavedDataStore mySavedData;
 
     /**
-     * Used to set the array size increment when the collect data option is
-     * turned on
+     * Used to set the size of the first chunk of the saved data when the
+     * collect data option is turned on
      *
      */
     protected int myDataArraySize = DEFAULT_DATA_ARRAY_SIZE;
 
     /**
-     * Counts the number of data points that were saved to the save array
+     * The number of data points held in memory before the saved data is
+     * spilled to a file
      *
      */
-    protected int mySaveCount = 0;
+    protected long mySaveDataSpillThreshold = Long.MAX_VALUE;
 
     /**
      * A flag to indicate whether or not the statistic should save the data as
@@ -92,12 +99,6 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
      */
     protected boolean mySaveDataFlag = false;
 
-    /**
-     * The weights associated with each saved data point
-     *
-     */
-    protected double[] myWeights;
-
     /**
      * The flag that indicates if collection will continue
      *
@@ -205,8 +206,16 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
         return collect(value, 1.0);
     }
 
+    /**
+     * Collects each value in order, with weight 1.0. Sub-classes may override
+     * this with a specialized loop, provided that the result is the same as
+     * collecting the values one at a time.
+     *
+     * @param values the values to collect
+     * @return false if collection was turned off while collecting
+     */
     @Override
-    public final boolean collect(double[] values) {
+    public boolean collect(double[] values) {
         boolean b = true;
         for (double x : values) {
             b = collect(x);
@@ -217,8 +226,17 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
         return b;
     }
 
+    /**
+     * Collects each value and weight in order. Sub-classes may override this
+     * with a specialized loop, provided that the result is the same as
+     * collecting the values one at a time.
+     *
+     * @param x the values to collect
+     * @param w the weights, must be the same length as x
+     * @return false if collection was turned off while collecting
+     */
     @Override
-    public final boolean collect(double[] x, double[] w) {
+    public boolean collect(double[] x, double[] w) {
         if (x.length != w.length) {
             throw new IllegalArgumentException("The supplied arrays are not of equal length");
         }
@@ -239,8 +257,7 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
     abstract public void reset();
 
     protected void setId() {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(AbstractCollector.class, myIdCounter_);
     }
 
     /**
@@ -248,12 +265,11 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
      *
      */
     protected void clearSavedData() {
-        if (myData == null) {
+        if (mySavedData == null) {
             return;
         }
-        myData = null;
-        myWeights = null;
-        mySaveCount = 0;
+        mySavedData.close();
+        mySavedData = null;
     }
 
     @Override
@@ -263,48 +279,92 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
 
     @Override
     public double[] getSavedData() {
-        if (myData == null) {
+        if (mySavedData == null) {
             return null;
         }
-        double[] tmp = new double[mySaveCount];
-        System.arraycopy(myData, 0, tmp, 0, mySaveCount);
-        return tmp;
+        return mySavedData.getValues();
     }
 
     @Override
     public double[] getSavedWeights() {
-        if (myWeights == null) {
+        if (mySavedData == null) {
             return null;
         }
-        double[] tmp = new double[mySaveCount];
-        System.arraycopy(myWeights, 0, tmp, 0, mySaveCount);
-        return tmp;
+        return mySavedData.getWeights();
+    }
+
+    @Override
+    public long getSavedDataCount() {
+        if (mySavedData == null) {
+            return 0;
+        }
+        return mySavedData.size();
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble getSavedDataIterator() {
+        if (mySavedData == null) {
+            return SavedDataStore.EMPTY_ITERATOR;
+        }
+        return mySavedData.valueIterator();
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble getSavedWeightsIterator() {
+        if (mySavedData == null) {
+            return SavedDataStore.EMPTY_ITERATOR;
+        }
+        return mySavedData.weightIterator();
     }
 
     /**
-     * Used to save data to an array during collection
+     * The saved data, formerly the protected field myData
+     *
+     * @return a copy of the saved data, null if no data were saved
+     * @deprecated the saved data is held in mySavedData, use getSavedData()
+     * or getSavedDataIterator()
+     */
+    @Deprecated
+    protected double[] getMyData() {
+        return getSavedData();
+    }
+
+    /**
+     * The saved weights, formerly the protected field myWeights
+     *
+     * @return a copy of the saved weights, null if no data were saved
+     * @deprecated the saved weights are held in mySavedData, use
+     * getSavedWeights() or getSavedWeightsIterator()
+     */
+    @Deprecated
+    protected double[] getMyWeights() {
+        return getSavedWeights();
+    }
+
+    /**
+     * The number of saved data points, formerly the protected field
+     * mySaveCount
+     *
+     * @return the number of saved data points
+     * @deprecated use getSavedDataCount()
+     */
+    @Deprecated
+    protected int getMySaveCount() {
+        return (int) Math.min(getSavedDataCount(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Used to save data during collection
      *
      * @param x
      * @param w
      */
     protected void saveData(double x, double w) {
-        if (myData == null) {
-            myData = new double[myDataArraySize];
-            myWeights = new double[myDataArraySize];
-        }
-        // need to save x into the array
-        mySaveCount++;
-        if (mySaveCount > myData.length) {
-            // need to grow the array
-            double[] tmp = new double[myData.length + myDataArraySize];
-            double[] tmp2 = new double[myData.length + myDataArraySize];
-            System.arraycopy(myData, 0, tmp, 0, myData.length);
-            System.arraycopy(myWeights, 0, tmp2, 0, myData.length);
-            myData = tmp;
-            myWeights = tmp2;
+        if (mySavedData == null) {
+            mySavedData = new SavedDataStore(myDataArraySize);
+            mySavedData.setSpillThreshold(mySaveDataSpillThreshold);
         }
-        myData[mySaveCount - 1] = x;
-        myWeights[mySaveCount - 1] = w;
+        mySavedData.add(x, w);
     }
 
     @Override
@@ -315,6 +375,22 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
         myDataArraySize = n;
     }
 
+    @Override
+    public long getSaveDataSpillThreshold() {
+        return mySaveDataSpillThreshold;
+    }
+
+    @Override
+    public void setSaveDataSpillThreshold(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("The spill threshold must be >= 0");
+        }
+        mySaveDataSpillThreshold = n;
+        if (mySavedData != null) {
+            mySavedData.setSpillThreshold(n);
+        }
+    }
+
     @Override
     public void setSaveDataOption(boolean flag) {
         mySaveDataFlag = flag;
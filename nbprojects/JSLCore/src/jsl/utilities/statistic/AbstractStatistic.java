@@ -46,6 +46,8 @@ import java.util.Map;
 abstract public class AbstractStatistic extends AbstractCollector
         implements StatisticAccessorIfc, GetCSVStatisticIfc, Comparable<AbstractStatistic> {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * the default confidence level
      */
@@ -59,6 +59,8 @@ package jsl.utilities.statistic;
  */
 public class BatchStatistic extends AbstractStatistic {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * the default minimum number of batches
      */
@@ -468,38 +470,173 @@ public class BatchStatistic extends AbstractStatistic {
      *
      */
     private boolean collectBatch() {
+        // record the average of the batch
+        double x = myStatistic.getWeightedAverage();
+        // reset the within batch statistic for next batch
+        myStatistic.reset();
+        return collectBatchMean(x);
+    }
+
+    /**
+     * Records a batch mean for a batch of the current batch size
+     *
+     * @param x the batch mean
+     * @return the result of collecting the batch mean across the batches
+     */
+    private boolean collectBatchMean(double x) {
         boolean b = true;
         // increment the current number of batches
         myNumBatches = myNumBatches + 1;
-        // record the average of the batch
-        bm[myNumBatches] = myStatistic.getWeightedAverage();
+        bm[myNumBatches] = x;
         // collect running statistics on the batches
         b = myBMStatistic.collect(bm[myNumBatches]);
-        // reset the within batch statistic for next batch
-        myStatistic.reset();
         // if the number of batches has reached the maximum then rebatch down to
         // min number of batches
         if (myNumBatches == myMaxNumBatches) {
-            myNumRebatches++;
-            myCurrentBatchSize = myCurrentBatchSize * myMaxNumBatchesMultiple;
-            int j = 0; // within batch counter
-            int k = 0; // batch counter
-            myBMStatistic.reset(); // clear for collection across new batches
-            // loop through all the batches
-            for (int i = 1; i <= myNumBatches; i++) {
-                myStatistic.collect(bm[i]); // collect across batches old batches
-                j++;
-                if (j == myMaxNumBatchesMultiple) { // have enough for a batch
-                    //collect new batch average
-                    b = myBMStatistic.collect(myStatistic.getAverage());
-                    k++; //count the batches
-                    bm[k] = myStatistic.getAverage(); // save the new batch average
-                    myStatistic.reset(); // reset for next batch
-                    j = 0;
+            b = increaseBatchSize();
+        }
+        return b;
+    }
+
+    /**
+     * Multiplies the current batch size by the maximum number of batches
+     * multiple and rebatches the batch means to the new batch size. Batch
+     * means that do not complete a new batch are placed in the current
+     * batch, ahead of its observations.
+     *
+     * @return the result of collecting the last batch mean
+     */
+    private boolean increaseBatchSize() {
+        boolean b = true;
+        int size = myCurrentBatchSize;
+        Statistic current = myStatistic.newInstance();
+        myNumRebatches++;
+        myCurrentBatchSize = myCurrentBatchSize * myMaxNumBatchesMultiple;
+        int j = 0; // within batch counter
+        int k = 0; // batch counter
+        myStatistic.reset();
+        myBMStatistic.reset(); // clear for collection across new batches
+        // loop through all the batches
+        for (int i = 1; i <= myNumBatches; i++) {
+            myStatistic.collect(bm[i]); // collect across batches old batches
+            j++;
+            if (j == myMaxNumBatchesMultiple) { // have enough for a batch
+                //collect new batch average
+                b = myBMStatistic.collect(myStatistic.getAverage());
+                k++; //count the batches
+                bm[k] = myStatistic.getAverage(); // save the new batch average
+                myStatistic.reset(); // reset for next batch
+                j = 0;
+            }
+        }
+        myNumBatches = k; // k should be minNumBatches
+        Statistic leftOver = newPartialBatch(myStatistic.getAverage(), j * size);
+        myStatistic.reset(); //reset for use with new data
+        myStatistic.merge(leftOver);
+        myStatistic.merge(current);
+        return b;
+    }
+
+    /**
+     * Returns a Statistic for a partial batch of n observations that are
+     * represented by their average
+     *
+     * @param average the average of the observations
+     * @param n the number of observations
+     * @return the statistic, empty if n is zero
+     */
+    private static Statistic newPartialBatch(double average, double n) {
+        Statistic s = new Statistic();
+        if (n > 0.0) {
+            s.num = n;
+            s.moments[0] = n;
+            s.moments[1] = average;
+            s.sumw = n;
+            s.wsum = n * average;
+            s.wsumsq = n * average * average;
+            s.myJsum = average * n * (n + 1.0) / 2.0;
+            s.sumxx = (n - 1.0) * average * average;
+            s.min = average;
+            s.max = average;
+            s.firstx = average;
+            s.myValue = average;
+            s.myWeight = 1.0;
+        }
+        return s;
+    }
+
+    /**
+     * Combines the batches of the supplied BatchStatistic into this
+     * BatchStatistic, so that BatchStatistics that were collected
+     * separately, e.g. by different threads, can be reduced to one
+     * BatchStatistic. The batch statistics must have the same batching
+     * parameters.
+     *
+     * The batches of the one with the smaller batch size are rebatched to the
+     * larger batch size and the batch means of the supplied BatchStatistic
+     * are added after the batch means of this BatchStatistic. The current
+     * (incomplete) batches of the two are combined into the current batch,
+     * which is collected as a batch if it is then complete. Saved data is not
+     * combined and the supplied BatchStatistic is not changed.
+     *
+     * If this BatchStatistic has an incomplete batch, its observations are
+     * batched with the last observations of the supplied BatchStatistic, not
+     * with its first observations as when all the observations are collected
+     * by one BatchStatistic. Thus, the batch means, and the statistics across
+     * the batch means, are then an approximation of those of collecting all
+     * of the observations in order. They are the same if the number of
+     * observations of this BatchStatistic is a multiple of the batch size.
+     *
+     * As with collect(), the batch means are collected subject to the
+     * collection rule. If this BatchStatistic is turned off, nothing is
+     * combined.
+     *
+     * @param bStat the batch statistic to combine into this batch statistic,
+     * must not be null
+     * @return false if this BatchStatistic is turned off or the collection
+     * rule turned off the collection of the batch means
+     */
+    public final boolean merge(BatchStatistic bStat) {
+        if (bStat == null) {
+            throw new IllegalArgumentException("The supplied BatchStatistic was null");
+        }
+        if ((bStat.myMinNumBatches != myMinNumBatches)
+                || (bStat.myMinBatchSize != myMinBatchSize)
+                || (bStat.myMaxNumBatchesMultiple != myMaxNumBatchesMultiple)) {
+            throw new IllegalArgumentException("The supplied BatchStatistic has different batching parameters");
+        }
+        if (isTurnedOff()) {
+            return false;
+        }
+        boolean b = true;
+        BatchStatistic other = newInstance(bStat);
+        while (myCurrentBatchSize < other.myCurrentBatchSize) {
+            b = increaseBatchSize() && b;
+        }
+        // group the other batch means into batches of the current size
+        Statistic group = new Statistic();
+        for (int i = 1; i <= other.myNumBatches; i++) {
+            if (group.getCount() == 0.0 && myCurrentBatchSize == other.myCurrentBatchSize) {
+                b = collectBatchMean(other.bm[i]) && b;
+            } else {
+                group.collect(other.bm[i]);
+                if (group.getCount() * other.myCurrentBatchSize == myCurrentBatchSize) {
+                    b = collectBatchMean(group.getAverage()) && b;
+                    group.reset();
                 }
             }
-            myNumBatches = k; // k should be minNumBatches
-            myStatistic.reset(); //reset for use with new data
+        }
+        myStatistic.merge(newPartialBatch(group.getAverage(),
+                group.getCount() * other.myCurrentBatchSize));
+        myStatistic.merge(other.myStatistic);
+        myTotNumObs = myTotNumObs + other.myTotNumObs;
+        myNumMissing = myNumMissing + bStat.myNumMissing;
+        if (other.myTotNumObs > 0.0) {
+            myValue = other.myValue;
+            myWeight = other.myWeight;
+        }
+        if (myStatistic.getCount() >= myCurrentBatchSize) {
+            b = collectBatch() && b;
         }
         return b;
     }
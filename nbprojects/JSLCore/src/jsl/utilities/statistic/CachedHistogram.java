@@ -49,6 +49,8 @@ import jsl.utilities.random.distributions.Normal;
  */
 public class CachedHistogram extends AbstractStatistic {
 
+    private static final long serialVersionUID = 1L;
+
     public static final int DEFAULT_CACHE_SIZE = 100;
 
     /**
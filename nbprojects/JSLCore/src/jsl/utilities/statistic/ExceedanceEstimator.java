@@ -15,6 +15,8 @@ import jsl.utilities.random.distributions.Uniform;
  */
 public class ExceedanceEstimator extends AbstractCollector {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * The thresholds for the exceedance estimates
      *
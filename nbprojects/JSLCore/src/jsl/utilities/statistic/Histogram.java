@@ -46,6 +46,13 @@ import jsl.utilities.math.*;
  */
 public class Histogram extends AbstractStatistic {
 
+    private static final long serialVersionUID = 1L;
+
+    /** The maximum number of values that collect(double[]) passes to the
+     *  Statistic at a time
+     */
+    private static final int CHUNK_SIZE = 256;
+
     /** The number of bins for the histogram
      */
     protected int myNumBins;
@@ -239,6 +246,86 @@ public class Histogram extends AbstractStatistic {
         return true;
     }
 
+    /** Tabulates the values in a single loop and collects the values
+     *  within the bins in chunks with the bulk collect of the Statistic,
+     *  instead of collecting the values one at a time. The result is the
+     *  same. Uses the scalar collect() if the data is saved or this is an
+     *  instance of a subclass, which may override the scalar collect().
+     *
+     * @param values the values to collect
+     * @return false if collection is turned off
+     */
+    @Override
+    public boolean collect(double[] values) {
+        if (isTurnedOff() || getSaveDataOption() || getClass() != Histogram.class) {
+            return super.collect(values);
+        }
+        collectInBulk(values, null);
+        return true;
+    }
+
+    /** Tabulates the values in a single loop and collects the values
+     *  within the bins in chunks with the bulk collect of the Statistic,
+     *  instead of collecting the values one at a time. The result is the
+     *  same. Uses the scalar collect() if the data is saved or this is an
+     *  instance of a subclass, which may override the scalar collect().
+     *
+     * @param x the values to collect
+     * @param w the weights, must be the same length as x
+     * @return false if collection is turned off
+     */
+    @Override
+    public boolean collect(double[] x, double[] w) {
+        if (x.length != w.length) {
+            throw new IllegalArgumentException("The supplied arrays are not of equal length");
+        }
+        if (isTurnedOff() || getSaveDataOption() || getClass() != Histogram.class) {
+            return super.collect(x, w);
+        }
+        collectInBulk(x, w);
+        return true;
+    }
+
+    /** Performs the tabulation of collect(x, weight) for each value. The
+     *  values within the bins are passed to the Statistic in chunks of at
+     *  most CHUNK_SIZE values.
+     *
+     * @param x the values
+     * @param w the weights, null means 1.0
+     */
+    private void collectInBulk(double[] x, double[] w) {
+        int size = Math.min(x.length, CHUNK_SIZE);
+        double[] inX = new double[size];
+        double[] inW = new double[size];
+        int k = 0;
+        double ll = myFirstBinLL;
+        double ul = myLastBinUL;
+        double width = myBinWidth;
+        double[] counts = myCountData;
+        for (int i = 0; i < x.length; i++) {
+            double xi = x[i];
+            if (Double.isNaN(xi)) {
+                myNumMissing++;
+            } else if (xi < ll) {
+                myUnderFlowCount++;
+            } else if (xi >= ul) {
+                myOverFlowCount++;
+            } else {
+                counts[(int) Math.floor((xi - ll) / width)]++;
+                inX[k] = xi;
+                inW[k] = (w == null) ? 1.0 : w[i];
+                k++;
+                if (k == size) {
+                    myStatistic.collect(inX, inW, k);
+                    k = 0;
+                }
+            }
+        }
+        if (k > 0) {
+            myStatistic.collect(inX, inW, k);
+        }
+    }
+
     /** computes the zero based bin index for the bin that x falls within
      *
      * @param x
@@ -675,6 +762,32 @@ public class Histogram extends AbstractStatistic {
         return myStatistic.getLeadingDigitRule(a);
     }
 
+    /**
+     * Makes a bin for the histograms of this package that are not a
+     * Histogram, e.g. LogLinearHistogram
+     *
+     * @param lowerLimit the lower limit of the bin
+     * @param upperLimit the upper limit of the bin
+     * @param count the number of observations in the bin
+     * @return the bin
+     */
+    static Bin makeBin(double lowerLimit, double upperLimit, double count) {
+        Bin b = BinOwner.OWNER.new Bin();
+        b.lowerLimit = lowerLimit;
+        b.upperLimit = upperLimit;
+        b.count = count;
+        return (b);
+    }
+
+    /**
+     * Holds the enclosing instance of the bins made by makeBin(), it is
+     * only created if makeBin() is used
+     */
+    private static final class BinOwner {
+
+        static final Histogram OWNER = new Histogram(1, 1.0);
+    }
+
     public class Bin {
 
         double lowerLimit;
@@ -683,6 +796,30 @@ public class Histogram extends AbstractStatistic {
 
         double count;
 
+        /**
+         *
+         * @return the lower limit of the bin, included in the bin
+         */
+        public final double getLowerLimit() {
+            return lowerLimit;
+        }
+
+        /**
+         *
+         * @return the upper limit of the bin, not included in the bin
+         */
+        public final double getUpperLimit() {
+            return upperLimit;
+        }
+
+        /**
+         *
+         * @return the number of observations in the bin
+         */
+        public final double getCount() {
+            return count;
+        }
+
         @Override
         public String toString() {
             String s = "[" + lowerLimit + "," + upperLimit + ") = " + count;
@@ -4,6 +4,7 @@
  */
 package jsl.utilities.statistic;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +29,13 @@ import jsl.utilities.random.distributions.DUniform;
  */
 public class IntegerFrequency extends AbstractStatistic {
 
+    private static final long serialVersionUID = 1L;
+
+    /** The maximum number of values that collect(double[]) passes to the
+     *  Statistic at a time
+     */
+    private static final int CHUNK_SIZE = 256;
+
     /**
      * A Cell represents a value, count pairing
      */
@@ -114,15 +122,97 @@ public class IntegerFrequency extends AbstractStatistic {
         int f = (int) weight;
 
         myStatistic.collect(i, f);
+        tabulate(i, f);
+        return true;
+    }
+
+    /** Tabulates the values in a single loop and collects them in chunks
+     *  with the bulk collect of the Statistic, instead of collecting the
+     *  values one at a time. The result is the same. Uses the scalar
+     *  collect() if the data is saved or this is an instance of a subclass,
+     *  which may override the scalar collect().
+     *
+     * @param values the values to collect
+     * @return false if collection is turned off
+     */
+    @Override
+    public boolean collect(double[] values) {
+        if (isTurnedOff() || getSaveDataOption() || getClass() != IntegerFrequency.class) {
+            return super.collect(values);
+        }
+        collectInBulk(values, null);
+        return true;
+    }
+
+    /** Tabulates the values in a single loop and collects them in chunks
+     *  with the bulk collect of the Statistic, instead of collecting the
+     *  values one at a time. The result is the same. Uses the scalar
+     *  collect() if the data is saved or this is an instance of a subclass,
+     *  which may override the scalar collect().
+     *
+     * @param x the values to collect
+     * @param w the frequencies, must be the same length as x
+     * @return false if collection is turned off
+     */
+    @Override
+    public boolean collect(double[] x, double[] w) {
+        if (x.length != w.length) {
+            throw new IllegalArgumentException("The supplied arrays are not of equal length");
+        }
+        if (isTurnedOff() || getSaveDataOption() || getClass() != IntegerFrequency.class) {
+            return super.collect(x, w);
+        }
+        collectInBulk(x, w);
+        return true;
+    }
+
+    /** Performs the tabulation of collect(x, weight) for each value. The
+     *  values are passed to the Statistic in chunks of at most CHUNK_SIZE
+     *  values.
+     *
+     * @param x the values
+     * @param w the frequencies, null means 1.0
+     */
+    private void collectInBulk(double[] x, double[] w) {
+        int size = Math.min(x.length, CHUNK_SIZE);
+        double[] ix = new double[size];
+        double[] fw = new double[size];
+        int k = 0;
+        for (int j = 0; j < x.length; j++) {
+            if (Double.isNaN(x[j])) {
+                myNumMissing++;
+                continue;
+            }
+            int i = (int) x[j];
+            int f = (w == null) ? 1 : (int) w[j];
+            tabulate(i, f);
+            ix[k] = i;
+            fw[k] = f;
+            k++;
+            if (k == size) {
+                myStatistic.collect(ix, fw, k);
+                k = 0;
+            }
+        }
+        if (k > 0) {
+            myStatistic.collect(ix, fw, k);
+        }
+    }
 
+    /** Counts the frequency f of the integer i
+     *
+     * @param i the integer
+     * @param f the frequency
+     */
+    private void tabulate(int i, int f) {
         if (i < myLowerLimit) {
             myUnderFlowCount = myUnderFlowCount + f;
-            return true;
+            return;
         }
 
         if (i > myUpperLimit) {
             myOverFlowCount = myOverFlowCount + f;
-            return true;
+            return;
         }
 
         // myLowerLimit <= x <= myUpperLimit
@@ -135,7 +225,6 @@ public class IntegerFrequency extends AbstractStatistic {
         } else {
             c.myCount = c.myCount + f;
         }
-        return true;
     }
 
     @Override
@@ -586,7 +675,9 @@ public class IntegerFrequency extends AbstractStatistic {
     /** Holds the values and their counts
      *
      */
-    public class Cell implements Comparable<Cell> {
+    public class Cell implements Comparable<Cell>, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private int myValue;
 
@@ -0,0 +1,601 @@
+/*
+ * Created on Jan 7, 2007
+ * Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+ *
+ * Contact:
+ *	Manuel D. Rossetti, Ph.D., P.E.
+ *	Department of Industrial Engineering
+ *	University of Arkansas
+ *	4207 Bell Engineering Center
+ *	Fayetteville, AR 72701
+ *	Phone: (479) 575-6756
+ *	Email: rossetti@uark.edu
+ *	Web: www.uark.edu/~rossetti
+ *
+ * This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ * of Java classes that permit the easy development and execution of discrete event
+ * simulation programs.
+ *
+ * The JSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * The JSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the JSL (see file COPYING in the distribution);
+ * if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor,
+ * Boston, MA  02110-1301  USA, or see www.fsf.org
+ *
+ */
+package jsl.utilities.statistic;
+
+/**
+ * A LogLinearHistogram forms a histogram of non-negative data without
+ * pre-specifying the bins, in the manner of an HDR histogram. Each power of
+ * two interval, [2^e, 2^(e+1)), within the trackable range is divided into
+ * 2^s bins of equal width, where s is the number of significant bits. The
+ * width of a bin is therefore at most 2^-s times its lower limit, i.e. the
+ * bins have a fixed relative error, and the bin of a value is found in
+ * constant time from the exponent and the leading bits of the mantissa of
+ * the value.
+ *
+ * The memory used is fixed by the trackable range and the number of
+ * significant bits. Values below the lowest trackable value, including
+ * zero, are counted in a zero bin [0, lowest), negative values are counted
+ * as under flow and values at or beyond the highest trackable value are
+ * counted as over flow. The summary statistics are collected on all of the
+ * (non-missing) data.
+ *
+ * LogLinearHistograms with the same bins can be combined with merge(), e.g.
+ * across replications or threads, and the bins can be exported as
+ * Histogram.Bin for reporting.
+ *
+ */
+public class LogLinearHistogram extends AbstractStatistic {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default number of significant bits, the bins are at most 1/128 of
+     * their lower limit wide
+     */
+    public static final int DEFAULT_SIGNIFICANT_BITS = 7;
+
+    /**
+     * The default lowest trackable value
+     */
+    public static final double DEFAULT_LOWEST_VALUE = 1.0E-6;
+
+    /**
+     * The default highest trackable value
+     */
+    public static final double DEFAULT_HIGHEST_VALUE = 1.0E9;
+
+    /**
+     * The maximum number of bins, 2^24 bins hold 128 MB of counts. The
+     * number of bins is the number of power of two intervals in the
+     * trackable range times 2^significantBits.
+     */
+    public static final int MAX_NUMBER_OF_BINS = 1 << 24;
+
+    /**
+     * The number of significant bits of the mantissa that select the bin
+     * within a power of two interval
+     */
+    private final int mySignificantBits;
+
+    /**
+     * The exponent of the first power of two interval
+     */
+    private final int myMinExponent;
+
+    /**
+     * The exponent of the last power of two interval
+     */
+    private final int myMaxExponent;
+
+    /**
+     * The counts of the bins
+     */
+    private final double[] myCounts;
+
+    /**
+     * The number of values in [0, lowest trackable value)
+     */
+    private double myZeroCount;
+
+    private double myUnderFlowCount;
+
+    private double myOverFlowCount;
+
+    /**
+     * Collects statistical information
+     */
+    private final Statistic myStatistic;
+
+    /**
+     * Creates a LogLinearHistogram with the default trackable range and
+     * number of significant bits
+     */
+    public LogLinearHistogram() {
+        this(DEFAULT_LOWEST_VALUE, DEFAULT_HIGHEST_VALUE, DEFAULT_SIGNIFICANT_BITS, null);
+    }
+
+    /**
+     * Creates a LogLinearHistogram with the default trackable range and
+     * number of significant bits
+     *
+     * @param name the name of the histogram
+     */
+    public LogLinearHistogram(String name) {
+        this(DEFAULT_LOWEST_VALUE, DEFAULT_HIGHEST_VALUE, DEFAULT_SIGNIFICANT_BITS, name);
+    }
+
+    /**
+     * Creates a LogLinearHistogram
+     *
+     * @param lowest the lowest trackable value, must be &gt; 0, it is rounded
+     * down to a power of two
+     * @param highest the highest trackable value, must be &gt; lowest, it is
+     * rounded up to a power of two
+     * @param significantBits the number of significant bits, must be in [1,
+     * 20], the resulting number of bins must not exceed MAX_NUMBER_OF_BINS
+     */
+    public LogLinearHistogram(double lowest, double highest, int significantBits) {
+        this(lowest, highest, significantBits, null);
+    }
+
+    /**
+     * Creates a LogLinearHistogram
+     *
+     * @param lowest the lowest trackable value, must be &gt; 0, it is rounded
+     * down to a power of two
+     * @param highest the highest trackable value, must be &gt; lowest, it is
+     * rounded up to a power of two
+     * @param significantBits the number of significant bits, must be in [1,
+     * 20], the resulting number of bins must not exceed MAX_NUMBER_OF_BINS
+     * @param name the name of the histogram
+     */
+    public LogLinearHistogram(double lowest, double highest, int significantBits, String name) {
+        super(name);
+        if (!(lowest >= Double.MIN_NORMAL)) {
+            throw new IllegalArgumentException("The lowest trackable value must be > 0");
+        }
+        if (!(highest > lowest) || Double.isInfinite(highest)) {
+            throw new IllegalArgumentException("The highest trackable value must be finite and > the lowest");
+        }
+        if ((significantBits < 1) || (significantBits > 20)) {
+            throw new IllegalArgumentException("The number of significant bits must be in [1, 20]");
+        }
+        mySignificantBits = significantBits;
+        myMinExponent = Math.getExponent(lowest);
+        myMaxExponent = Math.getExponent(highest);
+        long n = ((long) (myMaxExponent - myMinExponent + 1)) << mySignificantBits;
+        if (n > MAX_NUMBER_OF_BINS) {
+            throw new IllegalArgumentException("The trackable range and significant bits require "
+                    + n + " bins, the maximum is " + MAX_NUMBER_OF_BINS);
+        }
+        myCounts = new double[(int) n];
+        myStatistic = new Statistic(getName());
+    }
+
+    /**
+     *
+     * @return the number of significant bits
+     */
+    public final int getSignificantBits() {
+        return mySignificantBits;
+    }
+
+    /**
+     *
+     * @return the lowest trackable value, the lower limit of the first bin
+     */
+    public final double getLowestTrackableValue() {
+        return Math.scalb(1.0, myMinExponent);
+    }
+
+    /**
+     *
+     * @return the highest trackable value, the upper limit of the last bin
+     */
+    public final double getHighestTrackableValue() {
+        return Math.scalb(1.0, myMaxExponent + 1);
+    }
+
+    /**
+     *
+     * @return the largest width of a bin relative to its lower limit
+     */
+    public final double getBinRelativeWidth() {
+        return Math.scalb(1.0, -mySignificantBits);
+    }
+
+    /**
+     *
+     * @return the number of bins within the trackable range
+     */
+    public final int getNumberOfBins() {
+        return myCounts.length;
+    }
+
+    @Override
+    public final boolean collect(double x, double weight) {
+        if (isTurnedOff()) {
+            return false;
+        }
+        if (Double.isNaN(x)) {
+            myNumMissing++;
+            return true;
+        }
+        if (getSaveDataOption()) {
+            saveData(x, weight);
+        }
+        if (x < 0.0) {
+            myUnderFlowCount++;
+        } else {
+            int i = binIndex(x);
+            if (i >= 0) {
+                myCounts[i]++;
+            } else if (i == -1) {
+                myZeroCount++;
+            } else {
+                myOverFlowCount++;
+            }
+        }
+        if (!Double.isInfinite(x)) {
+            myStatistic.collect(x, weight);
+        }
+        return true;
+    }
+
+    /**
+     * Computes the zero based index of the bin from the bits of x
+     *
+     * @param x a non-negative value
+     * @return the index, -1 if x is below the lowest trackable value, -2 if
+     * x is at or above the highest trackable value
+     */
+    protected final int binIndex(double x) {
+        long bits = Double.doubleToRawLongBits(x);
+        int e = (int) ((bits >>> 52) & 0x7ffL) - 1023;
+        if (e < myMinExponent) {
+            return -1;
+        }
+        if (e > myMaxExponent) {
+            return -2;
+        }
+        int sub = (int) ((bits >>> (52 - mySignificantBits)) & ((1L << mySignificantBits) - 1L));
+        return ((e - myMinExponent) << mySignificantBits) | sub;
+    }
+
+    /**
+     * Returns the lower limit of the bin with the zero based index
+     *
+     * @param i the index
+     * @return the lower limit
+     */
+    private double lowerLimit(int i) {
+        int e = myMinExponent + (i >>> mySignificantBits);
+        int sub = i & ((1 << mySignificantBits) - 1);
+        return Math.scalb(1.0 + Math.scalb((double) sub, -mySignificantBits), e);
+    }
+
+    /**
+     * Combines the counts and statistics of the supplied LogLinearHistogram
+     * into this LogLinearHistogram. The supplied histogram is not changed.
+     *
+     * @param h the histogram to combine into this histogram, must have the
+     * same bins
+     */
+    public final void merge(LogLinearHistogram h) {
+        if (h == null) {
+            throw new IllegalArgumentException("The supplied LogLinearHistogram was null");
+        }
+        if ((h.mySignificantBits != mySignificantBits)
+                || (h.myMinExponent != myMinExponent)
+                || (h.myMaxExponent != myMaxExponent)) {
+            throw new IllegalArgumentException("The supplied LogLinearHistogram has different bins");
+        }
+        for (int i = 0; i < myCounts.length; i++) {
+            myCounts[i] = myCounts[i] + h.myCounts[i];
+        }
+        myZeroCount = myZeroCount + h.myZeroCount;
+        myUnderFlowCount = myUnderFlowCount + h.myUnderFlowCount;
+        myOverFlowCount = myOverFlowCount + h.myOverFlowCount;
+        myNumMissing = myNumMissing + h.myNumMissing;
+        myStatistic.merge(h.myStatistic);
+    }
+
+    /**
+     * The number of observations that were negative
+     *
+     * @return
+     */
+    public final double getUnderFlowCount() {
+        return (myUnderFlowCount);
+    }
+
+    /**
+     * The number of observations that were at or beyond the highest
+     * trackable value
+     *
+     * @return
+     */
+    public final double getOverFlowCount() {
+        return (myOverFlowCount);
+    }
+
+    /**
+     * The number of observations in [0, lowest trackable value)
+     *
+     * @return
+     */
+    public final double getZeroBinCount() {
+        return (myZeroCount);
+    }
+
+    /**
+     * The total number of observations, including the under and over flow
+     *
+     * @return
+     */
+    public final double getTotalCount() {
+        double n = myZeroCount + myUnderFlowCount + myOverFlowCount;
+        for (double c : myCounts) {
+            n = n + c;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the bin that x falls in
+     *
+     * @param x a non-negative value
+     * @return the bin, or null if x is negative or not below the highest
+     * trackable value
+     */
+    public final Histogram.Bin getBin(double x) {
+        if (Double.isNaN(x) || (x < 0.0)) {
+            return null;
+        }
+        int i = binIndex(x);
+        if (i == -1) {
+            return Histogram.makeBin(0.0, getLowestTrackableValue(), myZeroCount);
+        }
+        if (i == -2) {
+            return null;
+        }
+        return Histogram.makeBin(lowerLimit(i), lowerLimit(i + 1), myCounts[i]);
+    }
+
+    /**
+     * Returns the bins that hold at least one observation, in increasing
+     * order, starting with the zero bin. The bins do not reflect changes to
+     * the histogram after this call.
+     *
+     * @return the bins
+     */
+    public final Histogram.Bin[] getBins() {
+        int n = 0;
+        if (myZeroCount > 0.0) {
+            n++;
+        }
+        for (double c : myCounts) {
+            if (c > 0.0) {
+                n++;
+            }
+        }
+        Histogram.Bin[] bins = new Histogram.Bin[n];
+        int k = 0;
+        if (myZeroCount > 0.0) {
+            bins[k] = Histogram.makeBin(0.0, getLowestTrackableValue(), myZeroCount);
+            k++;
+        }
+        for (int i = 0; i < myCounts.length; i++) {
+            if (myCounts[i] > 0.0) {
+                bins[k] = Histogram.makeBin(lowerLimit(i), lowerLimit(i + 1), myCounts[i]);
+                k++;
+            }
+        }
+        return bins;
+    }
+
+    /**
+     * Returns an estimate of the quantile from the bins, assuming that the
+     * observations are uniformly spread within a bin. Observations in the
+     * under and over flow are placed at the minimum and maximum.
+     *
+     * @param p the probability, must be in [0, 1]
+     * @return the estimated quantile or Double.NaN if no data were collected
+     */
+    public final double getQuantile(double p) {
+        if ((p < 0.0) || (p > 1.0)) {
+            throw new IllegalArgumentException("The probability must be in [0,1]");
+        }
+        double n = getTotalCount();
+        if (n == 0.0) {
+            return Double.NaN;
+        }
+        double target = p * n;
+        double cum = myUnderFlowCount;
+        if (target <= cum) {
+            return getMin();
+        }
+        if (target <= cum + myZeroCount) {
+            return getLowestTrackableValue() * (target - cum) / myZeroCount;
+        }
+        cum = cum + myZeroCount;
+        for (int i = 0; i < myCounts.length; i++) {
+            if ((myCounts[i] > 0.0) && (target <= cum + myCounts[i])) {
+                double ll = lowerLimit(i);
+                double x = ll + (lowerLimit(i + 1) - ll) * (target - cum) / myCounts[i];
+                return Math.max(Math.min(x, getMax()), getMin());
+            }
+            cum = cum + myCounts[i];
+        }
+        return getMax();
+    }
+
+    @Override
+    public final void reset() {
+        myNumMissing = 0.0;
+        myStatistic.reset();
+        for (int i = 0; i < myCounts.length; i++) {
+            myCounts[i] = 0.0;
+        }
+        myZeroCount = 0.0;
+        myUnderFlowCount = 0.0;
+        myOverFlowCount = 0.0;
+        clearSavedData();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Log-Linear Histogram: ").append(getName()).append("\n");
+        sb.append("-------------------------------------\n");
+        sb.append("Significant bits = ").append(mySignificantBits).append("\n");
+        sb.append("Lowest trackable value = ").append(getLowestTrackableValue()).append("\n");
+        sb.append("Highest trackable value = ").append(getHighestTrackableValue()).append("\n");
+        sb.append("Under flow count = ").append(myUnderFlowCount).append("\n");
+        sb.append("Over flow count = ").append(myOverFlowCount).append("\n");
+        double n = getTotalCount();
+        sb.append("Total count = ").append(n).append("\n");
+        sb.append("-------------------------------------\n");
+        sb.append("Range \t Count \t\t tc \t\t p \t\t cp\n");
+        double tc = myUnderFlowCount;
+        for (Histogram.Bin b : getBins()) {
+            tc = tc + b.getCount();
+            sb.append("[").append(b.getLowerLimit()).append(",").append(b.getUpperLimit()).append(")\t");
+            sb.append(b.getCount()).append("\t").append(tc).append("\t");
+            sb.append(b.getCount() / n).append("\t").append(tc / n).append("\n");
+        }
+        sb.append("-------------------------------------\n");
+        sb.append("Statistics on the data:\n");
+        sb.append("-------------------------------------\n");
+        sb.append(myStatistic);
+        sb.append("-------------------------------------\n");
+        return (sb.toString());
+    }
+
+    @Override
+    public final double getAverage() {
+        return myStatistic.getAverage();
+    }
+
+    @Override
+    public final double getCount() {
+        return myStatistic.getCount();
+    }
+
+    @Override
+    public final double getDeviationSumOfSquares() {
+        return myStatistic.getDeviationSumOfSquares();
+    }
+
+    @Override
+    public final double getHalfWidth(double level) {
+        return myStatistic.getHalfWidth(level);
+    }
+
+    @Override
+    public final double getKurtosis() {
+        return myStatistic.getKurtosis();
+    }
+
+    @Override
+    public final double getLag1Correlation() {
+        return myStatistic.getLag1Correlation();
+    }
+
+    @Override
+    public final double getLag1Covariance() {
+        return myStatistic.getLag1Covariance();
+    }
+
+    @Override
+    public final double getLastValue() {
+        return myStatistic.getLastValue();
+    }
+
+    @Override
+    public final double getLastWeight() {
+        return myStatistic.getLastWeight();
+    }
+
+    @Override
+    public final double getMax() {
+        return myStatistic.getMax();
+    }
+
+    @Override
+    public final double getMin() {
+        return myStatistic.getMin();
+    }
+
+    @Override
+    public final double getSkewness() {
+        return myStatistic.getSkewness();
+    }
+
+    @Override
+    public final double getStandardDeviation() {
+        return myStatistic.getStandardDeviation();
+    }
+
+    @Override
+    public final double getStandardError() {
+        return myStatistic.getStandardError();
+    }
+
+    @Override
+    public final double getSum() {
+        return myStatistic.getSum();
+    }
+
+    @Override
+    public final double getSumOfWeights() {
+        return myStatistic.getSumOfWeights();
+    }
+
+    @Override
+    public final double getVariance() {
+        return myStatistic.getVariance();
+    }
+
+    @Override
+    public final double getVonNeumannLag1TestStatistic() {
+        return myStatistic.getVonNeumannLag1TestStatistic();
+    }
+
+    @Override
+    public final double getVonNeumannLag1TestStatisticPValue() {
+        return myStatistic.getVonNeumannLag1TestStatisticPValue();
+    }
+
+    @Override
+    public final double getWeightedAverage() {
+        return myStatistic.getWeightedAverage();
+    }
+
+    @Override
+    public final double getWeightedSum() {
+        return myStatistic.getWeightedSum();
+    }
+
+    @Override
+    public final double getWeightedSumOfSquares() {
+        return myStatistic.getWeightedSumOfSquares();
+    }
+
+    @Override
+    public final int getLeadingDigitRule(double a) {
+        return myStatistic.getLeadingDigitRule(a);
+    }
+}
@@ -0,0 +1,547 @@
+/*
+ * Created on Jan 7, 2007
+ * Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+ *
+ * Contact:
+ *	Manuel D. Rossetti, Ph.D., P.E.
+ *	Department of Industrial Engineering
+ *	University of Arkansas
+ *	4207 Bell Engineering Center
+ *	Fayetteville, AR 72701
+ *	Phone: (479) 575-6756
+ *	Email: rossetti@uark.edu
+ *	Web: www.uark.edu/~rossetti
+ *
+ * This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ * of Java classes that permit the easy development and execution of discrete event
+ * simulation programs.
+ *
+ * The JSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * The JSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the JSL (see file COPYING in the distribution);
+ * if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor,
+ * Boston, MA  02110-1301  USA, or see www.fsf.org
+ *
+ */
+package jsl.utilities.statistic;
+
+import java.util.Arrays;
+
+/**
+ * A QuantileSketch estimates the quantiles of the collected data within a
+ * bounded amount of memory, without saving the data. The observations are
+ * summarized by weighted centroids as in the merging t-digest of Dunning and
+ * Ertl. The centroids are small near the tails of the distribution, so that
+ * extreme quantiles, e.g. the 0.99 quantile, are estimated with small
+ * relative error.
+ *
+ * The compression controls the accuracy and the memory used. About
+ * compression/2 centroids are kept, so larger values give more accurate
+ * quantiles at the cost of memory. Observations with weights that are not
+ * positive are included in the summary statistics, but not in the quantiles.
+ *
+ * QuantileSketches that were collected separately, e.g. by different
+ * threads, can be combined with merge(). The summary statistics are those of
+ * a Statistic on the same data.
+ *
+ */
+public class QuantileSketch extends AbstractStatistic {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default compression
+     */
+    public static final double DEFAULT_COMPRESSION = 100.0;
+
+    /**
+     * The quantiles reported by toString()
+     */
+    private static final double[] REPORTED = {0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99};
+
+    /**
+     * Controls the number of centroids
+     */
+    private final double myCompression;
+
+    /**
+     * The means of the centroids, followed by the buffered observations
+     */
+    private double[] myMeans;
+
+    /**
+     * The weights of the centroids, followed by the buffered weights
+     */
+    private double[] myWeights;
+
+    /**
+     * The number of centroids, these are sorted by mean
+     */
+    private int myNumCentroids;
+
+    /**
+     * The number of centroids and buffered observations
+     */
+    private int myNumPoints;
+
+    /**
+     * The total weight of the centroids and buffered observations
+     */
+    private double myTotalWeight;
+
+    /**
+     * Collects the summary statistics on the data
+     */
+    private final Statistic myStatistic;
+
+    /**
+     * Creates a QuantileSketch with the default compression
+     */
+    public QuantileSketch() {
+        this(DEFAULT_COMPRESSION, null);
+    }
+
+    /**
+     * Creates a QuantileSketch with the default compression
+     *
+     * @param name
+     */
+    public QuantileSketch(String name) {
+        this(DEFAULT_COMPRESSION, name);
+    }
+
+    /**
+     * Creates a QuantileSketch
+     *
+     * @param compression controls the accuracy, must be &gt;= 10
+     */
+    public QuantileSketch(double compression) {
+        this(compression, null);
+    }
+
+    /**
+     * Creates a QuantileSketch
+     *
+     * @param compression controls the accuracy, must be &gt;= 10
+     * @param name
+     */
+    public QuantileSketch(double compression, String name) {
+        super(name);
+        if (compression < 10.0) {
+            throw new IllegalArgumentException("The compression must be >= 10");
+        }
+        myCompression = compression;
+        int c = (int) Math.ceil(compression);
+        // room for the centroids and a buffer of 5 times the compression
+        myMeans = new double[7 * c + 10];
+        myWeights = new double[myMeans.length];
+        myStatistic = new Statistic(getName());
+    }
+
+    /**
+     *
+     * @return the compression
+     */
+    public final double getCompression() {
+        return myCompression;
+    }
+
+    /**
+     *
+     * @return the number of centroids summarizing the data
+     */
+    public final int getNumberOfCentroids() {
+        compress();
+        return myNumCentroids;
+    }
+
+    @Override
+    public final boolean collect(double x, double weight) {
+        if (isTurnedOff()) {
+            return false;
+        }
+        if (Double.isNaN(x) || Double.isInfinite(x)) {
+            myNumMissing++;
+            return true;
+        }
+        if (getSaveDataOption()) {
+            saveData(x, weight);
+        }
+        myStatistic.collect(x, weight);
+        if (weight > 0.0) {
+            add(x, weight);
+        }
+        return true;
+    }
+
+    private void add(double x, double w) {
+        if (myNumPoints == myMeans.length) {
+            compress();
+            if (myNumPoints == myMeans.length) {
+                myMeans = Arrays.copyOf(myMeans, 2 * myMeans.length);
+                myWeights = Arrays.copyOf(myWeights, 2 * myWeights.length);
+            }
+        }
+        myMeans[myNumPoints] = x;
+        myWeights[myNumPoints] = w;
+        myNumPoints++;
+        myTotalWeight = myTotalWeight + w;
+    }
+
+    /**
+     * Combines the observations of the supplied QuantileSketch into this
+     * QuantileSketch. The supplied QuantileSketch is not changed.
+     *
+     * @param sketch the sketch to combine into this sketch, must not be null
+     */
+    public final void merge(QuantileSketch sketch) {
+        if (sketch == null) {
+            throw new IllegalArgumentException("The supplied QuantileSketch was null");
+        }
+        int n = sketch.myNumPoints;
+        double[] m = sketch.myMeans.clone();
+        double[] w = sketch.myWeights.clone();
+        for (int i = 0; i < n; i++) {
+            add(m[i], w[i]);
+        }
+        myStatistic.merge(sketch.myStatistic);
+        myNumMissing = myNumMissing + sketch.myNumMissing;
+    }
+
+    /**
+     * Sorts the buffered observations into the centroids and merges
+     * neighboring centroids, as allowed by the k1 scale function
+     */
+    private void compress() {
+        if (myNumPoints == myNumCentroids) {
+            return;
+        }
+        sort(myMeans, myWeights, 0, myNumPoints - 1);
+        double total = myTotalWeight;
+        double normalizer = myCompression / (2.0 * Math.PI);
+        int k = 0;
+        double wSoFar = 0.0;
+        double wLimit = total * getQuantileLimit(0.0, normalizer);
+        for (int i = 1; i < myNumPoints; i++) {
+            double w = myWeights[k] + myWeights[i];
+            if (wSoFar + w <= wLimit) {
+                // add the point to the current centroid
+                myMeans[k] = myMeans[k] + (myMeans[i] - myMeans[k]) * myWeights[i] / w;
+                myWeights[k] = w;
+            } else {
+                wSoFar = wSoFar + myWeights[k];
+                wLimit = total * getQuantileLimit(wSoFar / total, normalizer);
+                k++;
+                myMeans[k] = myMeans[i];
+                myWeights[k] = myWeights[i];
+            }
+        }
+        myNumCentroids = k + 1;
+        myNumPoints = myNumCentroids;
+    }
+
+    /**
+     * The k1 scale function, k(q) = normalizer*asin(2q - 1), limits a
+     * centroid that starts at quantile q to a size of one in k
+     *
+     * @param q the quantile at the start of the centroid
+     * @param normalizer the compression/(2 pi)
+     * @return the largest quantile of the centroid
+     */
+    private double getQuantileLimit(double q, double normalizer) {
+        double k = normalizer * Math.asin(2.0 * Math.min(q, 1.0) - 1.0) + 1.0;
+        if (k >= normalizer * Math.PI / 2.0) {
+            return 1.0;
+        }
+        return (Math.sin(k / normalizer) + 1.0) / 2.0;
+    }
+
+    /**
+     * Sorts the values and their weights by value
+     */
+    private static void sort(double[] x, double[] w, int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            // median of three as the pivot
+            if (x[mid] < x[lo]) {
+                swap(x, w, mid, lo);
+            }
+            if (x[hi] < x[lo]) {
+                swap(x, w, hi, lo);
+            }
+            if (x[hi] < x[mid]) {
+                swap(x, w, hi, mid);
+            }
+            double p = x[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (x[i] < p) {
+                    i++;
+                }
+                while (x[j] > p) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(x, w, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // recurse on the smaller part
+            if (j - lo < hi - i) {
+                sort(x, w, lo, j);
+                lo = i;
+            } else {
+                sort(x, w, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            double xi = x[i];
+            double wi = w[i];
+            int j = i - 1;
+            while (j >= lo && x[j] > xi) {
+                x[j + 1] = x[j];
+                w[j + 1] = w[j];
+                j--;
+            }
+            x[j + 1] = xi;
+            w[j + 1] = wi;
+        }
+    }
+
+    private static void swap(double[] x, double[] w, int i, int j) {
+        double t = x[i];
+        x[i] = x[j];
+        x[j] = t;
+        t = w[i];
+        w[i] = w[j];
+        w[j] = t;
+    }
+
+    /**
+     * Returns the estimated quantile of the collected data, interpolating
+     * between the centroids
+     *
+     * @param p the probability, must be in [0, 1]
+     * @return the estimated quantile or Double.NaN if no data were collected
+     */
+    public final double getQuantile(double p) {
+        if ((p < 0.0) || (p > 1.0)) {
+            throw new IllegalArgumentException("The probability must be in [0,1]");
+        }
+        compress();
+        if (myNumCentroids == 0) {
+            return Double.NaN;
+        }
+        double min = myStatistic.getMin();
+        double max = myStatistic.getMax();
+        if (myNumCentroids == 1) {
+            return min + p * (max - min);
+        }
+        double index = p * myTotalWeight;
+        double half = myWeights[0] / 2.0;
+        if (index < half) {
+            return min + (myMeans[0] - min) * index / half;
+        }
+        // the weight below the center of centroid i
+        double cum = half;
+        for (int i = 0; i < myNumCentroids - 1; i++) {
+            double dw = (myWeights[i] + myWeights[i + 1]) / 2.0;
+            if (cum + dw > index) {
+                double z = (index - cum) / dw;
+                return myMeans[i] + z * (myMeans[i + 1] - myMeans[i]);
+            }
+            cum = cum + dw;
+        }
+        int last = myNumCentroids - 1;
+        double z = Math.min((index - cum) / (myWeights[last] / 2.0), 1.0);
+        return myMeans[last] + z * (max - myMeans[last]);
+    }
+
+    /**
+     * Returns the estimated quantiles of the collected data
+     *
+     * @param p the probabilities, each must be in [0, 1]
+     * @return the estimated quantiles
+     */
+    public final double[] getQuantiles(double[] p) {
+        double[] q = new double[p.length];
+        for (int i = 0; i < p.length; i++) {
+            q[i] = getQuantile(p[i]);
+        }
+        return q;
+    }
+
+    /**
+     *
+     * @return the estimated median of the collected data
+     */
+    public final double getMedian() {
+        return getQuantile(0.5);
+    }
+
+    @Override
+    public final double getAverage() {
+        return myStatistic.getAverage();
+    }
+
+    @Override
+    public final double getCount() {
+        return myStatistic.getCount();
+    }
+
+    @Override
+    public final double getDeviationSumOfSquares() {
+        return myStatistic.getDeviationSumOfSquares();
+    }
+
+    @Override
+    public final double getHalfWidth(double level) {
+        return myStatistic.getHalfWidth(level);
+    }
+
+    @Override
+    public final double getKurtosis() {
+        return myStatistic.getKurtosis();
+    }
+
+    @Override
+    public final double getLag1Correlation() {
+        return myStatistic.getLag1Correlation();
+    }
+
+    @Override
+    public final double getLag1Covariance() {
+        return myStatistic.getLag1Covariance();
+    }
+
+    @Override
+    public final double getLastValue() {
+        return myStatistic.getLastValue();
+    }
+
+    @Override
+    public final double getLastWeight() {
+        return myStatistic.getLastWeight();
+    }
+
+    @Override
+    public final double getMax() {
+        return myStatistic.getMax();
+    }
+
+    @Override
+    public final double getMin() {
+        return myStatistic.getMin();
+    }
+
+    @Override
+    public final double getSkewness() {
+        return myStatistic.getSkewness();
+    }
+
+    @Override
+    public final double getStandardDeviation() {
+        return myStatistic.getStandardDeviation();
+    }
+
+    @Override
+    public final double getStandardError() {
+        return myStatistic.getStandardError();
+    }
+
+    @Override
+    public final double getSum() {
+        return myStatistic.getSum();
+    }
+
+    @Override
+    public final double getSumOfWeights() {
+        return myStatistic.getSumOfWeights();
+    }
+
+    @Override
+    public final double getVariance() {
+        return myStatistic.getVariance();
+    }
+
+    @Override
+    public final double getVonNeumannLag1TestStatistic() {
+        return myStatistic.getVonNeumannLag1TestStatistic();
+    }
+
+    @Override
+    public final double getVonNeumannLag1TestStatisticPValue() {
+        return myStatistic.getVonNeumannLag1TestStatisticPValue();
+    }
+
+    @Override
+    public final double getWeightedAverage() {
+        return myStatistic.getWeightedAverage();
+    }
+
+    @Override
+    public final double getWeightedSum() {
+        return myStatistic.getWeightedSum();
+    }
+
+    @Override
+    public final double getWeightedSumOfSquares() {
+        return myStatistic.getWeightedSumOfSquares();
+    }
+
+    @Override
+    public final int getLeadingDigitRule(double a) {
+        return myStatistic.getLeadingDigitRule(a);
+    }
+
+    @Override
+    public final void reset() {
+        myNumMissing = 0.0;
+        myStatistic.reset();
+        myNumCentroids = 0;
+        myNumPoints = 0;
+        myTotalWeight = 0.0;
+        clearSavedData();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Quantiles: ");
+        sb.append(getName());
+        sb.append("\n");
+        sb.append("-------------------------------------\n");
+        sb.append("Number ");
+        sb.append(getCount());
+        sb.append("\n");
+        sb.append("Minimum ");
+        sb.append(getMin());
+        sb.append("\n");
+        for (double p : REPORTED) {
+            sb.append("P");
+            sb.append(Math.round(100.0 * p));
+            sb.append(" ");
+            sb.append(getQuantile(p));
+            sb.append("\n");
+        }
+        sb.append("Maximum ");
+        sb.append(getMax());
+        sb.append("\n");
+        sb.append("Number of centroids ");
+        sb.append(myNumCentroids);
+        sb.append("\n");
+        return (sb.toString());
+    }
+}
@@ -37,6 +37,9 @@
 
 package jsl.utilities.statistic;
 
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
 /**
  *
  * @author rossetti
@@ -76,17 +79,87 @@ public interface SaveDataIfc {
     double[] getSavedWeights();
 
     /**
-     * Controls the amount that the saved data array will grow by
-     * after it has been filled up.  If the potential number of
-     * data points is known, then this method can be used so that
-     * arrays do not have to be copied during collection
-     * The array size will start at this value and then increment by
-     * this value whenever full
+     * Returns the number of data points saved while the
+     * saved data option was turned on. By default, the
+     * length of getSavedData()
+     *
+     * @return
+     */
+    default long getSavedDataCount() {
+        double[] data = getSavedData();
+        return (data == null) ? 0 : data.length;
+    }
+
+    /**
+     * Returns an iterator over the data saved while the
+     * saved data option was turned on, without copying
+     * the data. The iterator is empty if no data were collected.
+     * By default, iterates over getSavedData()
+     *
+     * @return
+     */
+    default PrimitiveIterator.OfDouble getSavedDataIterator() {
+        double[] data = getSavedData();
+        if (data == null) {
+            return SavedDataStore.EMPTY_ITERATOR;
+        }
+        return Arrays.stream(data).iterator();
+    }
+
+    /**
+     * Returns an iterator over the weights saved while the
+     * saved data option was turned on, without copying
+     * the weights. The iterator is empty if no weights were collected.
+     * By default, iterates over getSavedWeights()
+     *
+     * @return
+     */
+    default PrimitiveIterator.OfDouble getSavedWeightsIterator() {
+        double[] weights = getSavedWeights();
+        if (weights == null) {
+            return SavedDataStore.EMPTY_ITERATOR;
+        }
+        return Arrays.stream(weights).iterator();
+    }
+
+    /**
+     * Controls the size of the first chunk of saved data.
+     * The saved data is held in chunks that double in size
+     * whenever the last chunk is full, so that saved data
+     * is never copied during collection
      *
      * @param n
      */
     void setSaveDataArraySizeIncrement(int n);
 
+    /**
+     * Returns the number of data points held in memory
+     * before the saved data is spilled to a memory mapped file.
+     * By default, Long.MAX_VALUE, i.e. never spill
+     *
+     * @return
+     */
+    default long getSaveDataSpillThreshold() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the number of data points held in memory before
+     * the saved data is spilled to a memory mapped file, outside
+     * of the heap. The default is Long.MAX_VALUE, i.e. never spill.
+     * The file is deleted when the collector is reset, so reset a
+     * collector that spilled its data when it is no longer needed.
+     * By default, the threshold is ignored, i.e. the data is
+     * never spilled
+     *
+     * @param n must be &gt;= 0
+     */
+    default void setSaveDataSpillThreshold(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("The spill threshold must be >= 0");
+        }
+    }
+
     /**
      * Sets the save data option
      * true = on, false = off
@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2007, Manuel D. Rossetti (rossetti@uark.edu)
+ *
+ * Contact:
+ *	Manuel D. Rossetti, Ph.D., P.E.
+ *	Department of Industrial Engineering
+ *	University of Arkansas
+ *	4207 Bell Engineering Center
+ *	Fayetteville, AR 72701
+ *	Phone: (479) 575-6756
+ *	Email: rossetti@uark.edu
+ *	Web: www.uark.edu/~rossetti
+ *
+ * This file is part of the JSL (a Java Simulation Library). The JSL is a framework
+ * of Java classes that permit the easy development and execution of discrete event
+ * simulation programs.
+ *
+ * The JSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * The JSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the JSL (see file COPYING in the distribution);
+ * if not, write to the Free Software Foundation, Inc., 51 Franklin St, Fifth Floor,
+ * Boston, MA  02110-1301  USA, or see www.fsf.org
+ *
+ */
+package jsl.utilities.statistic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Holds (value, weight) pairs that are saved by a collector. The pairs are
+ * held in chunks that double in size, up to MAX_CHUNK_SIZE, so that saved
+ * pairs are never copied as the store grows.
+ *
+ * When the number of pairs held in memory reaches the spill threshold, the
+ * remaining pairs are written to a memory mapped temporary file, outside of
+ * the Java heap. By default the threshold is Long.MAX_VALUE, i.e. the pairs
+ * are never spilled. A store has at most one spill file, which is reused
+ * after the store is cleared and deleted when the store is closed.
+ *
+ * @author rossetti
+ */
+public class SavedDataStore implements Serializable {
+
+    /**
+     * The largest number of pairs held in one chunk in memory
+     */
+    public static final int MAX_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The number of pairs in each region of the spill file
+     */
+    public static final int SPILL_REGION_SIZE = 1 << 16;
+
+    /**
+     * An iterator over no values, e.g. for a collector that has not saved any
+     * data
+     */
+    public static final PrimitiveIterator.OfDouble EMPTY_ITERATOR = new PrimitiveIterator.OfDouble() {
+
+        @Override
+        public boolean hasNext() {
+            return false;
+        }
+
+        @Override
+        public double nextDouble() {
+            throw new NoSuchElementException();
+        }
+    };
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The size of the first chunk
+     */
+    private final int myInitialChunkSize;
+
+    /**
+     * The number of pairs that are held in memory before spilling
+     */
+    private long mySpillThreshold = Long.MAX_VALUE;
+
+    /**
+     * The total number of pairs
+     */
+    private transient long myCount;
+
+    /**
+     * The number of pairs held in memory
+     */
+    private transient long myHeapCount;
+
+    private transient double[][] myDataChunks;
+
+    private transient double[][] myWeightChunks;
+
+    /**
+     * The index of the first pair of each chunk
+     */
+    private transient long[] myChunkStarts;
+
+    private transient int myNumChunks;
+
+    private transient File mySpillFile;
+
+    private transient RandomAccessFile mySpillRAF;
+
+    /**
+     * The regions of the spill file, the pairs are interleaved
+     */
+    private transient DoubleBuffer[] myRegions;
+
+    private transient int myNumRegions;
+
+    /**
+     *
+     * @param initialChunkSize the size of the first chunk, must be &gt; 0
+     */
+    public SavedDataStore(int initialChunkSize) {
+        if (initialChunkSize <= 0) {
+            throw new IllegalArgumentException("The initial chunk size must be > 0");
+        }
+        myInitialChunkSize = Math.min(initialChunkSize, MAX_CHUNK_SIZE);
+        initialize();
+    }
+
+    private void initialize() {
+        myCount = 0;
+        myHeapCount = 0;
+        myDataChunks = new double[8][];
+        myWeightChunks = new double[8][];
+        myChunkStarts = new long[8];
+        myNumChunks = 0;
+        if (myRegions == null) {
+            myRegions = new DoubleBuffer[8];
+            myNumRegions = 0;
+        }
+    }
+
+    /**
+     * The number of pairs that are held in memory before the remaining pairs
+     * are spilled to a file. Changing the threshold does not move pairs that
+     * were already saved.
+     *
+     * @param threshold must be &gt;= 0
+     */
+    public final void setSpillThreshold(long threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("The spill threshold must be >= 0");
+        }
+        mySpillThreshold = threshold;
+    }
+
+    /**
+     *
+     * @return the number of pairs that are held in memory before spilling
+     */
+    public final long getSpillThreshold() {
+        return mySpillThreshold;
+    }
+
+    /**
+     *
+     * @return true if some of the pairs are held in the spill file
+     */
+    public final boolean isSpilled() {
+        return myCount > myHeapCount;
+    }
+
+    /**
+     *
+     * @return the number of saved pairs
+     */
+    public final long size() {
+        return myCount;
+    }
+
+    /**
+     * Saves the pair after the already saved pairs
+     *
+     * @param x the value
+     * @param w the weight
+     */
+    public final void add(double x, double w) {
+        if ((myCount == myHeapCount) && (myHeapCount < mySpillThreshold)) {
+            addToHeap(x, w);
+            myHeapCount++;
+        } else {
+            addToFile(x, w);
+        }
+        myCount++;
+    }
+
+    private void addToHeap(double x, double w) {
+        int last = myNumChunks - 1;
+        if ((last < 0) || (myHeapCount - myChunkStarts[last] == myDataChunks[last].length)) {
+            int size = myInitialChunkSize;
+            if (last >= 0) {
+                size = Math.min(2 * myDataChunks[last].length, MAX_CHUNK_SIZE);
+            }
+            if (myNumChunks == myDataChunks.length) {
+                myDataChunks = Arrays.copyOf(myDataChunks, 2 * myNumChunks);
+                myWeightChunks = Arrays.copyOf(myWeightChunks, 2 * myNumChunks);
+                myChunkStarts = Arrays.copyOf(myChunkStarts, 2 * myNumChunks);
+            }
+            myDataChunks[myNumChunks] = new double[size];
+            myWeightChunks[myNumChunks] = new double[size];
+            myChunkStarts[myNumChunks] = myHeapCount;
+            myNumChunks++;
+            last++;
+        }
+        int k = (int) (myHeapCount - myChunkStarts[last]);
+        myDataChunks[last][k] = x;
+        myWeightChunks[last][k] = w;
+    }
+
+    private void addToFile(double x, double w) {
+        long k = myCount - myHeapCount;
+        int r = (int) (k / SPILL_REGION_SIZE);
+        int j = (int) (k % SPILL_REGION_SIZE);
+        if (r == myNumRegions) {
+            // the regions mapped before the store was cleared are reused
+            mapRegion();
+        }
+        myRegions[r].put(2 * j, x);
+        myRegions[r].put(2 * j + 1, w);
+    }
+
+    private void mapRegion() {
+        try {
+            if (mySpillRAF == null) {
+                mySpillFile = File.createTempFile("jslData", ".dat");
+                mySpillRAF = new RandomAccessFile(mySpillFile, "rw");
+            }
+            long bytes = 16L * SPILL_REGION_SIZE;
+            DoubleBuffer b = mySpillRAF.getChannel().map(FileChannel.MapMode.READ_WRITE,
+                    myNumRegions * bytes, bytes).asDoubleBuffer();
+            if (myNumRegions == myRegions.length) {
+                myRegions = Arrays.copyOf(myRegions, 2 * myNumRegions);
+            }
+            myRegions[myNumRegions] = b;
+            myNumRegions++;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not spill the saved data to a file", e);
+        }
+    }
+
+    /**
+     *
+     * @param i the index of the pair, 0 is the first pair saved
+     * @return the value of the pair
+     */
+    public final double getValue(long i) {
+        return get(i, 0);
+    }
+
+    /**
+     *
+     * @param i the index of the pair, 0 is the first pair saved
+     * @return the weight of the pair
+     */
+    public final double getWeight(long i) {
+        return get(i, 1);
+    }
+
+    private double get(long i, int which) {
+        if ((i < 0) || (i >= myCount)) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + myCount);
+        }
+        if (i < myHeapCount) {
+            int c = Arrays.binarySearch(myChunkStarts, 0, myNumChunks, i);
+            if (c < 0) {
+                c = -c - 2;
+            }
+            int k = (int) (i - myChunkStarts[c]);
+            return which == 0 ? myDataChunks[c][k] : myWeightChunks[c][k];
+        }
+        long k = i - myHeapCount;
+        int j = (int) (k % SPILL_REGION_SIZE);
+        return myRegions[(int) (k / SPILL_REGION_SIZE)].get(2 * j + which);
+    }
+
+    /**
+     *
+     * @return a copy of the saved values
+     */
+    public final double[] getValues() {
+        return toArray(0);
+    }
+
+    /**
+     *
+     * @return a copy of the saved weights
+     */
+    public final double[] getWeights() {
+        return toArray(1);
+    }
+
+    private double[] toArray(int which) {
+        if (myCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("There are too many saved values for an array, use an iterator");
+        }
+        double[] a = new double[(int) myCount];
+        int n = 0;
+        for (int c = 0; c < myNumChunks; c++) {
+            int len = (int) Math.min(myDataChunks[c].length, myHeapCount - myChunkStarts[c]);
+            System.arraycopy(which == 0 ? myDataChunks[c] : myWeightChunks[c], 0, a, n, len);
+            n = n + len;
+        }
+        PrimitiveIterator.OfDouble i = new PairIterator(myHeapCount, which);
+        while (i.hasNext()) {
+            a[n] = i.nextDouble();
+            n++;
+        }
+        return a;
+    }
+
+    /**
+     * The iterator reflects pairs that are saved after it was created.
+     *
+     * @return an iterator over the saved values, in the order saved
+     */
+    public final PrimitiveIterator.OfDouble valueIterator() {
+        return new PairIterator(0, 0);
+    }
+
+    /**
+     * The iterator reflects pairs that are saved after it was created.
+     *
+     * @return an iterator over the saved weights, in the order saved
+     */
+    public final PrimitiveIterator.OfDouble weightIterator() {
+        return new PairIterator(0, 1);
+    }
+
+    /**
+     * Removes all the saved pairs. The spill file, if any, and its mapped
+     * regions are kept and reused by the pairs that are saved later.
+     */
+    public final void clear() {
+        initialize();
+    }
+
+    /**
+     * Removes all the saved pairs and deletes the spill file, if any. The
+     * store can still be used, a new spill file is created if needed.
+     */
+    public final void close() {
+        // drop the mapped regions so that the mappings can be released
+        myRegions = null;
+        initialize();
+        if (mySpillRAF != null) {
+            try {
+                mySpillRAF.close();
+            } catch (IOException e) {
+                // the file is still deleted
+            }
+            mySpillFile.delete();
+            mySpillRAF = null;
+            mySpillFile = null;
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeLong(myCount);
+        for (long i = 0; i < myCount; i++) {
+            out.writeDouble(getValue(i));
+            out.writeDouble(getWeight(i));
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initialize();
+        long n = in.readLong();
+        for (long i = 0; i < n; i++) {
+            double x = in.readDouble();
+            add(x, in.readDouble());
+        }
+    }
+
+    /**
+     * Walks the chunks, and then the spill regions, in order
+     */
+    private class PairIterator implements PrimitiveIterator.OfDouble {
+
+        private final int myWhich;
+
+        private long myNext;
+
+        private int myChunk;
+
+        PairIterator(long start, int which) {
+            myNext = start;
+            myWhich = which;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return myNext < myCount;
+        }
+
+        @Override
+        public double nextDouble() {
+            if (myNext >= myCount) {
+                throw new NoSuchElementException();
+            }
+            double x;
+            if (myNext < myHeapCount) {
+                while (myNext - myChunkStarts[myChunk] >= myDataChunks[myChunk].length) {
+                    myChunk++;
+                }
+                int k = (int) (myNext - myChunkStarts[myChunk]);
+                x = myWhich == 0 ? myDataChunks[myChunk][k] : myWeightChunks[myChunk][k];
+            } else {
+                x = get(myNext, myWhich);
+            }
+            myNext++;
+            return x;
+        }
+    }
+}
@@ -45,6 +45,8 @@ import jsl.utilities.random.distributions.StudentT;
  */
 public class StandardizedTimeSeriesStatistic extends AbstractStatistic {
 
+    private static final long serialVersionUID = 1L;
+
     /** the default minimum number of observations
      *  per batch, the batch size
      */
@@ -48,6 +48,8 @@ import jsl.utilities.random.distributions.StudentT;
  */
 public class Statistic extends AbstractStatistic {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * NONE means never turn off collection HALF_WIDTH means use the half-width
      * criteria to turn off collection REL_PRECISION means use the relative
@@ -784,6 +786,162 @@ public class Statistic extends AbstractStatistic {
 
     }
 
+    /**
+     * Collects the values in a single loop over local copies of the
+     * moments, instead of collecting the values one at a time. The result
+     * is the same. Uses the scalar collect() if the data is saved, a
+     * collection rule is in effect or this is an instance of a subclass,
+     * which may override the scalar collect().
+     *
+     * @param values the values to collect
+     * @return false if collection was turned off while collecting
+     */
+    @Override
+    public boolean collect(double[] values) {
+        if (!isBulkCollectible()) {
+            return super.collect(values);
+        }
+        collectInBulk(values, null, values.length);
+        return true;
+    }
+
+    /**
+     * Collects the values and weights in a single loop over local copies of
+     * the moments, instead of collecting the values one at a time. The
+     * result is the same. Uses the scalar collect() if the data is saved, a
+     * collection rule is in effect or this is an instance of a subclass,
+     * which may override the scalar collect().
+     *
+     * @param x the values to collect
+     * @param w the weights, must be the same length as x
+     * @return false if collection was turned off while collecting
+     */
+    @Override
+    public boolean collect(double[] x, double[] w) {
+        if (x.length != w.length) {
+            throw new IllegalArgumentException("The supplied arrays are not of equal length");
+        }
+        if (!isBulkCollectible()) {
+            return super.collect(x, w);
+        }
+        collectInBulk(x, w, x.length);
+        return true;
+    }
+
+    /**
+     * Collects the first n values and weights, as collect(x, w) does. Used
+     * by the collectors that pass their values to a Statistic in chunks.
+     *
+     * @param x the values to collect
+     * @param w the weights
+     * @param n the number of values to collect, at most the length of x and w
+     * @return false if collection was turned off while collecting
+     */
+    final boolean collect(double[] x, double[] w, int n) {
+        if (!isBulkCollectible()) {
+            boolean b = true;
+            for (int i = 0; i < n && b; i++) {
+                b = collect(x[i], w[i]);
+            }
+            return b;
+        }
+        collectInBulk(x, w, n);
+        return true;
+    }
+
+    private boolean isBulkCollectible() {
+        return getClass() == Statistic.class && isTurnedOn()
+                && !getSaveDataOption()
+                && (myCollectionRule == CollectionRule.NONE);
+    }
+
+    /**
+     * Performs exactly the updates of collect(x, weight) for each value
+     *
+     * @param x the values
+     * @param w the weights, null means 1.0
+     * @param len the number of values to collect
+     */
+    private void collectInBulk(double[] x, double[] w, int len) {
+        double n = moments[0];
+        double m1 = moments[1];
+        double m2 = moments[2];
+        double m3 = moments[3];
+        double m4 = moments[4];
+        double cnt = num;
+        double sw = sumw;
+        double ws = wsum;
+        double wss = wsumsq;
+        double js = myJsum;
+        double sxx = sumxx;
+        double first = firstx;
+        double mn = min;
+        double mx = max;
+        double last = myValue;
+        double lastW = myWeight;
+        double missing = myNumMissing;
+        for (int i = 0; i < len; i++) {
+            double xi = x[i];
+            if (Double.isNaN(xi) || Double.isInfinite(xi)) {
+                missing++;
+                continue;
+            }
+            double weight = (w == null) ? 1.0 : w[i];
+            cnt = cnt + 1;
+            sw = sw + weight;
+            ws = ws + xi * weight;
+            wss = wss + xi * xi * weight;
+            js = js + cnt * xi;
+
+            double n1 = n + 1.0;
+            double n2 = n * n;
+            double delta = (m1 - xi) / n1;
+            double d2 = delta * delta;
+            double d3 = delta * d2;
+            double r1 = n / n1;
+            m4 = (1.0 + n * n2) * d2 * d2 + 6.0 * m2 * d2 + 4.0 * m3 * delta + m4;
+            m4 *= r1;
+            m3 = (1.0 - n2) * d3 + 3.0 * m2 * delta + m3;
+            m3 *= r1;
+            m2 = (1.0 + n) * d2 + m2;
+            m2 *= r1;
+            m1 = m1 - delta;
+            n = n1;
+
+            if (cnt == 1.0) {
+                first = xi;
+            }
+            if (cnt >= 2.0) {
+                sxx = sxx + xi * last;
+            }
+            if (xi > mx) {
+                mx = xi;
+            }
+            if (xi < mn) {
+                mn = xi;
+            }
+            last = xi;
+            lastW = weight;
+        }
+        moments[0] = n;
+        moments[1] = m1;
+        moments[2] = m2;
+        moments[3] = m3;
+        moments[4] = m4;
+        num = cnt;
+        sumw = sw;
+        wsum = ws;
+        wsumsq = wss;
+        myJsum = js;
+        sumxx = sxx;
+        firstx = first;
+        min = mn;
+        max = mx;
+        myValue = last;
+        myWeight = lastW;
+        myNumMissing = missing;
+    }
+
     /** Checks collection criteria
      * 
      * @return true if collection should be turned off
@@ -809,6 +967,93 @@ public class Statistic extends AbstractStatistic {
         }
     }
 
+    /**
+     * Combines the statistics collected by the supplied Statistic into this
+     * Statistic, as if its observations had been collected by this Statistic
+     * after the observations already collected. This permits statistics that
+     * were collected separately, e.g. by different threads, to be reduced
+     * to one Statistic.
+     *
+     * The count, mean and central moments are combined with the pairwise
+     * updates of Chan et al. and Pebay, the minimum, maximum and sums are
+     * combined directly. The lag-1 sums are joined through the last
+     * observation of this Statistic and the first observation of the
+     * supplied Statistic. Saved data is not combined and the supplied
+     * Statistic is not changed.
+     *
+     * As with collect(), nothing is combined if this Statistic is turned
+     * off, and the collection rule is checked after the statistics are
+     * combined.
+     *
+     * @param stat the statistic to combine into this statistic, must not be
+     * null
+     * @return false if this Statistic is turned off or the collection rule
+     * turned off the collection
+     */
+    public boolean merge(Statistic stat) {
+        if (stat == null) {
+            throw new IllegalArgumentException("The supplied Statistic was null");
+        }
+        if (isTurnedOff()) {
+            return false;
+        }
+        if (stat == this) {
+            stat = newInstance();
+        }
+        myNumMissing = myNumMissing + stat.myNumMissing;
+        double nb = stat.moments[0];
+        if (nb == 0.0) {
+            return true;
+        }
+        double na = moments[0];
+        double n = na + nb;
+        double delta = stat.moments[1] - moments[1];
+        double d2 = delta * delta;
+        // the central moments as sums of deviations
+        double m2a = moments[2] * na;
+        double m3a = moments[3] * na;
+        double m4a = moments[4] * na;
+        double m2b = stat.moments[2] * nb;
+        double m3b = stat.moments[3] * nb;
+        double m4b = stat.moments[4] * nb;
+
+        double m4 = m4a + m4b + d2 * d2 * na * nb * (na * na - na * nb + nb * nb) / (n * n * n)
+                + 6.0 * d2 * (na * na * m2b + nb * nb * m2a) / (n * n)
+                + 4.0 * delta * (na * m3b - nb * m3a) / n;
+        double m3 = m3a + m3b + d2 * delta * na * nb * (na - nb) / (n * n)
+                + 3.0 * delta * (na * m2b - nb * m2a) / n;
+        double m2 = m2a + m2b + d2 * na * nb / n;
+
+        // the observation numbers of the supplied statistic follow this one
+        myJsum = myJsum + stat.myJsum + num * stat.moments[1] * nb;
+        if (num == 0.0) {
+            firstx = stat.firstx;
+        } else {
+            sumxx = sumxx + myValue * stat.firstx;
+        }
+        sumxx = sumxx + stat.sumxx;
+
+        moments[0] = n;
+        moments[1] = moments[1] + delta * nb / n;
+        moments[2] = m2 / n;
+        moments[3] = m3 / n;
+        moments[4] = m4 / n;
+
+        num = num + stat.num;
+        sumw = sumw + stat.sumw;
+        wsum = wsum + stat.wsum;
+        wsumsq = wsumsq + stat.wsumsq;
+        if (stat.max > max) {
+            max = stat.max;
+        }
+        if (stat.min < min) {
+            min = stat.min;
+        }
+        myValue = stat.myValue;
+        myWeight = stat.myWeight;
+        return checkCollectionCriteria();
+    }
+
     @Override
     public void reset() {
         turnOn();
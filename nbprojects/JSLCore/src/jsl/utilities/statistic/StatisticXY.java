@@ -33,7 +33,9 @@
  */
 package jsl.utilities.statistic;
 
+import java.util.concurrent.atomic.AtomicLong;
 import jsl.utilities.IdentityIfc;
+import jsl.utilities.SimulationContext;
 import jsl.utilities.math.JSLMath;
 
 /**
@@ -43,7 +45,7 @@ public class StatisticXY implements IdentityIfc {
 
     /** A counter to count the number of created to assign "unique" ids
      */
-    private static long myIdCounter_;
+    private static final AtomicLong myIdCounter_ = new AtomicLong();
 
     /** The id of this object
      */
@@ -76,8 +78,7 @@ public class StatisticXY implements IdentityIfc {
     }
 
     public StatisticXY(String name) {
-        myIdCounter_ = myIdCounter_ + 1;
-        myId = myIdCounter_;
+        myId = SimulationContext.nextId(StatisticXY.class, myIdCounter_);
         setName(name);
         avgx = 0.0;
         avgy = 0.0;
@@ -4,6 +4,7 @@
  */
 package jsl.utilities.statistic;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +28,8 @@ import jsl.utilities.random.distributions.DUniform;
  */
 public class WeightedProportion extends AbstractStatistic {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * A Cell represents a value, count pairing
      */
@@ -558,7 +561,9 @@ public class WeightedProportion extends AbstractStatistic {
     /** Holds the values and their counts
      *
      */
-    public class Cell implements Comparable<Cell> {
+    public class Cell implements Comparable<Cell>, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private int myValue;
 
@@ -41,6 +41,8 @@ package jsl.utilities.statistic;
  */
 public class WeightedStatistic extends AbstractCollector implements WeightedStatisticIfc, GetCSVStatisticIfc {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Used to count the number of missing data points presented When a data
      * point having the value of (Double.NaN, Double.POSITIVE_INFINITY,
@@ -126,6 +128,85 @@ public class WeightedStatistic extends AbstractCollector implements WeightedStat
         return true;
     }
 
+    /**
+     * Collects the values in a single loop over local copies of the sums,
+     * instead of collecting the values one at a time. The result is the
+     * same. Uses the scalar collect() if the data is saved.
+     *
+     * @param values the values to collect
+     * @return false if collection is turned off
+     */
+    @Override
+    public final boolean collect(double[] values) {
+        if (isTurnedOff() || getSaveDataOption()) {
+            return super.collect(values);
+        }
+        collectInBulk(values, null);
+        return true;
+    }
+
+    /**
+     * Collects the values and weights in a single loop over local copies of
+     * the sums, instead of collecting the values one at a time. The result
+     * is the same. Uses the scalar collect() if the data is saved.
+     *
+     * @param x the values to collect
+     * @param w the weights, must be the same length as x
+     * @return false if collection is turned off
+     */
+    @Override
+    public final boolean collect(double[] x, double[] w) {
+        if (x.length != w.length) {
+            throw new IllegalArgumentException("The supplied arrays are not of equal length");
+        }
+        if (isTurnedOff() || getSaveDataOption()) {
+            return super.collect(x, w);
+        }
+        collectInBulk(x, w);
+        return true;
+    }
+
+    /**
+     * Performs exactly the updates of collect(x, weight) for each value
+     *
+     * @param x the values
+     * @param w the weights, null means 1.0
+     */
+    private void collectInBulk(double[] x, double[] w) {
+        double cnt = num;
+        double sw = sumw;
+        double ws = wsum;
+        double wss = wsumsq;
+        double mn = min;
+        double mx = max;
+        double missing = myNumMissing;
+        for (int i = 0; i < x.length; i++) {
+            double xi = x[i];
+            if (Double.isNaN(xi) || Double.isInfinite(xi)) {
+                missing++;
+                continue;
+            }
+            double weight = (w == null) ? 1.0 : w[i];
+            cnt = cnt + 1.0;
+            sw = sw + weight;
+            ws = ws + xi * weight;
+            wss = wss + xi * xi * weight;
+            if (xi > mx) {
+                mx = xi;
+            }
+            if (xi < mn) {
+                mn = xi;
+            }
+        }
+        num = cnt;
+        sumw = sw;
+        wsum = ws;
+        wsumsq = wss;
+        min = mn;
+        max = mx;
+        myNumMissing = missing;
+    }
+
     /**
      * Returns a statistic that summarizes the passed in array of values
      *
@@ -195,6 +276,32 @@ public class WeightedStatistic extends AbstractCollector implements WeightedStat
         return (s);
     }
 
+    /**
+     * Combines the statistics collected by the supplied WeightedStatistic
+     * into this WeightedStatistic, as if its observations had been collected
+     * by this WeightedStatistic. Saved data is not combined and the supplied
+     * WeightedStatistic is not changed.
+     *
+     * @param stat the statistic to combine into this statistic, must not be
+     * null
+     */
+    public final void merge(WeightedStatistic stat) {
+        if (stat == null) {
+            throw new IllegalArgumentException("The supplied WeightedStatistic was null");
+        }
+        num = num + stat.num;
+        sumw = sumw + stat.sumw;
+        wsum = wsum + stat.wsum;
+        wsumsq = wsumsq + stat.wsumsq;
+        myNumMissing = myNumMissing + stat.myNumMissing;
+        if (stat.max > max) {
+            max = stat.max;
+        }
+        if (stat.min < min) {
+            min = stat.min;
+        }
+    }
+
     /* (non-Javadoc)
      * @see jsl.utilities.statistic.AbstractCollector#reset()
      */
@@ -33,6 +33,7 @@
  */
 package models;
 
+import java.io.Serializable;
 import jsl.modeling.EventActionIfc;
 import jsl.modeling.Experiment;
 import jsl.modeling.JSLEvent;
@@ -140,7 +141,9 @@ public class DriveThroughPharmacy extends SchedulingElement {
         scheduleEvent(myArrivalEventAction, myArrivalRV);
     }
 
-    private class ArrivalEventAction implements EventActionIfc {
+    private class ArrivalEventAction implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent event) {
@@ -163,7 +166,9 @@ public class DriveThroughPharmacy extends SchedulingElement {
         }
     }
 
-    private class EndServiceEventAction implements EventActionIfc {
+    private class EndServiceEventAction implements EventActionIfc, Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         @Override
         public void action(JSLEvent event) {
@@ -290,6 +290,7 @@ public class ResponseInterval extends SchedulingElement {
         }
         myScheduledFlag = true;
         myStartEvent = scheduleEvent(myStartAction, startTime, START_EVENT_PRIORITY);
+        myStartEvent.setRecyclableOption(false);
     }
 
     /**
@@ -374,6 +375,7 @@ public class ResponseInterval extends SchedulingElement {
             }
 //            System.out.println(getTime() + " > scheduling interval to end at " + (getTime() + getDuration()));
             myEndEvent = scheduleEvent(myEndAction, getDuration(), END_EVENT_PRIORITY);
+            myEndEvent.setRecyclableOption(false);
         }
 
     }
@@ -415,6 +415,7 @@ public class ResponseSchedule extends SchedulingElement {
 //        System.out.println("In ResponseSchedule: scheduleStart()");
 //        System.out.println("> scheduling the start of the schedule");
         myStartEvent = scheduleEvent(myStartAction, timeToStart, START_EVENT_PRIORITY);
+        myStartEvent.setRecyclableOption(false);
 
     }
 
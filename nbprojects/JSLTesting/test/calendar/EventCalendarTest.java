@@ -0,0 +1,285 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package calendar;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsl.calendar.CalendarIfc;
+import jsl.calendar.CalendarQueueEventCalendar;
+import jsl.calendar.IndexedHeapEventCalendar;
+import jsl.calendar.LadderQueueEventCalendar;
+import jsl.calendar.PrimitiveHeapEventCalendar;
+import jsl.calendar.PriorityQueueEventCalendar;
+import jsl.calendar.SkewHeapEventCalendar;
+import jsl.calendar.TreeSetEventCalendar;
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.random.rng.RNStreamFactory.RNStream;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Runs the same randomly generated event pattern through each calendar and
+ * checks that the events are executed in the same order as with the default
+ * PriorityQueueEventCalendar
+ *
+ * @author rossetti
+ */
+public class EventCalendarTest {
+
+    RNStream s;
+
+    @Before
+    public void setUp() {
+        s = new RNStreamFactory().getStream();
+    }
+
+    @Test
+    public void testCalendarQueue() {
+        checkCalendar(new CalendarQueueEventCalendar());
+    }
+
+    @Test
+    public void testCalendarQueueNoResize() {
+        CalendarQueueEventCalendar c = new CalendarQueueEventCalendar(16, 0.5);
+        c.setResizeOption(false);
+        checkCalendar(c);
+    }
+
+    @Test
+    public void testIndexedHeap() {
+        IndexedHeapEventCalendar c = new IndexedHeapEventCalendar();
+        checkCalendar(c);
+        assertEquals(0, c.getNumberOfCanceledEvents());
+    }
+
+    @Test
+    public void testIndexedHeapNoRemoval() {
+        IndexedHeapEventCalendar c = new IndexedHeapEventCalendar(1);
+        c.setRemoveCanceledEventsOption(false);
+        checkCalendar(c);
+    }
+
+    @Test
+    public void testIndexedHeapReschedule() {
+        IndexedHeapEventCalendar c = new IndexedHeapEventCalendar();
+        Executive e = new Executive(c);
+        e.setTerminationWarningMessageOption(false);
+        HoldAction a = new HoldAction(e, s, 0);
+        e.initialize();
+        JSLEvent e1 = e.scheduleEvent(a, 5.0, null, 1, null);
+        JSLEvent e2 = e.scheduleEvent(a, 3.0, null, 1, null);
+        JSLEvent e3 = e.scheduleEvent(a, 4.0, null, 1, null);
+        e.cancel(e2);
+        assertFalse(e2.isScheduled());
+        assertEquals(2, c.size());
+        assertEquals(0, e.getNumberOfCanceledEvents());
+        // move the scheduled event to the front
+        e.reschedule(e1, 1.0);
+        assertTrue(e1.isScheduled());
+        assertEquals(2, c.size());
+        assertTrue(c.peekNext() == e1);
+        e.reschedule(e2, 2.0);
+        e.executeAllEvents();
+        assertEquals(3, a.myOrder.size());
+        assertTrue(a.myOrder.get(0) == e1.getId());
+        assertTrue(a.myOrder.get(1) == e2.getId());
+        assertTrue(a.myOrder.get(2) == e3.getId());
+    }
+
+    @Test
+    public void testCanceledEventCount() {
+        PriorityQueueEventCalendar c = new PriorityQueueEventCalendar();
+        Executive e = new Executive(c);
+        e.setTerminationWarningMessageOption(false);
+        HoldAction a = new HoldAction(e, s, 0);
+        e.initialize();
+        JSLEvent e1 = e.scheduleEvent(a, 1.0, null, 1, null);
+        e.scheduleEvent(a, 2.0, null, 1, null);
+        e.cancel(e1);
+        e.cancel(e1);
+        assertTrue(e1.isScheduled());
+        assertEquals(1, e.getNumberOfCanceledEvents());
+        e.executeAllEvents();
+        assertEquals(0, e.getNumberOfCanceledEvents());
+        assertEquals(1, a.myOrder.size());
+    }
+
+    @Test
+    public void testDefaultMethods() {
+        DelegatingCalendar c = new DelegatingCalendar();
+        assertFalse(c.getRemoveCanceledEventsOption());
+        assertEquals(0, c.getNumberOfCanceledEvents());
+        checkCalendar(c);
+    }
+
+    @Test
+    public void testLadderQueue() {
+        checkCalendar(new LadderQueueEventCalendar());
+    }
+
+    @Test
+    public void testPrimitiveHeap() {
+        checkCalendar(new PrimitiveHeapEventCalendar());
+        checkCalendar(new PrimitiveHeapEventCalendar(1));
+    }
+
+    @Test
+    public void testSkewHeap() {
+        checkCalendar(new SkewHeapEventCalendar());
+    }
+
+    @Test
+    public void testTreeSet() {
+        checkCalendar(new TreeSetEventCalendar());
+    }
+
+    /**
+     * Executes the hold model on the calendar and compares the order of the
+     * executed events to the default calendar
+     *
+     * @param c the calendar to check
+     */
+    protected void checkCalendar(CalendarIfc c) {
+        List<Long> expected = runHoldModel(new PriorityQueueEventCalendar());
+        List<Long> actual = runHoldModel(c);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+        assertTrue(c.isEmpty());
+    }
+
+    /**
+     * Pre-loads the calendar with events and then each executed event
+     * schedules up to two new events, some at the current time, until a fixed
+     * number of events have been scheduled. Some of the pending events are
+     * canceled. Times are rounded to create ties
+     * that are broken by priority and then id.
+     *
+     * @param c the calendar
+     * @return the ids of the events in the order executed
+     */
+    protected List<Long> runHoldModel(CalendarIfc c) {
+        Executive e = new Executive(c);
+        e.setTerminationWarningMessageOption(false);
+        s.resetStartStream();
+        HoldAction a = new HoldAction(e, s, 20000);
+        e.initialize();
+        for (int i = 0; i < 500; i++) {
+            a.scheduleNext();
+        }
+        e.executeAllEvents();
+        return a.myOrder;
+    }
+
+    /**
+     * Implements only the methods of CalendarIfc that have no default
+     */
+    static class DelegatingCalendar implements CalendarIfc {
+
+        private final PriorityQueueEventCalendar myCalendar = new PriorityQueueEventCalendar();
+
+        @Override
+        public void add(JSLEvent event) {
+            myCalendar.add(event);
+        }
+
+        @Override
+        public JSLEvent nextEvent() {
+            return myCalendar.nextEvent();
+        }
+
+        @Override
+        public JSLEvent peekNext() {
+            return myCalendar.peekNext();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return myCalendar.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            myCalendar.clear();
+        }
+
+        @Override
+        public void cancel(JSLEvent event) {
+            myCalendar.cancel(event);
+        }
+
+        @Override
+        public int size() {
+            return myCalendar.size();
+        }
+    }
+
+    class HoldAction implements EventActionIfc {
+
+        Executive myExecutive;
+
+        RNStream myStream;
+
+        int myNumToSchedule;
+
+        List<Long> myOrder = new ArrayList<>();
+
+        List<JSLEvent> myPending = new ArrayList<>();
+
+        double myLastTime = 0.0;
+
+        HoldAction(Executive e, RNStream s, int n) {
+            myExecutive = e;
+            myStream = s;
+            myNumToSchedule = n;
+        }
+
+        void scheduleNext() {
+            if (myNumToSchedule <= 0) {
+                return;
+            }
+            myNumToSchedule--;
+            double u = myStream.randU01();
+            double t;
+            if (u < 0.1) {
+                t = 0.0;
+            } else if (u < 0.95) {
+                t = Math.rint(-10.0 * Math.log(myStream.randU01())) / 4.0;
+            } else {
+                t = 1000.0 * myStream.randU01();
+            }
+            int priority = myStream.randInt(1, 3);
+            JSLEvent e = myExecutive.scheduleEvent(this, t, null, priority, null);
+            if (myPending.size() < 100) {
+                myPending.add(e);
+            } else {
+                myPending.set(myStream.randInt(0, 99), e);
+            }
+        }
+
+        void cancelPending() {
+            JSLEvent e = myPending.get(myStream.randInt(0, myPending.size() - 1));
+            if (e.isScheduled() && !e.getCanceledFlag()) {
+                myExecutive.cancel(e);
+            }
+        }
+
+        @Override
+        public void action(JSLEvent evt) {
+            assertTrue(evt.getTime() >= myLastTime);
+            myLastTime = evt.getTime();
+            myOrder.add(evt.getId());
+            scheduleNext();
+            if (myStream.randU01() < 0.5) {
+                scheduleNext();
+            }
+            if (myStream.randU01() < 0.2) {
+                cancelPending();
+            }
+        }
+    }
+}
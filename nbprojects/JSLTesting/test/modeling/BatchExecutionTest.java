@@ -0,0 +1,111 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.observers.ObserverIfc;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the batch execution of simultaneous events by the Executive
+ *
+ * @author rossetti
+ */
+public class BatchExecutionTest {
+
+    @Test
+    public void testSameOrder() {
+        Recorder r1 = new Recorder();
+        List<Long> expected = run(false, r1, -1);
+        Recorder r2 = new Recorder();
+        List<Long> actual = run(true, r2, -1);
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), r1.myNumBefore);
+        // one notification per distinct event time
+        assertEquals(r2.myTimes.size(), r2.myNumBefore);
+        assertEquals(r2.myNumBefore, r2.myNumAfter);
+        assertTrue(r2.myNumBefore < r1.myNumBefore);
+    }
+
+    @Test
+    public void testStopWithinBatch() {
+        List<Long> expected = run(false, null, 3000);
+        List<Long> actual = run(true, null, 3000);
+        assertEquals(expected, actual);
+    }
+
+    protected List<Long> run(boolean batch, Recorder r, int stopAfter) {
+        Executive e = new Executive();
+        e.setTerminationWarningMessageOption(false);
+        e.setBatchSimultaneousEventsOption(batch);
+        if (r != null) {
+            e.addObserver(r);
+        }
+        e.initialize();
+        SelfScheduler a = new SelfScheduler(e, 5000, stopAfter);
+        for (int i = 1; i <= 10; i++) {
+            e.scheduleEvent(a, i % 3, null, i % 4, null);
+        }
+        e.executeAllEvents();
+        return a.myIds;
+    }
+
+    class Recorder implements ObserverIfc {
+
+        int myNumBefore;
+
+        int myNumAfter;
+
+        List<Double> myTimes = new ArrayList<>();
+
+        @Override
+        public void update(Object theObserved, Object arg) {
+            Executive e = (Executive) theObserved;
+            if (e.getObserverState() == Executive.BEFORE_EVENT) {
+                myNumBefore++;
+                myTimes.add(e.getTime());
+            } else if (e.getObserverState() == Executive.AFTER_EVENT) {
+                myNumAfter++;
+            }
+        }
+    }
+
+    class SelfScheduler implements EventActionIfc {
+
+        Executive myExecutive;
+
+        int myNumToSchedule;
+
+        int myStopAfter;
+
+        List<Long> myIds = new ArrayList<>();
+
+        SelfScheduler(Executive e, int n, int stopAfter) {
+            myExecutive = e;
+            myNumToSchedule = n;
+            myStopAfter = stopAfter;
+        }
+
+        @Override
+        public void action(JSLEvent evt) {
+            myIds.add(evt.getId());
+            if (myIds.size() == myStopAfter) {
+                myExecutive.stop();
+            }
+            if (myNumToSchedule > 0) {
+                myNumToSchedule--;
+                // zero delays with lower priority values execute within the
+                // current batch ahead of events already in the calendar
+                myExecutive.scheduleEvent(this, (myNumToSchedule % 3) * 0.5,
+                        null, myNumToSchedule % 5, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.Model;
+import jsl.modeling.ModelElement;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.Simulation;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import models.DriveThroughPharmacy;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a simulation restored from a checkpoint and resumed gives the
+ * same results as the simulation that was checkpointed
+ *
+ * @author rossetti
+ */
+public class CheckpointTest {
+
+    private File myFile;
+
+    @Before
+    public void setUp() throws IOException {
+        myFile = File.createTempFile("jslCheckpoint", ".bin");
+        myFile.delete();
+    }
+
+    @After
+    public void tearDown() {
+        myFile.delete();
+        SimulationContext.setCurrent(null);
+    }
+
+    @Test
+    public void testResumeRun() throws IOException {
+        Simulation sim = makeSimulation(2);
+        sim.run();
+        assertTrue(myFile.exists());
+        List<double[]> uninterrupted = getResults(sim.getModel());
+
+        Simulation restored = Simulation.restore(myFile);
+        assertEquals(2, restored.getCurrentReplicationNumber());
+        assertEquals(2000.0, restored.getExecutive().getTime(), 0.0);
+        restored.resume();
+        assertEquals(3, restored.getCurrentReplicationNumber());
+        List<double[]> resumed = getResults(restored.getModel());
+        assertEquals(uninterrupted.size(), resumed.size());
+        for (int i = 0; i < uninterrupted.size(); i++) {
+            assertArrayEquals(uninterrupted.get(i), resumed.get(i), 0.0);
+        }
+    }
+
+    @Test
+    public void testResumeRunNext() throws IOException {
+        Simulation sim = makeSimulation(1);
+        sim.initialize();
+        sim.runNext();
+        double avg = getSystemTime(sim.getModel());
+
+        Simulation restored = Simulation.restore(myFile);
+        restored.resume();
+        assertEquals(1, restored.getCurrentReplicationNumber());
+        assertEquals(avg, getSystemTime(restored.getModel()), 0.0);
+        // the remaining replications can be run
+        restored.runNext();
+        assertEquals(2, restored.getCurrentReplicationNumber());
+    }
+
+    @Test(expected = jsl.modeling.IllegalStateException.class)
+    public void testResumeNotRestored() {
+        Simulation sim = makeSimulation(1);
+        sim.resume();
+    }
+
+    protected Simulation makeSimulation(int checkpointRep) {
+        SimulationContext.setCurrent(new SimulationContext("Checkpoint"));
+        Simulation sim = new Simulation("Pharmacy");
+        DriveThroughPharmacy d = new DriveThroughPharmacy(sim.getModel());
+        d.setArrivalRS(new Exponential(6.0));
+        d.setServiceRS(new Exponential(3.0));
+        new CheckpointTrigger(sim.getModel(), myFile, checkpointRep, 2000.0);
+        SimulationContext.setCurrent(null);
+        sim.setNumberOfReplications(3);
+        sim.setLengthOfReplication(5000.0);
+        sim.setLengthOfWarmUp(500.0);
+        return sim;
+    }
+
+    protected double getSystemTime(Model m) {
+        return m.getResponseVariable("System Time").getWithinReplicationStatistic().getAverage();
+    }
+
+    protected List<double[]> getResults(Model m) {
+        List<double[]> list = new ArrayList<>();
+        for (StatisticAccessorIfc s : m.getListOfAcrossReplicationStatistics()) {
+            double[] x = {s.getCount(), s.getAverage(), s.getVariance(),
+                s.getMin(), s.getMax()};
+            list.add(x);
+        }
+        return list;
+    }
+
+    /**
+     * Requests a checkpoint at a time during a replication
+     */
+    static class CheckpointTrigger extends SchedulingElement {
+
+        private final File myFile;
+
+        private final int myRep;
+
+        private final double myTime;
+
+        CheckpointTrigger(ModelElement parent, File file, int rep, double time) {
+            super(parent);
+            myFile = file;
+            myRep = rep;
+            myTime = time;
+        }
+
+        @Override
+        protected void initialize() {
+            if (getSimulation().getCurrentReplicationNumber() == myRep) {
+                scheduleEvent(new TriggerAction(), myTime);
+            }
+        }
+
+        class TriggerAction implements EventActionIfc, Serializable {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void action(JSLEvent evt) {
+                getSimulation().requestCheckpoint(myFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jsl.modeling.Simulation;
+import jsl.modeling.StatisticalBatchingElement;
+import jsl.modeling.elements.variable.ColumnarBatchingElement;
+import jsl.modeling.elements.variable.TimeWeighted;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.statistic.BatchStatistic;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that batching the variables by columns gives the same batch
+ * statistics as batching them with observers
+ *
+ * @author rossetti
+ */
+public class ColumnarBatchingTest {
+
+    @After
+    public void tearDown() {
+        SimulationContext.setCurrent(null);
+    }
+
+    @Test
+    public void testSameBatches() {
+        checkSameBatches(1, ColumnarBatchingElement.DEFAULT_BUFFER_SIZE);
+    }
+
+    @Test
+    public void testParallelSmallBuffers() {
+        // small buffers are flushed many times during the replication
+        checkSameBatches(3, 7);
+    }
+
+    @Test
+    public void testRemove() {
+        Simulation sim = makePharmacy("Remove");
+        ColumnarBatchingElement cb = new ColumnarBatchingElement(sim.getModel());
+        TimeWeighted tw = (TimeWeighted) sim.getModel().getResponseVariable("# in System");
+        cb.add(tw);
+        assertTrue(cb.contains(tw));
+        cb.remove(tw);
+        assertFalse(cb.contains(tw));
+        // it can be added again after it was removed
+        cb.add(tw);
+        sim.run();
+        assertTrue(cb.getBatchStatistic(tw).getCount() > 0.0);
+    }
+
+    protected void checkSameBatches(int numThreads, int bufferSize) {
+        Simulation s1 = makePharmacy("Observers");
+        StatisticalBatchingElement b1 = new StatisticalBatchingElement(s1.getModel());
+        Simulation s2 = makePharmacy("Columns");
+        StatisticalBatchingElement b2 = new StatisticalBatchingElement(s2.getModel());
+        b2.setColumnarBatchingOption(true);
+        b2.getColumnarBatchingElement().setNumberOfThreads(numThreads);
+        b2.getColumnarBatchingElement().setBufferSize(bufferSize);
+        s1.run();
+        s2.run();
+        Map<String, BatchStatistic> m1 = byName(b1.getAllBatchStatisitcs());
+        Map<String, BatchStatistic> m2 = byName(b2.getAllBatchStatisitcs());
+        assertEquals(m1.keySet(), m2.keySet());
+        for (String name : m1.keySet()) {
+            BatchStatistic bs1 = m1.get(name);
+            BatchStatistic bs2 = m2.get(name);
+            assertTrue(bs1.getCount() > 0.0);
+            assertEquals(name, bs1.getTotalNumberOfObservations(), bs2.getTotalNumberOfObservations(), 0.0);
+            assertEquals(name, bs1.getCount(), bs2.getCount(), 0.0);
+            assertEquals(name, bs1.getAverage(), bs2.getAverage(), 0.0);
+            assertEquals(name, bs1.getVariance(), bs2.getVariance(), 0.0);
+            assertEquals(name, bs1.getNumberMissing(), bs2.getNumberMissing(), 0.0);
+        }
+    }
+
+    protected Map<String, BatchStatistic> byName(List<BatchStatistic> list) {
+        Map<String, BatchStatistic> map = new HashMap<String, BatchStatistic>();
+        for (BatchStatistic bs : list) {
+            map.put(bs.getName(), bs);
+        }
+        return map;
+    }
+
+    protected Simulation makePharmacy(String name) {
+        return PharmacyFixture.makePharmacy(name, 2, 50000.0, 5000.0);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.JSLEventException;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the recycling of events by the Executive's event pool
+ *
+ * @author rossetti
+ */
+public class EventPoolTest {
+
+    @Test
+    public void testPoolingSameOrder() {
+        List<Double> expected = run(false);
+        List<Double> actual = run(true);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testHitRate() {
+        Executive e = new Executive();
+        e.setTerminationWarningMessageOption(false);
+        e.setEventPoolingOption(true);
+        e.initialize();
+        SelfScheduler a = new SelfScheduler(e, 1000);
+        e.scheduleEvent(a, 1.0, null, 1, null);
+        e.executeAllEvents();
+        assertEquals(1001, (long) e.getTotalNumberEventsExecuted());
+        assertEquals(1001, e.getNumberOfEventPoolRequests());
+        // an executed event is recycled after the next event executes, so the
+        // first three events must be created, after that each is recycled
+        assertEquals(998, e.getNumberOfEventPoolHits());
+        assertTrue(e.getEventPoolHitRate() > 0.99);
+    }
+
+    @Test
+    public void testStaleReference() {
+        Executive e = new Executive();
+        e.setTerminationWarningMessageOption(false);
+        e.setEventPoolingOption(true);
+        e.initialize();
+        SelfScheduler a = new SelfScheduler(e, 0);
+        JSLEvent e1 = e.scheduleEvent(a, 1.0, null, 1, null);
+        JSLEvent e2 = e.scheduleEvent(a, 2.0, null, 1, null);
+        e2.setRecyclableOption(false);
+        e.scheduleEvent(a, 3.0, null, 1, null);
+        int g = e1.getGeneration();
+        e.executeAllEvents();
+        assertTrue(e1.isPooled());
+        assertTrue(e1.getGeneration() != g);
+        assertFalse(e2.isPooled());
+        boolean f = false;
+        try {
+            e.reschedule(e1, 1.0);
+        } catch (JSLEventException ex) {
+            f = true;
+        }
+        assertTrue(f);
+    }
+
+    protected List<Double> run(boolean pooling) {
+        Executive e = new Executive();
+        e.setTerminationWarningMessageOption(false);
+        e.setEventPoolingOption(pooling);
+        e.initialize();
+        SelfScheduler a = new SelfScheduler(e, 5000);
+        for (int i = 1; i <= 10; i++) {
+            e.scheduleEvent(a, i, null, 1, null);
+        }
+        e.executeAllEvents();
+        return a.myTimes;
+    }
+
+    class SelfScheduler implements EventActionIfc {
+
+        Executive myExecutive;
+
+        int myNumToSchedule;
+
+        List<Double> myTimes = new ArrayList<>();
+
+        SelfScheduler(Executive e, int n) {
+            myExecutive = e;
+            myNumToSchedule = n;
+        }
+
+        @Override
+        public void action(JSLEvent evt) {
+            myTimes.add(evt.getTime());
+            if (myNumToSchedule > 0) {
+                myNumToSchedule--;
+                myExecutive.scheduleEvent(this, (myNumToSchedule % 7) * 0.5, null, 1, null);
+            }
+        }
+    }
+}
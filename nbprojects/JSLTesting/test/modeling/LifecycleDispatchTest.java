@@ -0,0 +1,104 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import jsl.modeling.ModelElement;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.Simulation;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the model calls the lifecycle methods of its model elements in
+ * the order of the model element tree, and only for the model elements whose
+ * options are on, after the tree and the options change
+ *
+ * @author rossetti
+ */
+public class LifecycleDispatchTest {
+
+    private Simulation mySim;
+
+    private List<String> myCalls;
+
+    private Element a, a1, a2, b;
+
+    @Before
+    public void setUp() {
+        mySim = new Simulation("Lifecycle");
+        myCalls = new ArrayList<String>();
+        a = new Element(mySim.getModel(), "A");
+        a1 = new Element(a, "A1");
+        a2 = new Element(a, "A2");
+        b = new Element(mySim.getModel(), "B");
+        mySim.setNumberOfReplications(1);
+        mySim.setLengthOfReplication(10.0);
+        mySim.setLengthOfWarmUp(5.0);
+    }
+
+    @Test
+    public void testOrder() {
+        mySim.run();
+        assertEquals(Arrays.asList(
+                "beforeReplication A1", "beforeReplication A2", "beforeReplication A", "beforeReplication B",
+                "initialize A1", "initialize A2", "initialize A", "initialize B",
+                "warmUp A", "warmUp A1", "warmUp A2", "warmUp B",
+                "afterReplication A1", "afterReplication A2", "afterReplication A", "afterReplication B"),
+                myCalls);
+    }
+
+    @Test
+    public void testChanges() {
+        a2.setInitializationOption(false);
+        b.changeParentModelElement(a1);
+        Element c = new Element(a, "C");
+        c.setLengthOfWarmUp(2.0);
+        mySim.run();
+        assertEquals(Arrays.asList(
+                "beforeReplication B", "beforeReplication A1", "beforeReplication A2",
+                "beforeReplication C", "beforeReplication A",
+                "initialize B", "initialize A1", "initialize C", "initialize A",
+                "warmUp C", "warmUp A", "warmUp A1", "warmUp B", "warmUp A2",
+                "afterReplication B", "afterReplication A1", "afterReplication A2",
+                "afterReplication C", "afterReplication A"),
+                myCalls);
+        myCalls.clear();
+        c.removeFromModel();
+        a2.setInitializationOption(true);
+        mySim.run();
+        assertTrue(myCalls.contains("initialize A2"));
+        assertFalse(myCalls.contains("initialize C"));
+    }
+
+    class Element extends SchedulingElement {
+
+        Element(ModelElement parent, String name) {
+            super(parent, name);
+        }
+
+        @Override
+        protected void beforeReplication() {
+            myCalls.add("beforeReplication " + getName());
+        }
+
+        @Override
+        protected void initialize() {
+            myCalls.add("initialize " + getName());
+        }
+
+        @Override
+        protected void warmUp() {
+            myCalls.add("warmUp " + getName());
+        }
+
+        @Override
+        protected void afterReplication() {
+            myCalls.add("afterReplication " + getName());
+        }
+    }
+}
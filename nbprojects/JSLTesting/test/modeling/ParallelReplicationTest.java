@@ -0,0 +1,118 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsl.modeling.Model;
+import jsl.modeling.ModelBuilderIfc;
+import jsl.modeling.ParallelReplicationRunner;
+import jsl.modeling.Simulation;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import models.DriveThroughPharmacy;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that replications executed by a ParallelReplicationRunner give the
+ * same results as the same replications executed sequentially
+ *
+ * @author rossetti
+ */
+public class ParallelReplicationTest {
+
+    @Test
+    public void testSameAsSequential() {
+        ParallelReplicationRunner runner = new ParallelReplicationRunner("Pharmacy",
+                new PharmacyBuilder(), 3);
+        Simulation sim = runner.getSimulation();
+        sim.setNumberOfReplications(10);
+        sim.setLengthOfReplication(2000.0);
+        sim.setLengthOfWarmUp(500.0);
+        runner.run();
+        assertEquals(10, sim.getCurrentReplicationNumber());
+        List<double[]> parallel = getResults(sim.getModel());
+        // the simulation's streams were not used, so a sequential run repeats
+        // the experiment
+        sim.run();
+        List<double[]> sequential = getResults(sim.getModel());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i), parallel.get(i), 0.0);
+        }
+    }
+
+    @Test
+    public void testMoreThreadsThanReplications() {
+        ParallelReplicationRunner runner = new ParallelReplicationRunner("Pharmacy",
+                new PharmacyBuilder(), 8);
+        Simulation sim = runner.getSimulation();
+        sim.setNumberOfReplications(2);
+        sim.setLengthOfReplication(1000.0);
+        runner.run();
+        List<double[]> parallel = getResults(sim.getModel());
+        sim.run();
+        List<double[]> sequential = getResults(sim.getModel());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i), parallel.get(i), 0.0);
+        }
+    }
+
+    @Test
+    public void testStopWhenTargetsMet() {
+        ParallelReplicationRunner runner = new ParallelReplicationRunner("Pharmacy",
+                new PharmacyBuilder(), 3);
+        Simulation sim = runner.getSimulation();
+        sim.setNumberOfReplications(200);
+        sim.setLengthOfReplication(2000.0);
+        sim.setLengthOfWarmUp(500.0);
+        runner.setWaveSize(4);
+        runner.addHalfWidthTarget("System Time", 1.0);
+        runner.addRelativePrecisionTarget("# in System", 0.2);
+        runner.run();
+        int k = sim.getCurrentReplicationNumber();
+        assertTrue(k < 200);
+        assertEquals(0, k % 4);
+        StatisticAccessorIfc st = sim.getModel().getResponseVariable("System Time").getAcrossReplicationStatistic();
+        assertEquals(k, st.getCount(), 0.0);
+        assertTrue(st.getHalfWidth() <= 1.0);
+        List<double[]> parallel = getResults(sim.getModel());
+        // a sequential run of the same number of replications
+        sim.setNumberOfReplications(k);
+        sim.run();
+        List<double[]> sequential = getResults(sim.getModel());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i), parallel.get(i), 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownTarget() {
+        ParallelReplicationRunner runner = new ParallelReplicationRunner("Pharmacy",
+                new PharmacyBuilder(), 2);
+        runner.addHalfWidthTarget("No Such Response", 1.0);
+    }
+
+    protected List<double[]> getResults(Model m) {
+        List<double[]> list = new ArrayList<>();
+        for (StatisticAccessorIfc s : m.getListOfAcrossReplicationStatistics()) {
+            double[] x = {s.getCount(), s.getAverage(), s.getVariance(),
+                s.getMin(), s.getMax()};
+            list.add(x);
+        }
+        return list;
+    }
+
+    class PharmacyBuilder implements ModelBuilderIfc {
+
+        @Override
+        public void build(Model model) {
+            DriveThroughPharmacy d = new DriveThroughPharmacy(model);
+            d.setArrivalRS(new Exponential(6.0));
+            d.setServiceRS(new Exponential(3.0));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import jsl.modeling.ModelBuilderIfc;
+import jsl.modeling.Simulation;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.distributions.Exponential;
+import models.DriveThroughPharmacy;
+
+/**
+ * Makes the drive through pharmacy simulations used by the tests. Each
+ * simulation is made within its own SimulationContext, so that it has its
+ * own streams and ids and does not change the streams of the other tests.
+ *
+ * @author rossetti
+ */
+public class PharmacyFixture {
+
+    private PharmacyFixture() {
+    }
+
+    /**
+     * Makes a pharmacy with a mean time between arrivals of 6 and a mean
+     * service time of 3
+     *
+     * @param name the name of the simulation and of its context
+     * @param numReps the number of replications
+     * @param length the length of each replication
+     * @param warmUp the length of the warm up period
+     * @return the simulation
+     */
+    public static Simulation makePharmacy(String name, int numReps,
+            double length, double warmUp) {
+        return makePharmacy(name, numReps, length, warmUp, null);
+    }
+
+    /**
+     * Makes a pharmacy with a mean time between arrivals of 6 and a mean
+     * service time of 3
+     *
+     * @param name the name of the simulation and of its context
+     * @param numReps the number of replications
+     * @param length the length of each replication
+     * @param warmUp the length of the warm up period
+     * @param configurer if not null, it changes the model within the context
+     * after the pharmacy is built
+     * @return the simulation
+     */
+    public static Simulation makePharmacy(String name, int numReps,
+            double length, double warmUp, ModelBuilderIfc configurer) {
+        SimulationContext previous = SimulationContext.setCurrent(new SimulationContext(name));
+        try {
+            Simulation sim = new Simulation(name);
+            DriveThroughPharmacy d = new DriveThroughPharmacy(sim.getModel());
+            d.setArrivalRS(new Exponential(6.0));
+            d.setServiceRS(new Exponential(3.0));
+            if (configurer != null) {
+                configurer.build(sim.getModel());
+            }
+            sim.setNumberOfReplications(numReps);
+            sim.setLengthOfReplication(length);
+            sim.setLengthOfWarmUp(warmUp);
+            return sim;
+        } finally {
+            SimulationContext.setCurrent(previous);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsl.modeling.Model;
+import jsl.modeling.ModelBuilderIfc;
+import jsl.modeling.ProcessReplicationRunner;
+import jsl.modeling.Simulation;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import models.DriveThroughPharmacy;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that replications executed in worker processes by a
+ * ProcessReplicationRunner give the same results as the same replications
+ * executed sequentially
+ *
+ * @author rossetti
+ */
+public class ProcessReplicationTest {
+
+    @Test
+    public void testSameAsSequential() {
+        ProcessReplicationRunner runner = new ProcessReplicationRunner("Pharmacy",
+                PharmacyBuilder.class, 2);
+        Simulation sim = runner.getSimulation();
+        sim.setNumberOfReplications(5);
+        sim.setLengthOfReplication(2000.0);
+        sim.setLengthOfWarmUp(500.0);
+        runner.run();
+        assertEquals(5, sim.getCurrentReplicationNumber());
+        List<double[]> parallel = getResults(sim.getModel());
+        // the simulation's streams were not used, so a sequential run repeats
+        // the experiment
+        sim.run();
+        List<double[]> sequential = getResults(sim.getModel());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i), parallel.get(i), 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFailingWorker() {
+        ProcessReplicationRunner runner = new ProcessReplicationRunner("Failing",
+                FailingBuilder.class, 1);
+        runner.addJVMOption("-D" + FailingBuilder.FAIL_PROPERTY + "=true");
+        Simulation sim = runner.getSimulation();
+        sim.setNumberOfReplications(2);
+        sim.setLengthOfReplication(100.0);
+        runner.run();
+    }
+
+    protected List<double[]> getResults(Model m) {
+        List<double[]> list = new ArrayList<>();
+        for (StatisticAccessorIfc s : m.getListOfAcrossReplicationStatistics()) {
+            double[] x = {s.getCount(), s.getAverage(), s.getVariance(),
+                s.getMin(), s.getMax()};
+            list.add(x);
+        }
+        return list;
+    }
+
+    public static class PharmacyBuilder implements ModelBuilderIfc {
+
+        @Override
+        public void build(Model model) {
+            DriveThroughPharmacy d = new DriveThroughPharmacy(model);
+            d.setArrivalRS(new Exponential(6.0));
+            d.setServiceRS(new Exponential(3.0));
+        }
+    }
+
+    /**
+     * Builds the model in the calling JVM, but fails in the worker process
+     */
+    public static class FailingBuilder implements ModelBuilderIfc {
+
+        static final String FAIL_PROPERTY = "jsl.test.failingbuilder";
+
+        @Override
+        public void build(Model model) {
+            if (Boolean.getBoolean(FAIL_PROPERTY)) {
+                throw new IllegalArgumentException("The model cannot be built in a worker");
+            }
+            new PharmacyBuilder().build(model);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jsl.modeling.Model;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.observers.variable.MultipleComparisonDataCollector;
+import jsl.observers.variable.ReplicationResultCollector;
+import jsl.observers.variable.ReplicationResultFileReader;
+import jsl.observers.variable.ReplicationResultFileSink;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import jsl.utilities.statistic.WeightedStatistic;
+import models.DriveThroughPharmacy;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the statistics streamed to a result file are read back as they
+ * were collected by the model
+ *
+ * @author rossetti
+ */
+public class ReplicationResultFileTest {
+
+    private File myFile;
+
+    private Simulation mySim;
+
+    private DriveThroughPharmacy myPharmacy;
+
+    private MultipleComparisonDataCollector myMCDC;
+
+    @Before
+    public void setUp() throws IOException {
+        myFile = File.createTempFile("results", ".jslr");
+        SimulationContext.setCurrent(new SimulationContext("Results"));
+        mySim = new Simulation("Results");
+        myPharmacy = new DriveThroughPharmacy(mySim.getModel());
+        myPharmacy.setArrivalRS(new Exponential(6.0));
+        mySim.setLengthOfReplication(2000.0);
+        mySim.setLengthOfWarmUp(500.0);
+        ResponseVariable rv = mySim.getModel().getResponseVariable("System Time");
+        myMCDC = new MultipleComparisonDataCollector(rv);
+    }
+
+    @After
+    public void tearDown() {
+        SimulationContext.setCurrent(null);
+        myFile.delete();
+    }
+
+    @Test
+    public void testClosedFile() {
+        ReplicationResultFileSink sink = new ReplicationResultFileSink(myFile);
+        new ReplicationResultCollector(mySim.getModel(), sink);
+        Map<String, List<double[]>> results = runExperiments();
+        sink.close();
+        checkFile(results);
+    }
+
+    @Test
+    public void testUnclosedFile() {
+        // the file has no index, as after a failed simulation
+        ReplicationResultFileSink sink = new ReplicationResultFileSink(myFile);
+        new ReplicationResultCollector(mySim.getModel(), sink);
+        Map<String, List<double[]>> results = runExperiments();
+        checkFile(results);
+        sink.close();
+    }
+
+    protected Map<String, List<double[]>> runExperiments() {
+        Map<String, List<double[]>> results = new LinkedHashMap<>();
+        myPharmacy.setServiceRS(new Exponential(4.0));
+        mySim.setExperimentName("Slow");
+        mySim.setNumberOfReplications(7);
+        mySim.run();
+        results.put("Slow", getResults(mySim.getModel()));
+        myPharmacy.setServiceRS(new Exponential(3.0));
+        mySim.setExperimentName("Fast");
+        mySim.setNumberOfReplications(5);
+        mySim.run();
+        results.put("Fast", getResults(mySim.getModel()));
+        return results;
+    }
+
+    protected void checkFile(Map<String, List<double[]>> results) {
+        Model m = mySim.getModel();
+        ReplicationResultFileReader reader = new ReplicationResultFileReader(myFile);
+        assertEquals(results.keySet(), new java.util.LinkedHashSet<>(reader.getExperimentNames()));
+        assertEquals(7, reader.getNumberOfReplications("Slow"));
+        assertEquals(5, reader.getNumberOfReplications("Fast"));
+        for (String exp : results.keySet()) {
+            Map<String, Statistic> stats = reader.getAcrossReplicationStatistics(exp);
+            assertEquals(m.getListOfAcrossReplicationStatistics().size(), stats.size());
+            int i = 0;
+            for (Statistic s : stats.values()) {
+                double[] x = {s.getCount(), s.getAverage(), s.getVariance(), s.getMin(), s.getMax()};
+                assertArrayEquals(s.getName(), results.get(exp).get(i), x, 0.0);
+                i++;
+            }
+        }
+        // the last replication of the last experiment
+        Map<String, WeightedStatistic> within = reader.getWithinReplicationStatistics("Fast", 5);
+        for (ResponseVariable r : m.getResponseVariables()) {
+            WeightedStatistic w = within.get(r.getName());
+            assertEquals(r.getWithinReplicationStatistic().getCount(), w.getCount(), 0.0);
+            assertEquals(r.getWithinReplicationStatistic().getAverage(), w.getAverage(), 0.0);
+            assertEquals(r.getWithinReplicationStatistic().getMax(), w.getMax(), 0.0);
+        }
+        // the same data as a MultipleComparisonDataCollector
+        LinkedHashMap<String, double[]> data = reader.getMultipleComparisonData("System Time");
+        assertEquals(myMCDC.getDataAsMap().keySet(), data.keySet());
+        for (String exp : data.keySet()) {
+            assertArrayEquals(myMCDC.getAcrossReplicationData(exp), data.get(exp), 0.0);
+        }
+        assertNotNull(reader.getMultipleComparisonAnalyzer("System Time"));
+    }
+
+    protected List<double[]> getResults(Model m) {
+        List<double[]> list = new java.util.ArrayList<>();
+        for (StatisticAccessorIfc s : m.getListOfAcrossReplicationStatistics()) {
+            double[] x = {s.getCount(), s.getAverage(), s.getVariance(),
+                s.getMin(), s.getMax()};
+            list.add(x);
+        }
+        return list;
+    }
+}
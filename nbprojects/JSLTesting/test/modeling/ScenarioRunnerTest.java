@@ -0,0 +1,137 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.List;
+import java.util.Map;
+import jsl.modeling.Experiment;
+import jsl.modeling.Model;
+import jsl.modeling.ModelBuilderIfc;
+import jsl.modeling.ScenarioRunner;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.observers.variable.MultipleComparisonDataCollector;
+import jsl.observers.variable.SimulationResponseDataCollector;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import jsl.utilities.statistic.WeightedStatistic;
+import models.DriveThroughPharmacy;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the design points executed by a ScenarioRunner give the same
+ * results as running each experiment sequentially on a fresh simulation
+ *
+ * @author rossetti
+ */
+public class ScenarioRunnerTest {
+
+    @After
+    public void tearDown() {
+        SimulationContext.setCurrent(null);
+    }
+
+    @Test
+    public void testSameAsSequential() {
+        // a fresh context, so the runner starts from the initial factory seed
+        SimulationContext.setCurrent(new SimulationContext("Runner"));
+        ScenarioRunner runner = new ScenarioRunner("Pharmacy", new PharmacyBuilder(), 3);
+        SimulationContext.setCurrent(null);
+        Model model = runner.getSimulation().getModel();
+        ResponseVariable rv = model.getResponseVariables().get(0);
+        MultipleComparisonDataCollector mcdc = new MultipleComparisonDataCollector(rv);
+        SimulationResponseDataCollector srdc = new SimulationResponseDataCollector(model);
+        runner.addDataCollector(mcdc);
+        runner.addDataCollector(srdc);
+        runner.addDesignPoint(makeExperiment("Slow", 7), new ServiceConfigurer(4.0));
+        runner.addDesignPoint(makeExperiment("Fast", 5), new ServiceConfigurer(2.0));
+        runner.addDesignPoint(makeExperiment("Base", 6));
+        runner.run();
+        assertEquals(3, runner.getExperimentNames().size());
+        checkDesignPoint(runner, "Slow", 7, new ServiceConfigurer(4.0));
+        checkDesignPoint(runner, "Fast", 5, new ServiceConfigurer(2.0));
+        checkDesignPoint(runner, "Base", 6, null);
+        // the collectors are keyed by experiment name
+        assertEquals(5, mcdc.getMinimumNumberReplicationsAcrossExperiments());
+        double[] slow = mcdc.getAcrossReplicationData("Slow");
+        assertEquals(5, slow.length);
+        List<Map<String, WeightedStatistic>> within = srdc.getAllWithinReplicationStatistics("Slow");
+        assertEquals(7, within.size());
+        for (int r = 0; r < slow.length; r++) {
+            assertEquals(within.get(r).get(rv.getName()).getAverage(), slow[r], 0.0);
+        }
+        assertEquals(runner.getAcrossReplicationStatistics("Fast").get(rv.getName()).getAverage(),
+                srdc.getAcrossReplicationStatistics("Fast").get(rv.getName()).getAverage(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateName() {
+        ScenarioRunner runner = new ScenarioRunner("Pharmacy", new PharmacyBuilder(), 2);
+        runner.addDesignPoint(makeExperiment("A", 2));
+        runner.addDesignPoint(makeExperiment("A", 3));
+    }
+
+    protected void checkDesignPoint(ScenarioRunner runner, String name, int reps,
+            ModelBuilderIfc configurer) {
+        SimulationContext.setCurrent(new SimulationContext(name));
+        Simulation sim = new Simulation(name);
+        new PharmacyBuilder().build(sim.getModel());
+        if (configurer != null) {
+            configurer.build(sim.getModel());
+        }
+        SimulationContext.setCurrent(null);
+        sim.setNumberOfReplications(reps);
+        sim.setLengthOfReplication(2000.0);
+        sim.setLengthOfWarmUp(200.0);
+        sim.run();
+        Map<String, Statistic> results = runner.getAcrossReplicationStatistics(name);
+        List<StatisticAccessorIfc> list = sim.getModel().getListOfAcrossReplicationStatistics();
+        assertEquals(list.size(), results.size());
+        for (StatisticAccessorIfc s : list) {
+            Statistic p = results.get(s.getName());
+            assertNotNull(p);
+            assertEquals(s.getCount(), p.getCount(), 0.0);
+            assertEquals(s.getAverage(), p.getAverage(), 0.0);
+            assertEquals(s.getVariance(), p.getVariance(), 0.0);
+        }
+    }
+
+    protected Experiment makeExperiment(String name, int reps) {
+        Experiment e = new Experiment(name);
+        e.setNumberOfReplications(reps);
+        e.setLengthOfReplication(2000.0);
+        e.setLengthOfWarmUp(200.0);
+        return e;
+    }
+
+    class PharmacyBuilder implements ModelBuilderIfc {
+
+        @Override
+        public void build(Model model) {
+            DriveThroughPharmacy d = new DriveThroughPharmacy(model);
+            d.setArrivalRS(new Exponential(6.0));
+            d.setServiceRS(new Exponential(3.0));
+        }
+    }
+
+    class ServiceConfigurer implements ModelBuilderIfc {
+
+        private final double myMean;
+
+        ServiceConfigurer(double mean) {
+            myMean = mean;
+        }
+
+        @Override
+        public void build(Model model) {
+            ResponseVariable r = model.getResponseVariable("System Time");
+            DriveThroughPharmacy d = (DriveThroughPharmacy) r.getParentModelElement();
+            d.setServiceRS(new Exponential(myMean));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsl.modeling.Model;
+import jsl.modeling.Simulation;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that simulations created in different SimulationContexts can be run
+ * concurrently without interfering with each other
+ *
+ * @author rossetti
+ */
+public class SimulationContextTest {
+
+    @After
+    public void tearDown() {
+        SimulationContext.setCurrent(null);
+    }
+
+    @Test
+    public void testIdsAndFactory() {
+        SimulationContext c1 = new SimulationContext("C1");
+        SimulationContext c2 = new SimulationContext("C2");
+        SimulationContext.setCurrent(c1);
+        assertSame(c1.getStreamFactory(), RNStreamFactory.getDefault());
+        Simulation s1 = new Simulation("S1");
+        SimulationContext.setCurrent(c2);
+        assertSame(c2.getStreamFactory(), RNStreamFactory.getDefault());
+        Simulation s2 = new Simulation("S2");
+        assertSame(c2, SimulationContext.setCurrent(null));
+        assertNotSame(c1.getStreamFactory(), RNStreamFactory.getDefault());
+        assertSame(c1, s1.getContext());
+        assertSame(c2, s2.getContext());
+        assertEquals(1, s1.getId());
+        assertEquals(1, s2.getId());
+        assertEquals(s1.getModel().getId(), s2.getModel().getId());
+    }
+
+    @Test
+    public void testConcurrentSimulations() throws InterruptedException {
+        // the results of each simulation run alone
+        List<double[]> alone = runPharmacy(makePharmacy("Alone"));
+        final Simulation s1 = makePharmacy("Pharmacy1");
+        final Simulation s2 = makePharmacy("Pharmacy2");
+        Thread t1 = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                s1.run();
+            }
+        });
+        Thread t2 = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                s2.run();
+            }
+        });
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+        List<double[]> r1 = getResults(s1.getModel());
+        List<double[]> r2 = getResults(s2.getModel());
+        assertEquals(alone.size(), r1.size());
+        for (int i = 0; i < alone.size(); i++) {
+            assertArrayEquals(alone.get(i), r1.get(i), 0.0);
+            assertArrayEquals(alone.get(i), r2.get(i), 0.0);
+        }
+    }
+
+    protected Simulation makePharmacy(String name) {
+        return PharmacyFixture.makePharmacy(name, 5, 5000.0, 500.0);
+    }
+
+    protected List<double[]> runPharmacy(Simulation sim) {
+        sim.run();
+        return getResults(sim.getModel());
+    }
+
+    protected List<double[]> getResults(Model m) {
+        List<double[]> list = new ArrayList<>();
+        for (StatisticAccessorIfc s : m.getListOfAcrossReplicationStatistics()) {
+            double[] x = {s.getCount(), s.getAverage(), s.getVariance(),
+                s.getMin(), s.getMax()};
+            list.add(x);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import jsl.calendar.IndexedHeapEventCalendar;
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.TimedAction;
+import jsl.modeling.elements.TimedActionListener;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests canceling the action of a TimedAction on a calendar that removes
+ * canceled events
+ *
+ * @author rossetti
+ */
+public class TimedActionTest {
+
+    @Test
+    public void testCancelTwice() {
+        Simulation sim = new Simulation("Cancel Twice", null, null,
+                new Executive(new IndexedHeapEventCalendar()));
+        final TimedAction action = new TimedAction(sim.getModel(), 10.0);
+        final int[] count = new int[1];
+        new TimedActionListener(action) {
+
+            @Override
+            protected void action(JSLEvent event) {
+                count[0]++;
+            }
+        };
+        new Canceler(sim.getModel(), action, 5.0);
+        sim.setLengthOfReplication(100.0);
+        sim.run();
+        assertEquals(0, count[0]);
+    }
+
+    static class Canceler extends SchedulingElement {
+
+        private final TimedAction myAction;
+
+        private final double myTime;
+
+        Canceler(jsl.modeling.ModelElement parent, TimedAction action, double time) {
+            super(parent);
+            myAction = action;
+            myTime = time;
+        }
+
+        @Override
+        protected void initialize() {
+            scheduleEvent(new CancelAction(), myTime);
+        }
+
+        class CancelAction implements EventActionIfc {
+
+            @Override
+            public void action(JSLEvent evt) {
+                // the second cancel must not reach the executive
+                myAction.cancelAction();
+                myAction.cancelAction();
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsl.modeling.Model;
+import jsl.modeling.ModelBuilderIfc;
+import jsl.modeling.ModelElement;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that model elements sharing timed update events are updated exactly
+ * as when each element schedules its own timed update event
+ *
+ * @author rossetti
+ */
+public class TimedUpdateGroupingTest {
+
+    @After
+    public void tearDown() {
+        SimulationContext.setCurrent(null);
+    }
+
+    @Test
+    public void testSameResults() {
+        Simulation s1 = makePharmacy("Grouped", true);
+        Simulation s2 = makePharmacy("Separate", false);
+        s1.run();
+        s2.run();
+        List<StatisticAccessorIfc> r1 = s1.getModel().getListOfAcrossReplicationStatistics();
+        List<StatisticAccessorIfc> r2 = s2.getModel().getListOfAcrossReplicationStatistics();
+        assertEquals(r1.size(), r2.size());
+        for (int i = 0; i < r1.size(); i++) {
+            assertEquals(r1.get(i).getName(), r2.get(i).getName());
+            assertEquals(r1.get(i).getCount(), r2.get(i).getCount(), 0.0);
+            assertEquals(r1.get(i).getAverage(), r2.get(i).getAverage(), 0.0);
+            assertEquals(r1.get(i).getVariance(), r2.get(i).getVariance(), 0.0);
+        }
+        // one shared event per interval, instead of one per variable
+        assertTrue(s1.getExecutive().getTotalNumberEventsExecuted()
+                < s2.getExecutive().getTotalNumberEventsExecuted());
+    }
+
+    @Test
+    public void testCancel() {
+        List<List<Double>> grouped = runTickers(true);
+        List<List<Double>> separate = runTickers(false);
+        assertEquals(separate, grouped);
+        // B was cancelled at time 35
+        assertEquals(3, grouped.get(1).size());
+        assertEquals(30.0, grouped.get(1).get(2), 0.0);
+        assertEquals(2 * grouped.get(0).size(), grouped.get(2).size());
+    }
+
+    @Test
+    public void testCancelWithinTimedUpdate() {
+        List<List<Double>> grouped = runCancelingTickers(true);
+        List<List<Double>> separate = runCancelingTickers(false);
+        assertEquals(separate, grouped);
+        // A cannot cancel its own timed update from within it
+        assertEquals(10, grouped.get(0).size());
+        // C cancelled D at time 50, before D was updated
+        assertEquals(4, grouped.get(3).size());
+        assertEquals(40.0, grouped.get(3).get(3), 0.0);
+    }
+
+    @Test
+    public void testIntervalChangeWithinTimedUpdate() {
+        List<List<Double>> grouped = runChangingTickers(true);
+        List<List<Double>> separate = runChangingTickers(false);
+        assertEquals(separate, grouped);
+        // A changed its interval to 5 at time 30
+        assertEquals(17, grouped.get(0).size());
+        assertEquals(35.0, grouped.get(0).get(3), 0.0);
+        // B changed its interval to 5 at time 30, joining A
+        assertEquals(grouped.get(0), grouped.get(1));
+        assertEquals(10, grouped.get(2).size());
+    }
+
+    @Test
+    public void testParentAndChildInSameGroup() {
+        List<List<Double>> grouped = runNestedTickers(true);
+        List<List<Double>> separate = runNestedTickers(false);
+        assertEquals(separate, grouped);
+        // the parent does not also update the child
+        assertEquals(10, grouped.get(1).size());
+    }
+
+    protected List<List<Double>> runNestedTickers(boolean grouping) {
+        Simulation sim = new Simulation("Nested");
+        sim.getModel().setTimedUpdateGroupingOption(grouping);
+        Ticker a = new Ticker(sim.getModel(), "A");
+        Ticker c = new Ticker(a, "C");
+        a.setTimedUpdateInterval(10.0);
+        c.setTimedUpdateInterval(10.0);
+        sim.setNumberOfReplications(1);
+        sim.setLengthOfReplication(100.0);
+        sim.run();
+        List<List<Double>> ticks = new ArrayList<List<Double>>();
+        ticks.add(a.myTicks);
+        ticks.add(c.myTicks);
+        return ticks;
+    }
+
+    protected List<List<Double>> runChangingTickers(boolean grouping) {
+        Simulation sim = new Simulation("Change Within");
+        sim.getModel().setTimedUpdateGroupingOption(grouping);
+        ChangingTicker a = new ChangingTicker(sim.getModel(), "A", 30.0);
+        ChangingTicker b = new ChangingTicker(sim.getModel(), "B", 30.0);
+        Ticker c = new Ticker(sim.getModel(), "C");
+        for (Ticker t : new Ticker[]{a, b, c}) {
+            t.setTimedUpdateInterval(10.0);
+        }
+        // the changed interval carries over to the next replication
+        sim.setNumberOfReplications(1);
+        sim.setLengthOfReplication(100.0);
+        sim.run();
+        List<List<Double>> ticks = new ArrayList<List<Double>>();
+        ticks.add(a.myTicks);
+        ticks.add(b.myTicks);
+        ticks.add(c.myTicks);
+        return ticks;
+    }
+
+    protected List<List<Double>> runCancelingTickers(boolean grouping) {
+        Simulation sim = new Simulation("Cancel Within");
+        sim.getModel().setTimedUpdateGroupingOption(grouping);
+        CancelingTicker a = new CancelingTicker(sim.getModel(), "A", 30.0);
+        Ticker b = new Ticker(sim.getModel(), "B");
+        CancelingTicker c = new CancelingTicker(sim.getModel(), "C", 50.0);
+        Ticker d = new Ticker(sim.getModel(), "D");
+        a.myTarget = a;
+        c.myTarget = d;
+        for (Ticker t : new Ticker[]{a, b, c, d}) {
+            t.setTimedUpdateInterval(10.0);
+        }
+        sim.setNumberOfReplications(2);
+        sim.setLengthOfReplication(100.0);
+        sim.run();
+        // the ticks of the last replication
+        List<List<Double>> ticks = new ArrayList<List<Double>>();
+        ticks.add(a.myTicks);
+        ticks.add(b.myTicks);
+        ticks.add(c.myTicks);
+        ticks.add(d.myTicks);
+        return ticks;
+    }
+
+    protected List<List<Double>> runTickers(boolean grouping) {
+        Simulation sim = new Simulation("Cancel");
+        sim.getModel().setTimedUpdateGroupingOption(grouping);
+        Ticker a = new Ticker(sim.getModel(), "A");
+        Ticker b = new Ticker(sim.getModel(), "B");
+        Ticker c = new Ticker(a, "C");
+        a.setTimedUpdateInterval(10.0);
+        b.setTimedUpdateInterval(10.0);
+        c.setTimedUpdateInterval(5.0);
+        new Canceler(sim.getModel(), b, 35.0);
+        sim.setNumberOfReplications(2);
+        sim.setLengthOfReplication(100.0);
+        sim.run();
+        // the ticks of the last replication
+        List<List<Double>> ticks = new ArrayList<List<Double>>();
+        ticks.add(a.myTicks);
+        ticks.add(b.myTicks);
+        ticks.add(c.myTicks);
+        return ticks;
+    }
+
+    protected Simulation makePharmacy(String name, final boolean grouping) {
+        return PharmacyFixture.makePharmacy(name, 3, 5000.0, 500.0, new ModelBuilderIfc() {
+
+            @Override
+            public void build(Model model) {
+                model.setTimedUpdateGroupingOption(grouping);
+                // interval collection adds response variables to the model
+                for (ResponseVariable r : new ArrayList<ResponseVariable>(model.getResponseVariables())) {
+                    r.turnOnTimeIntervalCollection(100.0);
+                }
+                for (Counter c : new ArrayList<Counter>(model.getCounters())) {
+                    c.turnOnTimeIntervalCollection(250.0);
+                }
+            }
+        });
+    }
+
+    static class Ticker extends SchedulingElement {
+
+        List<Double> myTicks = new ArrayList<Double>();
+
+        Ticker(ModelElement parent, String name) {
+            super(parent, name);
+        }
+
+        @Override
+        protected void initialize() {
+            myTicks.clear();
+        }
+
+        @Override
+        protected void timedUpdate() {
+            myTicks.add(getTime());
+        }
+    }
+
+    /**
+     * Cancels the timed update of its target, which may be itself, from
+     * within its own timed update
+     */
+    static class CancelingTicker extends Ticker {
+
+        ModelElement myTarget;
+
+        private final double myTime;
+
+        CancelingTicker(ModelElement parent, String name, double time) {
+            super(parent, name);
+            myTime = time;
+        }
+
+        @Override
+        protected void timedUpdate() {
+            super.timedUpdate();
+            if (getTime() == myTime) {
+                myTarget.cancelTimedUpdateEvent();
+            }
+        }
+    }
+
+    /**
+     * Halves its timed update interval from within its own timed update
+     */
+    static class ChangingTicker extends Ticker {
+
+        private final double myTime;
+
+        ChangingTicker(ModelElement parent, String name, double time) {
+            super(parent, name);
+            myTime = time;
+        }
+
+        @Override
+        protected void timedUpdate() {
+            super.timedUpdate();
+            if (getTime() == myTime) {
+                setTimedUpdateInterval(5.0);
+            }
+        }
+    }
+
+    static class Canceler extends SchedulingElement {
+
+        private final ModelElement myElement;
+
+        private final double myTime;
+
+        Canceler(ModelElement parent, ModelElement element, double time) {
+            super(parent);
+            myElement = element;
+            myTime = time;
+        }
+
+        @Override
+        protected void initialize() {
+            scheduleEvent(new CancelAction(), myTime);
+        }
+
+        class CancelAction implements jsl.modeling.EventActionIfc {
+
+            @Override
+            public void action(jsl.modeling.JSLEvent evt) {
+                myElement.cancelTimedUpdateEvent();
+            }
+        }
+    }
+}
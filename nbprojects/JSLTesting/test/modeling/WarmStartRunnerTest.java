@@ -0,0 +1,144 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package modeling;
+
+import java.io.Serializable;
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Experiment;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.ModelElement;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.WarmStartRunner;
+import jsl.utilities.SimulationContext;
+import jsl.modeling.elements.variable.RandomVariable;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.random.distributions.Uniform;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.random.rng.RNStreamFactory.RNStream;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that replications started from copies of a warmed up model give
+ * reproducible steady state results
+ *
+ * @author rossetti
+ */
+public class WarmStartRunnerTest {
+
+    @After
+    public void tearDown() {
+        SimulationContext.setCurrent(null);
+    }
+
+    @Test
+    public void testWarmStart() {
+        WarmStartRunner r1 = new WarmStartRunner(makePharmacy("Pharmacy1"));
+        r1.setNumberOfWarmUps(2);
+        r1.run();
+        WarmStartRunner r2 = new WarmStartRunner(makePharmacy("Pharmacy2"));
+        r2.setNumberOfWarmUps(2);
+        r2.run();
+        StatisticAccessorIfc s1 = getSystemTime(r1.getSimulation());
+        StatisticAccessorIfc s2 = getSystemTime(r2.getSimulation());
+        assertEquals(10, r1.getSimulation().getCurrentReplicationNumber());
+        assertEquals(10.0, s1.getCount(), 0.0);
+        // the replications use different sub-streams
+        assertTrue(s1.getVariance() > 0.0);
+        // the runs are reproducible
+        assertEquals(s1.getAverage(), s2.getAverage(), 0.0);
+        assertEquals(s1.getVariance(), s2.getVariance(), 0.0);
+        // M/M/1 with arrival rate 1/6 and service rate 1/3 has W = 6
+        assertEquals(6.0, s1.getAverage(), 0.6);
+    }
+
+    @Test(expected = jsl.modeling.IllegalStateException.class)
+    public void testNoWarmUp() {
+        Simulation sim = makePharmacy("Pharmacy");
+        sim.setLengthOfWarmUp(0.0);
+        new WarmStartRunner(sim).run();
+    }
+
+    @Test
+    public void testStreamAdvances() {
+        // warm ups 1 and 2 use sub-streams 3 and 4, replications 1 to 3 use
+        // the sub-streams of replications 3 to 5, i.e. 5 to 7
+        SimulationContext.setCurrent(new SimulationContext("Draws"));
+        Simulation sim = new Simulation("Draws");
+        Drawer d = new Drawer(sim.getModel(), 11.0);
+        sim.setNumberOfReplications(3);
+        sim.setLengthOfReplication(20.0);
+        sim.setLengthOfWarmUp(10.0);
+        ((Experiment) sim.getExperiment()).setAdvanceStreamNumber(3);
+        WarmStartRunner r = new WarmStartRunner(sim);
+        r.setNumberOfWarmUps(2);
+        r.run();
+        RNStream s = new RNStreamFactory().getStream();
+        Statistic expected = new Statistic();
+        for (int k = 5; k <= 7; k++) {
+            s.resetStartStream();
+            for (int i = 0; i < k; i++) {
+                s.advanceToNextSubstream();
+            }
+            expected.collect(s.randU01());
+        }
+        StatisticAccessorIfc draws = d.myDraw.getAcrossReplicationStatistic();
+        assertEquals(3.0, draws.getCount(), 0.0);
+        assertEquals(expected.getAverage(), draws.getAverage(), 1.0e-12);
+        assertEquals(expected.getVariance(), draws.getVariance(), 1.0e-12);
+    }
+
+    @Test(expected = jsl.modeling.IllegalStateException.class)
+    public void testNoSubStreamAdvance() {
+        Simulation sim = makePharmacy("Pharmacy");
+        sim.setAdvanceNextSubStreamOption(false);
+        new WarmStartRunner(sim).run();
+    }
+
+    protected StatisticAccessorIfc getSystemTime(Simulation sim) {
+        return sim.getModel().getResponseVariable("System Time").getAcrossReplicationStatistic();
+    }
+
+    protected Simulation makePharmacy(String name) {
+        return PharmacyFixture.makePharmacy(name, 10, 25000.0, 5000.0);
+    }
+
+    /**
+     * Records the first random number drawn after the warm up
+     */
+    static class Drawer extends SchedulingElement {
+
+        RandomVariable myRV;
+
+        ResponseVariable myDraw;
+
+        private final double myTime;
+
+        Drawer(ModelElement parent, double time) {
+            super(parent);
+            myRV = new RandomVariable(this, new Uniform(0.0, 1.0, new RNStreamFactory().getStream()));
+            myDraw = new ResponseVariable(this, "Draw");
+            myTime = time;
+        }
+
+        @Override
+        protected void initialize() {
+            scheduleEvent(new DrawAction(), myTime);
+        }
+
+        class DrawAction implements EventActionIfc, Serializable {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void action(JSLEvent evt) {
+                myDraw.setValue(myRV.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package statistic;
+
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.Histogram;
+import jsl.utilities.statistic.IntegerFrequency;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.WeightedStatistic;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that collecting arrays gives exactly the same results as collecting
+ * the values one at a time
+ *
+ * @author rossetti
+ */
+public class BulkCollectTest {
+
+    private double[] myData;
+
+    private double[] myWeights;
+
+    @Before
+    public void setUp() {
+        Exponential e = new Exponential(5.0);
+        Exponential w = new Exponential(1.0);
+        myData = new double[5000];
+        myWeights = new double[myData.length];
+        for (int i = 0; i < myData.length; i++) {
+            myData[i] = e.getValue();
+            myWeights[i] = Math.ceil(w.getValue());
+        }
+        myData[10] = Double.NaN;
+        myData[20] = Double.POSITIVE_INFINITY;
+        myData[30] = Double.NEGATIVE_INFINITY;
+        myData[40] = -1.0;
+    }
+
+    @Test
+    public void testStatistic() {
+        Statistic s1 = new Statistic();
+        Statistic s2 = new Statistic();
+        for (int i = 0; i < myData.length; i++) {
+            s1.collect(myData[i], myWeights[i]);
+        }
+        // collect in two arrays to check the continuation of the state
+        int k = myData.length / 3;
+        s2.collect(java.util.Arrays.copyOfRange(myData, 0, k), java.util.Arrays.copyOfRange(myWeights, 0, k));
+        s2.collect(java.util.Arrays.copyOfRange(myData, k, myData.length),
+                java.util.Arrays.copyOfRange(myWeights, k, myData.length));
+        assertArrayEquals(s1.getStatistics(), s2.getStatistics(), 0.0);
+        assertEquals(s1.getObsWeightedSum(), s2.getObsWeightedSum(), 0.0);
+
+        Statistic s3 = new Statistic();
+        for (double x : myData) {
+            s3.collect(x);
+        }
+        assertArrayEquals(s3.getStatistics(), Statistic.collectStatistics(myData).getStatistics(), 0.0);
+    }
+
+    @Test
+    public void testStatisticCollectionRule() {
+        Statistic s1 = new Statistic();
+        Statistic s2 = new Statistic();
+        s1.setCollectionRule(Statistic.CollectionRule.HALF_WIDTH);
+        s1.setDesiredHalfWidth(0.5);
+        s2.setCollectionRule(Statistic.CollectionRule.HALF_WIDTH);
+        s2.setDesiredHalfWidth(0.5);
+        for (double x : myData) {
+            if (!s1.collect(x)) {
+                break;
+            }
+        }
+        assertFalse(s2.collect(myData));
+        assertTrue(s2.getCount() < myData.length);
+        assertArrayEquals(s1.getStatistics(), s2.getStatistics(), 0.0);
+    }
+
+    @Test
+    public void testWeightedStatistic() {
+        WeightedStatistic s1 = new WeightedStatistic();
+        for (int i = 0; i < myData.length; i++) {
+            s1.collect(myData[i], myWeights[i]);
+        }
+        WeightedStatistic s2 = WeightedStatistic.collectStatistics(myData, myWeights);
+        assertArrayEquals(s1.getStatistics(), s2.getStatistics(), 0.0);
+    }
+
+    @Test
+    public void testHistogram() {
+        Histogram h1 = new Histogram(0.0, 20, 1.0);
+        Histogram h2 = new Histogram(0.0, 20, 1.0);
+        for (int i = 0; i < myData.length; i++) {
+            h1.collect(myData[i], myWeights[i]);
+        }
+        h2.collect(myData, myWeights);
+        for (int b = 1; b <= 20; b++) {
+            assertEquals(h1.getBinCount(b), h2.getBinCount(b), 0.0);
+        }
+        assertEquals(h1.getUnderFlowCount(), h2.getUnderFlowCount(), 0.0);
+        assertEquals(h1.getOverFlowCount(), h2.getOverFlowCount(), 0.0);
+        assertArrayEquals(h1.getStatistics(), h2.getStatistics(), 0.0);
+    }
+
+    @Test
+    public void testIntegerFrequency() {
+        IntegerFrequency f1 = new IntegerFrequency(0, 15);
+        IntegerFrequency f2 = new IntegerFrequency(0, 15);
+        for (int i = 0; i < myData.length; i++) {
+            f1.collect(myData[i], myWeights[i]);
+        }
+        f2.collect(myData, myWeights);
+        assertArrayEquals(f1.getValues(), f2.getValues());
+        assertArrayEquals(f1.getFrequencies(), f2.getFrequencies());
+        assertEquals(f1.getUnderFlowCount(), f2.getUnderFlowCount());
+        assertEquals(f1.getOverFlowCount(), f2.getOverFlowCount());
+        assertArrayEquals(f1.getStatistics(), f2.getStatistics(), 0.0);
+    }
+
+    @Test
+    public void testSubclassCollect() {
+        CountingStatistic s = new CountingStatistic();
+        s.collect(myData);
+        s.collect(myData, myWeights);
+        assertEquals(2 * myData.length, s.myNumCalls);
+        CountingHistogram h = new CountingHistogram();
+        h.collect(myData);
+        h.collect(myData, myWeights);
+        assertEquals(2 * myData.length, h.myNumCalls);
+    }
+
+    @Test
+    public void testHistogramChunks() {
+        // the in range values fill exactly one, exactly two and part of a chunk
+        for (int n : new int[]{1, 255, 256, 512, 700}) {
+            double[] x = java.util.Arrays.copyOf(myData, n);
+            Histogram h1 = new Histogram(-5.0, 1000, 1.0);
+            Histogram h2 = new Histogram(-5.0, 1000, 1.0);
+            for (double v : x) {
+                h1.collect(v);
+            }
+            h2.collect(x);
+            assertArrayEquals(h1.getStatistics(), h2.getStatistics(), 0.0);
+        }
+    }
+
+    static class CountingStatistic extends Statistic {
+
+        int myNumCalls;
+
+        @Override
+        public boolean collect(double x, double weight) {
+            myNumCalls++;
+            return super.collect(x, weight);
+        }
+    }
+
+    static class CountingHistogram extends Histogram {
+
+        int myNumCalls;
+
+        CountingHistogram() {
+            super(0.0, 20, 1.0);
+        }
+
+        @Override
+        public boolean collect(double x, double weight) {
+            myNumCalls++;
+            return super.collect(x, weight);
+        }
+    }
+}
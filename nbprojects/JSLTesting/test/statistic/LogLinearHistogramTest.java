@@ -0,0 +1,162 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package statistic;
+
+import java.util.Arrays;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.statistic.Histogram;
+import jsl.utilities.statistic.LogLinearHistogram;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a LogLinearHistogram places the data in bins of fixed relative
+ * width and that merged histograms have the bins of the combined data
+ *
+ * @author rossetti
+ */
+public class LogLinearHistogramTest {
+
+    private double[] myData;
+
+    @Before
+    public void setUp() {
+        // a private stream keeps the default streams of the other tests unchanged
+        Exponential e = new Exponential(10.0, new RNStreamFactory().getStream());
+        myData = new double[50000];
+        for (int i = 0; i < myData.length; i++) {
+            myData[i] = e.getValue();
+        }
+    }
+
+    @Test
+    public void testBins() {
+        LogLinearHistogram h = new LogLinearHistogram();
+        h.collect(myData);
+        double n = 0.0;
+        double previous = 0.0;
+        for (Histogram.Bin b : h.getBins()) {
+            assertTrue(b.getLowerLimit() >= previous);
+            assertTrue(b.getUpperLimit() > b.getLowerLimit());
+            if (b.getLowerLimit() > 0.0) {
+                double w = (b.getUpperLimit() - b.getLowerLimit()) / b.getLowerLimit();
+                assertTrue(w <= h.getBinRelativeWidth());
+            }
+            n = n + b.getCount();
+            previous = b.getUpperLimit();
+        }
+        assertEquals(myData.length, n, 0.0);
+        assertEquals(myData.length, h.getTotalCount(), 0.0);
+        for (int i = 0; i < 1000; i++) {
+            Histogram.Bin b = h.getBin(myData[i]);
+            assertTrue(b.getLowerLimit() <= myData[i] && myData[i] < b.getUpperLimit());
+            assertTrue(b.getCount() >= 1.0);
+        }
+    }
+
+    @Test
+    public void testLimits() {
+        LogLinearHistogram h = new LogLinearHistogram(1.0, 1000.0, 3);
+        assertEquals(1.0, h.getLowestTrackableValue(), 0.0);
+        assertEquals(1024.0, h.getHighestTrackableValue(), 0.0);
+        assertEquals(10 * 8, h.getNumberOfBins());
+        h.collect(0.0);
+        h.collect(0.5);
+        h.collect(-1.0);
+        h.collect(1024.0);
+        h.collect(Double.NaN);
+        h.collect(2.0);
+        h.collect(2.2);
+        h.collect(2.25);
+        assertEquals(2.0, h.getZeroBinCount(), 0.0);
+        assertEquals(1.0, h.getUnderFlowCount(), 0.0);
+        assertEquals(1.0, h.getOverFlowCount(), 0.0);
+        assertEquals(1.0, h.getNumberMissing(), 0.0);
+        // [2, 2.25) and [2.25, 2.5)
+        Histogram.Bin b = h.getBin(2.2);
+        assertEquals(2.0, b.getLowerLimit(), 0.0);
+        assertEquals(2.25, b.getUpperLimit(), 0.0);
+        assertEquals(2.0, b.getCount(), 0.0);
+        assertEquals(1.0, h.getBin(2.25).getCount(), 0.0);
+        assertEquals(7.0, h.getTotalCount(), 0.0);
+    }
+
+    @Test
+    public void testMerge() {
+        LogLinearHistogram all = new LogLinearHistogram();
+        all.collect(myData);
+        LogLinearHistogram merged = new LogLinearHistogram();
+        int n = myData.length / 5;
+        for (int k = 0; k < 5; k++) {
+            LogLinearHistogram part = new LogLinearHistogram();
+            part.collect(Arrays.copyOfRange(myData, k * n, (k + 1) * n));
+            merged.merge(part);
+        }
+        Histogram.Bin[] b1 = all.getBins();
+        Histogram.Bin[] b2 = merged.getBins();
+        assertEquals(b1.length, b2.length);
+        for (int i = 0; i < b1.length; i++) {
+            assertEquals(b1[i].getLowerLimit(), b2[i].getLowerLimit(), 0.0);
+            assertEquals(b1[i].getCount(), b2[i].getCount(), 0.0);
+        }
+        assertEquals(all.getCount(), merged.getCount(), 0.0);
+        assertEquals(all.getAverage(), merged.getAverage(), 1.0e-9);
+        assertEquals(all.getMax(), merged.getMax(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentBins() {
+        LogLinearHistogram h = new LogLinearHistogram();
+        h.merge(new LogLinearHistogram(1.0, 1000.0, LogLinearHistogram.DEFAULT_SIGNIFICANT_BITS));
+    }
+
+    @Test
+    public void testMaximumNumberOfBins() {
+        // 2^4 power of two intervals with 20 bits is exactly the maximum
+        LogLinearHistogram h = new LogLinearHistogram(1.0, 65535.0, 20);
+        assertEquals(LogLinearHistogram.MAX_NUMBER_OF_BINS, h.getNumberOfBins());
+        try {
+            new LogLinearHistogram(1.0, 65536.0, 20);
+            fail("more than the maximum number of bins");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            // 2046 intervals shifted by 20 bits overflows an int
+            new LogLinearHistogram(Double.MIN_NORMAL, Double.MAX_VALUE, 20);
+            fail("more than the maximum number of bins");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testHistogramBins() {
+        // the bins of a Histogram are still inner instances
+        Histogram h = new Histogram(0.0, 10, 1.0);
+        Histogram.Bin b = h.new Bin();
+        assertEquals(0.0, b.getCount(), 0.0);
+        LogLinearHistogram lh = new LogLinearHistogram(1.0, 16.0, 1);
+        lh.collect(3.0);
+        b = lh.getBin(3.0);
+        // one significant bit splits [2, 4) into [2, 3) and [3, 4)
+        assertEquals(3.0, b.getLowerLimit(), 0.0);
+        assertEquals(4.0, b.getUpperLimit(), 0.0);
+        assertEquals(1.0, b.getCount(), 0.0);
+    }
+
+    @Test
+    public void testQuantiles() {
+        LogLinearHistogram h = new LogLinearHistogram();
+        h.collect(myData);
+        double[] sorted = myData.clone();
+        Arrays.sort(sorted);
+        for (double p : new double[]{0.1, 0.5, 0.9, 0.99}) {
+            double x = sorted[(int) Math.ceil(p * sorted.length) - 1];
+            double q = h.getQuantile(p);
+            assertEquals("p = " + p, x, q, 2.0 * h.getBinRelativeWidth() * x);
+        }
+        assertEquals(sorted[sorted.length - 1], h.getQuantile(1.0), 0.0);
+    }
+}
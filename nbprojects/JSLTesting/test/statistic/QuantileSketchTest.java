@@ -0,0 +1,124 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package statistic;
+
+import java.util.Arrays;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.SimulationContext;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.QuantileSketch;
+import jsl.utilities.statistic.Statistic;
+import models.DriveThroughPharmacy;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the quantiles estimated by a QuantileSketch are close to the
+ * quantiles of the data
+ *
+ * @author rossetti
+ */
+public class QuantileSketchTest {
+
+    private static final double[] PROBABILITIES = {0.01, 0.1, 0.5, 0.9, 0.95, 0.99, 0.999};
+
+    private double[] myData;
+
+    private double[] mySorted;
+
+    @Before
+    public void setUp() {
+        Exponential e = new Exponential(10.0);
+        myData = new double[100000];
+        for (int i = 0; i < myData.length; i++) {
+            myData[i] = e.getValue();
+        }
+        mySorted = myData.clone();
+        Arrays.sort(mySorted);
+    }
+
+    @After
+    public void tearDown() {
+        SimulationContext.setCurrent(null);
+    }
+
+    @Test
+    public void testQuantiles() {
+        QuantileSketch q = new QuantileSketch();
+        q.collect(myData);
+        checkQuantiles(q);
+        assertTrue(q.getNumberOfCentroids() <= q.getCompression());
+        Statistic s = Statistic.collectStatistics(myData);
+        assertEquals(s.getCount(), q.getCount(), 0.0);
+        assertEquals(s.getAverage(), q.getAverage(), 0.0);
+        assertEquals(s.getMin(), q.getQuantile(0.0), 0.0);
+        assertEquals(s.getMax(), q.getQuantile(1.0), 0.0);
+    }
+
+    @Test
+    public void testMerge() {
+        QuantileSketch merged = new QuantileSketch();
+        int n = myData.length / 4;
+        for (int k = 0; k < 4; k++) {
+            QuantileSketch part = new QuantileSketch();
+            part.collect(Arrays.copyOfRange(myData, k * n, (k + 1) * n));
+            merged.merge(part);
+        }
+        checkQuantiles(merged);
+        assertEquals(myData.length, merged.getCount(), 0.0);
+        assertEquals(mySorted[0], merged.getMin(), 0.0);
+        assertEquals(mySorted[mySorted.length - 1], merged.getMax(), 0.0);
+    }
+
+    @Test
+    public void testReset() {
+        QuantileSketch q = new QuantileSketch(50.0);
+        assertTrue(Double.isNaN(q.getMedian()));
+        q.collect(myData);
+        q.reset();
+        assertEquals(0.0, q.getCount(), 0.0);
+        assertTrue(Double.isNaN(q.getMedian()));
+        q.collect(3.0);
+        assertEquals(3.0, q.getMedian(), 0.0);
+    }
+
+    @Test
+    public void testResponseVariable() {
+        SimulationContext.setCurrent(new SimulationContext("Quantiles"));
+        Simulation sim = new Simulation("Quantiles");
+        DriveThroughPharmacy d = new DriveThroughPharmacy(sim.getModel());
+        d.setArrivalRS(new Exponential(6.0));
+        d.setServiceRS(new Exponential(3.0));
+        sim.setNumberOfReplications(2);
+        sim.setLengthOfReplication(20000.0);
+        sim.setLengthOfWarmUp(1000.0);
+        ResponseVariable rv = sim.getModel().getResponseVariable("System Time");
+        rv.setQuantileSketchOption(true);
+        sim.run();
+        QuantileSketch q = rv.getWithinReplicationQuantileSketch();
+        assertEquals(rv.getWithinReplicationStatistic().getCount(), q.getCount(), 0.0);
+        assertEquals(rv.getWithinReplicationStatistic().getAverage(), q.getAverage(), 1.0e-9);
+        double p50 = q.getMedian();
+        double p99 = q.getQuantile(0.99);
+        assertTrue(q.getMin() < p50 && p50 < p99 && p99 < q.getMax());
+        assertTrue(rv.toString().contains("P99"));
+    }
+
+    protected void checkQuantiles(QuantileSketch q) {
+        for (double p : PROBABILITIES) {
+            double x = q.getQuantile(p);
+            // the fraction of the data that is below the estimate
+            int k = Arrays.binarySearch(mySorted, x);
+            if (k < 0) {
+                k = -k - 1;
+            }
+            double rank = (double) k / mySorted.length;
+            // half the quantile width of a centroid at p
+            double tol = Math.PI * Math.sqrt(p * (1.0 - p)) / q.getCompression();
+            assertEquals("p = " + p, p, rank, tol);
+        }
+    }
+}
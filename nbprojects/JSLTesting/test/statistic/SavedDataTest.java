@@ -0,0 +1,181 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package statistic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.PrimitiveIterator;
+import jsl.utilities.statistic.SaveDataIfc;
+import jsl.utilities.statistic.SavedDataStore;
+import jsl.utilities.statistic.Statistic;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the data saved by a collector is returned as it was collected,
+ * whether it is held in memory or spilled to a file
+ *
+ * @author rossetti
+ */
+public class SavedDataTest {
+
+    private double[] myData;
+
+    private double[] myWeights;
+
+    @Before
+    public void setUp() {
+        myData = new double[3 * SavedDataStore.SPILL_REGION_SIZE + 5];
+        myWeights = new double[myData.length];
+        for (int i = 0; i < myData.length; i++) {
+            myData[i] = i;
+            myWeights[i] = 1.0 + i % 3;
+        }
+    }
+
+    @Test
+    public void testInMemory() {
+        Statistic s = new Statistic();
+        s.setSaveDataOption(true);
+        s.setSaveDataArraySizeIncrement(7);
+        s.collect(myData, myWeights);
+        checkSaved(s);
+    }
+
+    @Test
+    public void testSpilled() {
+        Statistic s = new Statistic();
+        s.setSaveDataOption(true);
+        s.setSaveDataArraySizeIncrement(7);
+        s.setSaveDataSpillThreshold(1000);
+        s.collect(myData, myWeights);
+        checkSaved(s);
+        // deletes the spill file
+        s.reset();
+    }
+
+    @Test
+    public void testReset() {
+        Statistic s = new Statistic();
+        s.setSaveDataOption(true);
+        s.setSaveDataSpillThreshold(0);
+        s.collect(myData, myWeights);
+        s.reset();
+        assertNull(s.getSavedData());
+        assertEquals(0, s.getSavedDataCount());
+        assertFalse(s.getSavedDataIterator().hasNext());
+        s.collect(5.0);
+        assertArrayEquals(new double[]{5.0}, s.getSavedData(), 0.0);
+        s.reset();
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        Statistic s = new Statistic();
+        s.setSaveDataOption(true);
+        s.setSaveDataSpillThreshold(100);
+        s.collect(myData, myWeights);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(s);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Statistic copy = (Statistic) in.readObject();
+        checkSaved(copy);
+        s.reset();
+        copy.reset();
+    }
+
+    @Test
+    public void testClearAndClose() {
+        SavedDataStore store = new SavedDataStore(16);
+        store.setSpillThreshold(100);
+        for (int k = 0; k < 3; k++) {
+            // the spill file is reused after clear() and recreated after close()
+            for (int i = 0; i < myData.length; i++) {
+                store.add(myData[i] + k, myWeights[i]);
+            }
+            assertTrue(store.isSpilled());
+            assertEquals(myData.length, store.size());
+            assertEquals(myData[myData.length - 1] + k, store.getValue(myData.length - 1), 0.0);
+            assertArrayEquals(myWeights, store.getWeights(), 0.0);
+            if (k == 0) {
+                store.clear();
+            } else {
+                store.close();
+            }
+            assertEquals(0, store.size());
+            assertFalse(store.valueIterator().hasNext());
+        }
+    }
+
+    @Test
+    public void testDefaultMethods() {
+        ArrayData a = new ArrayData();
+        assertEquals(0, a.getSavedDataCount());
+        assertFalse(a.getSavedDataIterator().hasNext());
+        a.myData = new double[]{1.0, 2.0, 3.0};
+        a.myWeights = new double[]{1.0, 1.0, 2.0};
+        assertEquals(3, a.getSavedDataCount());
+        PrimitiveIterator.OfDouble x = a.getSavedDataIterator();
+        PrimitiveIterator.OfDouble w = a.getSavedWeightsIterator();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(a.myData[i], x.nextDouble(), 0.0);
+            assertEquals(a.myWeights[i], w.nextDouble(), 0.0);
+        }
+        assertFalse(x.hasNext());
+        assertEquals(Long.MAX_VALUE, a.getSaveDataSpillThreshold());
+    }
+
+    protected void checkSaved(Statistic s) {
+        assertEquals(myData.length, s.getSavedDataCount());
+        assertArrayEquals(myData, s.getSavedData(), 0.0);
+        assertArrayEquals(myWeights, s.getSavedWeights(), 0.0);
+        PrimitiveIterator.OfDouble x = s.getSavedDataIterator();
+        PrimitiveIterator.OfDouble w = s.getSavedWeightsIterator();
+        for (int i = 0; i < myData.length; i++) {
+            assertEquals(myData[i], x.nextDouble(), 0.0);
+            assertEquals(myWeights[i], w.nextDouble(), 0.0);
+        }
+        assertFalse(x.hasNext());
+        assertFalse(w.hasNext());
+    }
+
+    /**
+     * Implements only the methods of SaveDataIfc that have no default
+     */
+    static class ArrayData implements SaveDataIfc {
+
+        double[] myData;
+
+        double[] myWeights;
+
+        @Override
+        public boolean getSaveDataOption() {
+            return true;
+        }
+
+        @Override
+        public double[] getSavedData() {
+            return myData;
+        }
+
+        @Override
+        public double[] getSavedWeights() {
+            return myWeights;
+        }
+
+        @Override
+        public void setSaveDataArraySizeIncrement(int n) {
+        }
+
+        @Override
+        public void setSaveDataOption(boolean flag) {
+        }
+    }
+}
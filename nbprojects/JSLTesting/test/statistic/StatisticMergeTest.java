@@ -0,0 +1,212 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package statistic;
+
+import java.util.Arrays;
+import jsl.utilities.random.distributions.Exponential;
+import jsl.utilities.statistic.BatchStatistic;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.WeightedStatistic;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that statistics collected on parts of the data and merged are the
+ * statistics collected on all of the data
+ *
+ * @author rossetti
+ */
+public class StatisticMergeTest {
+
+    private double[] myData;
+
+    private double[] myWeights;
+
+    @Before
+    public void setUp() {
+        Exponential e = new Exponential(10.0);
+        Exponential w = new Exponential(2.0);
+        myData = new double[1000];
+        myWeights = new double[myData.length];
+        for (int i = 0; i < myData.length; i++) {
+            // a shifted mean makes the pairwise update matter
+            myData[i] = 1000.0 + e.getValue();
+            myWeights[i] = w.getValue();
+        }
+    }
+
+    @Test
+    public void testStatistic() {
+        Statistic all = new Statistic();
+        all.collect(myData, myWeights);
+        Statistic merged = new Statistic();
+        int[] ends = {0, 1, 2, 317, 318, 700, myData.length};
+        for (int k = 1; k < ends.length; k++) {
+            Statistic part = new Statistic();
+            part.collect(Arrays.copyOfRange(myData, ends[k - 1], ends[k]),
+                    Arrays.copyOfRange(myWeights, ends[k - 1], ends[k]));
+            merged.merge(part);
+        }
+        // an empty statistic changes nothing
+        merged.merge(new Statistic());
+        checkSame(all, merged);
+    }
+
+    @Test
+    public void testMergeWithItself() {
+        Statistic s = Statistic.collectStatistics(myData);
+        Statistic twice = Statistic.collectStatistics(myData);
+        s.merge(s);
+        twice.collect(myData);
+        checkSame(twice, s);
+    }
+
+    @Test
+    public void testStatisticMergeCollectionRule() {
+        Statistic s1 = Statistic.collectStatistics(Arrays.copyOfRange(myData, 0, 500));
+        Statistic s2 = Statistic.collectStatistics(Arrays.copyOfRange(myData, 500, 1000));
+        s1.setCollectionRule(Statistic.CollectionRule.HALF_WIDTH);
+        s1.setDesiredHalfWidth(Double.MAX_VALUE);
+        assertFalse(s1.merge(s2));
+        assertEquals(1000, s1.getCount(), 0.0);
+        Statistic s3 = Statistic.collectStatistics(Arrays.copyOfRange(myData, 0, 500));
+        assertTrue(s3.merge(s2));
+        s3.turnOff();
+        assertFalse(s3.merge(s2));
+        assertEquals(1000, s3.getCount(), 0.0);
+    }
+
+    @Test
+    public void testWeightedStatistic() {
+        WeightedStatistic all = WeightedStatistic.collectStatistics(myData, myWeights);
+        WeightedStatistic merged = new WeightedStatistic();
+        for (int k = 0; k < 4; k++) {
+            merged.merge(WeightedStatistic.collectStatistics(
+                    Arrays.copyOfRange(myData, 250 * k, 250 * (k + 1)),
+                    Arrays.copyOfRange(myWeights, 250 * k, 250 * (k + 1))));
+        }
+        assertEquals(all.getCount(), merged.getCount(), 0.0);
+        assertEquals(all.getSumOfWeights(), merged.getSumOfWeights(), 1.0e-9);
+        assertEquals(all.getAverage(), merged.getAverage(), 1.0e-9);
+        assertEquals(all.getWeightedSumOfSquares(), merged.getWeightedSumOfSquares(),
+                1.0e-9 * all.getWeightedSumOfSquares());
+        assertEquals(all.getMin(), merged.getMin(), 0.0);
+        assertEquals(all.getMax(), merged.getMax(), 0.0);
+    }
+
+    @Test
+    public void testBatchStatistic() {
+        // 15 batches of 16 in each part, no rebatching
+        checkSameBatches(240);
+        // 30 batches of 16 in each part, rebatched to 32 during the merge
+        checkSameBatches(480);
+    }
+
+    @Test
+    public void testBatchStatisticDifferentSizes() {
+        // the first part has batches of 32, the second of 16
+        BatchStatistic b1 = new BatchStatistic(Arrays.copyOfRange(myData, 0, 700));
+        BatchStatistic b2 = new BatchStatistic(Arrays.copyOfRange(myData, 700, 1000));
+        assertTrue(b1.getCurrentBatchSize() > b2.getCurrentBatchSize());
+        BatchStatistic b3 = b2.newInstance();
+        b2.merge(b1);
+        b1.merge(b3);
+        for (BatchStatistic b : new BatchStatistic[]{b1, b2}) {
+            assertEquals(myData.length, b.getTotalNumberOfObservations(), 0.0);
+            assertEquals(32, b.getCurrentBatchSize());
+            assertEquals(31, b.getCount(), 0.0);
+        }
+        // the current batch of 28 of the first part is completed by the
+        // current batch of 12 of the second part, not by the next 4 observations
+        double[] first = new double[21];
+        for (int k = 0; k < first.length; k++) {
+            first[k] = average(myData, 32 * k, 32 * (k + 1));
+        }
+        double[] second = new double[9];
+        for (int k = 0; k < second.length; k++) {
+            second[k] = average(myData, 700 + 32 * k, 700 + 32 * (k + 1));
+        }
+        double[] both = new double[40];
+        System.arraycopy(myData, 672, both, 0, 28);
+        System.arraycopy(myData, 988, both, 28, 12);
+        double last = average(both, 0, both.length);
+        checkBatchMeans(b1, first, second, last);
+        checkBatchMeans(b2, second, first, last);
+        // the batches before the current batch of the first part are those of
+        // collecting all of the observations, the rest are an approximation
+        BatchStatistic all = new BatchStatistic(myData);
+        assertEquals(31, all.getCount(), 0.0);
+        assertArrayEquals(first, Arrays.copyOfRange(all.getBatchMeanArrayCopy(), 0, 21), 1.0e-9);
+        assertEquals(all.getAverage(), b1.getAverage(), all.getHalfWidth());
+        assertEquals(all.getAverage(), b2.getAverage(), all.getHalfWidth());
+    }
+
+    @Test
+    public void testBatchStatisticMergeCollectionRule() {
+        BatchStatistic b1 = new BatchStatistic(Arrays.copyOfRange(myData, 0, 320));
+        BatchStatistic b2 = new BatchStatistic(Arrays.copyOfRange(myData, 320, 640));
+        b1.setCollectionRule(Statistic.CollectionRule.HALF_WIDTH);
+        b1.setDesiredHalfWidth(Double.MAX_VALUE);
+        assertFalse(b1.merge(b2));
+        assertEquals(640, b1.getTotalNumberOfObservations(), 0.0);
+        BatchStatistic b3 = new BatchStatistic(Arrays.copyOfRange(myData, 0, 320));
+        assertTrue(b3.merge(b2));
+        b3.turnOff();
+        assertFalse(b3.merge(b2));
+        assertEquals(640, b3.getTotalNumberOfObservations(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchStatisticParameters() {
+        BatchStatistic b1 = new BatchStatistic();
+        BatchStatistic b2 = new BatchStatistic(10, 16, 2);
+        b1.merge(b2);
+    }
+
+    protected void checkSameBatches(int n) {
+        BatchStatistic all = new BatchStatistic(Arrays.copyOfRange(myData, 0, 2 * n));
+        BatchStatistic merged = new BatchStatistic(Arrays.copyOfRange(myData, 0, n));
+        merged.merge(new BatchStatistic(Arrays.copyOfRange(myData, n, 2 * n)));
+        assertEquals(all.getTotalNumberOfObservations(), merged.getTotalNumberOfObservations(), 0.0);
+        assertEquals(all.getCurrentBatchSize(), merged.getCurrentBatchSize());
+        assertArrayEquals(all.getBatchMeanArrayCopy(), merged.getBatchMeanArrayCopy(), 1.0e-9);
+        assertEquals(all.getAverage(), merged.getAverage(), 1.0e-9);
+        assertEquals(all.getVariance(), merged.getVariance(), 1.0e-9);
+    }
+
+    protected void checkBatchMeans(BatchStatistic b, double[] first, double[] second, double last) {
+        double[] bm = new double[first.length + second.length + 1];
+        System.arraycopy(first, 0, bm, 0, first.length);
+        System.arraycopy(second, 0, bm, first.length, second.length);
+        bm[bm.length - 1] = last;
+        assertArrayEquals(bm, b.getBatchMeanArrayCopy(), 1.0e-9);
+        Statistic s = Statistic.collectStatistics(bm);
+        assertEquals(s.getAverage(), b.getAverage(), 1.0e-9);
+        assertEquals(s.getVariance(), b.getVariance(), 1.0e-9 * s.getVariance());
+    }
+
+    protected double average(double[] x, int from, int to) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum = sum + x[i];
+        }
+        return sum / (to - from);
+    }
+
+    protected void checkSame(Statistic s1, Statistic s2) {
+        assertEquals(s1.getCount(), s2.getCount(), 0.0);
+        assertEquals(s1.getMin(), s2.getMin(), 0.0);
+        assertEquals(s1.getMax(), s2.getMax(), 0.0);
+        assertEquals(s1.getLastValue(), s2.getLastValue(), 0.0);
+        assertEquals(s1.getAverage(), s2.getAverage(), 1.0e-9);
+        assertEquals(s1.getWeightedAverage(), s2.getWeightedAverage(), 1.0e-9);
+        assertEquals(s1.getVariance(), s2.getVariance(), 1.0e-9 * s1.getVariance());
+        assertEquals(s1.getSkewness(), s2.getSkewness(), 1.0e-7);
+        assertEquals(s1.getKurtosis(), s2.getKurtosis(), 1.0e-7);
+        assertEquals(s1.getLag1Correlation(), s2.getLag1Correlation(), 1.0e-7);
+        assertEquals(s1.getVonNeumannLag1TestStatistic(), s2.getVonNeumannLag1TestStatistic(), 1.0e-6);
+        assertEquals(s1.getObsWeightedSum(), s2.getObsWeightedSum(), 1.0e-9 * s1.getObsWeightedSum());
+    }
+}